@@ -0,0 +1,57 @@
+package info.openrocket.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import info.openrocket.core.aerodynamics.AerodynamicForces;
+import info.openrocket.core.aerodynamics.BarrowmanCalculator;
+import info.openrocket.core.aerodynamics.FlightConditions;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+
+/**
+ * Measures {@link BarrowmanCalculator#getAerodynamicForces}, which is evaluated four times
+ * per RK4 step.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AerodynamicsBenchmark {
+
+	@Param({ "ESTES_ALPHA_III", "FALCON_9_HEAVY" })
+	public BenchmarkSupport.BenchmarkRocket rocket;
+
+	private BarrowmanCalculator calculator;
+	private FlightConfiguration configuration;
+	private FlightConditions conditions;
+	private WarningSet warnings;
+
+	@Setup
+	public void setUp() {
+		BenchmarkSupport.initialize();
+		Rocket r = rocket.make();
+		configuration = r.getFlightConfiguration(rocket.getFlightConfigurationId(r));
+		calculator = new BarrowmanCalculator();
+		warnings = new WarningSet();
+
+		conditions = new FlightConditions(configuration);
+		conditions.setMach(0.3);
+		conditions.setAOA(Math.toRadians(4));
+		conditions.setTheta(Math.toRadians(30));
+		conditions.setRollRate(2);
+	}
+
+	@Benchmark
+	public AerodynamicForces getAerodynamicForces() {
+		return calculator.getAerodynamicForces(configuration, conditions, warnings);
+	}
+}
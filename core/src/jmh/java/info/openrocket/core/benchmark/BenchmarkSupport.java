@@ -0,0 +1,77 @@
+package info.openrocket.core.benchmark;
+
+import info.openrocket.core.rocketcomponent.FlightConfigurationId;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.startup.OpenRocketCore;
+import info.openrocket.core.util.TestRockets;
+
+/**
+ * Shared fixtures for the JMH benchmarks.
+ */
+public final class BenchmarkSupport {
+
+	/**
+	 * The {@link TestRockets} designs used as benchmark fixtures.
+	 */
+	public enum BenchmarkRocket {
+		/** A small single stage rocket */
+		ESTES_ALPHA_III {
+			@Override
+			Rocket make() {
+				return TestRockets.makeEstesAlphaIII();
+			}
+
+			@Override
+			FlightConfigurationId getFlightConfigurationId(Rocket rocket) {
+				return TestRockets.TEST_FCID_0;
+			}
+		},
+		/** A three-stage rocket, producing three simulation branches */
+		MULTI_STAGE {
+			@Override
+			Rocket make() {
+				Rocket rocket = TestRockets.makeMultiStageEventTestRocket();
+				rocket.getSelectedConfiguration().setAllStages();
+				return rocket;
+			}
+		},
+		/** A large design with parallel boosters and many components */
+		FALCON_9_HEAVY {
+			@Override
+			Rocket make() {
+				return TestRockets.makeFalcon9Heavy();
+			}
+		};
+
+		abstract Rocket make();
+
+		FlightConfigurationId getFlightConfigurationId(Rocket rocket) {
+			return rocket.getSelectedConfiguration().getFlightConfigurationID();
+		}
+	}
+
+	private BenchmarkSupport() {
+	}
+
+	/**
+	 * Initialize the application services needed by the core, without loading the component
+	 * preset and motor databases.
+	 */
+	static void initialize() {
+		initialize(false);
+	}
+
+	/**
+	 * Initialize the application services needed by the core.  The component preset database
+	 * is never loaded.
+	 *
+	 * @param loadMotors	whether to load the motor database, e.g. for resolving the motors of loaded files.
+	 */
+	static void initialize(boolean loadMotors) {
+		System.setProperty("openrocket.bypass.presets", "true");
+		if (!loadMotors) {
+			System.setProperty("openrocket.bypass.motors", "true");
+		}
+		OpenRocketCore.initialize();
+	}
+}
@@ -0,0 +1,76 @@
+package info.openrocket.core.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.StorageOptions;
+import info.openrocket.core.file.GeneralRocketLoader;
+import info.openrocket.core.file.RocketLoadException;
+import info.openrocket.core.file.openrocket.OpenRocketSaver;
+import info.openrocket.core.logging.ErrorSet;
+import info.openrocket.core.logging.WarningSet;
+
+/**
+ * Measures loading an .ork file through {@link GeneralRocketLoader} and saving it through
+ * {@link OpenRocketSaver}, including the stored simulation data.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FileBenchmark {
+
+	@Param({ "Three stage low power rocket.ork", "Parallel booster staging.ork" })
+	public String example;
+
+	private File file;
+	private int fileSize;
+	private OpenRocketDocument document;
+	private StorageOptions options;
+
+	@Setup
+	public void setUp() throws IOException, RocketLoadException {
+		BenchmarkSupport.initialize(true);
+
+		// The loader reads .ork containers from a file
+		file = File.createTempFile("benchmark", ".ork");
+		file.deleteOnExit();
+		try (InputStream is = FileBenchmark.class.getClassLoader()
+				.getResourceAsStream("datafiles/examples/" + example)) {
+			if (is == null) {
+				throw new IOException("Example file not found: " + example);
+			}
+			Files.copy(is, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		fileSize = (int) file.length();
+		document = load();
+		options = new StorageOptions();
+		options.setSaveSimulationData(true);
+	}
+
+	@Benchmark
+	public OpenRocketDocument load() throws RocketLoadException {
+		return new GeneralRocketLoader(file).load();
+	}
+
+	@Benchmark
+	public int save() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(fileSize * 2);
+		new OpenRocketSaver().save(out, document, options, new WarningSet(), new ErrorSet());
+		return out.size();
+	}
+}
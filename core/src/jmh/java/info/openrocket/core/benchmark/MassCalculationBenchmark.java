@@ -0,0 +1,49 @@
+package info.openrocket.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import info.openrocket.core.masscalc.MassCalculator;
+import info.openrocket.core.masscalc.RigidBody;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+
+/**
+ * Measures the {@link MassCalculator} calculations performed for every derivative evaluation
+ * of a simulation step.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MassCalculationBenchmark {
+
+	@Param({ "ESTES_ALPHA_III", "FALCON_9_HEAVY" })
+	public BenchmarkSupport.BenchmarkRocket rocket;
+
+	private FlightConfiguration configuration;
+
+	@Setup
+	public void setUp() {
+		BenchmarkSupport.initialize();
+		Rocket r = rocket.make();
+		configuration = r.getFlightConfiguration(rocket.getFlightConfigurationId(r));
+	}
+
+	@Benchmark
+	public RigidBody calculateStructure() {
+		return MassCalculator.calculateStructure(configuration);
+	}
+
+	@Benchmark
+	public RigidBody calculateLaunch() {
+		return MassCalculator.calculateLaunch(configuration);
+	}
+}
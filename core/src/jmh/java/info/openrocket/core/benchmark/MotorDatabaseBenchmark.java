@@ -0,0 +1,43 @@
+package info.openrocket.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import info.openrocket.core.database.MotorDatabaseLoader;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetDatabase;
+
+/**
+ * Measures loading the built-in thrust curve database, as done at application startup.
+ * This is a cold-start operation, so it is measured in single-shot mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(3)
+public class MotorDatabaseBenchmark {
+
+	@Setup
+	public void setUp() {
+		BenchmarkSupport.initialize();
+	}
+
+	@Benchmark
+	public ThrustCurveMotorSetDatabase loadMotorDatabase() {
+		MotorDatabaseLoader loader = new MotorDatabaseLoader();
+		loader.startLoading();
+		loader.blockUntilLoaded();
+		return loader.getDatabase();
+	}
+}
@@ -0,0 +1,116 @@
+package info.openrocket.core.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.document.StorageOptions;
+import info.openrocket.core.file.GeneralRocketSaver;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.util.DecalNotFoundException;
+
+/**
+ * Measures saving a document with 50 simulations including their flight data into a zip
+ * stream, and reports the peak heap usage (summed over the heap memory pools) above the
+ * heap in use before the save as the
+ * <code>peakHeapBytes</code> secondary result.
+ * <p>
+ * Each measurement is a single save preceded by a garbage collection, so the peak is
+ * dominated by the memory used by the saver rather than by earlier garbage.  Run with a
+ * fixed heap size (e.g. <code>-jvmArgs -Xmx512m</code>) for comparable results.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+public class SaveBenchmark {
+
+	private static final int SIMULATIONS = 50;
+
+	@Param({ "false", "true" })
+	public boolean binary;
+
+	private OpenRocketDocument document;
+	private StorageOptions options;
+	private List<MemoryPoolMXBean> heapPools;
+	private long baseline;
+
+	/**
+	 * The peak heap usage of a save, reported per iteration.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class HeapCounters {
+		public long peakHeapBytes;
+	}
+
+	@Setup
+	public void setUp() throws SimulationException {
+		BenchmarkSupport.initialize();
+		BenchmarkSupport.BenchmarkRocket fixture = BenchmarkSupport.BenchmarkRocket.ESTES_ALPHA_III;
+		Rocket rocket = fixture.make();
+		document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		for (int i = 0; i < SIMULATIONS; i++) {
+			Simulation simulation = new Simulation(rocket);
+			simulation.setFlightConfigurationId(fixture.getFlightConfigurationId(rocket));
+			simulation.getOptions().setISAAtmosphere(true);
+			simulation.getOptions().setTimeStep(0.005);
+			simulation.getOptions().setRandomSeed(i);
+			simulation.simulate();
+			document.addSimulation(simulation);
+		}
+
+		options = new StorageOptions();
+		options.setSaveSimulationData(true);
+		options.setBinarySimulationData(binary);
+
+		heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+				.filter(pool -> pool.getType() == MemoryType.HEAP)
+				.toList();
+	}
+
+	@Setup(Level.Iteration)
+	public void resetPeak() {
+		System.gc();
+		baseline = 0;
+		for (MemoryPoolMXBean pool : heapPools) {
+			pool.resetPeakUsage();
+			baseline += pool.getUsage().getUsed();
+		}
+	}
+
+	@Benchmark
+	public void save(HeapCounters counters) throws IOException, DecalNotFoundException {
+		new GeneralRocketSaver().saveAllPartsZipFile(OutputStream.nullOutputStream(), document, options,
+				Collections.emptySet());
+
+		long peak = 0;
+		for (MemoryPoolMXBean pool : heapPools) {
+			peak += pool.getPeakUsage().getUsed();
+		}
+		counters.peakHeapBytes = Math.max(0, peak - baseline);
+	}
+}
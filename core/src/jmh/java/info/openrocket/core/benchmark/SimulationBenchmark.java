@@ -0,0 +1,53 @@
+package info.openrocket.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.SimulationStepperRegistry;
+import info.openrocket.core.simulation.exception.SimulationException;
+
+/**
+ * Measures a complete {@link Simulation#simulate} from launch to landing of all branches.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SimulationBenchmark {
+
+	@Param({ "ESTES_ALPHA_III", "MULTI_STAGE" })
+	public BenchmarkSupport.BenchmarkRocket rocket;
+
+	/** Registry ID of the flight stepper, see {@link SimulationStepperRegistry} */
+	@Param({ SimulationStepperRegistry.RK4, SimulationStepperRegistry.POINT_MASS })
+	public String flightStepper;
+
+	private Simulation simulation;
+
+	@Setup
+	public void setUp() {
+		BenchmarkSupport.initialize();
+		Rocket r = rocket.make();
+		simulation = new Simulation(r);
+		simulation.setFlightConfigurationId(rocket.getFlightConfigurationId(r));
+		simulation.getOptions().setISAAtmosphere(true);
+		simulation.getOptions().setRandomSeed(0);
+		simulation.getOptions().setStepper(SimulationStepperRegistry.Phase.FLIGHT, flightStepper);
+	}
+
+	@Benchmark
+	public FlightData simulate() throws SimulationException {
+		simulation.simulate();
+		return simulation.getSimulatedData();
+	}
+}
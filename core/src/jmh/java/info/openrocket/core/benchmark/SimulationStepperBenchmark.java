@@ -0,0 +1,89 @@
+package info.openrocket.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.PointMassSimulationStepper;
+import info.openrocket.core.simulation.RK4SimulationStepper;
+import info.openrocket.core.simulation.SimulationConditions;
+import info.openrocket.core.simulation.SimulationStatus;
+import info.openrocket.core.simulation.SimulationStepper;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.util.Coordinate;
+
+/**
+ * Measures a single {@link SimulationStepper#step} of the flight steppers during coast.
+ * Each invocation starts from the same status and takes {@value #STEPS} steps, so that
+ * the flight data branch does not grow without bound.  Run with <code>-prof gc</code>
+ * (the default of the <code>jmh</code> task) to compare the allocation rate of the steppers.
+ * The point-mass stepper samples its drag coefficients during the first invocations, the
+ * measured steps use the sampled drag.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SimulationStepperBenchmark {
+
+	private static final int STEPS = 100;
+	private static final double TIME_STEP = 0.05;
+
+	@Param({ "RK4", "POINT_MASS" })
+	public String stepper;
+
+	private SimulationStepper simulationStepper;
+	private SimulationStatus initialStatus;
+
+	@Setup
+	public void setUp() {
+		BenchmarkSupport.initialize();
+		BenchmarkSupport.BenchmarkRocket fixture = BenchmarkSupport.BenchmarkRocket.ESTES_ALPHA_III;
+		Rocket rocket = fixture.make();
+
+		Simulation simulation = new Simulation(rocket);
+		simulation.setFlightConfigurationId(fixture.getFlightConfigurationId(rocket));
+		simulation.getOptions().setISAAtmosphere(true);
+		simulation.getOptions().setTimeStep(TIME_STEP);
+		SimulationConditions conditions = simulation.getOptions().toSimulationConditions();
+		conditions.setSimulation(simulation);
+
+		FlightConfiguration configuration = rocket.getFlightConfiguration(fixture.getFlightConfigurationId(rocket));
+		initialStatus = new SimulationStatus(configuration, conditions);
+		initialStatus.setWarnings(new WarningSet());
+		initialStatus.setRocketPosition(new Coordinate(0, 0, 100));
+		initialStatus.setRocketVelocity(new Coordinate(0, 0, 50));
+		initialStatus.setMotorIgnited(true);
+		initialStatus.setLiftoff(true);
+		initialStatus.setLaunchRodCleared(true);
+
+		simulationStepper = switch (stepper) {
+			case "RK4" -> new RK4SimulationStepper();
+			default -> new PointMassSimulationStepper();
+		};
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(STEPS)
+	public SimulationStatus step() throws SimulationException {
+		SimulationStatus status = simulationStepper.initialize(initialStatus);
+		status.setFlightDataBranch(new FlightDataBranch("benchmark", FlightDataType.TYPE_TIME));
+		for (int i = 0; i < STEPS; i++) {
+			simulationStepper.step(status, TIME_STEP);
+		}
+		return status;
+	}
+}
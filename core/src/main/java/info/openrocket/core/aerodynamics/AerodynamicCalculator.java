@@ -48,6 +48,24 @@ public interface AerodynamicCalculator extends Monitorable {
 	public AerodynamicForces getAerodynamicForces(FlightConfiguration configuration,
 			FlightConditions conditions, WarningSet warnings);
 
+	/**
+	 * Calculate the drag coefficient of the rocket at zero angle of attack, as used by
+	 * point-mass simulations.  The default implementation calculates all aerodynamic forces
+	 * at zero angle of attack.
+	 * 
+	 * @param configuration the rocket configuration.
+	 * @param conditions    the flight conditions, the angle of attack is ignored.
+	 * @param warnings      the set in which to place warnings, or
+	 *                      <code>null</code>.
+	 * @return the total drag coefficient at zero angle of attack.
+	 */
+	public default double getZeroAOADragCoefficient(FlightConfiguration configuration,
+			FlightConditions conditions, WarningSet warnings) {
+		FlightConditions zeroAOA = conditions.clone();
+		zeroAOA.setAOA(0);
+		return getAerodynamicForces(configuration, zeroAOA, warnings).getCD();
+	}
+
 	/**
 	 * Calculate the aerodynamic forces acting upon the rocket with a component
 	 * analysis.
@@ -0,0 +1,384 @@
+package info.openrocket.core.aerodynamics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.models.atmosphere.AtmosphericConditions;
+import info.openrocket.core.rocketcomponent.AxialStage;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.util.ArrayUtils;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.MathUtil;
+import info.openrocket.core.util.ModID;
+
+/**
+ * Precomputed aerodynamic coefficients of a rocket configuration whose geometry does not change,
+ * used by {@link BarrowmanCalculator} in tabulated mode.
+ * <p>
+ * The coefficients are sampled from the exact Barrowman calculation on a grid and linearly
+ * interpolated in between:
+ * <ul>
+ * <li>the normal force, pitch moment, CP and roll forcing over Mach number and angle of attack,
+ * <li>the drag coefficients over Mach number and Reynolds number,
+ * <li>the roll damping over Mach number and roll rate per unit velocity.
+ * </ul>
+ * The normal force, pitch moment and CP depend on the lateral wind direction theta only through
+ * <code>sin^2(theta - fin angle)</code> terms, so they are stored as the coefficients of
+ * <code>A + B cos(2 theta) + C sin(2 theta)</code> and are exact in theta.
+ * <p>
+ * The grid is filled lazily one Mach number column at a time, and a table is shared between all
+ * calculators that work on the same rocket design with the same active stages.  Conditions above
+ * the largest tabulated Mach number are not handled and must be calculated exactly.
+ */
+final class AerodynamicCoefficientTable {
+	private static final Logger log = LoggerFactory.getLogger(AerodynamicCoefficientTable.class);
+
+	/** Mach numbers of the grid, denser in the transonic region */
+	static final double[] MACH = concat(
+			ArrayUtils.range(0, 0.7, 0.05),
+			ArrayUtils.range(0.725, 1.3, 0.025),
+			ArrayUtils.range(1.4, 2.0, 0.1),
+			ArrayUtils.range(2.25, 3.0, 0.25),
+			ArrayUtils.range(3.5, 5.0, 0.5));
+
+	/** Angles of attack of the grid, denser below the stall angle */
+	static final double[] AOA = toRadians(concat(
+			ArrayUtils.range(0, 20, 1),
+			ArrayUtils.range(25, 90, 5),
+			ArrayUtils.range(100, 180, 10)));
+
+	/** Base-10 logarithms of the Reynolds numbers of the grid */
+	static final double[] LOG_REYNOLDS = ArrayUtils.range(3, 9, 0.25);
+
+	/** Roll rates per unit velocity (rad/m) of the grid */
+	static final double[] ROLL_RATE = {
+			0, 0.001, 0.002, 0.005, 0.01, 0.02, 0.05, 0.1, 0.2, 0.5, 1, 2, 5, 10, 20, 50, 100
+	};
+
+	/** Drag and roll damping are sampled at least at this Mach number, as they are undefined at zero velocity */
+	private static final double MIN_SAMPLE_MACH = 0.01;
+
+	// Layout of the values of one angle of attack within a column
+	private static final int CN = 0;
+	private static final int CM = 3;
+	private static final int CNA = 6;
+	private static final int CP_CNA = 9;
+	private static final int CROLL_FORCE = 12;
+	private static final int AOA_STRIDE = 13;
+
+	// Layout of the values of one Reynolds number within a column
+	private static final int FRICTION_CD = 0;
+	private static final int PRESSURE_CD = 1;
+	private static final int BASE_CD = 2;
+	private static final int OVERRIDE_CD = 3;
+	private static final int REYNOLDS_STRIDE = 4;
+
+	private static final int DRAG_OFFSET = AOA.length * AOA_STRIDE;
+	private static final int DAMPING_OFFSET = DRAG_OFFSET + LOG_REYNOLDS.length * REYNOLDS_STRIDE;
+	private static final int COLUMN_LENGTH = DAMPING_OFFSET + ROLL_RATE.length;
+
+	/** Number of tables kept for reuse by later simulations */
+	private static final int SHARED_TABLES = 8;
+
+	private static final Map<Key, AerodynamicCoefficientTable> sharedTables =
+			new LinkedHashMap<>(SHARED_TABLES, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Key, AerodynamicCoefficientTable> eldest) {
+					return size() > SHARED_TABLES;
+				}
+			};
+
+	/**
+	 * Identifies the aerodynamics of a rocket configuration: the rocket design and the
+	 * active stages.  Motors do not affect the aerodynamics.
+	 */
+	private record Key(ModID aerodynamicModID, ModID treeModID, List<Integer> activeStages) {
+		static Key of(FlightConfiguration configuration) {
+			Rocket rocket = configuration.getRocket();
+			List<Integer> stages = new ArrayList<>();
+			for (AxialStage stage : configuration.getActiveStages()) {
+				stages.add(stage.getStageNumber());
+			}
+			return new Key(rocket.getAerodynamicModID(), rocket.getTreeModID(), stages);
+		}
+	}
+
+	private final Key key;
+	private final FlightConfiguration configuration;
+	private final BarrowmanCalculator sampler = new BarrowmanCalculator();
+	private final double lengthAerodynamic;
+
+	private final AtomicReferenceArray<double[]> columns = new AtomicReferenceArray<>(MACH.length);
+	private final WarningSet sampleWarnings = new WarningSet();
+	private volatile WarningSet warnings = new WarningSet();
+
+	private AerodynamicCoefficientTable(Key key, FlightConfiguration configuration) {
+		this.key = key;
+		this.configuration = configuration.clone();
+		this.lengthAerodynamic = this.configuration.getLengthAerodynamic();
+	}
+
+	/**
+	 * Return the coefficient table of the given configuration.  A table built earlier for the
+	 * same rocket design and active stages is reused.
+	 *
+	 * @param configuration	the rocket configuration.
+	 * @return				the coefficient table of the configuration.
+	 */
+	static AerodynamicCoefficientTable getTable(FlightConfiguration configuration) {
+		Key key = Key.of(configuration);
+		synchronized (sharedTables) {
+			return sharedTables.computeIfAbsent(key, k -> new AerodynamicCoefficientTable(k, configuration));
+		}
+	}
+
+	/**
+	 * Interpolate the aerodynamic forces at the given flight conditions.  The pitch and yaw
+	 * damping moments and the axial drag coefficient are not included.
+	 *
+	 * @param conditions	the flight conditions.
+	 * @param warnings		the set in which to place the warnings of the calculation.
+	 * @return				the aerodynamic forces, or <code>null</code> if the conditions are
+	 * 						outside the table or the rocket has changed since the table was built.
+	 */
+	AerodynamicForces getAerodynamicForces(FlightConditions conditions, WarningSet warnings) {
+		final double mach = conditions.getMach();
+		if (!(mach <= MACH[MACH.length - 1])) {
+			// Also catches NaN
+			return null;
+		}
+		final int i = lowerIndex(MACH, mach);
+		final double[] lower = getColumn(i);
+		final double[] upper = getColumn(i + 1);
+		if (lower == null || upper == null) {
+			return null;
+		}
+		final double fm = fraction(MACH, i, mach);
+
+		// Normal force, pitch moment and CP
+		final double aoa = MathUtil.clamp(conditions.getAOA(), 0, Math.PI);
+		final int j = lowerIndex(AOA, aoa);
+		final double fa = fraction(AOA, j, aoa);
+		final double cos2 = Math.cos(2 * conditions.getTheta());
+		final double sin2 = Math.sin(2 * conditions.getTheta());
+
+		final int a0 = j * AOA_STRIDE;
+		final int a1 = a0 + AOA_STRIDE;
+		final double cn = harmonic(lower, upper, a0 + CN, a1 + CN, fm, fa, cos2, sin2);
+		final double cm = harmonic(lower, upper, a0 + CM, a1 + CM, fm, fa, cos2, sin2);
+		final double cna = harmonic(lower, upper, a0 + CNA, a1 + CNA, fm, fa, cos2, sin2);
+		final double cpCNa = harmonic(lower, upper, a0 + CP_CNA, a1 + CP_CNA, fm, fa, cos2, sin2);
+		final double crollForce = bilinear(lower, upper, a0 + CROLL_FORCE, a1 + CROLL_FORCE, fm, fa);
+
+		// Drag
+		final double velocity = conditions.getVelocity();
+		final double reynolds = velocity * lengthAerodynamic / conditions.getAtmosphericConditions().getKinematicViscosity();
+		final double logReynolds = MathUtil.clamp(Math.log10(Math.max(reynolds, 1)),
+				LOG_REYNOLDS[0], LOG_REYNOLDS[LOG_REYNOLDS.length - 1]);
+		final int k = lowerIndex(LOG_REYNOLDS, logReynolds);
+		final double fr = fraction(LOG_REYNOLDS, k, logReynolds);
+		final int r0 = DRAG_OFFSET + k * REYNOLDS_STRIDE;
+		final int r1 = r0 + REYNOLDS_STRIDE;
+
+		// Roll damping, which is odd in the roll rate
+		final double rollRate = conditions.getRollRate();
+		double rate = 0;
+		if (rollRate != 0) {
+			rate = velocity > MathUtil.EPSILON ? Math.abs(rollRate) / velocity : Double.MAX_VALUE;
+			rate = Math.min(rate, ROLL_RATE[ROLL_RATE.length - 1]);
+		}
+		final int l = lowerIndex(ROLL_RATE, rate);
+		final double fp = fraction(ROLL_RATE, l, rate);
+		final double crollDamp = MathUtil.sign(rollRate) *
+				bilinear(lower, upper, DAMPING_OFFSET + l, DAMPING_OFFSET + l + 1, fm, fp);
+
+		AerodynamicForces forces = new AerodynamicForces().zero();
+		forces.setCN(cn);
+		forces.setCm(cm);
+		forces.setCP(MathUtil.equals(0, cna) ? Coordinate.NUL : new Coordinate(cpCNa / cna, 0, 0, cna));
+		forces.setCrollForce(crollForce);
+		forces.setCrollDamp(crollDamp);
+		forces.setCroll(crollForce - crollDamp);
+
+		forces.setFrictionCD(bilinear(lower, upper, r0 + FRICTION_CD, r1 + FRICTION_CD, fm, fr));
+		forces.setPressureCD(bilinear(lower, upper, r0 + PRESSURE_CD, r1 + PRESSURE_CD, fm, fr));
+		forces.setBaseCD(bilinear(lower, upper, r0 + BASE_CD, r1 + BASE_CD, fm, fr));
+		forces.setOverrideCD(bilinear(lower, upper, r0 + OVERRIDE_CD, r1 + OVERRIDE_CD, fm, fr));
+		forces.setCD(forces.getFrictionCD() + forces.getPressureCD() + forces.getBaseCD() + forces.getOverrideCD());
+
+		warnings.addAll(this.warnings);
+
+		return forces;
+	}
+
+	/**
+	 * Return the column of the given Mach number index, sampling it if necessary.
+	 *
+	 * @return	the column, or <code>null</code> if the rocket has changed since the table was built.
+	 */
+	private double[] getColumn(int index) {
+		double[] column = columns.get(index);
+		if (column != null) {
+			return column;
+		}
+		synchronized (this) {
+			column = columns.get(index);
+			if (column == null) {
+				Rocket rocket = configuration.getRocket();
+				if (rocket.getAerodynamicModID() != key.aerodynamicModID() || rocket.getTreeModID() != key.treeModID()) {
+					return null;
+				}
+				column = sampleColumn(MACH[index]);
+				columns.set(index, column);
+				warnings = sampleWarnings.clone();
+			}
+			return column;
+		}
+	}
+
+	/**
+	 * Sample all coefficients at the given Mach number from the exact calculation.
+	 */
+	private double[] sampleColumn(double mach) {
+		log.debug("Sampling aerodynamic coefficients at Mach {}", mach);
+		final double[] column = new double[COLUMN_LENGTH];
+		final double[] f = new double[3];
+
+		// Normal force, pitch moment and CP at theta = 0, 45 and 90 degrees
+		FlightConditions conditions = new FlightConditions(configuration);
+		conditions.setMach(mach);
+		for (int j = 0; j < AOA.length; j++) {
+			conditions.setAOA(AOA[j]);
+			AerodynamicForces[] samples = new AerodynamicForces[3];
+			for (int t = 0; t < 3; t++) {
+				conditions.setTheta(t * Math.PI / 4);
+				samples[t] = sampler.calculateNonAxialForces(configuration, conditions, sampleWarnings);
+			}
+			final int offset = j * AOA_STRIDE;
+			for (int t = 0; t < 3; t++) {
+				f[t] = samples[t].getCN();
+			}
+			storeHarmonic(column, offset + CN, f);
+			for (int t = 0; t < 3; t++) {
+				f[t] = samples[t].getCm();
+			}
+			storeHarmonic(column, offset + CM, f);
+			for (int t = 0; t < 3; t++) {
+				Coordinate cp = samples[t].getCP();
+				f[t] = cp.weight;
+			}
+			storeHarmonic(column, offset + CNA, f);
+			for (int t = 0; t < 3; t++) {
+				Coordinate cp = samples[t].getCP();
+				f[t] = cp.x * cp.weight;
+			}
+			storeHarmonic(column, offset + CP_CNA, f);
+			column[offset + CROLL_FORCE] = samples[0].getCrollForce();
+		}
+
+		// Drag coefficients, adjusting the air pressure to give the Reynolds number
+		final double sampleMach = Math.max(mach, MIN_SAMPLE_MACH);
+		final AtmosphericConditions standard = new AtmosphericConditions();
+		final double velocity = sampleMach * standard.getMachSpeed();
+		for (int k = 0; k < LOG_REYNOLDS.length; k++) {
+			final double kinematicViscosity = velocity * lengthAerodynamic / Math.pow(10, LOG_REYNOLDS[k]);
+			conditions = new FlightConditions(configuration);
+			conditions.setAtmosphericConditions(new AtmosphericConditions(standard.getTemperature(),
+					standard.getPressure() * standard.getKinematicViscosity() / kinematicViscosity));
+			conditions.setMach(sampleMach);
+			AerodynamicForces forces = new AerodynamicForces().zero();
+			sampler.calculateDragCoefficients(configuration, conditions, forces, sampleWarnings);
+
+			final int offset = DRAG_OFFSET + k * REYNOLDS_STRIDE;
+			column[offset + FRICTION_CD] = forces.getFrictionCD();
+			column[offset + PRESSURE_CD] = forces.getPressureCD();
+			column[offset + BASE_CD] = forces.getBaseCD();
+			column[offset + OVERRIDE_CD] = forces.getOverrideCD();
+		}
+
+		// Roll damping
+		conditions = new FlightConditions(configuration);
+		conditions.setMach(sampleMach);
+		for (int l = 0; l < ROLL_RATE.length; l++) {
+			conditions.setRollRate(ROLL_RATE[l] * conditions.getVelocity());
+			column[DAMPING_OFFSET + l] = sampler.calculateNonAxialForces(configuration, conditions, sampleWarnings)
+					.getCrollDamp();
+		}
+
+		return column;
+	}
+
+	/**
+	 * Store the coefficients A, B and C of <code>A + B cos(2 theta) + C sin(2 theta)</code> given
+	 * the values at theta = 0, 45 and 90 degrees.
+	 */
+	private static void storeHarmonic(double[] column, int offset, double[] f) {
+		final double a = (f[0] + f[2]) / 2;
+		column[offset] = a;
+		column[offset + 1] = (f[0] - f[2]) / 2;
+		column[offset + 2] = f[1] - a;
+	}
+
+	private static double harmonic(double[] lower, double[] upper, int index0, int index1,
+			double fm, double fa, double cos2, double sin2) {
+		return bilinear(lower, upper, index0, index1, fm, fa) +
+				bilinear(lower, upper, index0 + 1, index1 + 1, fm, fa) * cos2 +
+				bilinear(lower, upper, index0 + 2, index1 + 2, fm, fa) * sin2;
+	}
+
+	/**
+	 * Interpolate between two columns and, within each column, between two indices.
+	 */
+	private static double bilinear(double[] lower, double[] upper, int index0, int index1, double fm, double f) {
+		final double v0 = lower[index0] + (lower[index1] - lower[index0]) * f;
+		final double v1 = upper[index0] + (upper[index1] - upper[index0]) * f;
+		return v0 + (v1 - v0) * fm;
+	}
+
+	/**
+	 * Return the index i of the grid interval [grid[i], grid[i+1]] containing the value,
+	 * clamped to the grid.
+	 */
+	static int lowerIndex(double[] grid, double value) {
+		int i = Arrays.binarySearch(grid, value);
+		if (i < 0) {
+			i = -i - 2;
+		}
+		return MathUtil.clamp(i, 0, grid.length - 2);
+	}
+
+	private static double fraction(double[] grid, int i, double value) {
+		return MathUtil.clamp((value - grid[i]) / (grid[i + 1] - grid[i]), 0, 1);
+	}
+
+	private static double[] concat(double[]... arrays) {
+		int length = 0;
+		for (double[] array : arrays) {
+			length += array.length;
+		}
+		double[] result = new double[length];
+		int position = 0;
+		for (double[] array : arrays) {
+			System.arraycopy(array, 0, result, position, array.length);
+			position += array.length;
+		}
+		return result;
+	}
+
+	private static double[] toRadians(double[] degrees) {
+		double[] radians = new double[degrees.length];
+		for (int i = 0; i < degrees.length; i++) {
+			radians[i] = MathUtil.deg2rad(degrees[i]);
+		}
+		return radians;
+	}
+}
@@ -28,11 +28,9 @@ import info.openrocket.core.util.Coordinate;
 import info.openrocket.core.util.MathUtil;
 import info.openrocket.core.util.ModID;
 import info.openrocket.core.util.PolyInterpolator;
-import info.openrocket.core.util.Reflection;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -48,25 +46,43 @@ import java.util.Queue;
 public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	private static final Logger log = LoggerFactory.getLogger(BarrowmanCalculator.class);
 
-	private static final String BARROWMAN_PACKAGE = "info.openrocket.core.aerodynamics.barrowman";
-	private static final String BARROWMAN_SUFFIX = "Calc";
 	
-	private Map<RocketComponent, RocketComponentCalc> calcMap = null;
+	private ComponentCalcSnapshot componentCalcs = null;
 	
 	private double cacheDiameter = -1;
 	private double cacheLength = -1;
 
 	private final double stallAngle = 17.5 * Math.PI / 180;
 	private double stallMargin;
+
+	private final boolean tabulated;
+	private AerodynamicCoefficientTable coefficientTable = null;
+	private ModID coefficientTableModID = ModID.INVALID;
 	
 	public BarrowmanCalculator() {
-		
+		this(false);
+	}
+
+	/**
+	 * @param tabulated	whether {@link #getAerodynamicForces} interpolates the coefficients from a
+	 * 					precomputed {@link AerodynamicCoefficientTable} instead of computing them
+	 * 					exactly for each call.
+	 */
+	public BarrowmanCalculator(boolean tabulated) {
+		this.tabulated = tabulated;
 	}
 	
 	
 	@Override
 	public BarrowmanCalculator newInstance() {
-		return new BarrowmanCalculator();
+		return new BarrowmanCalculator(tabulated);
+	}
+
+	/**
+	 * Return whether the aerodynamic forces are interpolated from a precomputed coefficient table.
+	 */
+	public boolean isTabulated() {
+		return tabulated;
 	}
 
 	/**
@@ -100,8 +116,8 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	public Map<RocketComponent, AerodynamicForces> getForceAnalysis(FlightConfiguration configuration,
 			FlightConditions conditions,
 			WarningSet warnings) {
-		if (calcMap == null) {
-			buildCalcMap(configuration);
+		if (componentCalcs == null) {
+			componentCalcs = ComponentCalcSnapshot.of(configuration.getRocket());
 		}
 
 		InstanceMap instMap = configuration.getActiveInstances();
@@ -168,7 +184,7 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 
 		// forces for this component, _only_
 		if (comp.isAerodynamic() || comp instanceof ComponentAssembly) {
-			RocketComponentCalc calcObj = calcMap.get(comp);
+			RocketComponentCalc calcObj = componentCalcs.get(comp);
 			if (null == calcObj) {
 				throw new NullPointerException(
 						"Could not find a CalculationObject for aerodynamic Component!: " + comp.getComponentName());
@@ -222,16 +238,18 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		if (warnings == null)
 			warnings = ignoreWarningSet;
 		
-		// Calculate non-axial force data
-		AerodynamicForces total = calculateNonAxialForces(configuration, conditions, warnings);
-		
-		// Calculate friction data
-		total.setFrictionCD(calculateFrictionCD(configuration, conditions, null, warnings));
-		total.setPressureCD(calculatePressureCD(configuration, conditions, null, warnings));
-		total.setBaseCD(calculateBaseCD(configuration, conditions, null, warnings));
-		total.setOverrideCD(calculateOverrideCD(configuration, conditions, null, null, warnings));
-		
-		total.setCD(total.getFrictionCD() + total.getPressureCD() + total.getBaseCD() + total.getOverrideCD());
+		AerodynamicForces total = null;
+		if (tabulated) {
+			// Null if the conditions are outside the table
+			total = getCoefficientTable(configuration).getAerodynamicForces(conditions, warnings);
+		}
+		if (total == null) {
+			// Calculate non-axial force data
+			total = calculateNonAxialForces(configuration, conditions, warnings);
+			
+			// Calculate friction data
+			calculateDragCoefficients(configuration, conditions, total, warnings);
+		}
 		
 		total.setCDaxial(calculateAxialCD(conditions, total.getCD()));
 		
@@ -246,6 +264,23 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		return total;
 	}
 
+	@Override
+	public double getZeroAOADragCoefficient(FlightConfiguration configuration,
+			FlightConditions conditions, WarningSet warnings) {
+		checkCache(configuration);
+
+		if (warnings == null)
+			warnings = ignoreWarningSet;
+
+		// The drag coefficients do not depend on the angle of attack, only the axial drag does
+		AerodynamicForces forces = new AerodynamicForces().zero();
+		calculateDragCoefficients(configuration, conditions, forces, warnings);
+
+		stallMargin = stallAngle;
+
+		return forces.getCD();
+	}
+
 	private AerodynamicForces calculateComponentNonAxialForces(FlightConditions conditions,
 			RocketComponent comp,
 			RocketComponentCalc calcObj,
@@ -275,10 +310,36 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		return componentForces;
 	}
 
+	/**
+	 * Calculate the friction, pressure, base and override drag coefficients and their sum
+	 * into the given forces.
+	 */
+	void calculateDragCoefficients(FlightConfiguration configuration, FlightConditions conditions,
+			AerodynamicForces forces, WarningSet warnings) {
+		forces.setFrictionCD(calculateFrictionCD(configuration, conditions, null, warnings));
+		forces.setPressureCD(calculatePressureCD(configuration, conditions, null, warnings));
+		forces.setBaseCD(calculateBaseCD(configuration, conditions, null, warnings));
+		forces.setOverrideCD(calculateOverrideCD(configuration, conditions, null, null, warnings));
+		
+		forces.setCD(forces.getFrictionCD() + forces.getPressureCD() + forces.getBaseCD() + forces.getOverrideCD());
+	}
+
+	/**
+	 * Return the coefficient table of the given configuration, shared with other calculators
+	 * working on the same rocket design.
+	 */
+	private AerodynamicCoefficientTable getCoefficientTable(FlightConfiguration configuration) {
+		if (coefficientTable == null || coefficientTableModID != configuration.getModID()) {
+			coefficientTable = AerodynamicCoefficientTable.getTable(configuration);
+			coefficientTableModID = configuration.getModID();
+		}
+		return coefficientTable;
+	}
+
 	/**
 	 * Perform the actual CP calculation.
 	 */
-	private AerodynamicForces calculateNonAxialForces(FlightConfiguration configuration, FlightConditions conditions,
+	AerodynamicForces calculateNonAxialForces(FlightConfiguration configuration, FlightConditions conditions,
 			WarningSet warnings) {
 
 		checkCache(configuration);
@@ -286,8 +347,8 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		if (warnings == null)
 			warnings = ignoreWarningSet;
 
-		if (calcMap == null)
-			buildCalcMap(configuration);
+		if (componentCalcs == null)
+			componentCalcs = ComponentCalcSnapshot.of(configuration.getRocket());
 
 		checkGeometry(configuration, configuration.getRocket(), warnings);
 		
@@ -300,7 +361,7 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 			final RocketComponent comp = mapEntry.getKey();
 			final List<InstanceContext> contextList = mapEntry.getValue();
 
-			RocketComponentCalc calcObj = calcMap.get(comp);
+			RocketComponentCalc calcObj = componentCalcs.get(comp);
 			if (null != calcObj) {
 				// calculated across all component instances
 				final AerodynamicForces componentForces = calculateComponentNonAxialForces(conditions, comp, calcObj,
@@ -480,8 +541,8 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		double Cf = calculateFrictionCoefficient(configuration, mach, Re);
 		double roughnessCorrection = calculateRoughnessCorrection(mach);
 		
-		if (calcMap == null)
-			buildCalcMap(configuration);
+		if (componentCalcs == null)
+			componentCalcs = ComponentCalcSnapshot.of(configuration.getRocket());
 		
 		/*
 		 * Calculate the friction drag coefficient.
@@ -540,7 +601,7 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 				
 			}
 
-			double componentFrictionCD = calcMap.get(c).calculateFrictionCD(conditions, componentCf, warningSet);
+			double componentFrictionCD = componentCalcs.get(c).calculateFrictionCD(conditions, componentCf, warningSet);
 			int instanceCount = entry.getValue().size();
 			
 			if (c instanceof SymmetricComponent) {
@@ -726,8 +787,8 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 			Map<RocketComponent, AerodynamicForces> forceMap, WarningSet warningSet) {
 
 		double total, stagnation, base;
-		if (calcMap == null)
-			buildCalcMap(configuration);
+		if (componentCalcs == null)
+			componentCalcs = ComponentCalcSnapshot.of(configuration.getRocket());
 		
 		stagnation = calculateStagnationCD(conditions.getMach());
 		base = calculateBaseCD(conditions.getMach());
@@ -749,7 +810,7 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 			int instanceCount = entry.getValue().size();
 
 			// Pressure drag of this component
-			double cd = calcMap.get(c).calculatePressureCD(conditions, stagnation, base,
+			double cd = componentCalcs.get(c).calculatePressureCD(conditions, stagnation, base,
 					warningSet);
 
 			if (forceMap != null) {
@@ -805,8 +866,8 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 
 		double base, total;
 		
-		if (calcMap == null)
-			buildCalcMap(configuration);
+		if (componentCalcs == null)
+			componentCalcs = ComponentCalcSnapshot.of(configuration.getRocket());
 		
 		base = calculateBaseCD(conditions.getMach());
 		total = 0;
@@ -951,8 +1012,8 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 			Map<RocketComponent, AerodynamicForces> assemblyMap,
 			WarningSet warningSet) {
 
-		if (calcMap == null)
-			buildCalcMap(configuration);
+		if (componentCalcs == null)
+			componentCalcs = ComponentCalcSnapshot.of(configuration.getRocket());
 
 		double total = 0;
 		final InstanceMap imap = configuration.getActiveInstances();
@@ -1033,14 +1094,16 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		mul = 0.275 * cacheDiameter / (conditions.getRefArea() * conditions.getRefLength());
 		mul *= (MathUtil.pow4(cgx) + MathUtil.pow4(cacheLength - cgx));
 		
-		// Fins
+		// Fins, also when the forces were interpolated from the coefficient table
+		if (componentCalcs == null)
+			componentCalcs = ComponentCalcSnapshot.of(configuration.getRocket());
 		// TODO: LOW: This could be optimized a lot...
 		for (RocketComponent c : configuration.getActiveComponents()) {
 			if (c instanceof FinSet) {
 				FinSet f = (FinSet) c;
 				mul += 0.6 * Math.min(f.getFinCount(), 4) * f.getPlanformArea() *
 						MathUtil.pow3(Math.abs(f.toAbsolute(new Coordinate(
-								((FinSetCalc) calcMap.get(f)).getMidchordPos()))[0].x
+								((FinSetCalc) componentCalcs.get(f)).getMidchordPos()))[0].x
 								- cgx)) /
 						(conditions.getRefArea() * conditions.getRefLength());
 			}
@@ -1057,27 +1120,13 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	protected void voidAerodynamicCache() {
 		super.voidAerodynamicCache();
 		
-		calcMap = null;
+		componentCalcs = null;
 		cacheDiameter = -1;
 		cacheLength = -1;
+		coefficientTable = null;
 	}
 	
 	
-	private void buildCalcMap(FlightConfiguration configuration) {
-		calcMap = new HashMap<>();
-
-		for (RocketComponent comp : configuration.getAllComponents()) {
-			if (!comp.isAerodynamic() && !(comp instanceof ComponentAssembly)) {
-				continue;
-			}
-
-			RocketComponentCalc calcObj = (RocketComponentCalc) Reflection.construct(BARROWMAN_PACKAGE, comp,
-					BARROWMAN_SUFFIX, comp);
-
-			calcMap.put(comp, calcObj);
-		}
-	}
-	
 	@Override
 	public ModID getModID() {
 		// Only cached data is stored, return constant mod ID
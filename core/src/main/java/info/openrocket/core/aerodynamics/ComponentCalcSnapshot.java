@@ -0,0 +1,113 @@
+package info.openrocket.core.aerodynamics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.aerodynamics.barrowman.RocketComponentCalc;
+import info.openrocket.core.rocketcomponent.ComponentAssembly;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.util.ModID;
+import info.openrocket.core.util.Reflection;
+
+/**
+ * An immutable set of the Barrowman component calculators of one rocket design.
+ * <p>
+ * The {@link RocketComponentCalc} objects precompute the geometry of their component when
+ * constructed and are read-only afterwards, so a snapshot can be shared by any number of
+ * {@link BarrowmanCalculator} instances, also in different threads.  Snapshots are cached by
+ * the rocket modification IDs, so the simulations of a batch or optimization run on copies
+ * of the same rocket build the calculators only once.
+ * <p>
+ * Components are looked up by equality, i.e. by component ID, so a snapshot also serves
+ * copies of the rocket made with {@link Rocket#copyWithOriginalID()}.
+ */
+public final class ComponentCalcSnapshot {
+	private static final Logger log = LoggerFactory.getLogger(ComponentCalcSnapshot.class);
+
+	private static final String BARROWMAN_PACKAGE = "info.openrocket.core.aerodynamics.barrowman";
+	private static final String BARROWMAN_SUFFIX = "Calc";
+
+	/** Number of snapshots kept for reuse */
+	private static final int SHARED_SNAPSHOTS = 8;
+
+	private static final Map<Key, ComponentCalcSnapshot> sharedSnapshots =
+			new LinkedHashMap<>(SHARED_SNAPSHOTS, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Key, ComponentCalcSnapshot> eldest) {
+					return size() > SHARED_SNAPSHOTS;
+				}
+			};
+
+	private record Key(ModID aerodynamicModID, ModID treeModID) {
+	}
+
+	private final ModID aerodynamicModID;
+	private final ModID treeModID;
+	private final Map<RocketComponent, RocketComponentCalc> calcMap;
+
+	private ComponentCalcSnapshot(Rocket rocket) {
+		this.aerodynamicModID = rocket.getAerodynamicModID();
+		this.treeModID = rocket.getTreeModID();
+
+		Map<RocketComponent, RocketComponentCalc> map = new HashMap<>();
+		for (RocketComponent comp : rocket) {
+			if (!comp.isAerodynamic() && !(comp instanceof ComponentAssembly)) {
+				continue;
+			}
+
+			RocketComponentCalc calcObj = (RocketComponentCalc) Reflection.construct(BARROWMAN_PACKAGE, comp,
+					BARROWMAN_SUFFIX, comp);
+
+			map.put(comp, calcObj);
+		}
+		this.calcMap = Collections.unmodifiableMap(map);
+	}
+
+	/**
+	 * Return the component calculators of the current state of the rocket.  A snapshot built
+	 * earlier for the same rocket design is reused.
+	 *
+	 * @param rocket	the rocket.
+	 * @return			the component calculators of the rocket.
+	 */
+	public static ComponentCalcSnapshot of(Rocket rocket) {
+		Key key = new Key(rocket.getAerodynamicModID(), rocket.getTreeModID());
+		synchronized (sharedSnapshots) {
+			ComponentCalcSnapshot snapshot = sharedSnapshots.get(key);
+			if (snapshot == null) {
+				log.debug("Building component calculators for rocket {}", rocket.getName());
+				snapshot = new ComponentCalcSnapshot(rocket);
+				sharedSnapshots.put(key, snapshot);
+			}
+			return snapshot;
+		}
+	}
+
+	/**
+	 * Return the calculator of the specified component, or <code>null</code> if the component
+	 * does not affect the aerodynamics.
+	 */
+	public RocketComponentCalc get(RocketComponent component) {
+		return calcMap.get(component);
+	}
+
+	/**
+	 * Return whether this snapshot is up to date with the given rocket.
+	 */
+	public boolean isValidFor(Rocket rocket) {
+		return aerodynamicModID == rocket.getAerodynamicModID() && treeModID == rocket.getTreeModID();
+	}
+
+	/**
+	 * Return the number of component calculators.
+	 */
+	public int size() {
+		return calcMap.size();
+	}
+}
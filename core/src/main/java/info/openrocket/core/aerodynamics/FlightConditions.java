@@ -70,6 +70,7 @@ public class FlightConditions implements Cloneable, ChangeSource, Monitorable {
 
 	private AtmosphericConditions atmosphericConditions = new AtmosphericConditions();
 
+	/** Created on demand, so that the conditions can be updated without allocating */
 	private ModID modID;
 
 	/**
@@ -85,6 +86,34 @@ public class FlightConditions implements Cloneable, ChangeSource, Monitorable {
 			setRefLength(config.getReferenceLength());
 	}
 
+	/**
+	 * Reset the values to those of new flight conditions of the configuration, keeping the
+	 * atmospheric conditions object.  This allows reusing the flight conditions instead of
+	 * allocating new ones, e.g. for every simulation step.  Fires a change event.
+	 * 
+	 * @param config the configuration of which the reference length is taken, or
+	 *               <code>null</code> for a reference length of 1 meter.
+	 */
+	public void reset(FlightConfiguration config) {
+		refLength = 1.0;
+		refArea = Math.PI * 0.25;
+		aoa = 0;
+		sinAOA = 0;
+		sincAOA = 1.0;
+		theta = 0;
+		mach = 0.3;
+		beta = calculateBeta(mach);
+		rollRate = 0;
+		pitchRate = 0;
+		yawRate = 0;
+		pitchCenter = Coordinate.NUL;
+		if (config != null)
+			refLength = config.getReferenceLength();
+		refArea = Math.PI * MathUtil.pow2(refLength / 2);
+
+		fireChangeEvent();
+	}
+
 	/**
 	 * Set the reference length from the given configuration.
 	 * 
@@ -403,6 +432,9 @@ public class FlightConditions implements Cloneable, ChangeSource, Monitorable {
 	 */
 	@Override
 	public ModID getModID() {
+		if (modID == null) {
+			modID = new ModID();
+		}
 		return modID;
 	}
 
@@ -429,6 +461,8 @@ public class FlightConditions implements Cloneable, ChangeSource, Monitorable {
 	@Override
 	public FlightConditions clone() {
 		try {
+			// The copy has the same modification ID
+			getModID();
 			FlightConditions cond = (FlightConditions) super.clone();
 			cond.listenerList = new ArrayList<>();
 			cond.event = new EventObject(cond);
@@ -478,7 +512,10 @@ public class FlightConditions implements Cloneable, ChangeSource, Monitorable {
 	 * wake up call to listeners
 	 */
 	protected void fireChangeEvent() {
-		modID = new ModID();
+		modID = null;
+		if (listenerList.isEmpty()) {
+			return;
+		}
 		
 		// Copy the list before iterating to prevent concurrent modification exceptions.
 		EventListener[] listeners = listenerList.toArray(new EventListener[0]);
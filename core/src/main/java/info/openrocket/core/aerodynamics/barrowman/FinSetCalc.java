@@ -73,6 +73,9 @@ public class FinSetCalc extends RocketComponentCalc {
 		calculateFinGeometry(component);
 		calculatePoly();
 		calculateInterferenceFinCount(component);
+
+		// The calculator may be shared between threads
+		geometryWarnings.immute();
 	}
 	
 	/*
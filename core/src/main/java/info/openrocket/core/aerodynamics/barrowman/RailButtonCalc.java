@@ -24,13 +24,27 @@ public class RailButtonCalc extends RocketComponentCalc {
 	private static final List<Double> cdRange = List.of(1.2, 1.22, 1.25, 1.3, 1.4, 1.5, 1.6, 2.1, 1.5, 1.45, 1.33,
 			1.33);
 
-	private final RailButton button;
+	private final double buttonHt;
+	private final double refArea;
+	private final double[] instancePositions;
 
 	public RailButtonCalc(RocketComponent component) {
 		super(component);
 
-		// need to stash the button
-		button = (RailButton) component;
+		final RailButton button = (RailButton) component;
+
+		// compute button reference area
+		buttonHt = button.getTotalHeight();
+		final double outerArea = buttonHt * button.getOuterDiameter();
+		final double notchArea = (button.getOuterDiameter() - button.getInnerDiameter()) * button.getInnerHeight();
+		refArea = outerArea - notchArea;
+
+		// location of each button
+		final Coordinate[] instanceOffsets = button.getInstanceOffsets();
+		instancePositions = new double[button.getInstanceCount()];
+		for (int i = 0; i < instancePositions.length; i++) {
+			instancePositions[i] = (button.toAbsolute(instanceOffsets[i]))[0].x;
+		}
 	}
 
 	@Override
@@ -49,30 +63,19 @@ public class RailButtonCalc extends RocketComponentCalc {
 	public double calculatePressureCD(FlightConditions conditions,
 			double stagnationCD, double baseCD, WarningSet warnings) {
 
-		// grab relevant button params
-		final int instanceCount = button.getInstanceCount();
-		final Coordinate[] instanceOffsets = button.getInstanceOffsets();
-
-		// compute button reference area
-		final double buttonHt = button.getTotalHeight();
-		final double outerArea = buttonHt * button.getOuterDiameter();
-		final double notchArea = (button.getOuterDiameter() - button.getInnerDiameter()) * button.getInnerHeight();
-		final double refArea = outerArea - notchArea;
-
 		// accumulate Cd contribution from each rail button. If velocity is 0 just set
 		// CDmul to a value previously
 		// competed for velocity MathUtil.EPSILON and skip the loop to avoid division by
 		// 0
 		double CDmul = 0.0;
 		if (conditions.getMach() > MathUtil.EPSILON) {
-			for (int i = 0; i < button.getInstanceCount(); i++) {
+			for (double x : instancePositions) {
 
 				// compute boundary layer height at button location. I can't find a good
 				// reference for the
 				// formula, e.g. https://aerospaceengineeringblog.com/boundary-layers/ simply
 				// says it's the
 				// "scientific consensus".
-				double x = (button.toAbsolute(instanceOffsets[i]))[0].x; // location of button
 				double rex = calculateReynoldsNumber(x, conditions); // Reynolds number of button location
 				double del = 0.37 * x / Math.pow(rex, 0.2); // Boundary layer thickness
 
@@ -109,7 +112,7 @@ public class RailButtonCalc extends RocketComponentCalc {
 
 			// since we'll be multiplying by the instance count up in BarrowmanCalculator,
 			// we want to return the mean CD instead of the total
-			CDmul /= button.getInstanceCount();
+			CDmul /= instancePositions.length;
 
 		} else {
 			// value at velocity of MathUtil.EPSILON
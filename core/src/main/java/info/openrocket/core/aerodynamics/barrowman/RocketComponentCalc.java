@@ -6,6 +6,13 @@ import info.openrocket.core.logging.WarningSet;
 import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.util.Transformation;
 
+/**
+ * Aerodynamic calculator of a single rocket component.
+ * <p>
+ * Implementations read the component geometry in the constructor and must not modify their
+ * state afterwards, as the same instance is shared between simulations running in different
+ * threads (see {@link info.openrocket.core.aerodynamics.ComponentCalcSnapshot}).
+ */
 public abstract class RocketComponentCalc {
 
 	public RocketComponentCalc(RocketComponent component) {
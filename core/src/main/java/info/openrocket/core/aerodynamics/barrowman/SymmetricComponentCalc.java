@@ -90,11 +90,33 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 			throw new UnsupportedOperationException("Unknown component type " +
 					component.getComponentName());
 		}
+
+		// Pre-calculate the CNa and CP of the shape
+		if (MathUtil.equals(foreRadius, aftRadius)) {
+			isTube = true;
+			cnaCache = 0;
+			cpCache = Double.NaN;
+		} else {
+			isTube = false;
+
+			final double A0 = Math.PI * pow2(foreRadius);
+			final double A1 = Math.PI * pow2(aftRadius);
+
+			cnaCache = 2 * (A1 - A0);
+			cpCache = (length * A1 - fullVolume) / (A1 - A0);
+		}
+
+		// Nose cones and shoulders use a pre-calculated pressure drag interpolator
+		if (!isTube && length >= 0.001 && foreRadius < aftRadius) {
+			interpolator = calculateNoseInterpolator();
+		} else {
+			interpolator = null;
+		}
 	}
 
-	private boolean isTube = false;
-	private double cnaCache = Double.NaN;
-	private double cpCache = Double.NaN;
+	private final boolean isTube;
+	private final double cnaCache;
+	private final double cpCache;
 
 	/**
 	 * Calculates the non-axial forces produced by the fins (normal and side forces,
@@ -110,26 +132,6 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 	public void calculateNonaxialForces(FlightConditions conditions, Transformation transform,
 			AerodynamicForces forces, WarningSet warnings) {
 
-		// Pre-calculate and store the results
-		if (Double.isNaN(cnaCache)) {
-			final double r0 = foreRadius;
-			final double r1 = aftRadius;
-
-			if (MathUtil.equals(r0, r1)) {
-				isTube = true;
-				cnaCache = 0;
-			} else {
-				isTube = false;
-
-				final double A0 = Math.PI * pow2(r0);
-				final double A1 = Math.PI * pow2(r1);
-
-				cnaCache = 2 * (A1 - A0);
-				// System.out.println("cnaCache = " + cnaCache);
-				cpCache = (length * A1 - fullVolume) / (A1 - A0);
-			}
-		}
-
 		Coordinate cp;
 
 		// If fore == aft, only body lift is encountered
@@ -184,7 +186,7 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 		return componentCf * wetArea / conditions.getRefArea();
 	}
 
-	private LinearInterpolator interpolator = null;
+	private final LinearInterpolator interpolator;
 
 	@Override
 	public double calculatePressureCD(FlightConditions conditions,
@@ -213,10 +215,6 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 		}
 
 		// All nose cones and shoulders from pre-calculated and interpolating
-		if (interpolator == null) {
-			calculateNoseInterpolator();
-		}
-
 		return interpolator.getValue(conditions.getMach()) * frontalArea / conditions.getRefArea();
 	}
 
@@ -266,9 +264,8 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 	}
 
 	/**
-	 * Calculate the LinearInterpolator 'interpolator'. After this call, if can be
-	 * used
-	 * to get the pressure drag coefficient at any Mach number.
+	 * Calculate the pressure drag interpolator of a nose cone or shoulder. The
+	 * returned interpolator gives the pressure drag coefficient at any Mach number.
 	 * 
 	 * First, the transonic/supersonic region is computed. For conical and ogive
 	 * shapes
@@ -285,11 +282,11 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 	 * region is interpolated in the form Cd = a*M^b + Cd(M=0).
 	 */
 	@SuppressWarnings("null")
-	private void calculateNoseInterpolator() {
+	private LinearInterpolator calculateNoseInterpolator() {
 		LinearInterpolator int1 = null, int2 = null;
 		double p = 0;
 
-		interpolator = new LinearInterpolator();
+		LinearInterpolator interpolator = new LinearInterpolator();
 
 		/*
 		 * Take into account nose cone shape. Conical and ogive generate the
@@ -392,7 +389,7 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 		double minValue = interpolator.getValue(min);
 		if (minValue < 0.001) {
 			// No interpolation necessary
-			return;
+			return interpolator;
 		}
 
 		double cdMach0 = 0.8 * pow2(sinphi);
@@ -400,7 +397,7 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 
 		// These should not occur, but might cause havoc for the interpolation
 		if ((cdMach0 >= minValue - 0.01) || (minDeriv <= 0.01)) {
-			return;
+			return interpolator;
 		}
 
 		// Cd = a*M^b + cdMach0
@@ -410,6 +407,7 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 		for (double m = 0; m < min; m += 0.05) {
 			interpolator.addPoint(m, a * Math.pow(m, b) + cdMach0);
 		}
+		return interpolator;
 	}
 
 	private static final PolyInterpolator conicalPolyInterpolator = new PolyInterpolator(new double[] { 1.0, 1.3 },
@@ -134,6 +134,9 @@ public class TubeFinSetCalc extends TubeCalc {
 		final double arprime = 2 * ar / Math.PI;
 		cnaconst = 2 * (arprime / (1 + arprime)) * Math.PI * Math.PI * innerRadius * chord;
 		log.debug("ar " + ar + ", cnaconst " + cnaconst);
+
+		// The calculator may be shared between threads
+		geometryWarnings.immute();
 	}
 
 	/*
@@ -2,7 +2,7 @@ package info.openrocket.core.componentanalysis;
 
 import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.simulation.DataBranch;
-import info.openrocket.core.util.ArrayList;
+import info.openrocket.core.util.DoubleArrayList;
 import info.openrocket.core.util.ModID;
 
 import java.util.HashMap;
@@ -14,7 +14,7 @@ import java.util.Map;
  */
 public class CADataBranch extends DataBranch<CADataType> {
 	// Map to store values for each CADataType-RocketComponent pair
-	private final Map<CADataType, Map<RocketComponent, ArrayList<Double>>> componentValues = new HashMap<>();
+	private final Map<CADataType, Map<RocketComponent, DoubleArrayList>> componentValues = new HashMap<>();
 	// Maps to store min and max values for each CADataType-RocketComponent pair
 	private final Map<CADataType, Map<RocketComponent, Double>> componentMinValues = new HashMap<>();
 	private final Map<CADataType, Map<RocketComponent, Double>> componentMaxValues = new HashMap<>();
@@ -40,12 +40,12 @@ public class CADataBranch extends DataBranch<CADataType> {
 	public void addPoint() {
 		mutable.check();
 
-		for (Map.Entry<CADataType, ArrayList<Double>> entry : values.entrySet()) {
-			entry.getValue().add(Double.NaN);
+		for (DoubleArrayList list : values.values()) {
+			list.add(Double.NaN);
 		}
 
-		for (Map<RocketComponent, ArrayList<Double>> componentMap : componentValues.values()) {
-			for (ArrayList<Double> list : componentMap.values()) {
+		for (Map<RocketComponent, DoubleArrayList> componentMap : componentValues.values()) {
+			for (DoubleArrayList list : componentMap.values()) {
 				list.add(Double.NaN);
 			}
 		}
@@ -65,17 +65,14 @@ public class CADataBranch extends DataBranch<CADataType> {
 			addType(type);
 		}
 
-		Map<RocketComponent, ArrayList<Double>> typeMap = componentValues.get(type);
-		ArrayList<Double> list = typeMap.computeIfAbsent(component, k -> {
-			ArrayList<Double> newList = new ArrayList<>();
-			int n = getLength();
-			for (int i = 0; i < n; i++) {
-				newList.add(Double.NaN);
-			}
+		Map<RocketComponent, DoubleArrayList> typeMap = componentValues.get(type);
+		DoubleArrayList list = typeMap.computeIfAbsent(component, k -> {
+			DoubleArrayList newList = new DoubleArrayList();
+			newList.fill(Double.NaN, getLength());
 			return newList;
 		});
 
-		if (list.size() > 0) {
+		if (!list.isEmpty()) {
 			list.set(list.size() - 1, value);
 		}
 
@@ -114,13 +111,27 @@ public class CADataBranch extends DataBranch<CADataType> {
 			return super.get(type);
 		}
 
-		Map<RocketComponent, ArrayList<Double>> typeMap = componentValues.get(type);
+		Map<RocketComponent, DoubleArrayList> typeMap = componentValues.get(type);
+		if (typeMap == null) return null;
+
+		DoubleArrayList list = typeMap.get(component);
+		if (list == null) return null;
+
+		return list.toList();
+	}
+
+	public double[] getDoubleArray(CADataType type, RocketComponent component) {
+		if (type instanceof CADomainDataType) {
+			return super.getDoubleArray(type);
+		}
+
+		Map<RocketComponent, DoubleArrayList> typeMap = componentValues.get(type);
 		if (typeMap == null) return null;
 
-		ArrayList<Double> list = typeMap.get(component);
+		DoubleArrayList list = typeMap.get(component);
 		if (list == null) return null;
 
-		return list.clone();
+		return list.toArray();
 	}
 
 	public Double getByIndex(CADataType type, RocketComponent component, int index) {
@@ -132,10 +143,10 @@ public class CADataBranch extends DataBranch<CADataType> {
 			return super.getByIndex(type, index);
 		}
 
-		Map<RocketComponent, ArrayList<Double>> typeMap = componentValues.get(type);
+		Map<RocketComponent, DoubleArrayList> typeMap = componentValues.get(type);
 		if (typeMap == null) return null;
 
-		ArrayList<Double> list = typeMap.get(component);
+		DoubleArrayList list = typeMap.get(component);
 		if (list == null) return null;
 
 		return list.get(index);
@@ -146,13 +157,13 @@ public class CADataBranch extends DataBranch<CADataType> {
 			return super.getLast(type);
 		}
 
-		Map<RocketComponent, ArrayList<Double>> typeMap = componentValues.get(type);
+		Map<RocketComponent, DoubleArrayList> typeMap = componentValues.get(type);
 		if (typeMap == null) return Double.NaN;
 
-		ArrayList<Double> list = typeMap.get(component);
-		if (list == null || list.isEmpty()) return Double.NaN;
+		DoubleArrayList list = typeMap.get(component);
+		if (list == null) return Double.NaN;
 
-		return list.get(list.size() - 1);
+		return list.getLast();
 	}
 
 	public double getMinimum(CADataType type, RocketComponent component) {
@@ -5,15 +5,41 @@ import info.openrocket.core.aerodynamics.AerodynamicForces;
 import info.openrocket.core.aerodynamics.FlightConditions;
 import info.openrocket.core.logging.WarningSet;
 import info.openrocket.core.rocketcomponent.FinSet;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
 import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.util.BugException;
 import info.openrocket.core.util.MathUtil;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
+/**
+ * Computes the component analysis data over a range of one or two flight condition
+ * parameters.
+ * <p>
+ * The sweep points are evaluated concurrently.  Each worker thread uses its own aerodynamic
+ * calculator and its own copy of the rocket, and creates new flight conditions for every
+ * point, so the shared parameters and rocket are never modified.  The results are added to
+ * the data branch in sweep order as soon as they are available.
+ */
 public class CAParameterSweep {
+	private static final Logger log = LoggerFactory.getLogger(CAParameterSweep.class);
+
 	private final CAParameters parameters;
 	private final AerodynamicCalculator aerodynamicCalculator;
 	private final Rocket rocket;
@@ -32,31 +58,174 @@ public class CAParameterSweep {
 	 * @param delta the step size of the parameter
 	 * @return a data branch containing the results of the sweep
 	 */
-	public CADataBranch sweep(CADomainDataType sweepParameter, double min, double max, double delta, double initialValue) {
-		List<Double> sweepValues = generateSweepValues(min, max, delta);
-		CADataBranch dataBranch = new CADataBranch("Parameter Sweep");
-		dataBranch.addType(sweepParameter);
+	public CADataBranch sweep(CADomainDataType sweepParameter, double min, double max, double delta) {
+		return sweep(sweepParameter, min, max, delta, null);
+	}
+
+	/**
+	 * Perform a parameter sweep over the specified parameter type.
+	 * @param sweepParameter the parameter to sweep (e.g. MACH)
+	 * @param min the minimum value of the parameter
+	 * @param max the maximum value of the parameter
+	 * @param delta the step size of the parameter
+	 * @param listener called with the data branch after each point is added, or null
+	 * @return a data branch containing the results of the sweep
+	 */
+	public CADataBranch sweep(CADomainDataType sweepParameter, double min, double max, double delta,
+							  Consumer<CADataBranch> listener) {
+		List<double[]> points = new ArrayList<>();
+		for (double value : generateSweepValues(min, max, delta)) {
+			points.add(new double[] { value });
+		}
+		return sweep(new CADomainDataType[] { sweepParameter }, points, listener);
+	}
 
-		for (Double value : sweepValues) {
-			setParameterValue(sweepParameter, value);
-			FlightConditions conditions = createFlightConditions();
-			Map<RocketComponent, AerodynamicForces> aeroData = aerodynamicCalculator.getForceAnalysis(rocket.getSelectedConfiguration(), conditions, new WarningSet());
+	/**
+	 * Perform a parameter sweep over a grid of two parameter types.  The points are ordered
+	 * by the first parameter and then by the second one, so the data branch contains a row of
+	 * values of the second parameter for each value of the first parameter.
+	 * @param sweepParameter1 the first parameter to sweep (e.g. MACH)
+	 * @param min1 the minimum value of the first parameter
+	 * @param max1 the maximum value of the first parameter
+	 * @param delta1 the step size of the first parameter
+	 * @param sweepParameter2 the second parameter to sweep (e.g. AOA)
+	 * @param min2 the minimum value of the second parameter
+	 * @param max2 the maximum value of the second parameter
+	 * @param delta2 the step size of the second parameter
+	 * @param listener called with the data branch after each point is added, or null
+	 * @return a data branch containing the results of the sweep, with both parameters as domain values
+	 */
+	public CADataBranch sweep(CADomainDataType sweepParameter1, double min1, double max1, double delta1,
+							  CADomainDataType sweepParameter2, double min2, double max2, double delta2,
+							  Consumer<CADataBranch> listener) {
+		if (sweepParameter1.equals(sweepParameter2)) {
+			throw new IllegalArgumentException("Cannot sweep the same parameter twice: " + sweepParameter1);
+		}
+		List<double[]> points = new ArrayList<>();
+		List<Double> values2 = generateSweepValues(min2, max2, delta2);
+		for (double value1 : generateSweepValues(min1, max1, delta1)) {
+			for (double value2 : values2) {
+				points.add(new double[] { value1, value2 });
+			}
+		}
+		return sweep(new CADomainDataType[] { sweepParameter1, sweepParameter2 }, points, listener);
+	}
 
-			dataBranch.addPoint();
-			addDomainData(dataBranch, sweepParameter, value);
+	private CADataBranch sweep(CADomainDataType[] sweepParameters, List<double[]> points,
+							   Consumer<CADataBranch> listener) {
+		for (CADomainDataType sweepParameter : sweepParameters) {
+			checkParameterType(sweepParameter);
+		}
+		CADataBranch dataBranch = new CADataBranch("Parameter Sweep");
+		for (CADomainDataType sweepParameter : sweepParameters) {
+			dataBranch.addType(sweepParameter);
+		}
+		if (points.isEmpty()) {
+			return dataBranch;
+		}
 
-			addComponentData(dataBranch, aeroData, value);
-			addStabilityData(dataBranch, aeroData, value);
-			addDragData(dataBranch, aeroData, value);
-			addRollData(dataBranch, aeroData, value);
+		// The results are keyed by the components of the original rocket
+		Map<UUID, RocketComponent> components = new HashMap<>();
+		Iterator<RocketComponent> iterator = rocket.iterator(true);
+		while (iterator.hasNext()) {
+			RocketComponent component = iterator.next();
+			components.put(component.getID(), component);
 		}
 
-		// Reset the parameter to its original value
-		setParameterValue(sweepParameter, initialValue);
+		final int threadCount = Math.min(Runtime.getRuntime().availableProcessors(), points.size());
+		List<CompletableFuture<Map<RocketComponent, AerodynamicForces>>> results = new ArrayList<>(points.size());
+		for (int i = 0; i < points.size(); i++) {
+			results.add(new CompletableFuture<>());
+		}
+		AtomicInteger nextPoint = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount, r -> {
+			Thread t = new Thread(r, "CAParameterSweep");
+			t.setDaemon(true);
+			return t;
+		});
+
+		try {
+			for (int t = 0; t < threadCount; t++) {
+				final Rocket rocketCopy = rocket.copyWithOriginalID();
+				executor.execute(() -> {
+					AerodynamicCalculator calculator;
+					FlightConfiguration configuration;
+					int i;
+					try {
+						calculator = aerodynamicCalculator.newInstance();
+						configuration = rocketCopy.getSelectedConfiguration();
+					} catch (Throwable e) {
+						while ((i = nextPoint.getAndIncrement()) < points.size()) {
+							results.get(i).completeExceptionally(e);
+						}
+						return;
+					}
+					while ((i = nextPoint.getAndIncrement()) < points.size()) {
+						if (Thread.currentThread().isInterrupted()) {
+							return;
+						}
+						try {
+							FlightConditions conditions = createFlightConditions(configuration, sweepParameters,
+									points.get(i));
+							Map<RocketComponent, AerodynamicForces> aeroData =
+									calculator.getForceAnalysis(configuration, conditions, new WarningSet());
+							results.get(i).complete(toOriginalComponents(aeroData, components));
+						} catch (Throwable e) {
+							// Any failure must complete the point, otherwise the caller waits forever
+							results.get(i).completeExceptionally(e);
+						}
+					}
+				});
+			}
+
+			for (int i = 0; i < points.size(); i++) {
+				Map<RocketComponent, AerodynamicForces> aeroData = results.get(i).get();
+
+				dataBranch.addPoint();
+				for (int j = 0; j < sweepParameters.length; j++) {
+					addDomainData(dataBranch, sweepParameters[j], points.get(i)[j]);
+				}
+
+				addComponentData(dataBranch, aeroData);
+				addStabilityData(dataBranch, aeroData);
+				addDragData(dataBranch, aeroData);
+				addRollData(dataBranch, aeroData);
+
+				if (listener != null) {
+					listener.accept(dataBranch);
+				}
+			}
+		} catch (InterruptedException e) {
+			log.info("Parameter sweep was interrupted after " + dataBranch.getLength() + " points");
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new BugException("Parameter sweep failed", e);
+		} finally {
+			executor.shutdownNow();
+		}
 
 		return dataBranch;
 	}
 
+	/**
+	 * Replace the keys of the force analysis by the corresponding components of the original rocket.
+	 */
+	private static Map<RocketComponent, AerodynamicForces> toOriginalComponents(
+			Map<RocketComponent, AerodynamicForces> aeroData, Map<UUID, RocketComponent> components) {
+		Map<RocketComponent, AerodynamicForces> result = new LinkedHashMap<>();
+		for (Map.Entry<RocketComponent, AerodynamicForces> entry : aeroData.entrySet()) {
+			RocketComponent component = components.getOrDefault(entry.getKey().getID(), entry.getKey());
+			result.put(component, entry.getValue());
+		}
+		return result;
+	}
+
 	private List<Double> generateSweepValues(double min, double max, double delta) {
 		List<Double> values = new ArrayList<>();
 		int scale = determineScale(delta);
@@ -78,15 +247,34 @@ public class CAParameterSweep {
 		return deltaStr.length() - indexOfDecimal - 1;
 	}
 
-	private void setParameterValue(CADomainDataType parameterType, double value) {
+	private static void checkParameterType(CADomainDataType parameterType) {
+		if (!parameterType.equals(CADomainDataType.MACH) && !parameterType.equals(CADomainDataType.AOA)
+				&& !parameterType.equals(CADomainDataType.ROLL_RATE)
+				&& !parameterType.equals(CADomainDataType.WIND_DIRECTION)) {
+			throw new IllegalArgumentException("Unsupported parameter type: " + parameterType);
+		}
+	}
+
+	/**
+	 * Return the value of a parameter at a sweep point, which is either the swept value or the
+	 * value of the parameters.
+	 */
+	private double getParameterValue(CADomainDataType parameterType, CADomainDataType[] sweepParameters,
+									 double[] point) {
+		for (int i = 0; i < sweepParameters.length; i++) {
+			if (sweepParameters[i].equals(parameterType)) {
+				return point[i];
+			}
+		}
+
 		if (parameterType.equals(CADomainDataType.MACH)) {
-			parameters.setMach(value);
+			return parameters.getMach();
 		} else if (parameterType.equals(CADomainDataType.AOA)) {
-			parameters.setAOA(value);
+			return parameters.getAOA();
 		} else if (parameterType.equals(CADomainDataType.ROLL_RATE)) {
-			parameters.setRollRate(value);
+			return parameters.getRollRate();
 		} else if (parameterType.equals(CADomainDataType.WIND_DIRECTION)) {
-			parameters.setTheta(value);
+			return parameters.getTheta();
 		}
 		// Add more cases here as more parameter types are implemented
 		else {
@@ -94,12 +282,13 @@ public class CAParameterSweep {
 		}
 	}
 
-	private FlightConditions createFlightConditions() {
-		FlightConditions conditions = new FlightConditions(rocket.getSelectedConfiguration());
-		conditions.setAOA(parameters.getAOA());
-		conditions.setTheta(parameters.getTheta());
-		conditions.setMach(parameters.getMach());
-		conditions.setRollRate(parameters.getRollRate());
+	private FlightConditions createFlightConditions(FlightConfiguration configuration,
+													CADomainDataType[] sweepParameters, double[] point) {
+		FlightConditions conditions = new FlightConditions(configuration);
+		conditions.setAOA(getParameterValue(CADomainDataType.AOA, sweepParameters, point));
+		conditions.setTheta(getParameterValue(CADomainDataType.WIND_DIRECTION, sweepParameters, point));
+		conditions.setMach(getParameterValue(CADomainDataType.MACH, sweepParameters, point));
+		conditions.setRollRate(getParameterValue(CADomainDataType.ROLL_RATE, sweepParameters, point));
 		return conditions;
 	}
 
@@ -107,7 +296,7 @@ public class CAParameterSweep {
 		dataBranch.setDomainValue(sweepParameter, value);
 	}
 
-	private void addComponentData(CADataBranch dataBranch, Map<RocketComponent, AerodynamicForces> aeroData, double sweepValue) {
+	private void addComponentData(CADataBranch dataBranch, Map<RocketComponent, AerodynamicForces> aeroData) {
 		for (Map.Entry<RocketComponent, AerodynamicForces> entry : aeroData.entrySet()) {
 			RocketComponent component = entry.getKey();
 			AerodynamicForces forces = entry.getValue();
@@ -141,7 +330,7 @@ public class CAParameterSweep {
 		}
 	}
 
-	private void addStabilityData(CADataBranch dataBranch, Map<RocketComponent, AerodynamicForces> aeroData, double sweepValue) {
+	private void addStabilityData(CADataBranch dataBranch, Map<RocketComponent, AerodynamicForces> aeroData) {
 		AerodynamicForces totalForces = aeroData.get(rocket);
 		if (totalForces != null && totalForces.getCP() != null) {
 			dataBranch.setValue(CADataType.CP_X, rocket, totalForces.getCP().x);
@@ -149,7 +338,7 @@ public class CAParameterSweep {
 		}
 	}
 
-	private void addDragData(CADataBranch dataBranch, Map<RocketComponent, AerodynamicForces> aeroData, double sweepValue) {
+	private void addDragData(CADataBranch dataBranch, Map<RocketComponent, AerodynamicForces> aeroData) {
 		AerodynamicForces totalForces = aeroData.get(rocket);
 		if (totalForces != null) {
 			dataBranch.setValue(CADataType.PRESSURE_CD, rocket, totalForces.getPressureCD());
@@ -160,7 +349,7 @@ public class CAParameterSweep {
 		}
 	}
 
-	private void addRollData(CADataBranch dataBranch, Map<RocketComponent, AerodynamicForces> aeroData, double sweepValue) {
+	private void addRollData(CADataBranch dataBranch, Map<RocketComponent, AerodynamicForces> aeroData) {
 		double totalRollForce = 0;
 		double totalRollDamping = 0;
 
@@ -90,9 +90,10 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 	
 	/** 
 	 * The undo history of the rocket.   Whenever a new undo position is created while the
-	 * rocket is in "dirty" state, the rocket is copied here.
+	 * rocket is in "dirty" state, a snapshot of the rocket is stored here.  Each snapshot
+	 * shares the copies of unmodified components with the previous one.
 	 */
-	private final LinkedList<Rocket> undoHistory = new LinkedList<>();
+	private final LinkedList<RocketSnapshot> undoHistory = new LinkedList<>();
 	private final LinkedList<String> undoDescription = new LinkedList<>();
 	
 	/**
@@ -258,6 +259,16 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 		return modID == savedID;
 	}
 	
+	/**
+	 * Return the modification ID of the document.  This changes whenever a simulation of the
+	 * document is modified; changes to the rocket are tracked by {@link Rocket#getModID()}.
+	 *
+	 * @return	the modification ID of the document.
+	 */
+	public ModID getModID() {
+		return modID;
+	}
+	
 	/**
 	 * sets the current rocket as saved, and none if false is given
 	 * @param saved	if the current rocket or none will be set to save
@@ -548,7 +559,7 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 	 */
 	private void addStateToUndoHistory(String description) {
 		// Add the current state to the undo history
-		undoHistory.add(rocket.copyWithOriginalID());
+		undoHistory.add(takeSnapshot());
 		undoDescription.add(null);
 		nextDescription = description;
 		undoPosition++;
@@ -637,7 +648,7 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 		undoHistory.clear();
 		undoDescription.clear();
 		
-		undoHistory.add(rocket.copyWithOriginalID());
+		undoHistory.add(RocketSnapshot.of(rocket));
 		undoDescription.add(null);
 		undoPosition = 0;
 		
@@ -758,12 +769,12 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 				logUndoError("undo position inconsistency");
 			}
 			// Modifications have been made, save the state and restore previous state
-			undoHistory.add(rocket.copyWithOriginalID());
+			undoHistory.add(takeSnapshot());
 			undoDescription.add(null);
 		}
 		
 		rocket.checkComponentStructure();
-		rocket.loadFrom(undoHistory.get(undoPosition));
+		rocket.loadFrom(undoHistory.get(undoPosition).toRocket());
 		rocket.checkComponentStructure();
 	}
 	
@@ -785,7 +796,7 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 		
 		undoPosition++;
 		
-		rocket.loadFrom(undoHistory.get(undoPosition).copyWithOriginalID());
+		rocket.loadFrom(undoHistory.get(undoPosition).toRocket());
 	}
 	
 	
@@ -793,6 +804,14 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 		return rocket.getModID() == undoHistory.get(undoPosition).getModID();
 	}
 	
+	/**
+	 * Take a snapshot of the current rocket state, sharing the unmodified components
+	 * with the latest snapshot in the undo history.
+	 */
+	private RocketSnapshot takeSnapshot() {
+		return RocketSnapshot.of(rocket, undoHistory.peekLast());
+	}
+	
 	
 	/**
 	 * Log a non-fatal undo/redo error or inconsistency.  Reports it to the user the first 
@@ -21,11 +21,9 @@ import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.simulation.BasicEventSimulationEngine;
 import info.openrocket.core.simulation.DefaultSimulationOptionFactory;
 import info.openrocket.core.simulation.FlightData;
-import info.openrocket.core.simulation.RK4SimulationStepper;
 import info.openrocket.core.simulation.SimulationConditions;
 import info.openrocket.core.simulation.SimulationEngine;
 import info.openrocket.core.simulation.SimulationOptions;
-import info.openrocket.core.simulation.SimulationStepper;
 import info.openrocket.core.simulation.exception.SimulationException;
 import info.openrocket.core.simulation.extension.SimulationExtension;
 import info.openrocket.core.simulation.listeners.SimulationListener;
@@ -150,7 +148,6 @@ public class Simulation implements ChangeSource, Cloneable {
 	
 	
 	private final Class<? extends SimulationEngine> simulationEngineClass = BasicEventSimulationEngine.class;
-	private Class<? extends SimulationStepper> simulationStepperClass = RK4SimulationStepper.class;
 	private Class<? extends AerodynamicCalculator> aerodynamicCalculatorClass = BarrowmanCalculator.class;
 	@SuppressWarnings("unused")
 	private final Class<? extends MassCalculator> massCalculatorClass = MassCalculator.class;
@@ -658,7 +655,6 @@ public class Simulation implements ChangeSource, Cloneable {
 			}
 			clone.status = this.status;
 			clone.simulatedData = this.simulatedData != null ? this.simulatedData.clone() : this.simulatedData;
-			clone.simulationStepperClass = this.simulationStepperClass;
 			clone.aerodynamicCalculatorClass = this.aerodynamicCalculatorClass;
 
 			return clone;
@@ -689,7 +685,6 @@ public class Simulation implements ChangeSource, Cloneable {
 			copyExtensionsFrom(simulation.getSimulationExtensions());
 			this.status = simulation.status;
 			this.simulatedData = simulation.simulatedData;
-			this.simulationStepperClass = simulation.simulationStepperClass;
 			this.aerodynamicCalculatorClass = simulation.aerodynamicCalculatorClass;
 		} finally {
 			mutex.unlock("loadFrom");
@@ -719,7 +714,6 @@ public class Simulation implements ChangeSource, Cloneable {
 			for (SimulationExtension c : this.simulationExtensions) {
 				newSim.simulationExtensions.add(c.clone());
 			}
-			newSim.simulationStepperClass = this.simulationStepperClass;
 			newSim.aerodynamicCalculatorClass = this.aerodynamicCalculatorClass;
 			
 			return newSim;
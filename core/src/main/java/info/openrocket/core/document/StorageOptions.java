@@ -15,6 +15,8 @@ public class StorageOptions implements Cloneable {
 
 	private boolean saveSimulationData = false;
 
+	private boolean binarySimulationData = false;
+
 	private boolean explicitlySet = false;
 
 	public FileType getFileType() {
@@ -33,6 +35,19 @@ public class StorageOptions implements Cloneable {
 		saveSimulationData = s;
 	}
 
+	/**
+	 * Return whether the simulation data is stored in binary entries of the archive instead
+	 * of as XML text.  Binary data is smaller and faster to load, but is not readable by older
+	 * versions of OpenRocket, which only see the summary values of the simulations.
+	 */
+	public boolean getBinarySimulationData() {
+		return binarySimulationData;
+	}
+
+	public void setBinarySimulationData(boolean binarySimulationData) {
+		this.binarySimulationData = binarySimulationData;
+	}
+
 	public boolean isExplicitlySet() {
 		return explicitlySet;
 	}
@@ -0,0 +1,385 @@
+package info.openrocket.core.file;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.document.StorageOptions;
+import info.openrocket.core.file.openrocket.FlightDataBinaryFormat;
+import info.openrocket.core.material.Material;
+import info.openrocket.core.preferences.DocumentPreferences;
+import info.openrocket.core.rocketcomponent.FlightConfigurationId;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketSnapshot;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.SimulationOptions;
+import info.openrocket.core.simulation.customexpression.CustomExpression;
+import info.openrocket.core.simulation.extension.SimulationExtension;
+import info.openrocket.core.util.ModID;
+
+/**
+ * Periodically saves a document to a recovery file in the background.
+ * <p>
+ * Each autosave takes a snapshot of the document on the thread owning the document (typically
+ * the event dispatch thread).  The snapshot is cheap: the rocket is copied with
+ * {@link RocketSnapshot}, which copies only the components modified since the previous
+ * autosave, and the flight data of the simulations is shared, since it is not modified after
+ * a simulation has run.  If the rocket modification ID, the document modification ID and the
+ * state of the simulations are unchanged since the previous autosave, nothing is written.
+ * <p>
+ * The snapshot is serialized on a background thread.  The simulation data is stored in binary
+ * form, and the encoded entries of flight data branches are kept and reused as long as the
+ * branches are part of the document, so unchanged simulations are not encoded again.  The
+ * recovery file is written to a temporary file which is then moved over the recovery file,
+ * so the recovery file is always a complete document.
+ */
+public class AutoSaver {
+	private static final Logger log = LoggerFactory.getLogger(AutoSaver.class);
+
+	private final OpenRocketDocument document;
+	private final File recoveryFile;
+	private final Executor documentExecutor;
+	private final ThreadPoolExecutor writer;
+
+	private ScheduledExecutorService scheduler;
+
+	// Accessed only on the document thread
+	private DocumentState lastState;
+	private RocketSnapshot lastSnapshot;
+	private Future<Boolean> pending;
+
+	// Accessed only by the writer thread
+	private final Map<FlightDataBranch, EncodedEntry> encodedEntries = new WeakHashMap<>();
+
+
+	/**
+	 * Sole constructor.
+	 *
+	 * @param document			the document to save.
+	 * @param recoveryFile		the file to save the document to.
+	 * @param documentExecutor	an executor running tasks on the thread owning the document,
+	 * 							used by the periodic autosaves.
+	 */
+	public AutoSaver(OpenRocketDocument document, File recoveryFile, Executor documentExecutor) {
+		this.document = document;
+		this.recoveryFile = recoveryFile;
+		this.documentExecutor = documentExecutor;
+		this.writer = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				r -> {
+					Thread t = new Thread(r, "AutoSaver");
+					t.setDaemon(true);
+					return t;
+				});
+		this.writer.allowCoreThreadTimeOut(true);
+	}
+
+
+	/**
+	 * Start saving the document periodically.  Any previous schedule is cancelled.
+	 *
+	 * @param period	the delay between autosaves.
+	 * @param unit		the unit of the period.
+	 */
+	public synchronized void start(long period, TimeUnit unit) {
+		stop();
+		scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "AutoSaver scheduler");
+			t.setDaemon(true);
+			return t;
+		});
+		scheduler.scheduleWithFixedDelay(() -> documentExecutor.execute(this::autosaveQuietly),
+				period, period, unit);
+	}
+
+	/**
+	 * Stop saving the document periodically.  An autosave in progress is completed.
+	 */
+	public synchronized void stop() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+	}
+
+	/**
+	 * Save the document to the recovery file if it has changed since the previous autosave.
+	 * This method must be called on the thread owning the document; the document is
+	 * serialized in the background.
+	 * <p>
+	 * If the previous autosave is still being written, its future is returned and no new
+	 * snapshot is taken.
+	 *
+	 * @return	a future which completes with <code>true</code> when the recovery file has
+	 * 			been written, or with <code>false</code> if the document was unchanged.
+	 */
+	public Future<Boolean> autosave() {
+		if (pending != null) {
+			if (!pending.isDone()) {
+				return pending;
+			}
+			if (hasFailed(pending)) {
+				// Write the document again even if it is unchanged
+				lastState = null;
+			}
+		}
+
+		DocumentState state = capture();
+		if (state.equals(lastState)) {
+			return CompletableFuture.completedFuture(false);
+		}
+		lastState = state;
+		pending = writer.submit(() -> {
+			write(state);
+			return true;
+		});
+		return pending;
+	}
+
+	/**
+	 * Delete the recovery file, typically after the document has been saved by the user.
+	 * The file is deleted after any autosave in progress has been written.
+	 *
+	 * @return	a future which completes when the file has been deleted.
+	 */
+	public Future<?> deleteRecoveryFile() {
+		return writer.submit(() -> {
+			Files.deleteIfExists(recoveryFile.toPath());
+			return null;
+		});
+	}
+
+	/**
+	 * Return the file the document is saved to.
+	 */
+	public File getRecoveryFile() {
+		return recoveryFile;
+	}
+
+
+	private void autosaveQuietly() {
+		try {
+			autosave();
+		} catch (RuntimeException e) {
+			log.warn("Unable to autosave document", e);
+		}
+	}
+
+	private static boolean hasFailed(Future<Boolean> future) {
+		try {
+			future.get();
+			return false;
+		} catch (ExecutionException e) {
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return true;
+		}
+	}
+
+	/**
+	 * Take a snapshot of the document.  The rocket snapshot of the previous autosave is reused
+	 * if the rocket is unchanged.
+	 */
+	private DocumentState capture() {
+		Rocket rocket = document.getRocket();
+		if (lastSnapshot == null || lastSnapshot.getModID() != rocket.getModID()) {
+			lastSnapshot = RocketSnapshot.of(rocket, lastSnapshot);
+		}
+
+		List<SimulationState> simulations = new ArrayList<>();
+		for (Simulation simulation : document.getSimulations()) {
+			simulations.add(SimulationState.of(simulation));
+		}
+
+		List<List<String>> expressions = new ArrayList<>();
+		for (CustomExpression expression : document.getCustomExpressions()) {
+			expressions.add(List.of(expression.getName(), expression.getSymbol(), expression.getUnit(),
+					expression.getExpressionString()));
+		}
+
+		DocumentPreferences prefs = document.getDocumentPreferences();
+		List<Material> materials = new ArrayList<>();
+		for (Material material : prefs.getAllMaterials()) {
+			materials.add(material);
+		}
+
+		return new DocumentState(lastSnapshot, document.getModID(), simulations, expressions,
+				new HashMap<>(document.getPhotoSettings()), new HashMap<>(prefs.getPreferencesMap()), materials);
+	}
+
+	/**
+	 * Serialize a snapshot of the document to the recovery file.  Called on the writer thread.
+	 */
+	private void write(DocumentState state) throws Exception {
+		long t0 = System.currentTimeMillis();
+		OpenRocketDocument copy = state.toDocument();
+
+		StorageOptions options = new StorageOptions();
+		options.setSaveSimulationData(true);
+		options.setBinarySimulationData(true);
+
+		File parent = recoveryFile.getAbsoluteFile().getParentFile();
+		File temporaryFile = File.createTempFile("ORAutosave", ".tmp", parent);
+		try {
+			new EntryReusingSaver().save(new BufferedOutputStream(new FileOutputStream(temporaryFile)), copy, options);
+			try {
+				Files.move(temporaryFile.toPath(), recoveryFile.toPath(),
+						StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporaryFile.toPath(), recoveryFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (Exception e) {
+			log.warn("Unable to autosave document to " + recoveryFile, e);
+			Files.deleteIfExists(temporaryFile.toPath());
+			throw e;
+		}
+		log.debug("Autosaved document to " + recoveryFile + " in " + (System.currentTimeMillis() - t0) + " ms");
+	}
+
+
+	/**
+	 * A saver which stores the encoded flight data entries uncompressed and reuses the
+	 * entries encoded by previous autosaves.
+	 */
+	private class EntryReusingSaver extends GeneralRocketSaver {
+		@Override
+		protected void writeDataEntry(ZipOutputStream zos, String name, FlightDataBranch branch) throws IOException {
+			EncodedEntry encoded = encodedEntries.get(branch);
+			if (encoded == null || encoded.length() != branch.getLength()) {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				FlightDataBinaryFormat.write(branch, branch.getTypes(), bytes);
+				CRC32 crc = new CRC32();
+				crc.update(bytes.toByteArray());
+				encoded = new EncodedEntry(bytes.toByteArray(), crc.getValue(), branch.getLength());
+				encodedEntries.put(branch, encoded);
+			}
+
+			ZipEntry entry = new ZipEntry(name);
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(encoded.bytes().length);
+			entry.setCompressedSize(encoded.bytes().length);
+			entry.setCrc(encoded.crc());
+			zos.putNextEntry(entry);
+			zos.write(encoded.bytes());
+			zos.closeEntry();
+		}
+	}
+
+	private record EncodedEntry(byte[] bytes, long crc, int length) {
+	}
+
+	/**
+	 * The state of a simulation.  The flight data is shared with the simulation.
+	 */
+	private record SimulationState(Simulation simulation, String name, FlightConfigurationId configId,
+			Simulation.Status status, SimulationOptions options, List<SimulationExtension> extensions,
+			FlightData data) {
+
+		static SimulationState of(Simulation simulation) {
+			List<SimulationExtension> extensions = new ArrayList<>();
+			for (SimulationExtension extension : simulation.getSimulationExtensions()) {
+				extensions.add(extension.clone());
+			}
+			return new SimulationState(simulation, simulation.getName(), simulation.getFlightConfigurationId(),
+					simulation.getStatus(), simulation.getOptions().clone(), extensions,
+					simulation.getSimulatedData());
+		}
+
+		/**
+		 * Return whether the simulation is unchanged.  The extensions are not compared, their
+		 * modifications are tracked by the document modification ID.
+		 */
+		boolean isUnchanged(SimulationState other) {
+			return simulation == other.simulation && status == other.status && data == other.data
+					&& name.equals(other.name) && configId.equals(other.configId) && options.equals(other.options);
+		}
+
+		Simulation toSimulation(OpenRocketDocument document, Rocket rocket) {
+			Simulation copy = new Simulation(document, rocket, status, name, options.clone(), extensions, data);
+			copy.setFlightConfigurationId(configId);
+			copy.syncModID();
+			return copy;
+		}
+	}
+
+	/**
+	 * A snapshot of the document.
+	 */
+	private record DocumentState(RocketSnapshot rocket, ModID modID, List<SimulationState> simulations,
+			List<List<String>> expressions, Map<String, String> photoSettings,
+			Map<String, DocumentPreferences.DocumentPreference> preferences, List<Material> materials) {
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof DocumentState other)) {
+				return false;
+			}
+			if (rocket.getModID() != other.rocket.getModID() || modID != other.modID
+					|| simulations.size() != other.simulations.size()) {
+				return false;
+			}
+			for (int i = 0; i < simulations.size(); i++) {
+				if (!simulations.get(i).isUnchanged(other.simulations.get(i))) {
+					return false;
+				}
+			}
+			return expressions.equals(other.expressions) && photoSettings.equals(other.photoSettings)
+					&& preferences.equals(other.preferences) && materials.equals(other.materials);
+		}
+
+		@Override
+		public int hashCode() {
+			return rocket.getModID().hashCode();
+		}
+
+		/**
+		 * Build a new document from the snapshot.
+		 */
+		OpenRocketDocument toDocument() {
+			Rocket rocketCopy = rocket.toRocket();
+			OpenRocketDocument copy = OpenRocketDocumentFactory.createDocumentFromRocket(rocketCopy);
+			for (SimulationState simulation : simulations) {
+				copy.addSimulation(simulation.toSimulation(copy, rocketCopy));
+			}
+			for (List<String> expression : expressions) {
+				copy.addCustomExpression(new CustomExpression(copy, expression.get(0), expression.get(1),
+						expression.get(2), expression.get(3)));
+			}
+			copy.getPhotoSettings().putAll(photoSettings);
+			copy.getDocumentPreferences().getPreferencesMap().putAll(preferences);
+			for (Material material : materials) {
+				copy.getDocumentPreferences().addMaterial(material);
+			}
+			return copy;
+		}
+	}
+}
@@ -16,6 +16,10 @@ import info.openrocket.core.componentanalysis.CAParameters;
 import info.openrocket.core.logging.Warning;
 import info.openrocket.core.logging.WarningSet;
 import info.openrocket.core.document.Simulation;
+import info.openrocket.core.optimization.general.ParetoFront;
+import info.openrocket.core.optimization.rocketoptimization.OptimizableParameter;
+import info.openrocket.core.optimization.rocketoptimization.RocketMultiObjectiveFunction;
+import info.openrocket.core.optimization.rocketoptimization.SimulationModifier;
 import info.openrocket.core.rocketcomponent.AxialStage;
 import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.simulation.FlightData;
@@ -152,14 +156,89 @@ public class CSVExport {
 		}
 	}
 
+	/**
+	 * Exports the Pareto front of a multi-objective optimization into a CSV file.  Each line
+	 * contains the modifier values and the parameter values of one non-dominated solution,
+	 * in the default units of their unit groups.
+	 *
+	 * @param stream                the stream to write to.
+	 * @param function              the optimized function, holding the values of the solutions.
+	 * @param front                 the Pareto front to export.
+	 * @param fieldSeparator        the field separator string.
+	 * @param decimalPlaces         the number of decimal places to use.
+	 * @param isExponentialNotation whether to use exponential notation.
+	 * @param fieldComments         whether to output field comments.
+	 * @param commentStarter        the comment starting character(s).
+	 * @throws IOException if an I/O exception occurs.
+	 */
+	public static void exportCSV(OutputStream stream, RocketMultiObjectiveFunction function, ParetoFront front,
+			String fieldSeparator, int decimalPlaces, boolean isExponentialNotation,
+			boolean fieldComments, String commentStarter) throws IOException {
+		SimulationModifier[] modifiers = function.getModifiers();
+		OptimizableParameter[] parameters = function.getParameters();
+
+		PrintWriter writer = null;
+		try {
+			writer = new PrintWriter(stream, false, StandardCharsets.UTF_8);
+
+			if (fieldComments) {
+				writer.println(prependComment(commentStarter, front.size() + " non-dominated solutions"));
+				writer.print(commentStarter + " ");
+				for (SimulationModifier modifier : modifiers) {
+					writer.print(modifier.getName() + " (" + modifier.getUnitGroup().getDefaultUnit().getUnit() + ")");
+					writer.print(fieldSeparator);
+				}
+				for (int i = 0; i < parameters.length; i++) {
+					writer.print(parameters[i].getName() + " (" +
+							parameters[i].getUnitGroup().getDefaultUnit().getUnit() + ")");
+					if (i < parameters.length - 1) {
+						writer.print(fieldSeparator);
+					}
+				}
+				writer.println();
+			}
+
+			for (ParetoFront.Solution solution : front.getSolutions()) {
+				RocketMultiObjectiveFunction.Evaluation evaluation = function.getEvaluation(solution.getPoint());
+				if (evaluation == null || !evaluation.isFeasible()) {
+					continue;
+				}
+				for (int i = 0; i < modifiers.length; i++) {
+					Unit unit = modifiers[i].getUnitGroup().getDefaultUnit();
+					writer.print(TextUtil.doubleToString(unit.toUnit(evaluation.getModifierValue(i)), decimalPlaces,
+							isExponentialNotation));
+					writer.print(fieldSeparator);
+				}
+				for (int i = 0; i < parameters.length; i++) {
+					Unit unit = parameters[i].getUnitGroup().getDefaultUnit();
+					writer.print(TextUtil.doubleToString(unit.toUnit(evaluation.getParameterValue(i)), decimalPlaces,
+							isExponentialNotation));
+					if (i < parameters.length - 1) {
+						writer.print(fieldSeparator);
+					}
+				}
+				writer.println();
+			}
+
+		} finally {
+			if (writer != null) {
+				try {
+					writer.close();
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
 	private static void writeData(PrintWriter writer, FlightDataBranch branch, FlightDataType[] fields, Unit[] units,
 								  String fieldSeparator, int decimalPlaces, boolean isExponentialNotation,
 								  boolean eventComments, String commentStarter) {
 		// Time variable
-		List<Double> time = branch.get(FlightDataType.TYPE_TIME);
+		double[] time = branch.getDoubleArray(FlightDataType.TYPE_TIME);
 
 		// Number of data points
-		int n = time != null ? time.size() : branch.getLength();
+		int n = time != null ? time.length : branch.getLength();
 
 		// Flight events in occurrence order
 		List<FlightEvent> events = branch.getEvents();
@@ -167,10 +246,9 @@ public class CSVExport {
 		int eventPosition = 0;
 
 		// List of field values
-		List<List<Double>> fieldValues = new ArrayList<>();
-		for (FlightDataType t : fields) {
-			List<Double> values = branch.get(t);
-			fieldValues.add(values);
+		double[][] fieldValues = new double[fields.length][];
+		for (int i = 0; i < fields.length; i++) {
+			fieldValues[i] = branch.getDoubleArray(fields[i]);
 		}
 
 		// If time information is not available, print events at beginning of file
@@ -185,7 +263,7 @@ public class CSVExport {
 		for (int pos = 0; pos < n; pos++) {
 			// Check for events to store
 			if (eventComments && time != null) {
-				double t = time.get(pos);
+				double t = time[pos];
 
 				while ((eventPosition < events.size()) &&
 						(events.get(eventPosition).getTime() <= t)) {
@@ -196,7 +274,7 @@ public class CSVExport {
 
 			// Store CSV line
 			for (int i = 0; i < fields.length; i++) {
-				double value = fieldValues.get(i).get(pos);
+				double value = fieldValues[i][pos];
 				writer.print(TextUtil.doubleToString(units[i].toUnit(value), decimalPlaces, isExponentialNotation));
 
 				if (i < fields.length - 1) {
@@ -218,19 +296,21 @@ public class CSVExport {
 	private static void writeData(PrintWriter writer, CADataBranch branch, CADomainDataType domainDataType,
 								  CADataType[] fields, Map<CADataType, List<RocketComponent>> components, Unit[] units,
 								  String fieldSeparator, int decimalPlaces, boolean isExponentialNotation) {
-		List<Double> domainValues = branch.get(domainDataType);
+		double[] domainValues = branch.getDoubleArray(domainDataType);
 
-		int n = domainValues != null ? domainValues.size() : branch.getLength();
+		int n = domainValues != null ? domainValues.length : branch.getLength();
 
 		// List of field values
-		List<List<Double>> fieldValues = new ArrayList<>();
+		List<double[]> fieldValues = new ArrayList<>();
 		for (int i = 0; i < fields.length; i++) {
 			Unit unit = units[i];
 			for (RocketComponent c : components.get(fields[i])) {
-				List<Double> values = branch.get(fields[i], c);
+				double[] values = branch.getDoubleArray(fields[i], c);
 
 				// Convert the values to the correct unit
-				values.replaceAll(unit::toUnit);
+				for (int j = 0; j < values.length; j++) {
+					values[j] = unit.toUnit(values[j]);
+				}
 
 				fieldValues.add(values);
 			}
@@ -240,13 +320,13 @@ public class CSVExport {
 		for (int pos = 0; pos < n; pos++) {
 			// Store domain type
 			if (domainValues != null) {
-				writer.print(TextUtil.doubleToString(domainValues.get(pos), decimalPlaces, isExponentialNotation));
+				writer.print(TextUtil.doubleToString(domainValues[pos], decimalPlaces, isExponentialNotation));
 				writer.print(fieldSeparator);
 			}
 
 			// Store CSV line
 			for (int i = 0; i < fieldValues.size(); i++) {
-				double value = fieldValues.get(i).get(pos);
+				double value = fieldValues.get(i)[pos];
 				writer.print(TextUtil.doubleToString(value, decimalPlaces, isExponentialNotation));
 
 				if (i < fieldValues.size() - 1) {
@@ -1,6 +1,10 @@
 package info.openrocket.core.file;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.simulation.FlightDataBranch;
 
 public class DocumentLoadingContext {
 
@@ -8,6 +12,8 @@ public class DocumentLoadingContext {
 	private MotorFinder motorFinder;
 	private AttachmentFactory attachmentFactory = new FileSystemAttachmentFactory();
 	private OpenRocketDocument document;
+	private boolean deferSimulationData = false;
+	private final List<List<FlightDataBranch>> deferredSimulationData = new ArrayList<>();
 
 	public int getFileVersion() {
 		return fileVersion;
@@ -41,4 +47,30 @@ public class DocumentLoadingContext {
 		this.attachmentFactory = attachmentFactory;
 	}
 
+	/**
+	 * Return whether the parsing of the simulation data points is deferred until the data
+	 * is accessed.
+	 */
+	public boolean isDeferSimulationData() {
+		return deferSimulationData;
+	}
+
+	public void setDeferSimulationData(boolean deferSimulationData) {
+		this.deferSimulationData = deferSimulationData;
+	}
+
+	/**
+	 * Register the branches of a simulation whose data points have not been parsed yet.
+	 */
+	public void addDeferredSimulationData(List<FlightDataBranch> branches) {
+		deferredSimulationData.add(branches);
+	}
+
+	/**
+	 * Return the branches whose data points have not been parsed yet, grouped by simulation.
+	 */
+	public List<List<FlightDataBranch>> getDeferredSimulationData() {
+		return deferredSimulationData;
+	}
+
 }
@@ -7,8 +7,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -21,6 +23,7 @@ import info.openrocket.core.file.rasaero.importt.RASAeroLoader;
 import info.openrocket.core.file.rocksim.importt.RockSimLoader;
 import info.openrocket.core.material.Material;
 import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.simulation.FlightDataBranch;
 import info.openrocket.core.util.ArrayUtils;
 import info.openrocket.core.util.TextUtil;
 
@@ -56,6 +59,9 @@ public class GeneralRocketLoader {
 	private AttachmentFactory attachmentFactory;
 	private final OpenRocketDocument doc = OpenRocketDocumentFactory.createEmptyRocket();
 
+	private boolean deferSimulationData = false;
+	private CompletableFuture<Void> simulationData = CompletableFuture.completedFuture(null);
+
 	public GeneralRocketLoader(File file) {
 		this.baseFile = file;
 		this.jarURL = null;
@@ -111,6 +117,29 @@ public class GeneralRocketLoader {
 		return warnings;
 	}
 
+	/**
+	 * Set whether the simulation data points are parsed in the background.  When enabled,
+	 * the load methods return once the rocket and the simulation summaries have been read,
+	 * and the data points of each simulation are then parsed in parallel.  The progress of
+	 * the parsing is available through {@link #getSimulationDataFuture()}.
+	 * <p>
+	 * Accessing the data of a simulation before it has been parsed is safe; the data is
+	 * then parsed on the accessing thread.
+	 *
+	 * @param deferSimulationData	whether to parse the simulation data in the background.
+	 */
+	public void setDeferSimulationData(boolean deferSimulationData) {
+		this.deferSimulationData = deferSimulationData;
+	}
+
+	/**
+	 * Return a future that completes when the simulation data of the loaded document has
+	 * been parsed.  The future is already complete if the parsing was not deferred.
+	 */
+	public CompletableFuture<Void> getSimulationDataFuture() {
+		return simulationData;
+	}
+
 	/**
 	 * This method determines the type file contained in the stream then calls the
 	 * appropriate loading mechanism.
@@ -253,9 +282,21 @@ public class GeneralRocketLoader {
 		context.setOpenRocketDocument(doc);
 		context.setMotorFinder(motorFinder);
 		context.setAttachmentFactory(attachmentFactory);
+		context.setDeferSimulationData(deferSimulationData);
 		loader.load(context, source, fileName);
 		warnings.addAll(loader.getWarnings());
 
+		// Parse the deferred data points of each simulation in parallel
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		for (List<FlightDataBranch> branches : context.getDeferredSimulationData()) {
+			futures.add(CompletableFuture.runAsync(() -> {
+				for (FlightDataBranch branch : branches) {
+					branch.loadData();
+				}
+			}));
+		}
+		simulationData = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+
 		// Check for custom materials that need to be added to the document material database
 		doc.reloadDocumentMaterials();
 	}
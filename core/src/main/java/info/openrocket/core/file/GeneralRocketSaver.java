@@ -7,6 +7,8 @@ import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.zip.ZipEntry;
@@ -18,6 +20,7 @@ import info.openrocket.core.appearance.DecalImage;
 import info.openrocket.core.document.OpenRocketDocument;
 import info.openrocket.core.document.StorageOptions;
 import info.openrocket.core.document.StorageOptions.FileType;
+import info.openrocket.core.file.openrocket.FlightDataBinaryFormat;
 import info.openrocket.core.file.openrocket.OpenRocketSaver;
 import info.openrocket.core.file.rasaero.export.RASAeroSaver;
 import info.openrocket.core.file.rocksim.export.RockSimSaver;
@@ -25,6 +28,7 @@ import info.openrocket.core.logging.ErrorSet;
 import info.openrocket.core.logging.WarningSet;
 import info.openrocket.core.rocketcomponent.InsideColorComponent;
 import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.simulation.FlightDataBranch;
 import info.openrocket.core.util.DecalNotFoundException;
 import info.openrocket.core.util.MathUtil;
 
@@ -154,6 +158,22 @@ public class GeneralRocketSaver {
 		}
 	}
 
+	/**
+	 * Save the document to a stream with the given storage options.  Decals used by the
+	 * rocket are included in the archive.  The stream is closed after saving.
+	 *
+	 * @param output   the destination stream.
+	 * @param document the document to save.
+	 * @param options  the storage options.
+	 * @throws IOException in case of an I/O error.
+	 */
+	public final void save(OutputStream output, OpenRocketDocument document, StorageOptions options)
+			throws IOException, DecalNotFoundException {
+		try (output) {
+			save(null, output, document, options);
+		}
+	}
+
 	/**
 	 * Provide an estimate of the file size when saving the document with the
 	 * specified options. This is used as an indication to the user and when
@@ -224,9 +244,15 @@ public class GeneralRocketSaver {
 
 			ZipEntry mainFile = new ZipEntry("rocket.ork");
 			zos.putNextEntry(mainFile);
-			saveInternal(zos, document, options);
+			Map<String, FlightDataBranch> dataEntries = new LinkedHashMap<>();
+			saveInternal(zos, document, options, dataEntries);
 			zos.closeEntry();
 
+			// Write the simulation data stored in binary form
+			for (Map.Entry<String, FlightDataBranch> entry : dataEntries.entrySet()) {
+				writeDataEntry(zos, entry.getKey(), entry.getValue());
+			}
+
 			// Now we write out all the decal images files.
 			for (DecalImage image : decals) {
 				if (image.isIgnored()) {
@@ -252,10 +278,34 @@ public class GeneralRocketSaver {
 
 	}
 
+	/**
+	 * Write the values of a flight data branch stored in binary form as an entry of the archive.
+	 * Subclasses may override this to reuse a previously encoded entry.
+	 *
+	 * @param zos		the archive being written.
+	 * @param name		the name of the entry.
+	 * @param branch	the branch to write.
+	 * @throws IOException	in case of an I/O error.
+	 */
+	protected void writeDataEntry(ZipOutputStream zos, String name, FlightDataBranch branch) throws IOException {
+		zos.putNextEntry(new ZipEntry(name));
+		FlightDataBinaryFormat.write(branch, branch.getTypes(), zos);
+		zos.closeEntry();
+	}
+
 	// package scope for testing.
 
 	private void saveInternal(OutputStream output, OpenRocketDocument document, StorageOptions options)
 			throws IOException {
+		saveInternal(output, document, options, null);
+	}
+
+	/**
+	 * Save the document.  Flight data branches that are to be stored as separate entries of the
+	 * archive are added to <code>dataEntries</code>, if it is non-null.
+	 */
+	private void saveInternal(OutputStream output, OpenRocketDocument document, StorageOptions options,
+			Map<String, FlightDataBranch> dataEntries) throws IOException {
 		warnings.clear();
 		errors.clear();
 
@@ -264,7 +314,7 @@ public class GeneralRocketSaver {
 		} else if (options.getFileType() == FileType.RASAERO) {
 			new RASAeroSaver().save(output, document, options, warnings, errors);
 		} else {
-			new OpenRocketSaver().save(output, document, options, warnings, errors);
+			new OpenRocketSaver().save(output, document, options, warnings, errors, dataEntries);
 		}
 	}
 
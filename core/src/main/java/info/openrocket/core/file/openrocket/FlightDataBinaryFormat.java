@@ -0,0 +1,136 @@
+package info.openrocket.core.file.openrocket;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.util.FileUtils;
+
+/**
+ * Binary encoding of the values of a flight data branch, stored as a separate entry of the
+ * .ork zip archive instead of <code>&lt;datapoint&gt;</code> elements.
+ * <p>
+ * The encoding consists of a header of four big-endian integers (magic number, format version,
+ * number of columns and number of points) followed by the values of each column in turn as
+ * big-endian IEEE 754 doubles.  Storing the values by column keeps similar values together,
+ * which compresses well in the archive.  The columns are in the order of the types listed in
+ * the <code>types</code> attribute of the <code>&lt;databranch&gt;</code> element.
+ */
+public final class FlightDataBinaryFormat {
+
+	/** Name of the directory in the archive holding the flight data entries */
+	public static final String ENTRY_DIRECTORY = "simulations/";
+
+	private static final int MAGIC = 0x4F524644;	// "ORFD"
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 16;
+	private static final int BUFFER_VALUES = 1024;
+
+	private FlightDataBinaryFormat() {
+	}
+
+	/**
+	 * Return the name of the archive entry holding the data of a branch.
+	 *
+	 * @param simulation	the index of the simulation in the document.
+	 * @param branch		the index of the branch in the flight data.
+	 * @return				the entry name.
+	 */
+	public static String getEntryName(int simulation, int branch) {
+		return ENTRY_DIRECTORY + "simulation-" + (simulation + 1) + "-branch-" + (branch + 1) + ".bin";
+	}
+
+	/**
+	 * Return the number of bytes the encoded data of a branch occupies.
+	 */
+	public static long getEncodedSize(int columns, int length) {
+		return HEADER_BYTES + 8L * columns * length;
+	}
+
+	/**
+	 * Write the values of a branch.  The stream is not closed.
+	 *
+	 * @param branch	the branch.
+	 * @param types		the types of the columns to write.
+	 * @param output	the stream to write to.
+	 * @throws IOException	if an I/O error occurs.
+	 */
+	public static void write(FlightDataBranch branch, FlightDataType[] types, OutputStream output) throws IOException {
+		int length = branch.getLength();
+		DataOutputStream out = new DataOutputStream(output);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(types.length);
+		out.writeInt(length);
+		writeValues(branch, types, 0, length, out);
+	}
+
+	/**
+	 * Write the values of a range of points of a branch column by column, without the header.
+	 * The values are written through a fixed size buffer, so no copies of the columns are made.
+	 *
+	 * @param branch	the branch.
+	 * @param types		the types of the columns to write.
+	 * @param start		the index of the first point to write.
+	 * @param end		the index after the last point to write.
+	 * @param output	the stream to write to.
+	 * @throws IOException	if an I/O error occurs.
+	 */
+	static void writeValues(FlightDataBranch branch, FlightDataType[] types, int start, int end,
+			OutputStream output) throws IOException {
+		byte[] buffer = new byte[8 * BUFFER_VALUES];
+		DoubleBuffer doubles = ByteBuffer.wrap(buffer).asDoubleBuffer();
+		for (FlightDataType type : types) {
+			DoubleBuffer column = branch.getColumn(type);
+			for (int index = start; index < end; index++) {
+				doubles.put(column.get(index));
+				if (!doubles.hasRemaining()) {
+					output.write(buffer);
+					doubles.clear();
+				}
+			}
+			if (doubles.position() > 0) {
+				output.write(buffer, 0, 8 * doubles.position());
+				doubles.clear();
+			}
+		}
+		output.flush();
+	}
+
+	/**
+	 * Read the values of a branch.  The stream is not closed.
+	 *
+	 * @param input		the stream to read.
+	 * @param columns	the expected number of columns.
+	 * @return			the values of each column.
+	 * @throws IOException	if an I/O error occurs or the data is not in the expected format.
+	 */
+	public static double[][] read(InputStream input, int columns) throws IOException {
+		ByteBuffer bytes = ByteBuffer.wrap(FileUtils.readBytes(input));
+		if (bytes.remaining() < HEADER_BYTES || bytes.getInt() != MAGIC) {
+			throw new IOException("Not a flight data entry");
+		}
+		int version = bytes.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported flight data format version " + version);
+		}
+		int columnCount = bytes.getInt();
+		int length = bytes.getInt();
+		if (columnCount != columns || length < 0
+				|| bytes.remaining() != getEncodedSize(columnCount, length) - HEADER_BYTES) {
+			throw new IOException("Flight data entry has unexpected size");
+		}
+
+		DoubleBuffer doubles = bytes.asDoubleBuffer();
+		double[][] values = new double[columnCount][length];
+		for (double[] column : values) {
+			doubles.get(column);
+		}
+		return values;
+	}
+}
@@ -5,12 +5,14 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.util.ArrayList;
+import java.nio.DoubleBuffer;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
 import info.openrocket.core.file.openrocket.savers.PhotoStudioSaver;
 import info.openrocket.core.logging.ErrorSet;
@@ -28,13 +30,13 @@ import info.openrocket.core.document.OpenRocketDocument;
 import info.openrocket.core.document.Simulation;
 import info.openrocket.core.document.StorageOptions;
 import info.openrocket.core.file.RocketSaver;
-import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.simulation.FlightData;
 import info.openrocket.core.simulation.FlightDataBranch;
 import info.openrocket.core.simulation.FlightDataType;
 import info.openrocket.core.simulation.FlightEvent;
 import info.openrocket.core.simulation.SimulationOptions;
+import info.openrocket.core.simulation.SimulationStepperRegistry;
 import info.openrocket.core.simulation.customexpression.CustomExpression;
 import info.openrocket.core.simulation.extension.SimulationExtension;
 import info.openrocket.core.util.BugException;
@@ -61,21 +63,53 @@ public class OpenRocketSaver extends RocketSaver {
 	public static final String INDENT = "  ";
 	
 	
-	// Estimated storage used by different portions
-	// These have been hand-estimated from saved files
+	// Parameters of the file size estimate
+	private static final int ESTIMATE_SAMPLE_POINTS = 256;
+	private static final int BYTES_PER_ZIP_ENTRY = 100;
 	private static final int BYTES_PER_COMPONENT_COMPRESSED = 80;
 	private static final int BYTES_PER_SIMULATION_COMPRESSED = 100;
-	private static final int BYTES_PER_DATAPOINT_COMPRESSED = 100;
+	// Typical compressed size of a value of a branch whose data has not been read
+	private static final double BYTES_PER_VALUE_COMPRESSED_BINARY = 4;
+	private static final double BYTES_PER_VALUE_COMPRESSED_TEXT = 1.3;
+	/** Indentation level of the data points in the file */
+	private static final int DATAPOINT_INDENT = 5;
 	
 	
 	private int indent;
 	private Writer dest;
 	
+	/** Branches whose data is stored in separate archive entries, or null to store all data as XML */
+	private Map<String, FlightDataBranch> dataEntries = null;
+	
 	@Override
 	public void save(OutputStream output, OpenRocketDocument document, StorageOptions options, WarningSet warnings, ErrorSet errors) throws IOException {
+		save(output, document, options, warnings, errors, null);
+	}
+	
+	/**
+	 * Save the document, optionally storing the simulation data in separate archive entries.
+	 * <p>
+	 * If the storage options request binary simulation data and <code>dataEntries</code> is
+	 * not <code>null</code>, the data branches are referenced by entry name in the XML and
+	 * added to the map.  The caller is responsible for writing each branch into the archive
+	 * using {@link FlightDataBinaryFormat#write(FlightDataBranch, FlightDataType[], OutputStream)}
+	 * with the types of {@link FlightDataBranch#getTypes()}.
+	 *
+	 * @param output		the stream to write the XML to.
+	 * @param document		the document to save.
+	 * @param options		the storage options.
+	 * @param warnings		the warning set to add warnings to.
+	 * @param errors		the error set to add errors to.
+	 * @param dataEntries	map to which the entry names and branches to write are added, or <code>null</code>.
+	 * @throws IOException	in case of an I/O error.
+	 */
+	public void save(OutputStream output, OpenRocketDocument document, StorageOptions options, WarningSet warnings,
+			ErrorSet errors, Map<String, FlightDataBranch> dataEntries) throws IOException {
 		
 		log.info("Saving .ork file");
 		
+		this.dataEntries = options.getBinarySimulationData() ? dataEntries : null;
+		
 		dest = new BufferedWriter(new OutputStreamWriter(output, OPENROCKET_CHARSET));
 		
 		// Select file version number
@@ -104,12 +138,12 @@ public class OpenRocketSaver extends RocketSaver {
 		// Save all simulations
 		writeln("<simulations>");
 		indent++;
-		boolean first = true;
+		int simulationIndex = 0;
 		for (Simulation s : document.getSimulations()) {
-			if (!first)
+			if (simulationIndex > 0)
 				writeln("");
-			first = false;
-			saveSimulation(s, options.getSaveSimulationData());
+			saveSimulation(s, simulationIndex, options.getSaveSimulationData());
+			simulationIndex++;
 		}
 		indent--;
 		writeln("</simulations>");
@@ -163,47 +197,122 @@ public class OpenRocketSaver extends RocketSaver {
 		writeln("</type>");
 	}
 	
+	/**
+	 * Estimate the size of the saved file.  The size of the document without the simulation data
+	 * points is estimated from the number of components and simulations, and the size of the data
+	 * of each branch is extrapolated from compressing a sample of consecutive data points.
+	 * Branches whose data has not been read yet are estimated from their number of values,
+	 * so that the estimate does not decode them.
+	 * The estimate is computed before every monitored save, so the document itself is not
+	 * serialized.  Decals are not included.
+	 */
 	@Override
 	public long estimateFileSize(OpenRocketDocument doc, StorageOptions options) {
 		
-		long size = 0;
-		
 		// TODO - estimate decals
 		
+		long size = BYTES_PER_ZIP_ENTRY;
+		
 		// Size per component
-		int componentCount = 0;
-		Rocket rocket = doc.getRocket();
-		Iterator<RocketComponent> iterator = rocket.iterator(true);
+		Iterator<RocketComponent> iterator = doc.getRocket().iterator(true);
 		while (iterator.hasNext()) {
 			iterator.next();
-			componentCount++;
+			size += BYTES_PER_COMPONENT_COMPRESSED;
 		}
 		
-		size += componentCount * BYTES_PER_COMPONENT_COMPRESSED;
-		
-		
 		// Size per simulation
 		size += doc.getSimulationCount() * BYTES_PER_SIMULATION_COMPRESSED;
 		
-		
-		// Size per flight data point
-		int pointCount = 0;
-		if (options.getSaveSimulationData()) {
+		// Size per flight data point, external data is always stored
+		try {
 			for (Simulation s : doc.getSimulations()) {
 				FlightData data = s.getSimulatedData();
-				if (data != null) {
-					for (int i = 0; i < data.getBranchCount(); i++) {
-						pointCount += countFlightDataBranchPoints(data.getBranch(i));
-					}
+				if (data == null ||
+						!(options.getSaveSimulationData() || s.getStatus() == Simulation.Status.EXTERNAL))
+					continue;
+				for (FlightDataBranch branch : data.getBranches()) {
+					size += estimateFlightDataBranchSize(branch, options.getBinarySimulationData());
 				}
 			}
+		} catch (IOException e) {
+			throw new BugException("I/O error while estimating file size", e);
+		}
+		
+		return size;
+	}
+	
+	/**
+	 * Estimate the compressed size of the data points of a branch.
+	 */
+	private long estimateFlightDataBranchSize(FlightDataBranch branch, boolean binary) throws IOException {
+		int length = branch.getLength();
+		if (length == 0)
+			return 0;
+		
+		FlightDataType[] types = branch.getTypes();
+		if (branch.isDataPending()) {
+			long values = (long) types.length * length;
+			if (binary)
+				return (long) (values * BYTES_PER_VALUE_COMPRESSED_BINARY) + BYTES_PER_ZIP_ENTRY;
+			return (long) (values * BYTES_PER_VALUE_COMPRESSED_TEXT);
 		}
 		
-		size += pointCount * BYTES_PER_DATAPOINT_COMPRESSED;
+		int count = Math.min(length, ESTIMATE_SAMPLE_POINTS);
+		int start = (length - count) / 2;
+		long sampleSize;
+		if (binary) {
+			sampleSize = compressedSize(out -> FlightDataBinaryFormat.writeValues(branch, types, start, start + count, out));
+		} else {
+			sampleSize = compressedSize(out -> {
+				OpenRocketSaver saver = new OpenRocketSaver();
+				saver.dest = new BufferedWriter(new OutputStreamWriter(out, OPENROCKET_CHARSET));
+				saver.indent = DATAPOINT_INDENT;
+				saver.writeDataPoints(branch, types, start, start + count);
+				saver.dest.flush();
+			});
+		}
 		
+		long size = sampleSize * length / count;
+		if (binary)
+			size += BYTES_PER_ZIP_ENTRY;
 		return size;
 	}
 	
+	/**
+	 * Return the number of bytes the output of a writer occupies when compressed as in the archive.
+	 */
+	private static long compressedSize(SampleWriter writer) throws IOException {
+		CountingOutputStream counter = new CountingOutputStream();
+		Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+		try (DeflaterOutputStream out = new DeflaterOutputStream(counter, deflater)) {
+			writer.write(out);
+		} finally {
+			deflater.end();
+		}
+		return counter.count;
+	}
+	
+	private interface SampleWriter {
+		void write(OutputStream out) throws IOException;
+	}
+	
+	/**
+	 * Output stream that discards the data and counts the bytes written.
+	 */
+	private static class CountingOutputStream extends OutputStream {
+		private long count = 0;
+		
+		@Override
+		public void write(int b) {
+			count++;
+		}
+		
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+	
 	/**
 	 * Public test accessor method for calculateNecessaryFileVersion, used by unit tests.
 	 * 
@@ -317,7 +426,7 @@ public class OpenRocketSaver extends RocketSaver {
 	}
 	
 	
-	private void saveSimulation(Simulation simulation, boolean saveSimulationData) throws IOException {
+	private void saveSimulation(Simulation simulation, int simulationIndex, boolean saveSimulationData) throws IOException {
 		SimulationOptions cond = simulation.getOptions();
 
 		Simulation.Status simStatus;
@@ -388,6 +497,19 @@ public class OpenRocketSaver extends RocketSaver {
 		
 		writeElement("timestep", cond.getTimeStep());
 		writeElement("maxtime", cond.getMaxSimulationTime());
+		if (cond.isTabulatedAerodynamics()) {
+			writeElement("tabulatedaerodynamics", true);
+		}
+		if (cond.isAdaptiveStepping()) {
+			writeElement("adaptivestepping", true);
+		}
+		for (SimulationStepperRegistry.Phase phase : SimulationStepperRegistry.Phase.values()) {
+			String stepper = cond.getStepper(phase);
+			if (stepper != null) {
+				writeln("<stepper phase=\"" + phase.name().toLowerCase(Locale.ENGLISH) + "\">"
+						+ TextUtil.escapeXML(stepper) + "</stepper>");
+			}
+		}
 		
 		indent--;
 		writeln("</conditions>");
@@ -471,7 +593,11 @@ public class OpenRocketSaver extends RocketSaver {
 				saveSimulationData) {
 				for (int i = 0; i < data.getBranchCount(); i++) {
 					FlightDataBranch branch = data.getBranch(i);
-					saveFlightDataBranch(branch);
+					String entryName = null;
+					if (dataEntries != null) {
+						entryName = FlightDataBinaryFormat.getEntryName(simulationIndex, i);
+					}
+					saveFlightDataBranch(branch, entryName);
 				}
 			}
 			
@@ -580,7 +706,11 @@ public class OpenRocketSaver extends RocketSaver {
 		}
 	}
 	
-	private void saveFlightDataBranch(FlightDataBranch branch)
+	/**
+	 * Save a flight data branch.  If <code>entryName</code> is non-null the data points are
+	 * stored in a separate archive entry of that name instead of as XML.
+	 */
+	private void saveFlightDataBranch(FlightDataBranch branch, String entryName)
 			throws IOException {
 		
 		if (branch == null)
@@ -592,12 +722,6 @@ public class OpenRocketSaver extends RocketSaver {
 		if (types.length == 0)
 			return;
 		
-		// Retrieve the data from the branch
-		List<List<Double>> data = new ArrayList<>(types.length);
-		for (FlightDataType type : types) {
-			data.add(branch.get(type));
-		}
-		
 		// Build the <databranch> tag
 		StringBuilder sb = new StringBuilder();
 		sb.append("<databranch name=\"");
@@ -632,7 +756,16 @@ public class OpenRocketSaver extends RocketSaver {
 				sb.append(",");
 			sb.append(TextUtil.escapeXML(types[i].getName()));
 		}
-		sb.append("\">");
+		sb.append("\"");
+		
+		if (entryName != null) {
+			sb.append(" datafile=\"");
+			sb.append(TextUtil.escapeXML(entryName));
+			sb.append("\" length=\"");
+			sb.append(branch.getLength());
+			sb.append("\"");
+		}
+		sb.append(">");
 		writeln(sb.toString());
 		indent++;
 		
@@ -665,53 +798,36 @@ public class OpenRocketSaver extends RocketSaver {
 		}
 		
 		// Write the data
-		int length = branch.getLength();
-		for (int i = 0; i < length; i++) {
-			writeDataPointString(data, i, sb);
+		if (entryName != null) {
+			dataEntries.put(entryName, branch);
+		} else {
+			writeDataPoints(branch, types, 0, branch.getLength());
 		}
 		
 		indent--;
 		writeln("</databranch>");
 	}
 	
-	/* TODO: LOW: This is largely duplicated from above! */
-	private int countFlightDataBranchPoints(FlightDataBranch branch) {
-		int count = 0;
-		
-		if (branch == null)
-			return 0;
-		
-		// Retrieve the types from the branch
-		FlightDataType[] types = branch.getTypes();
-		
-		if (types.length == 0)
-			return 0;
-		
-		List<Double> timeData = branch.get(FlightDataType.TYPE_TIME);
-		if (timeData == null) {
-			// If time data not available, store all points
-			return branch.getLength();
-		}
-		
-		// Count the data
-		count += branch.getLength();
-		
-		return count;
-	}
-	
-	
-	
-	private void writeDataPointString(List<List<Double>> data, int index, StringBuilder sb)
+	/**
+	 * Write a range of data points of a branch.  The values are written directly to the
+	 * output, so no copies of the data are made.
+	 */
+	private void writeDataPoints(FlightDataBranch branch, FlightDataType[] types, int start, int end)
 			throws IOException {
-		sb.setLength(0);
-		sb.append("<datapoint>");
-		for (int j = 0; j < data.size(); j++) {
-			if (j > 0)
-				sb.append(",");
-			sb.append(TextUtil.doubleToString(data.get(j).get(index)));
+		DoubleBuffer[] columns = new DoubleBuffer[types.length];
+		for (int j = 0; j < types.length; j++) {
+			columns[j] = branch.getColumn(types[j]);
+		}
+		for (int index = start; index < end; index++) {
+			writeIndent();
+			dest.write("<datapoint>");
+			for (int j = 0; j < columns.length; j++) {
+				if (j > 0)
+					dest.write(',');
+				dest.write(TextUtil.doubleToString(columns[j].get(index)));
+			}
+			dest.write("</datapoint>\n");
 		}
-		sb.append("</datapoint>");
-		writeln(sb.toString());
 	}
 	
 	
@@ -727,8 +843,15 @@ public class OpenRocketSaver extends RocketSaver {
 			dest.write("\n");
 			return;
 		}
-		String s = INDENT.repeat(Math.max(0, indent)) + str + "\n";
-		dest.write(s);
+		writeIndent();
+		dest.write(str);
+		dest.write("\n");
+	}
+	
+	private void writeIndent() throws IOException {
+		for (int i = 0; i < indent; i++) {
+			dest.write(INDENT);
+		}
 	}
 	
 	
@@ -1,6 +1,10 @@
 package info.openrocket.core.file.openrocket.importt;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.UUID;
 
 import info.openrocket.core.logging.Message;
@@ -8,7 +12,9 @@ import info.openrocket.core.logging.SimulationAbort;
 import info.openrocket.core.logging.SimulationAbort.Cause;
 import info.openrocket.core.logging.Warning;
 import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.file.AttachmentFactory;
 import info.openrocket.core.file.DocumentLoadingContext;
+import info.openrocket.core.file.openrocket.FlightDataBinaryFormat;
 import info.openrocket.core.file.simplesax.AbstractElementHandler;
 import info.openrocket.core.file.simplesax.ElementHandler;
 import info.openrocket.core.file.simplesax.PlainTextHandler;
@@ -22,16 +28,19 @@ import info.openrocket.core.simulation.FlightEvent.Type;
 import info.openrocket.core.simulation.customexpression.CustomExpression;
 import info.openrocket.core.startup.Application;
 import info.openrocket.core.unit.UnitGroup;
+import info.openrocket.core.util.DecalNotFoundException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 class FlightDataBranchHandler extends AbstractElementHandler {
-	@SuppressWarnings("unused")
 	private final DocumentLoadingContext context;
 	private final FlightDataType[] types;
 	private final FlightDataBranch branch;
 	
+	/** Unparsed data points if parsing is deferred, otherwise null */
+	private final List<String> deferredPoints;
+	
 	private static final Logger log = LoggerFactory.getLogger(FlightDataBranchHandler.class);
 	private final SingleSimulationHandler simHandler;
 	private static final Translator trans = Application.getTranslator();
@@ -51,6 +60,7 @@ class FlightDataBranchHandler extends AbstractElementHandler {
 		
 		// TODO: LOW: May throw an IllegalArgumentException
 		branch = new FlightDataBranch(name, types);
+		deferredPoints = context.isDeferSimulationData() ? new ArrayList<>() : null;
 	}
 	
 	/**
@@ -69,6 +79,25 @@ class FlightDataBranchHandler extends AbstractElementHandler {
 		branch.setOptimumAltitude(optimumAltitude);
 	}
 	
+	/**
+	 * Set the archive entry containing the data points of the branch.  The entry is
+	 * read when the data is first accessed.
+	 * 
+	 * @param entryName	the name of the entry.
+	 * @param length	the number of data points.
+	 */
+	public void setDataFile(String entryName, int length) {
+		AttachmentFactory factory = context.getAttachmentFactory();
+		int columns = types.length;
+		branch.setPendingData(length, () -> {
+			try (InputStream in = factory.getAttachment(entryName).getBytes()) {
+				return FlightDataBinaryFormat.read(in, columns);
+			} catch (DecalNotFoundException e) {
+				throw new IOException("Flight data entry " + entryName + " not found", e);
+			}
+		});
+	}
+	
 	// Find the full flight data type given name only
 	// Note: this way of doing it requires that custom expressions always come before flight data in the file,
 	// not the nicest but this is always the case anyway.
@@ -109,10 +138,53 @@ class FlightDataBranchHandler extends AbstractElementHandler {
 	}
 	
 	public FlightDataBranch getBranch() {
+		if (isDeferred()) {
+			List<String> points = deferredPoints;
+			int columns = types.length;
+			branch.setPendingData(points.size(), () -> parsePoints(points, columns));
+		}
 		branch.immute();
 		return branch;
 	}
 	
+	/**
+	 * Return whether the data points of the branch have been stored for parsing later.
+	 */
+	public boolean isDeferred() {
+		return deferredPoints != null && !deferredPoints.isEmpty();
+	}
+	
+	/**
+	 * Parse deferred data points.  As the number of points is fixed when parsing is deferred,
+	 * malformed points are stored as NaN values instead of being ignored.
+	 */
+	private static double[][] parsePoints(List<String> points, int columns) {
+		double[][] values = new double[columns][points.size()];
+		int errors = 0;
+		for (int p = 0; p < points.size(); p++) {
+			String[] split = points.get(p).split(",");
+			if (split.length != columns) {
+				errors++;
+				for (int i = 0; i < columns; i++) {
+					values[i][p] = Double.NaN;
+				}
+				continue;
+			}
+			for (int i = 0; i < columns; i++) {
+				try {
+					values[i][p] = DocumentConfig.stringToDouble(split[i]);
+				} catch (NumberFormatException e) {
+					errors++;
+					values[i][p] = Double.NaN;
+				}
+			}
+		}
+		if (errors > 0) {
+			log.warn(errors + " malformed data point values replaced with NaN");
+		}
+		return values;
+	}
+	
 	@Override
 	public ElementHandler openElement(String element, HashMap<String, String> attributes,
 			WarningSet warnings) {
@@ -205,6 +277,11 @@ class FlightDataBranchHandler extends AbstractElementHandler {
 		
 		// element == "datapoint"
 		
+		if (deferredPoints != null) {
+			deferredPoints.add(content);
+			return;
+		}
+		
 		
 		// Check line format
 		String[] split = content.split(",");
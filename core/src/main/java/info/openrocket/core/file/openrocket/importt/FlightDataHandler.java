@@ -20,6 +20,7 @@ class FlightDataHandler extends AbstractElementHandler {
 	private FlightDataBranchHandler dataHandler;
 	private final WarningSet warningSet = new WarningSet();
 	private final List<FlightDataBranch> branches = new ArrayList<>();
+	private final List<FlightDataBranch> deferredBranches = new ArrayList<>();
 	
 	private final SingleSimulationHandler simHandler;
 	private FlightData data;
@@ -66,6 +67,14 @@ class FlightDataHandler extends AbstractElementHandler {
 				}
 				dataHandler.setTimeToOptimumAltitude(timeToOptimumAltitude);
 			}
+			if (attributes.get("datafile") != null) {
+				try {
+					int length = Integer.parseInt(attributes.get("length"));
+					dataHandler.setDataFile(attributes.get("datafile"), length);
+				} catch (NumberFormatException e) {
+					warnings.add("Illegal flight data length, ignoring data.");
+				}
+			}
 			return dataHandler;
 		}
 		
@@ -82,6 +91,9 @@ class FlightDataHandler extends AbstractElementHandler {
 			FlightDataBranch branch = dataHandler.getBranch();
 			if (branch.getLength() > 0) {
 				branches.add(branch);
+				if (dataHandler.isDeferred()) {
+					deferredBranches.add(branch);
+				}
 			}
 			//		} else if (element.equals("warning")) {
 			//			String priorityStr = attributes.get("priority");
@@ -95,7 +107,14 @@ class FlightDataHandler extends AbstractElementHandler {
 	public void endHandler(String element, HashMap<String, String> attributes,
 			String content, WarningSet warnings) {
 
-		if (branches.size() > 0) {
+		// Branches stored in binary entries or with deferred parsing are read when the data is
+		// first accessed, so the summary values are read from the attributes instead of computed
+		boolean pending = false;
+		for (FlightDataBranch branch : branches) {
+			pending |= branch.isDataPending();
+		}
+
+		if (branches.size() > 0 && !pending) {
 			data = new FlightData(branches.toArray(new FlightDataBranch[0]));
 		} else {
 			double maxAltitude = Double.NaN;
@@ -152,10 +171,17 @@ class FlightDataHandler extends AbstractElementHandler {
 
 			data = new FlightData(maxAltitude, maxVelocity, maxAcceleration, maxMach,
 					timeToApogee, flightTime, groundHitVelocity, launchRodVelocity, deploymentVelocity, optimumDelay);
+			for (FlightDataBranch branch : branches) {
+				data.addBranch(branch);
+			}
 		}
 		
 		data.getWarningSet().addAll(warningSet);
 		data.immute();
+
+		if (!deferredBranches.isEmpty()) {
+			context.addDeferredSimulationData(deferredBranches);
+		}
 	}
 
 
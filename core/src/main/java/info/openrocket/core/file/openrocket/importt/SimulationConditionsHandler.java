@@ -1,6 +1,7 @@
 package info.openrocket.core.file.openrocket.importt;
 
 import java.util.HashMap;
+import java.util.Locale;
 
 import info.openrocket.core.logging.WarningSet;
 import info.openrocket.core.file.DocumentLoadingContext;
@@ -11,6 +12,7 @@ import info.openrocket.core.models.wind.WindModelType;
 import info.openrocket.core.rocketcomponent.FlightConfigurationId;
 import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.simulation.SimulationOptions;
+import info.openrocket.core.simulation.SimulationStepperRegistry;
 import info.openrocket.core.util.GeodeticComputationStrategy;
 
 class SimulationConditionsHandler extends AbstractElementHandler {
@@ -154,6 +156,21 @@ class SimulationConditionsHandler extends AbstractElementHandler {
 					options.setMaxSimulationTime(d);
 				}
 			}
+			case "tabulatedaerodynamics" -> {
+				options.setTabulatedAerodynamics(Boolean.parseBoolean(content));
+			}
+			case "adaptivestepping" -> {
+				options.setAdaptiveStepping(Boolean.parseBoolean(content));
+			}
+			case "stepper" -> {
+				String phase = attributes.get("phase");
+				try {
+					options.setStepper(SimulationStepperRegistry.Phase.valueOf(phase.toUpperCase(Locale.ENGLISH)),
+							content.trim());
+				} catch (IllegalArgumentException | NullPointerException e) {
+					warnings.add("Illegal simulation stepper phase '" + phase + "' defined, ignoring.");
+				}
+			}
 		}
 	}
 }
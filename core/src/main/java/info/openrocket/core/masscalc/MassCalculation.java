@@ -210,9 +210,11 @@ public class MassCalculation {
 		// If we do have MotorClusterStates, we need to adjust
 		// time according to motor ignition time.
 		double motorTime = simulationTime;
+		MotorClusterState motorState = null;
 		if (activeMotorList != null) {
 			for (MotorClusterState currentMotorState : activeMotorList ) {
 				if (currentMotorState.getMotor() == motor) {
+					motorState = currentMotorState;
 					motorTime = currentMotorState.getMotorTime(simulationTime);
 					break;
 				}
@@ -230,14 +232,19 @@ public class MassCalculation {
 		double eachCMx;  // CoM from beginning of motor
 		
 		if ( this.type.includesMotorCasing && this.type.includesPropellant ){
-			eachMass = motor.getTotalMass( motorTime );
-			eachCMx = motor.getCMx( motorTime);
+			if (motorState != null) {
+				eachMass = motorState.getTotalMass( motorTime );
+				eachCMx = motorState.getCMx( motorTime );
+			} else {
+				eachMass = motor.getTotalMass( motorTime );
+				eachCMx = motor.getCMx( motorTime);
+			}
 		}else if( this.type.includesMotorCasing ) {
 			eachMass = motor.getTotalMass( Motor.PSEUDO_TIME_BURNOUT );
 			eachCMx = motor.getCMx( Motor.PSEUDO_TIME_BURNOUT );
 		} else {
-			final double eachMotorMass = motor.getTotalMass( motorTime );
-			final double eachMotorCMx = motor.getCMx( motorTime ); // CoM from beginning of motor
+			final double eachMotorMass = (motorState != null) ? motorState.getTotalMass( motorTime ) : motor.getTotalMass( motorTime );
+			final double eachMotorCMx = (motorState != null) ? motorState.getCMx( motorTime ) : motor.getCMx( motorTime ); // CoM from beginning of motor
 			final double eachCasingMass = motor.getBurnoutMass();
 			final double eachCasingCMx = motor.getBurnoutCGx();
 			
@@ -1,11 +1,16 @@
 package info.openrocket.core.masscalc;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import info.openrocket.core.motor.Motor;
+import info.openrocket.core.rocketcomponent.AxialStage;
 import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.simulation.MotorClusterState;
 import info.openrocket.core.simulation.SimulationStatus;
 import info.openrocket.core.util.MathUtil;
@@ -16,6 +21,9 @@ public class MassCalculator implements Monitorable {
 
 	public static final double MIN_MASS = MathUtil.EPSILON;
 
+	// Number of structure mass results kept, one per set of active stages
+	private static final int STRUCTURE_CACHE_SIZE = 16;
+
 	/*
 	 * Cached data. All CG data is in absolute coordinates. All moments of inertia
 	 * are relative to their respective CG.
@@ -25,6 +33,23 @@ public class MassCalculator implements Monitorable {
 	// private MassData rocketSpentMassCache;
 	// private MassData motorMassCache;
 
+	/**
+	 * Key of the structure mass cache.  The rocket modification IDs are shared by copies of
+	 * the rocket made with the original IDs, so the results are valid for those as well.
+	 */
+	private record StructureKey(ModID massModID, ModID treeModID, List<Integer> activeStages) {
+	}
+
+	private final Map<StructureKey, RigidBody> structureCache =
+			new LinkedHashMap<StructureKey, RigidBody>(STRUCTURE_CACHE_SIZE, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<StructureKey, RigidBody> eldest) {
+					return size() > STRUCTURE_CACHE_SIZE;
+				}
+			};
+	private long structureCacheHits = 0;
+	private long structureCacheMisses = 0;
+
 	private final ModID modID = ModID.ZERO;
 
 	////////////////// Constructors ///////////////////
@@ -46,6 +71,57 @@ public class MassCalculator implements Monitorable {
 		return calculate(MassCalculation.Type.STRUCTURE, config, Motor.PSEUDO_TIME_EMPTY);
 	}
 
+	/**
+	 * Returns the mass data of the rocket's structure, as {@link #calculateStructure(FlightConfiguration)},
+	 * reusing the result of a previous call for the same rocket mass properties and active stages.
+	 * The structure only changes when stages are separated, so during a simulation almost every
+	 * call is a cache hit.
+	 * 
+	 * @param config the rocket configuration to calculate for
+	 * @return the MassData struct of the rocket structure
+	 */
+	public RigidBody getStructure(final FlightConfiguration config) {
+		final Rocket rocket = config.getRocket();
+		final List<Integer> activeStages = new ArrayList<>();
+		for (AxialStage stage : config.getActiveStages()) {
+			activeStages.add(stage.getStageNumber());
+		}
+		final StructureKey key = new StructureKey(rocket.getMassModID(), rocket.getTreeModID(), activeStages);
+
+		synchronized (structureCache) {
+			RigidBody structure = structureCache.get(key);
+			if (structure != null) {
+				structureCacheHits++;
+				return structure;
+			}
+			structureCacheMisses++;
+		}
+
+		RigidBody structure = calculateStructure(config);
+		synchronized (structureCache) {
+			structureCache.put(key, structure);
+		}
+		return structure;
+	}
+
+	/**
+	 * Return the number of {@link #getStructure(FlightConfiguration)} calls that used a cached result.
+	 */
+	public long getStructureCacheHits() {
+		synchronized (structureCache) {
+			return structureCacheHits;
+		}
+	}
+
+	/**
+	 * Return the number of {@link #getStructure(FlightConfiguration)} calls that calculated the result.
+	 */
+	public long getStructureCacheMisses() {
+		synchronized (structureCache) {
+			return structureCacheMisses;
+		}
+	}
+
 	/**
 	 * Calculates mass data of the rocket's burnout mass
 	 * - includes structure
@@ -0,0 +1,85 @@
+package info.openrocket.core.models.atmosphere;
+
+import static info.openrocket.core.util.MathUtil.interpolate;
+
+import java.util.function.DoubleFunction;
+
+/**
+ * An immutable table of the temperature and pressure at fixed altitude intervals, linearly
+ * interpolated in between.
+ * <p>
+ * Besides {@link #getConditions(double)}, the table offers primitive accessors for the
+ * temperature and pressure that do not allocate an {@link AtmosphericConditions} object.
+ * Since the table is immutable it can be shared by any number of simulations running in
+ * parallel, see {@link ExtendedISAModel}.
+ */
+public final class AtmosphereTable {
+
+	/**
+	 * Layer thickness for interpolation in meters.
+	 * Set to 500m as a balance between accuracy and performance.
+	 * - Small enough to maintain good accuracy for typical rocket flights
+	 * - Large enough to keep memory usage and computation time reasonable
+	 */
+	static final double DELTA = 500;
+
+	private final double[] temperatures;
+	private final double[] pressures;
+
+	/**
+	 * Compute the table from 0 m up to the maximum altitude.
+	 *
+	 * @param maxAltitude		the maximum altitude of the model.
+	 * @param exactConditions	the exact conditions of the model at an altitude.
+	 */
+	AtmosphereTable(double maxAltitude, DoubleFunction<AtmosphericConditions> exactConditions) {
+		int size = (int) Math.ceil(maxAltitude / DELTA);
+		temperatures = new double[size];
+		pressures = new double[size];
+		for (int i = 0; i < size; i++) {
+			AtmosphericConditions conditions = exactConditions.apply(i * DELTA);
+			temperatures[i] = conditions.getTemperature();
+			pressures[i] = conditions.getPressure();
+		}
+	}
+
+	/**
+	 * Return the temperature at the given altitude in Kelvins.
+	 */
+	public double getTemperature(double altitude) {
+		return lookup(temperatures, altitude);
+	}
+
+	/**
+	 * Return the pressure at the given altitude in Pascals.
+	 */
+	public double getPressure(double altitude) {
+		return lookup(pressures, altitude);
+	}
+
+	/**
+	 * Return the atmospheric conditions at the given altitude.  Altitudes below 0 m and above
+	 * the table return the conditions at the lowest and highest layer.
+	 *
+	 * @param altitude	the altitude in meters.
+	 * @return			a new object containing the interpolated conditions.
+	 */
+	public AtmosphericConditions getConditions(double altitude) {
+		return new AtmosphericConditions(getTemperature(altitude), getPressure(altitude));
+	}
+
+	private static double lookup(double[] values, double altitude) {
+		if (altitude <= 0) {
+			return values[0];
+		}
+
+		int maxIndex = values.length - 1;
+		if (altitude >= DELTA * maxIndex) {
+			return values[maxIndex];
+		}
+
+		int lowerIndex = (int) (altitude / DELTA);
+		double fraction = (altitude - lowerIndex * DELTA) / DELTA;
+		return interpolate(values[lowerIndex], values[lowerIndex + 1], fraction);
+	}
+}
@@ -30,6 +30,7 @@ public class AtmosphericConditions implements Cloneable, Monitorable {
 	/** Air temperature, in Kelvins. */
 	private double temperature;
 
+	/** Created on demand, so that the conditions can be updated without allocating */
 	private ModID modID;
 
 	/**
@@ -46,9 +47,11 @@ public class AtmosphericConditions implements Cloneable, Monitorable {
 	 * @param pressure    the pressure in Pascals.
 	 */
 	public AtmosphericConditions(double temperature, double pressure) {
-		this.setTemperature(temperature);
-		this.setPressure(pressure);
-		this.modID = new ModID();
+		// Validate without the setters
+		checkTemperature(temperature);
+		checkPressure(pressure);
+		this.temperature = temperature;
+		this.pressure = pressure;
 	}
 
 	public double getPressure() {
@@ -56,11 +59,9 @@ public class AtmosphericConditions implements Cloneable, Monitorable {
 	}
 
 	public void setPressure(double pressure) {
-		if (pressure <= 0) {
-			throw new IllegalArgumentException("Pressure must be positive (Pascals)");
-		}
+		checkPressure(pressure);
 		this.pressure = pressure;
-		this.modID = new ModID();
+		this.modID = null;
 	}
 
 	public double getTemperature() {
@@ -68,11 +69,23 @@ public class AtmosphericConditions implements Cloneable, Monitorable {
 	}
 
 	public void setTemperature(double temperature) {
-		if (temperature <= 0) {
-			throw new IllegalArgumentException("Temperature must be positive (Kelvin)");
-		}
+		checkTemperature(temperature);
+		this.temperature = temperature;
+		this.modID = null;
+	}
+
+	/**
+	 * Set both the temperature and the pressure with a single modification.
+	 *
+	 * @param temperature the temperature in Kelvins.
+	 * @param pressure    the pressure in Pascals.
+	 */
+	public void setConditions(double temperature, double pressure) {
+		checkTemperature(temperature);
+		checkPressure(pressure);
 		this.temperature = temperature;
-		this.modID = new ModID();
+		this.pressure = pressure;
+		this.modID = null;
 	}
 
 	/**
@@ -121,12 +134,26 @@ public class AtmosphericConditions implements Cloneable, Monitorable {
 		return v / getDensity();
 	}
 
+	private static void checkPressure(double pressure) {
+		if (pressure <= 0) {
+			throw new IllegalArgumentException("Pressure must be positive (Pascals)");
+		}
+	}
+
+	private static void checkTemperature(double temperature) {
+		if (temperature <= 0) {
+			throw new IllegalArgumentException("Temperature must be positive (Kelvin)");
+		}
+	}
+
 	/**
 	 * Return a copy of the atmospheric conditions.
 	 */
 	@Override
 	public AtmosphericConditions clone() {
 		try {
+			// The copy has the same modification ID
+			getModID();
 			return (AtmosphericConditions) super.clone();
 		} catch (CloneNotSupportedException e) {
 			throw new BugException("CloneNotSupportedException encountered!");
@@ -150,6 +177,9 @@ public class AtmosphericConditions implements Cloneable, Monitorable {
 
 	@Override
 	public ModID getModID() {
+		if (modID == null) {
+			modID = new ModID();
+		}
 		return modID;
 	}
 
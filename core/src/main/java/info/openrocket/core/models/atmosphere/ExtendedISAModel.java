@@ -1,6 +1,10 @@
 package info.openrocket.core.models.atmosphere;
 
 import static info.openrocket.core.models.atmosphere.AtmosphericConditions.R;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import info.openrocket.core.util.MathUtil;
 import info.openrocket.core.util.ModID;
 
@@ -15,6 +19,7 @@ import info.openrocket.core.util.ModID;
  * 2. Supports custom launch site conditions
  * 3. Maintains ISA behavior above launch site
  * 4. Uses interpolation for efficient computation
+ * 5. Shares the interpolation table between all models with the same launch conditions
  *
  * Layer Structure:
  * - 0-11km (Troposphere): Temperature decreases linearly (288.15K -> 216.65K, -6.5 degC/km)
@@ -66,6 +71,24 @@ public class ExtendedISAModel extends InterpolatingAtmosphericModel {
 	 */
 	private final double[] basePressure;
 
+	/** The launch conditions the model was constructed with, identifying its table */
+	private final TableKey tableKey;
+
+	private record TableKey(double altitude, double temperature, double pressure) {
+	}
+
+	/** Number of tables kept for reuse by later models */
+	private static final int SHARED_TABLES = 64;
+
+	/** Tables shared between all models with the same launch conditions, e.g. parallel simulations */
+	private static final Map<TableKey, AtmosphereTable> sharedTables =
+			new LinkedHashMap<>(SHARED_TABLES, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<TableKey, AtmosphereTable> eldest) {
+					return size() > SHARED_TABLES;
+				}
+			};
+
 	/**
 	 * Construct the standard ISA model.
 	 */
@@ -105,6 +128,7 @@ public class ExtendedISAModel extends InterpolatingAtmosphericModel {
 		if (pressure <= 0) {
 			throw new IllegalArgumentException("Pressure must be positive (Pascals)");
 		}
+		tableKey = new TableKey(altitude, temperature, pressure);
 
 		// If altitude is not 0, we need to create a new layer structure
 		if (altitude > 0) {
@@ -199,6 +223,21 @@ public class ExtendedISAModel extends InterpolatingAtmosphericModel {
 		}
 	}
 
+	/**
+	 * Return the table shared by all models with the same launch conditions.
+	 */
+	@Override
+	protected AtmosphereTable createTable() {
+		synchronized (sharedTables) {
+			AtmosphereTable table = sharedTables.get(tableKey);
+			if (table == null) {
+				table = super.createTable();
+				sharedTables.put(tableKey, table);
+			}
+			return table;
+		}
+	}
+
 	@Override
 	protected double getMaxAltitude() {
 		return layer[layer.length - 1];
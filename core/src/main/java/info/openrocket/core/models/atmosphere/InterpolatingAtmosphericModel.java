@@ -1,26 +1,18 @@
 package info.openrocket.core.models.atmosphere;
 
-import static info.openrocket.core.util.MathUtil.interpolate;
-
 /**
  * An abstract implementation of AtmosphericModel that uses pre-computed layers
  * for efficient altitude lookups. This class implements a performance optimization
  * strategy where atmospheric conditions are pre-calculated at fixed intervals
- * (layers) and then interpolated between these layers when needed.
+ * (layers) into an {@link AtmosphereTable} and then interpolated between these
+ * layers when needed.
  *
  * @author Sampo Niskanen <sampo.niskanen@iki.fi>
  */
 public abstract class InterpolatingAtmosphericModel implements AtmosphericModel {
-	/**
-	 * Layer thickness for interpolation in meters.
-	 * Set to 500m as a balance between accuracy and performance.
-	 * - Small enough to maintain good accuracy for typical rocket flights
-	 * - Large enough to keep memory usage and computation time reasonable
-	 */
-	private static final double DELTA = 500;
 
-	/** Cache of pre-computed atmospheric conditions at each layer. */
-	private AtmosphericConditions[] levels = null;
+	/** Pre-computed atmospheric conditions at each layer. */
+	private volatile AtmosphereTable table = null;
 	private final Object lock = new Object();
 
 	/**
@@ -39,46 +31,37 @@ public abstract class InterpolatingAtmosphericModel implements AtmosphericModel
 	 */
 	@Override
 	public AtmosphericConditions getConditions(double altitude) {
-		if (levels == null) {
+		return getTable().getConditions(altitude);
+	}
+
+	/**
+	 * Return the table of the pre-computed layers, computing it on the first call.  The table
+	 * offers allocation-free accessors for the temperature and pressure.
+	 *
+	 * @return the atmosphere table of this model
+	 */
+	public AtmosphereTable getTable() {
+		AtmosphereTable t = table;
+		if (t == null) {
 			synchronized (lock) {
-				levels = computeLayers();
+				t = table;
+				if (t == null) {
+					t = createTable();
+					table = t;
+				}
 			}
 		}
-
-		if (altitude <= 0) {
-			return levels[0];
-		}
-
-		int maxIndex = levels.length - 1;
-		if (altitude >= DELTA * maxIndex) {
-			return levels[maxIndex];
-		}
-
-		int lowerIndex = (int) Math.floor(altitude / DELTA);
-		double fraction = (altitude - lowerIndex * DELTA) / DELTA;
-
-		AtmosphericConditions lower = levels[lowerIndex];
-		AtmosphericConditions upper = levels[lowerIndex + 1];
-
-		return new AtmosphericConditions(
-				interpolate(lower.getTemperature(), upper.getTemperature(), fraction),
-				interpolate(lower.getPressure(), upper.getPressure(), fraction)
-		);
+		return t;
 	}
 
 	/**
 	 * Compute atmospheric conditions at fixed intervals from 0 m up to the maximum altitude.
-	 * @return Array of atmospheric conditions at each layer in DELTA intervals
+	 * Subclasses may override this to share tables between equal models.
+	 *
+	 * @return the table of atmospheric conditions at each layer
 	 */
-	private AtmosphericConditions[] computeLayers() {
-		double max = getMaxAltitude();
-		int size = (int) Math.ceil(max / DELTA);
-		AtmosphericConditions[] newLevels = new AtmosphericConditions[size];
-
-		for (int i = 0; i < size; i++) {
-			newLevels[i] = getExactConditions(i * DELTA);
-		}
-		return newLevels;
+	protected AtmosphereTable createTable() {
+		return new AtmosphereTable(getMaxAltitude(), this::getExactConditions);
 	}
 
 	protected abstract double getMaxAltitude();
@@ -11,20 +11,21 @@ import info.openrocket.core.util.WorldCoordinate;
  */
 public class WGSGravityModel implements GravityModel {
 
-	// Cache the previously computed value
-	private WorldCoordinate lastWorldCoordinate;
-	private double lastg;
+	// Cache the previously computed value.  The coordinate and its gravity are kept in a
+	// single immutable holder so that concurrent simulation branches never see a mismatched pair.
+	private volatile CachedGravity last;
 
 	@Override
 	public double getGravity(WorldCoordinate wc) {
 
 		// This is a proxy method to calcGravity, to avoid repeated calculation
-		if (wc != this.lastWorldCoordinate) {
-			this.lastg = calcGravity(wc);
-			this.lastWorldCoordinate = wc;
+		CachedGravity cached = this.last;
+		if (cached == null || wc != cached.wc) {
+			cached = new CachedGravity(wc, calcGravity(wc));
+			this.last = cached;
 		}
 
-		return this.lastg;
+		return cached.g;
 
 	}
 
@@ -49,4 +50,14 @@ public class WGSGravityModel implements GravityModel {
 		return g_alt;
 	}
 
+	private static final class CachedGravity {
+		private final WorldCoordinate wc;
+		private final double g;
+
+		private CachedGravity(WorldCoordinate wc, double g) {
+			this.wc = wc;
+			this.g = g;
+		}
+	}
+
 }
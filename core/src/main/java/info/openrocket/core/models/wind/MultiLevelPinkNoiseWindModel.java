@@ -43,7 +43,25 @@ public class MultiLevelPinkNoiseWindModel implements WindModel {
 	}
 
 	public void addWindLevel(double altitude, double speed, double direction, Double standardDeviation) {
-		PinkNoiseWindModel pinkNoiseModel = new PinkNoiseWindModel();
+		addWindLevel(altitude, new PinkNoiseWindModel(), speed, direction, standardDeviation);
+	}
+
+	/**
+	 * Add a wind level whose turbulence is generated from the given random seed, so that
+	 * repeated simulations (e.g. Monte Carlo runs) can reproduce the same wind profile.
+	 *
+	 * @param altitude the altitude of the level
+	 * @param speed the average wind speed at the level
+	 * @param direction the wind direction at the level
+	 * @param standardDeviation the standard deviation of the wind speed, or null for the default
+	 * @param seed the random seed for the turbulence of this level
+	 */
+	public void addWindLevel(double altitude, double speed, double direction, Double standardDeviation, int seed) {
+		addWindLevel(altitude, new PinkNoiseWindModel(seed), speed, direction, standardDeviation);
+	}
+
+	private void addWindLevel(double altitude, PinkNoiseWindModel pinkNoiseModel, double speed, double direction,
+							  Double standardDeviation) {
 		pinkNoiseModel.setDirection(direction);
 		pinkNoiseModel.setAverage(speed);
 		if (standardDeviation != null) {
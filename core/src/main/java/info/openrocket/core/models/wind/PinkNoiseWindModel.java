@@ -237,6 +237,8 @@ public class PinkNoiseWindModel implements WindModel {
 		try {
 			PinkNoiseWindModel clone = (PinkNoiseWindModel) super.clone();
 			clone.loadFrom(this);
+			// Don't share the noise generator; the clone regenerates the same sequence from its seed
+			clone.randomSource = null;
 			return clone;
 		} catch (CloneNotSupportedException e) {
 			throw new AssertionError(); // This should never happen
@@ -0,0 +1,50 @@
+package info.openrocket.core.optimization.general;
+
+/**
+ * An interface defining a function with several objectives that are minimized
+ * simultaneously.
+ * <p>
+ * Multi-objective optimizers evaluate the function in parallel and require that
+ * the function is thread-safe.
+ *
+ * @see Function
+ */
+public interface MultiObjectiveFunction {
+
+	/**
+	 * Return the number of objectives, which is the length of the arrays
+	 * returned by {@link #evaluate(Point)}.
+	 *
+	 * @return the number of objectives.
+	 */
+	public int getObjectiveCount();
+
+	/**
+	 * Evaluate the objectives at the specified point.  Smaller values are better
+	 * for each objective.
+	 * <p>
+	 * If the function evaluation is slow, then this method should abort the
+	 * computation if the thread is interrupted.
+	 *
+	 * @param point the point at which to evaluate the function.
+	 * @return the objective values.
+	 * @throws InterruptedException  if the thread was interrupted before function
+	 *                               evaluation was completed.
+	 * @throws OptimizationException if an error occurs that prevents the
+	 *                               optimization
+	 */
+	public double[] evaluate(Point point) throws InterruptedException, OptimizationException;
+
+	/**
+	 * Return whether an evaluated point is a valid solution.  Points that are not, for
+	 * example points outside the function domain with finite penalty values, are not
+	 * offered to the Pareto front.
+	 *
+	 * @param point an evaluated point.
+	 * @return whether the point is a valid solution, by default <code>true</code>.
+	 */
+	public default boolean isFeasible(Point point) {
+		return true;
+	}
+
+}
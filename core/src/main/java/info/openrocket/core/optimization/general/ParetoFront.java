@@ -0,0 +1,255 @@
+package info.openrocket.core.optimization.general;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An archive of non-dominated solutions of a multi-objective minimization problem.
+ * <p>
+ * A solution dominates another one if none of its objective values is larger and
+ * at least one of them is smaller.  A solution is added to the archive unless an
+ * archived solution is at least as good in all objectives, and the archived solutions
+ * it dominates are removed.  If the archive has a maximum size, the solutions in the
+ * most crowded part of the front are removed first.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class ParetoFront {
+
+	/**
+	 * A point and its objective values.
+	 */
+	public static final class Solution {
+		private final Point point;
+		private final double[] objectives;
+
+		public Solution(Point point, double[] objectives) {
+			this.point = point;
+			this.objectives = objectives.clone();
+		}
+
+		public Point getPoint() {
+			return point;
+		}
+
+		public double getObjective(int index) {
+			return objectives[index];
+		}
+
+		public double[] getObjectives() {
+			return objectives.clone();
+		}
+
+		@Override
+		public String toString() {
+			return "Solution[point=" + point + ", objectives=" + Arrays.toString(objectives) + "]";
+		}
+	}
+
+	private final List<Solution> solutions = new ArrayList<>();
+	private final int maxSize;
+
+	/**
+	 * Construct an archive of unlimited size.
+	 */
+	public ParetoFront() {
+		this(0);
+	}
+
+	/**
+	 * Construct an archive of limited size.
+	 *
+	 * @param maxSize	the maximum number of solutions, or 0 for no limit.
+	 */
+	public ParetoFront(int maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("Invalid maximum size " + maxSize);
+		}
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Add a solution to the archive if no archived solution is at least as good.
+	 * Solutions with NaN objective values are never added.
+	 *
+	 * @param point			the point.
+	 * @param objectives	the objective values at the point.
+	 * @return				whether the solution was added.
+	 */
+	public boolean add(Point point, double[] objectives) {
+		for (double value : objectives) {
+			if (Double.isNaN(value)) {
+				return false;
+			}
+		}
+		for (Solution s : solutions) {
+			if (s.objectives.length != objectives.length) {
+				throw new IllegalArgumentException("Solution has " + objectives.length +
+						" objectives while archive has " + s.objectives.length);
+			}
+			if (weaklyDominates(s.objectives, objectives)) {
+				return false;
+			}
+		}
+		solutions.removeIf(s -> dominates(objectives, s.objectives));
+		Solution solution = new Solution(point, objectives);
+		solutions.add(solution);
+
+		if (maxSize > 0 && solutions.size() > maxSize) {
+			double[] distances = getCrowdingDistances(getObjectives(solutions));
+			int mostCrowded = 0;
+			for (int i = 1; i < distances.length; i++) {
+				if (distances[i] < distances[mostCrowded]) {
+					mostCrowded = i;
+				}
+			}
+			return solutions.remove(mostCrowded) != solution;
+		}
+		return true;
+	}
+
+	/**
+	 * Return the archived solutions, sorted by the first objective value.
+	 */
+	public List<Solution> getSolutions() {
+		List<Solution> list = new ArrayList<>(solutions);
+		list.sort(Comparator.comparingDouble(s -> s.objectives[0]));
+		return Collections.unmodifiableList(list);
+	}
+
+	public int size() {
+		return solutions.size();
+	}
+
+	public void clear() {
+		solutions.clear();
+	}
+
+
+	/**
+	 * Return whether the first objective vector dominates the second one, i.e. none of its
+	 * values is larger and at least one of them is smaller.
+	 */
+	public static boolean dominates(double[] a, double[] b) {
+		boolean smaller = false;
+		for (int i = 0; i < a.length; i++) {
+			if (a[i] > b[i]) {
+				return false;
+			}
+			if (a[i] < b[i]) {
+				smaller = true;
+			}
+		}
+		return smaller;
+	}
+
+	/**
+	 * Return whether none of the values of the first objective vector is larger than
+	 * the corresponding value of the second one.
+	 */
+	public static boolean weaklyDominates(double[] a, double[] b) {
+		for (int i = 0; i < a.length; i++) {
+			if (a[i] > b[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Sort objective vectors into successive non-dominated fronts.  The first front
+	 * contains the vectors not dominated by any other vector, the second one the vectors
+	 * dominated only by vectors of the first front, and so on.
+	 *
+	 * @param objectives	the objective vectors.
+	 * @return				the indices of the vectors in each front.
+	 */
+	public static List<List<Integer>> sortNondominated(List<double[]> objectives) {
+		final int n = objectives.size();
+		int[] dominatedBy = new int[n];
+		List<List<Integer>> dominates = new ArrayList<>(n);
+		List<Integer> front = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			dominates.add(new ArrayList<>());
+		}
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				if (dominates(objectives.get(i), objectives.get(j))) {
+					dominates.get(i).add(j);
+					dominatedBy[j]++;
+				} else if (dominates(objectives.get(j), objectives.get(i))) {
+					dominates.get(j).add(i);
+					dominatedBy[i]++;
+				}
+			}
+			// All pairs containing i have been compared
+			if (dominatedBy[i] == 0) {
+				front.add(i);
+			}
+		}
+
+		List<List<Integer>> fronts = new ArrayList<>();
+		while (!front.isEmpty()) {
+			fronts.add(front);
+			List<Integer> next = new ArrayList<>();
+			for (int i : front) {
+				for (int j : dominates.get(i)) {
+					dominatedBy[j]--;
+					if (dominatedBy[j] == 0) {
+						next.add(j);
+					}
+				}
+			}
+			front = next;
+		}
+		return fronts;
+	}
+
+	/**
+	 * Compute the crowding distance of each objective vector, which is the sum over the
+	 * objectives of the distance between its neighbors, normalized by the range of the
+	 * objective.  The vectors at the ends of the range of any objective have an infinite
+	 * distance.
+	 *
+	 * @param objectives	the objective vectors of one front.
+	 * @return				the crowding distance of each vector.
+	 */
+	public static double[] getCrowdingDistances(List<double[]> objectives) {
+		final int n = objectives.size();
+		double[] distances = new double[n];
+		if (n == 0) {
+			return distances;
+		}
+		Integer[] order = new Integer[n];
+		for (int m = 0; m < objectives.get(0).length; m++) {
+			final int objective = m;
+			for (int i = 0; i < n; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, Comparator.comparingDouble(i -> objectives.get(i)[objective]));
+			double min = objectives.get(order[0])[objective];
+			double max = objectives.get(order[n - 1])[objective];
+			distances[order[0]] = Double.POSITIVE_INFINITY;
+			distances[order[n - 1]] = Double.POSITIVE_INFINITY;
+			if (!(max > min)) {
+				continue;
+			}
+			for (int i = 1; i < n - 1; i++) {
+				distances[order[i]] += (objectives.get(order[i + 1])[objective]
+						- objectives.get(order[i - 1])[objective]) / (max - min);
+			}
+		}
+		return distances;
+	}
+
+	private static List<double[]> getObjectives(List<Solution> list) {
+		List<double[]> objectives = new ArrayList<>(list.size());
+		for (Solution s : list) {
+			objectives.add(s.objectives);
+		}
+		return objectives;
+	}
+}
@@ -0,0 +1,196 @@
+package info.openrocket.core.optimization.general;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.arch.SystemInfo;
+
+/**
+ * A disk-backed store of function values that persists between optimization runs and
+ * application sessions.
+ * <p>
+ * Values are keyed by a function key and the evaluation point.  The function key must
+ * identify everything the value depends on, for example a hash of the design and the
+ * optimization setup, see
+ * {@link info.openrocket.core.optimization.rocketoptimization.RocketOptimizationFunction#getCacheKey()}.
+ * The least recently used values are evicted when the store holds more than the
+ * maximum number of values.
+ * <p>
+ * The store is read from the file on construction and written back by {@link #save()}.
+ * All methods are thread-safe.
+ */
+public class PersistentEvaluationCache {
+	private static final Logger log = LoggerFactory.getLogger(PersistentEvaluationCache.class);
+
+	/** Identifies the file format, "ORFC" */
+	private static final int MAGIC = 0x4f524643;
+	private static final int VERSION = 1;
+
+	/** Default maximum number of stored function values */
+	public static final int DEFAULT_MAX_ENTRIES = 100000;
+
+	private static PersistentEvaluationCache defaultCache = null;
+
+	private record Key(String function, Point point) {
+	}
+
+	private final File file;
+	private final Map<Key, Double> values;
+	private boolean modified = false;
+
+	/**
+	 * Construct a store backed by the specified file, reading the values stored in it.
+	 * A missing or unreadable file results in an empty store.
+	 *
+	 * @param file			the file to store the values in.
+	 * @param maxEntries	the maximum number of values to keep.
+	 */
+	public PersistentEvaluationCache(File file, final int maxEntries) {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+		}
+		this.file = file;
+		this.values = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Double> eldest) {
+				return size() > maxEntries;
+			}
+		};
+		load();
+	}
+
+	/**
+	 * Return the store shared by all optimizations, located in the user application directory.
+	 */
+	public static synchronized PersistentEvaluationCache getDefault() {
+		if (defaultCache == null) {
+			File file = new File(SystemInfo.getUserApplicationDirectory(), "OptimizationCache.bin");
+			defaultCache = new PersistentEvaluationCache(file, DEFAULT_MAX_ENTRIES);
+		}
+		return defaultCache;
+	}
+
+	/**
+	 * Return the stored value of a function at a point.
+	 *
+	 * @param functionKey	the key identifying the function.
+	 * @param point			the point.
+	 * @return				the stored value, or <code>null</code> if not stored.
+	 */
+	public synchronized Double get(String functionKey, Point point) {
+		return values.get(new Key(functionKey, point));
+	}
+
+	/**
+	 * Store the value of a function at a point.
+	 *
+	 * @param functionKey	the key identifying the function.
+	 * @param point			the point.
+	 * @param value			the function value.
+	 */
+	public synchronized void put(String functionKey, Point point, double value) {
+		values.put(new Key(functionKey, point), value);
+		modified = true;
+	}
+
+	/**
+	 * Return the number of stored values.
+	 */
+	public synchronized int size() {
+		return values.size();
+	}
+
+	/**
+	 * Remove all stored values.  The file is emptied by the next {@link #save()}.
+	 */
+	public synchronized void clear() {
+		values.clear();
+		modified = true;
+	}
+
+	/**
+	 * Write the stored values to the file if they have been modified.  The file is replaced
+	 * atomically where supported, so an interrupted write does not lose the previous values.
+	 *
+	 * @throws IOException	if writing the file fails.
+	 */
+	public synchronized void save() throws IOException {
+		if (!modified) {
+			return;
+		}
+
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (!parent.isDirectory() && !parent.mkdirs()) {
+			throw new IOException("Unable to create directory " + parent);
+		}
+		File temporaryFile = File.createTempFile("ORFunctionCache", ".tmp", parent);
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(values.size());
+				// Written in access order, so the order of eviction is retained when reading
+				for (Map.Entry<Key, Double> entry : values.entrySet()) {
+					Point point = entry.getKey().point();
+					out.writeUTF(entry.getKey().function());
+					out.writeInt(point.dim());
+					for (int i = 0; i < point.dim(); i++) {
+						out.writeDouble(point.get(i));
+					}
+					out.writeDouble(entry.getValue());
+				}
+			}
+			try {
+				Files.move(temporaryFile.toPath(), file.toPath(),
+						StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			Files.deleteIfExists(temporaryFile.toPath());
+			throw e;
+		}
+		modified = false;
+		log.debug("Stored " + values.size() + " function values to " + file);
+	}
+
+	private void load() {
+		if (!file.isFile()) {
+			return;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				log.info("Ignoring function value file " + file + " of unknown format");
+				return;
+			}
+			int count = in.readInt();
+			for (int n = 0; n < count; n++) {
+				String function = in.readUTF();
+				double[] coordinates = new double[in.readInt()];
+				for (int i = 0; i < coordinates.length; i++) {
+					coordinates[i] = in.readDouble();
+				}
+				values.put(new Key(function, new Point(coordinates)), in.readDouble());
+			}
+			log.debug("Read " + values.size() + " function values from " + file);
+		} catch (IOException | RuntimeException e) {
+			log.warn("Unable to read function values from " + file + ", starting with an empty cache", e);
+			values.clear();
+		}
+	}
+}
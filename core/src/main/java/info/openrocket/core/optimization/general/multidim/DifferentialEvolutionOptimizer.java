@@ -0,0 +1,322 @@
+package info.openrocket.core.optimization.general.multidim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.optimization.general.FunctionCache;
+import info.openrocket.core.optimization.general.FunctionOptimizer;
+import info.openrocket.core.optimization.general.OptimizationController;
+import info.openrocket.core.optimization.general.OptimizationException;
+import info.openrocket.core.optimization.general.ParallelFunctionCache;
+import info.openrocket.core.optimization.general.Point;
+import info.openrocket.core.util.Statistics;
+
+/**
+ * A population-based optimizer using the differential evolution algorithm by Storn and Price
+ * (DE/rand/1/bin).
+ * <p>
+ * Each generation creates one trial point per member of the population and submits all of
+ * them to the function cache at once, so up to the population size of function evaluations
+ * run in parallel.  The default population size is the larger of ten times the dimension
+ * and the number of available processors.
+ * <p>
+ * The search is bounded to the unit hypercube, which is the range of the scaled values of the
+ * simulation modifiers between their minimum and maximum.  Trial coordinates outside the
+ * bounds are moved halfway from the parent coordinate to the violated bound.
+ * <p>
+ * The step size passed to the optimization controller is the largest extent of the
+ * population along any coordinate, which decreases as the population converges.
+ * The optimization can be aborted by interrupting the current thread.
+ */
+public class DifferentialEvolutionOptimizer implements FunctionOptimizer, Statistics {
+	private static final Logger log = LoggerFactory.getLogger(DifferentialEvolutionOptimizer.class);
+
+	/** Default differential weight */
+	public static final double DEFAULT_WEIGHT = 0.7;
+	/** Default crossover probability */
+	public static final double DEFAULT_CROSSOVER = 0.9;
+
+	private final List<Point> population = new ArrayList<>();
+
+	private ParallelFunctionCache functionExecutor;
+
+	private final int populationSize;
+	private final double weight;
+	private final double crossover;
+	private final Random random;
+
+	private Point optimum = null;
+
+	private int generationCount = 0;
+	private int evaluationCount = 0;
+	private int replacementCount = 0;
+	private int improvementCount = 0;
+
+	public DifferentialEvolutionOptimizer() {
+		this(null);
+	}
+
+	public DifferentialEvolutionOptimizer(ParallelFunctionCache functionCache) {
+		this(functionCache, 0, DEFAULT_WEIGHT, DEFAULT_CROSSOVER, new Random());
+	}
+
+	/**
+	 * Construct an optimizer with specific settings.
+	 *
+	 * @param functionCache		the function cache to evaluate the points with.
+	 * @param populationSize	the number of points in the population, or 0 for the default size.
+	 * @param weight			the differential weight F, in the range (0, 2].
+	 * @param crossover			the crossover probability CR, in the range [0, 1].
+	 * @param random			the random number generator for creating the points.
+	 */
+	public DifferentialEvolutionOptimizer(ParallelFunctionCache functionCache, int populationSize,
+			double weight, double crossover, Random random) {
+		if (populationSize != 0 && populationSize < 4) {
+			throw new IllegalArgumentException("Population size must be at least 4: " + populationSize);
+		}
+		if (!(weight > 0 && weight <= 2)) {
+			throw new IllegalArgumentException("Invalid differential weight " + weight);
+		}
+		if (!(crossover >= 0 && crossover <= 1)) {
+			throw new IllegalArgumentException("Invalid crossover probability " + crossover);
+		}
+		this.functionExecutor = functionCache;
+		this.populationSize = populationSize;
+		this.weight = weight;
+		this.crossover = crossover;
+		this.random = random;
+	}
+
+	@Override
+	public void optimize(Point initial, OptimizationController control) throws OptimizationException {
+		final int dim = initial.dim();
+		final int size = getPopulationSize(dim);
+		log.info("Starting optimization at " + initial + " with population size " + size);
+
+		population.clear();
+		population.add(clamp(initial));
+		population.addAll(createSample(dim, size - 1, random));
+		optimum = population.get(0);
+
+		try {
+
+			functionExecutor.compute(population);
+			functionExecutor.waitFor(population);
+			evaluationCount += population.size();
+			optimum = findOptimum(population);
+
+			List<Point> trials = new ArrayList<>(size);
+			boolean continueOptimization = true;
+			while (continueOptimization) {
+				generationCount++;
+
+				trials.clear();
+				for (int i = 0; i < size; i++) {
+					trials.add(createTrial(population, i, weight, crossover, random));
+				}
+
+				// Evaluate the whole generation in parallel
+				functionExecutor.compute(trials);
+				functionExecutor.waitFor(trials);
+				evaluationCount += trials.size();
+
+				Point previous = optimum;
+				double previousValue = functionExecutor.getValue(previous);
+				for (int i = 0; i < size; i++) {
+					Point trial = trials.get(i);
+					if (functionExecutor.getValue(trial) <= functionExecutor.getValue(population.get(i))) {
+						population.set(i, trial);
+						replacementCount++;
+					}
+				}
+				optimum = findOptimum(population);
+				double optimumValue = functionExecutor.getValue(optimum);
+				if (optimumValue < previousValue) {
+					improvementCount++;
+				}
+
+				log.debug("Generation " + generationCount + " optimum " + optimum + " value=" + optimumValue);
+
+				continueOptimization = control.stepTaken(previous, previousValue, optimum, optimumValue,
+						getPopulationExtent());
+
+				if (Thread.interrupted()) {
+					throw new InterruptedException();
+				}
+			}
+
+		} catch (InterruptedException e) {
+			log.info("Optimization was interrupted with InterruptedException");
+			functionExecutor.abortAll();
+		}
+
+		log.info("Finishing optimization at point " + optimum + " value = " +
+				functionExecutor.getValue(optimum));
+		log.info("Optimization statistics: " + getStatistics());
+	}
+
+	/**
+	 * Return the population size used for the given dimension.
+	 */
+	private int getPopulationSize(int dim) {
+		if (populationSize > 0) {
+			return populationSize;
+		}
+		return Math.max(Math.max(10 * dim, Runtime.getRuntime().availableProcessors()), 4);
+	}
+
+	/**
+	 * Create a Latin hypercube sample of the unit hypercube, covering each coordinate evenly.
+	 */
+	static List<Point> createSample(int dim, int count, Random random) {
+		double[][] coordinates = new double[count][dim];
+		for (int d = 0; d < dim; d++) {
+			int[] strata = new int[count];
+			for (int i = 0; i < count; i++) {
+				strata[i] = i;
+			}
+			for (int i = count - 1; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				int tmp = strata[i];
+				strata[i] = strata[j];
+				strata[j] = tmp;
+			}
+			for (int i = 0; i < count; i++) {
+				coordinates[i][d] = (strata[i] + random.nextDouble()) / count;
+			}
+		}
+
+		List<Point> sample = new ArrayList<>(count);
+		for (double[] c : coordinates) {
+			sample.add(new Point(c));
+		}
+		return sample;
+	}
+
+	/**
+	 * Create the trial point for the population member at the given index by mutation
+	 * and binomial crossover.
+	 */
+	static Point createTrial(List<Point> population, int index, double weight, double crossover,
+			Random random) {
+		final int size = population.size();
+		int a, b, c;
+		do {
+			a = random.nextInt(size);
+		} while (a == index);
+		do {
+			b = random.nextInt(size);
+		} while (b == index || b == a);
+		do {
+			c = random.nextInt(size);
+		} while (c == index || c == a || c == b);
+
+		double[] target = population.get(index).asArray();
+		double[] pa = population.get(a).asArray();
+		double[] pb = population.get(b).asArray();
+		double[] pc = population.get(c).asArray();
+
+		double[] trial = new double[target.length];
+		int forced = random.nextInt(target.length);
+		for (int d = 0; d < target.length; d++) {
+			if (d == forced || random.nextDouble() < crossover) {
+				double v = pa[d] + weight * (pb[d] - pc[d]);
+				if (v < 0) {
+					v = target[d] / 2;
+				} else if (v > 1) {
+					v = (target[d] + 1) / 2;
+				}
+				trial[d] = v;
+			} else {
+				trial[d] = target[d];
+			}
+		}
+		return new Point(trial);
+	}
+
+	private Point findOptimum(List<Point> points) {
+		Point best = points.get(0);
+		double bestValue = functionExecutor.getValue(best);
+		for (Point p : points) {
+			double value = functionExecutor.getValue(p);
+			if (value < bestValue) {
+				best = p;
+				bestValue = value;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Return the largest extent of the population along any coordinate.
+	 */
+	private double getPopulationExtent() {
+		double extent = 0;
+		int dim = population.get(0).dim();
+		for (int d = 0; d < dim; d++) {
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			for (Point p : population) {
+				min = Math.min(min, p.get(d));
+				max = Math.max(max, p.get(d));
+			}
+			extent = Math.max(extent, max - min);
+		}
+		return extent;
+	}
+
+	static Point clamp(Point p) {
+		double[] c = p.asArray();
+		for (int i = 0; i < c.length; i++) {
+			c[i] = Math.min(Math.max(c[i], 0), 1);
+		}
+		return new Point(c);
+	}
+
+	@Override
+	public Point getOptimumPoint() {
+		if (optimum == null) {
+			throw new IllegalStateException("Optimization has not been called, population is empty");
+		}
+		return optimum;
+	}
+
+	@Override
+	public double getOptimumValue() {
+		return functionExecutor.getValue(getOptimumPoint());
+	}
+
+	@Override
+	public FunctionCache getFunctionCache() {
+		return functionExecutor;
+	}
+
+	@Override
+	public void setFunctionCache(FunctionCache functionCache) {
+		if (!(functionCache instanceof ParallelFunctionCache)) {
+			throw new IllegalArgumentException("Function cache needs to be a ParallelFunctionCache: " + functionCache);
+		}
+		this.functionExecutor = (ParallelFunctionCache) functionCache;
+	}
+
+	@Override
+	public String getStatistics() {
+		return "DifferentialEvolutionOptimizer[generationCount=" + generationCount +
+				", evaluationCount=" + evaluationCount +
+				", replacementCount=" + replacementCount +
+				", improvementCount=" + improvementCount + "]";
+	}
+
+	@Override
+	public void resetStatistics() {
+		generationCount = 0;
+		evaluationCount = 0;
+		replacementCount = 0;
+		improvementCount = 0;
+	}
+
+}
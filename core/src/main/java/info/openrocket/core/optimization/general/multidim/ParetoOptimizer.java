@@ -0,0 +1,327 @@
+package info.openrocket.core.optimization.general.multidim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.optimization.general.MultiObjectiveFunction;
+import info.openrocket.core.optimization.general.OptimizationException;
+import info.openrocket.core.optimization.general.ParetoFront;
+import info.openrocket.core.optimization.general.Point;
+import info.openrocket.core.util.BugException;
+import info.openrocket.core.util.Statistics;
+
+/**
+ * A multi-objective optimizer using generalized differential evolution (GDE3) by
+ * Kukkonen and Lampinen.
+ * <p>
+ * Trial points are created as in {@link DifferentialEvolutionOptimizer}, and all trial
+ * points of a generation are evaluated in parallel.  A trial point replaces its parent if
+ * it is at least as good in all objectives, and is discarded if the parent dominates it.
+ * Otherwise both are kept, and the population is reduced back to its size by
+ * non-dominated sorting and crowding distance.
+ * <p>
+ * Every evaluated point is offered to a {@link ParetoFront} archive, which holds the
+ * non-dominated solutions found during the optimization.  The optimization runs for a
+ * given number of generations, and can be aborted by interrupting the current thread.
+ */
+public class ParetoOptimizer implements Statistics {
+	private static final Logger log = LoggerFactory.getLogger(ParetoOptimizer.class);
+
+	private final MultiObjectiveFunction function;
+	private final ExecutorService executor;
+
+	private final int populationSize;
+	private final double weight;
+	private final double crossover;
+	private final Random random;
+
+	private final List<Point> population = new ArrayList<>();
+	private final List<double[]> populationObjectives = new ArrayList<>();
+	private final ParetoFront paretoFront;
+
+	private int generationCount = 0;
+	private int evaluationCount = 0;
+	private int replacementCount = 0;
+
+	/**
+	 * Construct an optimizer with default settings, using the same number of threads as
+	 * there are processors available.
+	 *
+	 * @param function	the function to optimize.
+	 */
+	public ParetoOptimizer(MultiObjectiveFunction function) {
+		this(function, createExecutor(Runtime.getRuntime().availableProcessors()), 0,
+				DifferentialEvolutionOptimizer.DEFAULT_WEIGHT, DifferentialEvolutionOptimizer.DEFAULT_CROSSOVER,
+				new Random(), new ParetoFront());
+	}
+
+	/**
+	 * Construct an optimizer with specific settings.
+	 *
+	 * @param function			the function to optimize.
+	 * @param executor			the executor to evaluate the function with.
+	 * @param populationSize	the number of points in the population, or 0 for the default size.
+	 * @param weight			the differential weight F, in the range (0, 2].
+	 * @param crossover			the crossover probability CR, in the range [0, 1].
+	 * @param random			the random number generator for creating the points.
+	 * @param paretoFront		the archive to add the evaluated points to.
+	 */
+	public ParetoOptimizer(MultiObjectiveFunction function, ExecutorService executor, int populationSize,
+			double weight, double crossover, Random random, ParetoFront paretoFront) {
+		if (populationSize != 0 && populationSize < 4) {
+			throw new IllegalArgumentException("Population size must be at least 4: " + populationSize);
+		}
+		if (!(weight > 0 && weight <= 2)) {
+			throw new IllegalArgumentException("Invalid differential weight " + weight);
+		}
+		if (!(crossover >= 0 && crossover <= 1)) {
+			throw new IllegalArgumentException("Invalid crossover probability " + crossover);
+		}
+		this.function = function;
+		this.executor = executor;
+		this.populationSize = populationSize;
+		this.weight = weight;
+		this.crossover = crossover;
+		this.random = random;
+		this.paretoFront = paretoFront;
+	}
+
+	/**
+	 * Create an executor with the specified number of daemon threads.  Idle threads are
+	 * terminated after 60 seconds, so the executor need not be shut down.
+	 */
+	public static ExecutorService createExecutor(int threadCount) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(),
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread t = new Thread(r);
+						t.setDaemon(true);
+						return t;
+					}
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Run the optimization starting from the given point.  The initial point is part of the
+	 * initial population, and the rest of it is sampled evenly from the unit hypercube.
+	 *
+	 * @param initial			the initial point.
+	 * @param maxGenerations	the number of generations to run after the initial population.
+	 * @throws OptimizationException	if the function evaluation fails.
+	 */
+	public void optimize(Point initial, int maxGenerations) throws OptimizationException {
+		final int dim = initial.dim();
+		final int size = getPopulationSize(dim);
+		log.info("Starting multi-objective optimization at " + initial + " with population size " + size);
+
+		population.clear();
+		populationObjectives.clear();
+		population.add(DifferentialEvolutionOptimizer.clamp(initial));
+		population.addAll(DifferentialEvolutionOptimizer.createSample(dim, size - 1, random));
+
+		try {
+
+			populationObjectives.addAll(evaluate(population));
+
+			List<Point> trials = new ArrayList<>(size);
+			for (int generation = 1; generation <= maxGenerations; generation++) {
+				generationCount++;
+
+				trials.clear();
+				for (int i = 0; i < size; i++) {
+					trials.add(DifferentialEvolutionOptimizer.createTrial(population, i, weight, crossover, random));
+				}
+
+				// Evaluate the whole generation in parallel
+				List<double[]> trialObjectives = evaluate(trials);
+
+				List<Point> points = new ArrayList<>(2 * size);
+				List<double[]> objectives = new ArrayList<>(2 * size);
+				for (int i = 0; i < size; i++) {
+					double[] parent = populationObjectives.get(i);
+					double[] trial = trialObjectives.get(i);
+					if (ParetoFront.weaklyDominates(trial, parent)) {
+						points.add(trials.get(i));
+						objectives.add(trial);
+						replacementCount++;
+					} else if (ParetoFront.dominates(parent, trial)) {
+						points.add(population.get(i));
+						objectives.add(parent);
+					} else {
+						points.add(population.get(i));
+						objectives.add(parent);
+						points.add(trials.get(i));
+						objectives.add(trial);
+					}
+				}
+				select(points, objectives, size);
+
+				log.debug("Generation " + generation + " Pareto front size " + paretoFront.size());
+
+				if (Thread.interrupted()) {
+					throw new InterruptedException();
+				}
+			}
+
+		} catch (InterruptedException e) {
+			log.info("Optimization was interrupted with InterruptedException");
+		}
+
+		log.info("Finishing optimization with " + paretoFront.size() + " non-dominated solutions");
+		log.info("Optimization statistics: " + getStatistics());
+	}
+
+	/**
+	 * Return the population size used for the given dimension.
+	 */
+	private int getPopulationSize(int dim) {
+		if (populationSize > 0) {
+			return populationSize;
+		}
+		return Math.max(Math.max(10 * dim, Runtime.getRuntime().availableProcessors()), 4);
+	}
+
+	/**
+	 * Evaluate the function at the points in parallel and add the feasible ones to the archive.
+	 * NaN objective values are replaced by <code>Double.MAX_VALUE</code>.
+	 */
+	private List<double[]> evaluate(List<Point> points) throws InterruptedException, OptimizationException {
+		List<Future<double[]>> futures = new ArrayList<>(points.size());
+		for (Point p : points) {
+			futures.add(executor.submit(() -> function.evaluate(p)));
+		}
+
+		List<double[]> objectives = new ArrayList<>(points.size());
+		try {
+			for (int i = 0; i < points.size(); i++) {
+				double[] values = futures.get(i).get().clone();
+				if (values.length != function.getObjectiveCount()) {
+					throw new BugException("Function returned " + values.length + " objectives, expected " +
+							function.getObjectiveCount());
+				}
+				for (int j = 0; j < values.length; j++) {
+					if (Double.isNaN(values[j])) {
+						values[j] = Double.MAX_VALUE;
+					}
+				}
+				objectives.add(values);
+				if (function.isFeasible(points.get(i))) {
+					paretoFront.add(points.get(i), values);
+				}
+			}
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof InterruptedException) {
+				throw (InterruptedException) cause;
+			}
+			if (cause instanceof OptimizationException) {
+				throw (OptimizationException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+
+			throw new BugException("Function threw unknown exception while processing", e);
+		} finally {
+			// Abort the remaining evaluations on failure
+			for (Future<double[]> future : futures) {
+				future.cancel(true);
+			}
+		}
+		evaluationCount += points.size();
+		return objectives;
+	}
+
+	/**
+	 * Select the population of the given size from the candidates, by the rank of their
+	 * non-dominated front and then by decreasing crowding distance.
+	 */
+	private void select(List<Point> points, List<double[]> objectives, int size) {
+		population.clear();
+		populationObjectives.clear();
+		if (points.size() <= size) {
+			population.addAll(points);
+			populationObjectives.addAll(objectives);
+			return;
+		}
+
+		for (List<Integer> front : ParetoFront.sortNondominated(objectives)) {
+			int remaining = size - population.size();
+			if (front.size() > remaining) {
+				List<double[]> frontObjectives = new ArrayList<>(front.size());
+				for (int i : front) {
+					frontObjectives.add(objectives.get(i));
+				}
+				double[] distances = ParetoFront.getCrowdingDistances(frontObjectives);
+				Integer[] order = new Integer[front.size()];
+				for (int i = 0; i < order.length; i++) {
+					order[i] = i;
+				}
+				Arrays.sort(order, Comparator.comparingDouble((Integer i) -> distances[i]).reversed());
+				List<Integer> selected = new ArrayList<>(remaining);
+				for (int i = 0; i < remaining; i++) {
+					selected.add(front.get(order[i]));
+				}
+				front = selected;
+			}
+			for (int i : front) {
+				population.add(points.get(i));
+				populationObjectives.add(objectives.get(i));
+			}
+			if (population.size() >= size) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Return the archive of non-dominated solutions.
+	 */
+	public ParetoFront getParetoFront() {
+		return paretoFront;
+	}
+
+	/**
+	 * Return the current population.
+	 */
+	public List<Point> getPopulation() {
+		return new ArrayList<>(population);
+	}
+
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
+	@Override
+	public String getStatistics() {
+		return "ParetoOptimizer[generationCount=" + generationCount +
+				", evaluationCount=" + evaluationCount +
+				", replacementCount=" + replacementCount +
+				", paretoFrontSize=" + paretoFront.size() + "]";
+	}
+
+	@Override
+	public void resetStatistics() {
+		generationCount = 0;
+		evaluationCount = 0;
+		replacementCount = 0;
+	}
+
+}
@@ -0,0 +1,115 @@
+package info.openrocket.core.optimization.rocketoptimization;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.optimization.general.OptimizationException;
+import info.openrocket.core.optimization.general.Point;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.rocketcomponent.RocketWorkingCopy;
+import info.openrocket.core.unit.Value;
+import info.openrocket.core.util.Pair;
+
+/**
+ * Base class of the rocket optimization functions.  Creates the simulation of a point by
+ * modifying a copy of a base simulation using SimulationModifiers, and checks whether it is
+ * within the simulation domain.
+ * <p>
+ * The rocket copies are reused by the evaluations of each thread, see {@link RocketWorkingCopy}.
+ */
+abstract class AbstractRocketOptimizationFunction {
+
+	private static final double OUTSIDE_DOMAIN_SCALE = 1.0e200;
+
+	/*
+	 * NOTE: This class must be thread-safe!!!
+	 */
+
+	protected final Simulation baseSimulation;
+	protected final SimulationDomain domain;
+	protected final SimulationModifier[] modifiers;
+
+	/** Rocket copies reused by the evaluations of each thread */
+	private final ThreadLocal<RocketWorkingCopy> workingCopies = new ThreadLocal<>();
+	/** IDs of the components modified by the modifiers */
+	private final Set<UUID> modifiedComponents = new HashSet<>();
+
+	protected AbstractRocketOptimizationFunction(Simulation baseSimulation, SimulationDomain domain,
+			SimulationModifier[] modifiers) {
+		if (modifiers.length == 0) {
+			throw new IllegalArgumentException("No SimulationModifiers specified");
+		}
+		this.baseSimulation = baseSimulation;
+		this.domain = domain;
+		this.modifiers = modifiers.clone();
+		for (SimulationModifier modifier : modifiers) {
+			if (modifier.getRelatedObject() instanceof RocketComponent) {
+				modifiedComponents.add(((RocketComponent) modifier.getRelatedObject()).getID());
+			}
+		}
+	}
+
+	/**
+	 * Create the simulation of a point: a new copy of the base simulation, modified by the
+	 * modifiers to the values of the point, and its distance to the simulation domain.
+	 *
+	 * @param point	the point to simulate, with one value per modifier.
+	 * @return		the modified simulation.
+	 */
+	protected ModifiedSimulation modify(Point point) throws OptimizationException {
+		double[] p = point.asArray();
+		if (p.length != modifiers.length) {
+			throw new IllegalArgumentException("Point has length " + p.length + " while function has " +
+					modifiers.length + " simulation modifiers");
+		}
+
+		final Simulation simulation = newSimulationInstance(baseSimulation);
+		for (int i = 0; i < modifiers.length; i++) {
+			modifiers[i].modify(simulation, p[i]);
+		}
+
+		Pair<Double, Value> d = domain.getDistanceToDomain(simulation);
+		return new ModifiedSimulation(simulation, d.getU(), d.getV());
+	}
+
+	/**
+	 * Returns a new copy of the simulation with a copy of the rocket.
+	 * <p>
+	 * The rocket copy is reused by the evaluations of the current thread.  It is reset to the
+	 * state of the original rocket by copying only the components modified by the previous
+	 * evaluation and the components related to the modifiers, see {@link RocketWorkingCopy}.
+	 * <p>
+	 * Note: This method is package-private for unit testing purposes.
+	 *
+	 * @return a new copy of the simulation and rocket
+	 */
+	Simulation newSimulationInstance(Simulation simulation) {
+		RocketWorkingCopy workingCopy = workingCopies.get();
+		if (workingCopy == null || workingCopy.getOriginal() != simulation.getRocket()) {
+			workingCopy = new RocketWorkingCopy(simulation.getRocket());
+			workingCopies.set(workingCopy);
+		}
+		return simulation.duplicateSimulation(workingCopy.reset(modifiedComponents));
+	}
+
+
+	/**
+	 * A simulation modified to a point, with its distance to the simulation domain.
+	 */
+	protected record ModifiedSimulation(Simulation simulation, double distance, Value referenceValue) {
+
+		public boolean isOutsideDomain() {
+			return distance > 0 || Double.isNaN(distance);
+		}
+
+		/**
+		 * Return the goal function value of a point outside the domain, which increases with
+		 * the distance to the domain.
+		 */
+		public double getOutsideDomainValue() {
+			return Double.isNaN(distance) ? Double.MAX_VALUE : (distance + 1) * OUTSIDE_DOMAIN_SCALE;
+		}
+	}
+}
@@ -0,0 +1,172 @@
+package info.openrocket.core.optimization.rocketoptimization;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.optimization.general.MultiObjectiveFunction;
+import info.openrocket.core.optimization.general.OptimizationException;
+import info.openrocket.core.optimization.general.Point;
+import info.openrocket.core.optimization.rocketoptimization.parameters.SimulationBasedParameter;
+
+/**
+ * A MultiObjectiveFunction that optimizes several RocketOptimizationParameters, each
+ * to its own goal, by modifying a base simulation using SimulationModifiers.
+ * <p>
+ * All parameters are computed from a single simulation per point, see
+ * {@link SimulationBasedParameter#computeValues(Simulation, OptimizableParameter...)}.
+ * The objective values are the minimization parameters of the goals.  The modifier and
+ * parameter values of each evaluated point are retained, see {@link #getEvaluation(Point)}.
+ */
+public class RocketMultiObjectiveFunction extends AbstractRocketOptimizationFunction
+		implements MultiObjectiveFunction {
+	private static final Logger log = LoggerFactory.getLogger(RocketMultiObjectiveFunction.class);
+
+	/*
+	 * NOTE: This class must be thread-safe!!!
+	 */
+
+	/**
+	 * The SI values of the modifiers and the parameters at an evaluated point.
+	 * The parameter values are NaN if the point is outside the simulation domain.
+	 */
+	public static final class Evaluation {
+		private final double[] modifierValues;
+		private final double[] parameterValues;
+
+		private Evaluation(double[] modifierValues, double[] parameterValues) {
+			this.modifierValues = modifierValues;
+			this.parameterValues = parameterValues;
+		}
+
+		public double getModifierValue(int index) {
+			return modifierValues[index];
+		}
+
+		public double getParameterValue(int index) {
+			return parameterValues[index];
+		}
+
+		/**
+		 * Return whether all parameter values are defined, that is the point is within
+		 * the simulation domain and the parameters could be computed.
+		 */
+		public boolean isFeasible() {
+			for (double value : parameterValues) {
+				if (Double.isNaN(value)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private final OptimizableParameter[] parameters;
+	private final OptimizationGoal[] goals;
+
+	private final Map<Point, Evaluation> evaluations = new ConcurrentHashMap<>();
+
+	/**
+	 * Sole constructor.
+	 * <p>
+	 * The dimensionality of the resulting function is the same as the length of the
+	 * modifiers array, and the number of objectives the same as the number of parameters.
+	 *
+	 * @param baseSimulation the base simulation to modify
+	 * @param parameters     the rocket parameters to optimize
+	 * @param goals          the goals of the rocket parameters, one per parameter
+	 * @param domain         the simulation domain
+	 * @param modifiers      the modifiers that modify the simulation
+	 */
+	public RocketMultiObjectiveFunction(Simulation baseSimulation, OptimizableParameter[] parameters,
+			OptimizationGoal[] goals, SimulationDomain domain, SimulationModifier... modifiers) {
+		super(baseSimulation, domain, modifiers);
+		if (parameters.length == 0) {
+			throw new IllegalArgumentException("No OptimizableParameters specified");
+		}
+		if (parameters.length != goals.length) {
+			throw new IllegalArgumentException("Got " + parameters.length + " parameters but " + goals.length +
+					" goals");
+		}
+		this.parameters = parameters.clone();
+		this.goals = goals.clone();
+	}
+
+	@Override
+	public int getObjectiveCount() {
+		return parameters.length;
+	}
+
+	@Override
+	public double[] evaluate(Point point) throws InterruptedException, OptimizationException {
+		log.debug("Computing optimization function values at point " + point);
+
+		// Create the new simulation based on the point
+		ModifiedSimulation modified = modify(point);
+		final Simulation simulation = modified.simulation();
+
+		double[] modifierValues = new double[modifiers.length];
+		for (int i = 0; i < modifiers.length; i++) {
+			modifierValues[i] = modifiers[i].getCurrentSIValue(simulation);
+		}
+
+		double[] objectives = new double[parameters.length];
+		double[] parameterValues;
+
+		// Check whether the point is within the simulation domain
+		if (modified.isOutsideDomain()) {
+			double goalValue = modified.getOutsideDomainValue();
+			log.debug("Optimization point is outside of domain, distance=" + modified.distance() +
+					" goal function value=" + goalValue);
+			parameterValues = new double[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				parameterValues[i] = Double.NaN;
+				objectives[i] = goalValue;
+			}
+		} else {
+			parameterValues = SimulationBasedParameter.computeValues(simulation, parameters);
+			for (int i = 0; i < parameters.length; i++) {
+				objectives[i] = goals[i].getMinimizationParameter(parameterValues[i]);
+				if (Double.isNaN(objectives[i])) {
+					log.warn("Computed goal value was NaN, parameter=" + parameters[i] + " goal=" + goals[i] +
+							" simulation=" + simulation + " parameter value=" + parameterValues[i]);
+					objectives[i] = Double.MAX_VALUE;
+				}
+			}
+		}
+
+		evaluations.put(point, new Evaluation(modifierValues, parameterValues));
+		return objectives;
+	}
+
+	/**
+	 * Points outside the simulation domain, and points at which a parameter could not be
+	 * computed, are not feasible.
+	 */
+	@Override
+	public boolean isFeasible(Point point) {
+		Evaluation evaluation = evaluations.get(point);
+		return evaluation != null && evaluation.isFeasible();
+	}
+
+	/**
+	 * Return the modifier and parameter values of an evaluated point.
+	 *
+	 * @param point	the point.
+	 * @return		the values, or <code>null</code> if the point has not been evaluated.
+	 */
+	public Evaluation getEvaluation(Point point) {
+		return evaluations.get(point);
+	}
+
+	public OptimizableParameter[] getParameters() {
+		return parameters.clone();
+	}
+
+	public SimulationModifier[] getModifiers() {
+		return modifiers.clone();
+	}
+}
@@ -1,5 +1,11 @@
 package info.openrocket.core.optimization.rocketoptimization;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -7,13 +13,23 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
 import info.openrocket.core.document.Simulation;
+import info.openrocket.core.document.StorageOptions;
+import info.openrocket.core.file.openrocket.OpenRocketSaver;
+import info.openrocket.core.logging.ErrorSet;
+import info.openrocket.core.logging.WarningSet;
 import info.openrocket.core.optimization.general.Function;
 import info.openrocket.core.optimization.general.OptimizationException;
+import info.openrocket.core.optimization.general.PersistentEvaluationCache;
 import info.openrocket.core.optimization.general.Point;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.unit.UnitGroup;
 import info.openrocket.core.unit.Value;
-import info.openrocket.core.util.Pair;
+import info.openrocket.core.util.BugException;
+import info.openrocket.core.util.TextUtil;
 
 /**
  * A Function that optimizes a specific RocketOptimizationParameter to some goal
@@ -21,23 +37,21 @@ import info.openrocket.core.util.Pair;
  * 
  * @author Sampo Niskanen <sampo.niskanen@iki.fi>
  */
-public class RocketOptimizationFunction implements Function {
+public class RocketOptimizationFunction extends AbstractRocketOptimizationFunction implements Function {
 	private static final Logger log = LoggerFactory.getLogger(RocketOptimizationFunction.class);
 
-	private static final double OUTSIDE_DOMAIN_SCALE = 1.0e200;
-
 	/*
 	 * NOTE: This class must be thread-safe!!!
 	 */
 
-	private final Simulation baseSimulation;
 	private final OptimizableParameter parameter;
 	private final OptimizationGoal goal;
-	private final SimulationDomain domain;
-	private final SimulationModifier[] modifiers;
 
 	private final List<RocketOptimizationListener> listeners = new ArrayList<>();
 
+	private volatile PersistentEvaluationCache evaluationCache = null;
+	private volatile String cacheKey = null;
+
 	/**
 	 * Sole constructor.
 	 * <p>
@@ -51,14 +65,9 @@ public class RocketOptimizationFunction implements Function {
 	 */
 	public RocketOptimizationFunction(Simulation baseSimulation, OptimizableParameter parameter,
 			OptimizationGoal goal, SimulationDomain domain, SimulationModifier... modifiers) {
-		this.baseSimulation = baseSimulation;
+		super(baseSimulation, domain, modifiers);
 		this.parameter = parameter;
 		this.goal = goal;
-		this.domain = domain;
-		this.modifiers = modifiers.clone();
-		if (modifiers.length == 0) {
-			throw new IllegalArgumentException("No SimulationModifiers specified");
-		}
 	}
 
 	@Override
@@ -73,38 +82,33 @@ public class RocketOptimizationFunction implements Function {
 		log.debug("Computing optimization function value at point " + point);
 
 		// Create the new simulation based on the point
-		double[] p = point.asArray();
-		if (p.length != modifiers.length) {
-			throw new IllegalArgumentException("Point has length " + p.length + " while function has " +
-					modifiers.length + " simulation modifiers");
-		}
-
-		final Simulation simulation = newSimulationInstance(baseSimulation);
-
-		for (int i = 0; i < modifiers.length; i++) {
-			modifiers[i].modify(simulation, p[i]);
-		}
+		ModifiedSimulation modified = modify(point);
+		final Simulation simulation = modified.simulation();
+		Value referenceValue = modified.referenceValue();
 
 		// Check whether the point is within the simulation domain
-		Pair<Double, Value> d = domain.getDistanceToDomain(simulation);
-		double distance = d.getU();
-		Value referenceValue = d.getV();
-		if (distance > 0 || Double.isNaN(distance)) {
-			if (Double.isNaN(distance)) {
-				goalValue = Double.MAX_VALUE;
-			} else {
-				goalValue = (distance + 1) * OUTSIDE_DOMAIN_SCALE;
-			}
-			log.debug("Optimization point is outside of domain, distance=" + distance + " goal function value="
-					+ goalValue);
+		if (modified.isOutsideDomain()) {
+			goalValue = modified.getOutsideDomainValue();
+			log.debug("Optimization point is outside of domain, distance=" + modified.distance() +
+					" goal function value=" + goalValue);
 
 			fireEvent(simulation, point, referenceValue, null, goalValue);
 
 			return goalValue;
 		}
 
-		// Compute the optimization value
-		parameterValue = parameter.computeValue(simulation);
+		// Compute the optimization value, or use the value stored by a previous run
+		PersistentEvaluationCache cache = evaluationCache;
+		Double stored = (cache != null) ? cache.get(cacheKey, point) : null;
+		if (stored != null) {
+			parameterValue = stored;
+			log.debug("Using stored parameter value " + parameterValue);
+		} else {
+			parameterValue = parameter.computeValue(simulation);
+			if (cache != null) {
+				cache.put(cacheKey, point, parameterValue);
+			}
+		}
 		goalValue = goal.getMinimizationParameter(parameterValue);
 
 		if (Double.isNaN(goalValue)) {
@@ -122,14 +126,62 @@ public class RocketOptimizationFunction implements Function {
 	}
 
 	/**
-	 * Returns a new deep copy of the simulation and rocket.
+	 * Return a key identifying the parameter values computed by this function, for storing
+	 * them between optimization runs, see {@link #setEvaluationCache(PersistentEvaluationCache)}.
 	 * <p>
-	 * Note: This method is package-private for unit testing purposes.
+	 * The key is a SHA-256 hash of the base simulation and rocket as stored in a file, the
+	 * OpenRocket version, the optimized parameter and the modifiers.  Modifiers are identified
+	 * by their class, <code>toString()</code>, name, related component and range.  The goal
+	 * and domain are not part of the key, since they are applied to the stored values.
+	 *
+	 * @return the key of this function
+	 */
+	public String getCacheKey() {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new BugException("JRE does not support SHA-256 hash algorithm", e);
+		}
+
+		// Hash the design as it would be saved, excluding simulation data
+		Rocket rocket = baseSimulation.getRocket().copyWithOriginalID();
+		OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		document.addSimulation(baseSimulation.duplicateSimulation(rocket));
+		StorageOptions options = new StorageOptions();
+		options.setSaveSimulationData(false);
+		try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+			new OpenRocketSaver().save(out, document, options, new WarningSet(), new ErrorSet());
+		} catch (IOException e) {
+			throw new BugException("Unable to write design to a digest", e);
+		}
+
+		StringBuilder setup = new StringBuilder();
+		setup.append("|parameter=").append(parameter.getClass().getName()).append(':').append(parameter.getName());
+		for (SimulationModifier modifier : modifiers) {
+			Object related = modifier.getRelatedObject();
+			setup.append("|modifier=").append(modifier.getClass().getName()).append(':').append(modifier)
+					.append(':').append(modifier.getName())
+					.append(':').append(related instanceof RocketComponent ? ((RocketComponent) related).getID() : related)
+					.append(':').append(modifier.getMinValue())
+					.append(':').append(modifier.getMaxValue());
+		}
+		digest.update(setup.toString().getBytes(StandardCharsets.UTF_8));
+
+		return TextUtil.hexString(digest.digest());
+	}
+
+	/**
+	 * Set the cache in which the computed parameter values are stored, or <code>null</code> to
+	 * always compute them.  Stored values are reused by all functions with the same
+	 * {@link #getCacheKey() key}, which is computed by this method.  The simulation is still
+	 * modified and its domain checked for stored values, so listeners are notified as usual.
 	 *
-	 * @return a new deep copy of the simulation and rocket
+	 * @param cache the cache to use, or <code>null</code>.
 	 */
-	Simulation newSimulationInstance(Simulation simulation) {
-		return simulation.duplicateSimulation(simulation.getRocket().copyWithOriginalID());
+	public void setEvaluationCache(PersistentEvaluationCache cache) {
+		this.cacheKey = (cache != null) ? getCacheKey() : null;
+		this.evaluationCache = cache;
 	}
 
 	/**
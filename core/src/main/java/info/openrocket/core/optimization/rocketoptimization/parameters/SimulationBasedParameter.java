@@ -1,6 +1,8 @@
 package info.openrocket.core.optimization.rocketoptimization.parameters;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,6 +53,77 @@ public abstract class SimulationBasedParameter implements OptimizableParameter {
 	}
 	
 	
+	/**
+	 * Compute the values of several optimization parameters for the simulation.
+	 * <p>
+	 * The flight is simulated only once for all simulation-based parameters.  If they use
+	 * different simulation listeners, the flight is simulated without them, which is
+	 * correct for listeners that only end the simulation early once the value is known.
+	 * Other parameters are computed with {@link OptimizableParameter#computeValue(Simulation)}.
+	 *
+	 * @param simulation	the simulation
+	 * @param parameters	the parameters to compute
+	 * @return				the parameter values, NaN for values that could not be computed
+	 * @throws OptimizationException	if an error occurs preventing the optimization from continuing
+	 */
+	public static double[] computeValues(Simulation simulation, OptimizableParameter... parameters)
+			throws OptimizationException, InterruptedException {
+		double[] values = new double[parameters.length];
+		List<SimulationBasedParameter> simulated = new ArrayList<>();
+		for (int i = 0; i < parameters.length; i++) {
+			if (parameters[i] instanceof SimulationBasedParameter) {
+				simulated.add((SimulationBasedParameter) parameters[i]);
+			} else {
+				values[i] = parameters[i].computeValue(simulation);
+			}
+		}
+		if (simulated.isEmpty()) {
+			return values;
+		}
+
+		// Use the listeners only if all parameters use the same ones
+		SimulationListener[] listeners = simulated.get(0).getSimulationListeners();
+		for (SimulationBasedParameter p : simulated) {
+			if (!Arrays.equals(getListenerClasses(listeners), getListenerClasses(p.getSimulationListeners()))) {
+				listeners = new SimulationListener[0];
+				break;
+			}
+		}
+
+		FlightData data = null;
+		try {
+			log.debug("Running simulation for " + simulated.size() + " parameters");
+			listeners = Arrays.copyOf(listeners, listeners.length + 1);
+			listeners[listeners.length - 1] = new InterruptListener();
+			simulation.simulate(listeners);
+			data = simulation.getSimulatedData();
+		} catch (SimulationCalculationException e) {
+			// Calculation errors result in illegal values
+		} catch (SimulationCancelledException e) {
+			// Simulation cancellation stops the optimization
+			throw (InterruptedException) new InterruptedException("Optimization was interrupted").initCause(e);
+		} catch (SimulationException e) {
+			// Other exceptions fail
+			throw new OptimizationException(e);
+		}
+
+		for (int i = 0; i < parameters.length; i++) {
+			if (parameters[i] instanceof SimulationBasedParameter) {
+				values[i] = (data != null) ? ((SimulationBasedParameter) parameters[i]).getResultValue(data) : Double.NaN;
+				log.debug("Parameter '" + parameters[i].getName() + " was " + values[i]);
+			}
+		}
+		return values;
+	}
+
+	private static Class<?>[] getListenerClasses(SimulationListener[] listeners) {
+		Class<?>[] classes = new Class<?>[listeners.length];
+		for (int i = 0; i < listeners.length; i++) {
+			classes[i] = listeners[i].getClass();
+		}
+		return classes;
+	}
+
 	/**
 	 * Return the optimization parameter from the simulation flight data.
 	 * 
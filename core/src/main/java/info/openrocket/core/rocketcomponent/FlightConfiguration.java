@@ -292,6 +292,18 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 				stages.get(stageNumber) != null && stages.get(stageNumber).active;
 	}
 
+	/**
+	 * Return the active flag of each stage by stage number.  Unlike {@link #isStageActive(int)},
+	 * this does not consider whether the stage has any children.
+	 */
+	Map<Integer, Boolean> getStageActiveness() {
+		Map<Integer, Boolean> activeness = new HashMap<>();
+		for (StageFlags flags : this.stages.values()) {
+			activeness.put(flags.stageNumber, flags.active);
+		}
+		return activeness;
+	}
+
 	/**
 	 * Preload the stage activeness of a certain stage.
 	 * This method is to be used during the import and readout of an OpenRocket
@@ -166,8 +166,8 @@ public abstract class RecoveryDevice extends MassObject implements FlightConfigu
 	}
 
 	@Override
-	protected RocketComponent copyWithOriginalID() {
-		RecoveryDevice copy = (RecoveryDevice) super.copyWithOriginalID();
+	protected RocketComponent copyComponentWithOriginalID() {
+		RecoveryDevice copy = (RecoveryDevice) super.copyComponentWithOriginalID();
 		copy.deploymentConfigurations = new FlightConfigurableParameterSet<>(deploymentConfigurations);
 		return copy;
 	}
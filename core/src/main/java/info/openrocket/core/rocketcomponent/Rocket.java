@@ -495,7 +495,8 @@ public class Rocket extends ComponentAssembly {
 			FlightConfiguration newCfg = new FlightConfiguration(copyRocket, configID);
 			newCfg.setName(originalCfg.getNameRaw());			// Copy config name
 			newCfg.copyStageActiveness(originalCfg);
-			copyRocket.configSet.set(configID, newCfg);
+			// The new configuration is up to date, set() would update all configurations again
+			copyRocket.configSet.map.put(configID, newCfg);
 		}
 
 		copyRocket.selectedConfiguration = copyRocket.configSet.get( this.getSelectedConfiguration().getId());
@@ -504,6 +505,47 @@ public class Rocket extends ComponentAssembly {
 		return copyRocket;
 	}
 	
+	/**
+	 * Make a copy of the rocket without any child components.  The copy has only the default
+	 * flight configuration, as the configurations depend on the stages of the rocket.
+	 */
+	@Override
+	protected RocketComponent copyComponentWithOriginalID() {
+		final Rocket copyRocket = (Rocket) super.copyComponentWithOriginalID();
+		copyRocket.stageMap = new ConcurrentHashMap<>();
+		copyRocket.configSet = new FlightConfigurableParameterSet<>(new FlightConfiguration(copyRocket));
+		copyRocket.selectedConfiguration = copyRocket.configSet.getDefault();
+		copyRocket.listenerList = new HashSet<>();
+		copyRocket.freezeList = null;
+		return copyRocket;
+	}
+	
+	/**
+	 * Restore the stage map and the flight configurations of a rocket whose component tree
+	 * has been assembled from component copies by {@link RocketSnapshot}.  No events are fired.
+	 *
+	 * @param configurations	the non-default flight configurations, in order.
+	 * @param selectedId		the ID of the selected flight configuration.
+	 */
+	void restoreConfigurations(List<RocketSnapshot.ConfigurationState> configurations,
+			FlightConfigurationId selectedId) {
+		this.stageMap = new ConcurrentHashMap<>();
+		updateStageNumbers();
+		updateStageMap();
+
+		this.configSet = new FlightConfigurableParameterSet<>(new FlightConfiguration(this));
+		for (RocketSnapshot.ConfigurationState state : configurations) {
+			FlightConfiguration config = new FlightConfiguration(this, state.id());
+			config.setName(state.name());
+			for (Map.Entry<Integer, Boolean> entry : state.stageActiveness().entrySet()) {
+				config.preloadStageActiveness(entry.getKey(), entry.getValue());
+			}
+			config.applyPreloadedStageActiveness();
+			this.configSet.set(state.id(), config);
+		}
+		this.selectedConfiguration = this.configSet.get(selectedId);
+	}
+	
 	public int getFlightConfigurationCount() {
 		checkState();
 		return this.configSet.size();
@@ -639,6 +681,12 @@ public class Rocket extends ComponentAssembly {
 	}
 
 	protected void fireComponentChangeEvent(ComponentChangeEvent cce, final FlightConfigurationId[] ids) {
+		if (!cce.isUndoChange() && cce.getSource() == this) {
+			// The event may concern any component of the rocket
+			for (RocketComponent c : this) {
+				c.updateComponentModID();
+			}
+		}
 		if (!this.eventsEnabled) {
 			return;
 		}
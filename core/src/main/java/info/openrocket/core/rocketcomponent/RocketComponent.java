@@ -147,6 +147,12 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 	// If true, component change events will not be fired
 	private boolean bypassComponentChangeEvent = false;
 
+	/**
+	 * Modification ID of this component alone, changed whenever the component fires a change
+	 * event.  Copies made with the original ID share the modification ID.
+	 */
+	private ModID componentModID = new ModID();
+
 	/**
 	 * Controls the visibility of the component. If false, the component will not be rendered.
 	 * Visibility does not affect component simulation.
@@ -424,20 +430,7 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 		mutex.lock("copyWithOriginalID");
 		try {
 			checkState();
-			RocketComponent clone;
-			try {
-				clone = this.clone();
-				clone.id = this.id;
-			} catch (CloneNotSupportedException e) {
-				throw new BugException("CloneNotSupportedException encountered, report a bug!", e);
-			}
-			
-			// Reset the mutex
-			clone.mutex = SafetyMutex.newInstance();
-			
-			// Reset all parent/child information
-			clone.parent = null;
-			clone.children = new ArrayList<>();
+			RocketComponent clone = copyComponentWithOriginalID();
 			
 			// Add copied children to the structure without firing events.
 			for (RocketComponent child : this.children) {
@@ -455,6 +448,38 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 			mutex.unlock("copyWithOriginalID");
 		}
 	}
+	
+	/**
+	 * Make a copy of this component alone while maintaining the component ID.  The copy
+	 * has no parent and no children.  This is used by {@link #copyWithOriginalID()} and
+	 * by {@link RocketSnapshot}, which copies only the components that have been modified.
+	 * This method does not fire any events.
+	 * <p>
+	 * This method must be overridden by any component that refers to mutable objects,
+	 * or if some fields should not be copied.  This should be performed by
+	 * <code>RocketComponent c = super.copyComponentWithOriginalID();</code> and then
+	 * cloning/modifying the appropriate fields.
+	 *
+	 * @return A copy of this component without children.
+	 */
+	protected RocketComponent copyComponentWithOriginalID() {
+		RocketComponent clone;
+		try {
+			clone = this.clone();
+			clone.id = this.id;
+		} catch (CloneNotSupportedException e) {
+			throw new BugException("CloneNotSupportedException encountered, report a bug!", e);
+		}
+		
+		// Reset the mutex
+		clone.mutex = SafetyMutex.newInstance();
+		
+		// Reset all parent/child information
+		clone.parent = null;
+		clone.children = new ArrayList<>();
+		
+		return clone;
+	}
 
 	@Override
 	public RocketComponent clone() throws CloneNotSupportedException {
@@ -2652,6 +2677,7 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 	 */
 	protected void fireComponentChangeEvent(ComponentChangeEvent e) {
 		checkState();
+		componentModID = new ModID();
 		if (parent == null || bypassComponentChangeEvent) {
 			/* Ignore if root invalid. */
 			return;
@@ -2671,6 +2697,24 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 		fireComponentChangeEvent(new ComponentChangeEvent(this, type));
 	}
 
+	/**
+	 * Return the modification ID of this component alone.  The ID changes whenever this
+	 * component fires a change event, or when the rocket fires an event that may concern
+	 * any of its components.  Other components of the tree do not affect it.
+	 *
+	 * @return	the modification ID of this component.
+	 */
+	public ModID getComponentModID() {
+		return componentModID;
+	}
+
+	/**
+	 * Mark this component as modified without firing an event.
+	 */
+	void updateComponentModID() {
+		componentModID = new ModID();
+	}
+
 	public void setBypassChangeEvent(boolean newValue) {
 		this.bypassComponentChangeEvent = newValue;
 	}
@@ -2986,6 +3030,7 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 		this.id = src.id;
 		this.displayOrder_side = src.displayOrder_side;
 		this.displayOrder_back = src.displayOrder_back;
+		this.componentModID = src.componentModID;
 		this.configListeners = new LinkedList<>();
 		this.bypassComponentChangeEvent = false;
 		if (this instanceof InsideColorComponent && src instanceof InsideColorComponent) {
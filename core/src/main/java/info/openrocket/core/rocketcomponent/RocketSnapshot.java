@@ -0,0 +1,180 @@
+package info.openrocket.core.rocketcomponent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import info.openrocket.core.util.ModID;
+
+/**
+ * An immutable copy of the state of a rocket, used by the undo/redo mechanism.
+ * <p>
+ * A snapshot can be derived from a previous snapshot, in which case only the components whose
+ * {@link RocketComponent#getComponentModID()} has changed since are copied.  The copies of the
+ * other components are shared between the snapshots, so that taking a snapshot after modifying
+ * a few components of a large rocket copies only those components, and the snapshot retains
+ * little more than a reference per component.
+ * <p>
+ * The component copies held by a snapshot are never modified or attached to a rocket;
+ * {@link #toRocket()} assembles a new rocket from fresh copies of them.
+ */
+public final class RocketSnapshot {
+
+	/**
+	 * The state of a flight configuration of the rocket.
+	 */
+	record ConfigurationState(FlightConfigurationId id, String name, Map<Integer, Boolean> stageActiveness) {
+	}
+
+	/** Copy of the rocket without its children */
+	private final Rocket root;
+
+	/** Copies of the components in depth-first order, excluding the rocket */
+	private final RocketComponent[] components;
+
+	/** Index of the parent of each component in {@link #components}, or -1 for the rocket */
+	private final int[] parents;
+
+	private final List<ConfigurationState> configurations;
+	private final FlightConfigurationId selectedId;
+	private final int copiedCount;
+
+
+	private RocketSnapshot(Rocket root, RocketComponent[] components, int[] parents,
+			List<ConfigurationState> configurations, FlightConfigurationId selectedId, int copiedCount) {
+		this.root = root;
+		this.components = components;
+		this.parents = parents;
+		this.configurations = configurations;
+		this.selectedId = selectedId;
+		this.copiedCount = copiedCount;
+	}
+
+
+	/**
+	 * Take a snapshot of the rocket, copying every component.
+	 *
+	 * @param rocket	the rocket.
+	 * @return			a snapshot of its current state.
+	 */
+	public static RocketSnapshot of(Rocket rocket) {
+		return of(rocket, null);
+	}
+
+	/**
+	 * Take a snapshot of the rocket, sharing the copies of the components that have not been
+	 * modified since the previous snapshot was taken.  The previous snapshot is typically of
+	 * the same rocket, but need not be.
+	 *
+	 * @param rocket	the rocket.
+	 * @param previous	the snapshot whose component copies may be shared, or <code>null</code>.
+	 * @return			a snapshot of the current state of the rocket.
+	 */
+	public static RocketSnapshot of(Rocket rocket, RocketSnapshot previous) {
+		rocket.mutex.lock("RocketSnapshot");
+		try {
+			rocket.checkState();
+			Map<UUID, RocketComponent> shared = previous == null ? Collections.emptyMap() : previous.getComponentMap();
+
+			List<RocketComponent> components = new ArrayList<>();
+			List<Integer> parents = new ArrayList<>();
+			int copied = collect(rocket, -1, shared, components, parents);
+
+			int[] parentArray = new int[parents.size()];
+			for (int i = 0; i < parentArray.length; i++) {
+				parentArray[i] = parents.get(i);
+			}
+
+			List<ConfigurationState> configurations = new ArrayList<>();
+			for (FlightConfigurationId id : rocket.getIds()) {
+				FlightConfiguration config = rocket.getFlightConfiguration(id);
+				configurations.add(new ConfigurationState(id, config.getNameRaw(), config.getStageActiveness()));
+			}
+
+			return new RocketSnapshot((Rocket) rocket.copyComponentWithOriginalID(),
+					components.toArray(new RocketComponent[0]), parentArray,
+					Collections.unmodifiableList(configurations),
+					rocket.getSelectedConfiguration().getId(), copied);
+		} finally {
+			rocket.mutex.unlock("RocketSnapshot");
+		}
+	}
+
+	/**
+	 * Add copies of the descendants of a component to the lists in depth-first order.
+	 *
+	 * @return	the number of components that were copied instead of shared.
+	 */
+	private static int collect(RocketComponent parent, int parentIndex, Map<UUID, RocketComponent> shared,
+			List<RocketComponent> components, List<Integer> parents) {
+		int copied = 0;
+		for (RocketComponent child : parent.children) {
+			RocketComponent copy = shared.get(child.getID());
+			if (copy == null || copy.getComponentModID() != child.getComponentModID()) {
+				copy = child.copyComponentWithOriginalID();
+				copied++;
+			}
+			int index = components.size();
+			components.add(copy);
+			parents.add(parentIndex);
+			copied += collect(child, index, shared, components, parents);
+		}
+		return copied;
+	}
+
+	private Map<UUID, RocketComponent> getComponentMap() {
+		Map<UUID, RocketComponent> map = new HashMap<>(components.length * 2);
+		for (RocketComponent c : components) {
+			map.put(c.getID(), c);
+		}
+		return map;
+	}
+
+
+	/**
+	 * Assemble a new rocket from the snapshot.  The rocket is typically passed to
+	 * {@link Rocket#loadFrom(Rocket)}.
+	 *
+	 * @return	a new rocket in the state of the snapshot, with the original component IDs.
+	 */
+	public Rocket toRocket() {
+		Rocket rocket = (Rocket) root.copyComponentWithOriginalID();
+		RocketComponent[] copies = new RocketComponent[components.length];
+		for (int i = 0; i < components.length; i++) {
+			RocketComponent copy = components[i].copyComponentWithOriginalID();
+			RocketComponent parent = parents[i] < 0 ? rocket : copies[parents[i]];
+			// Don't use addChild(...) method since it fires events
+			parent.children.add(copy);
+			copy.parent = parent;
+			copies[i] = copy;
+		}
+		rocket.restoreConfigurations(configurations, selectedId);
+		rocket.checkComponentStructure();
+		return rocket;
+	}
+
+	/**
+	 * Return the modification ID of the rocket at the time of the snapshot.
+	 */
+	public ModID getModID() {
+		return root.getModID();
+	}
+
+	/**
+	 * Return the number of components in the snapshot, excluding the rocket itself.
+	 */
+	public int getComponentCount() {
+		return components.length;
+	}
+
+	/**
+	 * Return the number of components that were copied for this snapshot, as opposed to
+	 * shared with the previous snapshot.
+	 */
+	public int getCopiedCount() {
+		return copiedCount;
+	}
+}
@@ -0,0 +1,180 @@
+package info.openrocket.core.rocketcomponent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import info.openrocket.core.util.ModID;
+
+/**
+ * A copy of a rocket that is modified and reset to the state of the original rocket
+ * repeatedly, for example once per function evaluation of an optimization.
+ * <p>
+ * Instead of copying the whole rocket, {@link #reset()} replaces only the components whose
+ * {@link RocketComponent#getComponentModID()} has changed since the previous reset with fresh
+ * copies of the original components.  The whole rocket is copied again if the original rocket
+ * has been modified, or if the root or the structure of the copy has been modified.
+ * Components that may be modified without firing change events, such as the motor
+ * configurations of a mount, can be replaced on every reset by passing their IDs
+ * to {@link #reset(Collection)}.
+ * <p>
+ * The copy is meant to be used by a single thread.  The original rocket is only read, and
+ * the reads are synchronized on it so that working copies of the same rocket can be reset by
+ * several threads.
+ */
+public final class RocketWorkingCopy {
+
+	private final Rocket original;
+
+	private Rocket copy = null;
+	private ModID originalModID = ModID.INVALID;
+
+	/** The original components by ID */
+	private final Map<UUID, RocketComponent> originals = new HashMap<>();
+
+	/** The modification IDs of the components of the copy after the last reset */
+	private final Map<RocketComponent, ModID> resetModIDs = new HashMap<>();
+
+	private int copiedCount = 0;
+
+
+	/**
+	 * Sole constructor.  The rocket is copied on the first call to {@link #reset()}.
+	 *
+	 * @param original	the rocket to copy.
+	 */
+	public RocketWorkingCopy(Rocket original) {
+		this.original = original;
+	}
+
+	/**
+	 * Return the original rocket.
+	 */
+	public Rocket getOriginal() {
+		return original;
+	}
+
+	/**
+	 * Reset the copy to the state of the original rocket and return it.  The same rocket
+	 * object is returned as long as the original rocket has not been modified.
+	 *
+	 * @return	a rocket in the state of the original rocket, with the original component IDs.
+	 */
+	public Rocket reset() {
+		return reset(Collections.emptySet());
+	}
+
+	/**
+	 * Reset the copy to the state of the original rocket and return it, replacing also the
+	 * given components whether or not they appear modified.
+	 *
+	 * @param touched	the IDs of the components to always replace.
+	 * @return			a rocket in the state of the original rocket, with the original component IDs.
+	 */
+	public Rocket reset(Collection<UUID> touched) {
+		synchronized (original) {
+			if (copy == null || original.getModID() != originalModID || !restoreModified(touched)) {
+				copyAll();
+			}
+			recordModIDs();
+			return copy;
+		}
+	}
+
+	/**
+	 * Return the number of components copied by the resets, excluding the rocket itself.
+	 */
+	public int getCopiedCount() {
+		return copiedCount;
+	}
+
+	private void copyAll() {
+		originalModID = original.getModID();
+		copy = original.copyWithOriginalID();
+		originals.clear();
+		Iterator<RocketComponent> iterator = original.iterator(false);
+		while (iterator.hasNext()) {
+			RocketComponent c = iterator.next();
+			originals.put(c.getID(), c);
+		}
+		copiedCount += originals.size();
+	}
+
+	/**
+	 * Replace the modified and touched components of the copy with copies of the original
+	 * components.
+	 *
+	 * @return	<code>false</code> if the copy cannot be restored this way.
+	 */
+	private boolean restoreModified(Collection<UUID> touched) {
+		if (copy.getComponentModID() != resetModIDs.get(copy)) {
+			return false;
+		}
+
+		List<RocketComponent> modified = new ArrayList<>();
+		int count = 0;
+		Iterator<RocketComponent> iterator = copy.iterator(false);
+		while (iterator.hasNext()) {
+			RocketComponent c = iterator.next();
+			count++;
+			if (c.getComponentModID() != resetModIDs.get(c) || touched.contains(c.getID())) {
+				if (!originals.containsKey(c.getID())) {
+					return false;
+				}
+				modified.add(c);
+			}
+		}
+		if (count != originals.size()) {
+			return false;
+		}
+		if (modified.isEmpty()) {
+			return true;
+		}
+
+		for (RocketComponent c : modified) {
+			RocketComponent originalComponent = originals.get(c.getID());
+			if (originalComponent.getParent() == null
+					|| !originalComponent.getParent().getID().equals(c.getParent().getID())) {
+				return false;
+			}
+			replace(c, originalComponent.copyComponentWithOriginalID());
+		}
+		copiedCount += modified.size();
+
+		// Update the stages, motors and cached values of the copy
+		copy.checkComponentStructure();
+		copy.fireComponentChangeEvent(ComponentChangeEvent.TREE_CHANGE | ComponentChangeEvent.AEROMASS_CHANGE
+				| ComponentChangeEvent.MOTOR_CHANGE | ComponentChangeEvent.EVENT_CHANGE);
+		return true;
+	}
+
+	/**
+	 * Put the replacement in the place of a component in the tree, moving its children.
+	 */
+	private static void replace(RocketComponent component, RocketComponent replacement) {
+		RocketComponent parent = component.parent;
+		parent.children.set(parent.children.indexOf(component), replacement);
+		replacement.parent = parent;
+		for (RocketComponent child : component.children) {
+			replacement.children.add(child);
+			child.parent = replacement;
+		}
+		component.children.clear();
+		component.parent = null;
+	}
+
+	private void recordModIDs() {
+		resetModIDs.clear();
+		resetModIDs.put(copy, copy.getComponentModID());
+		Iterator<RocketComponent> iterator = copy.iterator(false);
+		while (iterator.hasNext()) {
+			RocketComponent c = iterator.next();
+			resetModIDs.put(c, c.getComponentModID());
+		}
+	}
+}
@@ -9,13 +9,18 @@ import info.openrocket.core.aerodynamics.AerodynamicForces;
 import info.openrocket.core.aerodynamics.FlightConditions;
 import info.openrocket.core.masscalc.MassCalculator;
 import info.openrocket.core.masscalc.RigidBody;
+import info.openrocket.core.models.atmosphere.AtmosphereTable;
 import info.openrocket.core.models.atmosphere.AtmosphericConditions;
+import info.openrocket.core.models.atmosphere.InterpolatingAtmosphericModel;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.simulation.exception.SimulationException;
 import info.openrocket.core.simulation.listeners.SimulationListenerHelper;
 import info.openrocket.core.util.BugException;
 import info.openrocket.core.util.Coordinate;
 import info.openrocket.core.util.GeodeticComputationStrategy;
 import info.openrocket.core.util.MathUtil;
+import info.openrocket.core.util.ModID;
 import info.openrocket.core.util.Quaternion;
 import info.openrocket.core.util.Rotation2D;
 
@@ -23,6 +28,14 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 	private static final Logger log = LoggerFactory.getLogger(AbstractSimulationStepper.class);
 
 	protected static final double MIN_TIME_STEP = 0.001;
+
+	// Mass data reused between steps, see checkMassCache()
+	private RigidBody cachedStructureMass;
+	private RigidBody cachedMotorMass;
+	private int cachedIgnitedMotors;
+	private ModID massConfigurationModID = ModID.INVALID;
+	private ModID massModID = ModID.INVALID;
+	private ModID massTreeModID = ModID.INVALID;
 	
 	/*
 	 * calculate acceleration at a given point in time
@@ -51,9 +64,8 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 		}
 
 		//// Atmospheric conditions
-		AtmosphericConditions atmosphere = modelAtmosphericConditions(status);
-		store.flightConditions = new FlightConditions(status.getConfiguration());
-		store.flightConditions.setAtmosphericConditions(atmosphere);
+		store.flightConditions = newFlightConditions(status, store);
+		modelAtmosphericConditions(status, store.flightConditions);
 		
 
 		//// Local wind speed and direction
@@ -108,6 +120,31 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 		}
 	}
 
+	/**
+	 * Return new flight conditions of the current configuration, to compute the conditions of
+	 * the current step into.
+	 * <p>
+	 * When the atmospheric conditions are read from the table of an interpolating model and no
+	 * listener implements the flight conditions hooks, and so could keep a reference to the
+	 * conditions, the flight conditions of the data store are reset and reused by every step
+	 * instead of allocating new ones.
+	 *
+	 * @param status	the simulation status
+	 * @param store		the data store of the stepper
+	 * @return			the flight conditions
+	 */
+	protected FlightConditions newFlightConditions(SimulationStatus status, DataStore store) {
+		if (!usesAtmosphereTable(status) || SimulationListenerHelper.hasFlightConditionsListeners(status)) {
+			return new FlightConditions(status.getConfiguration());
+		}
+		if (store.stepFlightConditions == null) {
+			store.stepFlightConditions = new FlightConditions(status.getConfiguration());
+		} else {
+			store.stepFlightConditions.reset(status.getConfiguration());
+		}
+		return store.stepFlightConditions;
+	}
+
 	/**
 	 * Compute the atmospheric conditions, allowing listeners to override.
 	 * 
@@ -137,6 +174,44 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 		return conditions;
 	}
 
+	/**
+	 * Compute the atmospheric conditions into the flight conditions, allowing listeners to override.
+	 * <p>
+	 * Unless a listener implements the atmospheric model hooks, the temperature and pressure of an
+	 * interpolating model are read from its table into the atmospheric conditions of the flight
+	 * conditions, instead of allocating new conditions for every step.
+	 *
+	 * @param status			the simulation status
+	 * @param flightConditions	the flight conditions to set the atmospheric conditions of
+	 * @throws SimulationException	if a listener throws SimulationException
+	 */
+	protected void modelAtmosphericConditions(SimulationStatus status, FlightConditions flightConditions)
+			throws SimulationException {
+		if (!usesAtmosphereTable(status)) {
+			flightConditions.setAtmosphericConditions(modelAtmosphericConditions(status));
+			return;
+		}
+
+		double altitude = status.getRocketPosition().z + status.getSimulationConditions().getLaunchSite().getAltitude();
+		AtmosphereTable table = ((InterpolatingAtmosphericModel) status.getSimulationConditions().getAtmosphericModel())
+				.getTable();
+		double temperature = table.getTemperature(altitude);
+		double pressure = table.getPressure(altitude);
+		checkNaN(pressure, "conditions.getPressure()");
+		checkNaN(temperature, "conditions.getTemperature()");
+		flightConditions.getAtmosphericConditions().setConditions(temperature, pressure);
+	}
+
+	/**
+	 * Return whether the atmospheric conditions are read from the table of an interpolating
+	 * model, that is the model is interpolating and no listener implements the atmospheric
+	 * model hooks.
+	 */
+	private static boolean usesAtmosphereTable(SimulationStatus status) {
+		return status.getSimulationConditions().getAtmosphericModel() instanceof InterpolatingAtmosphericModel
+				&& !SimulationListenerHelper.hasAtmosphericModelListeners(status);
+	}
+
 	/**
 	 * Compute the wind to use, allowing listeners to override.
 	 * 
@@ -209,7 +284,18 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 			return structureMass;
 		}
 
-		structureMass = MassCalculator.calculateStructure(status.getConfiguration());
+		// The structure only changes when stages are separated, see checkMassCache()
+		checkMassCache(status);
+		if (cachedStructureMass == null) {
+			// The structure mass is cached by the simulation's mass calculator
+			MassCalculator massCalculator = status.getSimulationConditions().getMassCalculator();
+			if (massCalculator != null) {
+				cachedStructureMass = massCalculator.getStructure(status.getConfiguration());
+			} else {
+				cachedStructureMass = MassCalculator.calculateStructure(status.getConfiguration());
+			}
+		}
+		structureMass = cachedStructureMass;
 
 		// Call post-listener
 		structureMass = SimulationListenerHelper.firePostMassCalculation(status, structureMass);
@@ -230,9 +316,8 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 			return motorMass;
 		}
 
-		motorMass = MassCalculator.calculateMotor(status);
+		motorMass = getMotorMass(status);
 
-				
 		// Call post-listener
 		motorMass = SimulationListenerHelper.firePostMassCalculation(status, motorMass);
 
@@ -243,6 +328,82 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 		return motorMass;
 	}
 
+	/**
+	 * Return the mass data of the motors.  The mass of a motor only changes while it burns, so
+	 * while no motor burns the result is reused until a motor is ignited or the configuration
+	 * changes.
+	 */
+	private RigidBody getMotorMass(SimulationStatus status) {
+		final double time = status.getSimulationTime();
+		int ignitedMotors = 0;
+		for (MotorClusterState state : status.getActiveMotors()) {
+			if (!Double.isNaN(state.getIgnitionTime())) {
+				if (state.getMotorTime(time) < state.getBurnTime()) {
+					cachedMotorMass = null;
+					return MassCalculator.calculateMotor(status);
+				}
+				ignitedMotors++;
+			}
+		}
+
+		checkMassCache(status);
+		if (cachedMotorMass == null || ignitedMotors != cachedIgnitedMotors) {
+			cachedMotorMass = MassCalculator.calculateMotor(status);
+			cachedIgnitedMotors = ignitedMotors;
+		}
+		return cachedMotorMass;
+	}
+
+	/**
+	 * Clear the cached mass data if the configuration or the mass of the rocket has changed.
+	 */
+	private void checkMassCache(SimulationStatus status) {
+		final FlightConfiguration configuration = status.getConfiguration();
+		final Rocket rocket = configuration.getRocket();
+		if (configuration.getModID() != massConfigurationModID ||
+				rocket.getMassModID() != massModID ||
+				rocket.getTreeModID() != massTreeModID) {
+			cachedStructureMass = null;
+			cachedMotorMass = null;
+			massConfigurationModID = configuration.getModID();
+			massModID = rocket.getMassModID();
+			massTreeModID = rocket.getTreeModID();
+		}
+	}
+
+	/**
+	 * Calculate the thrust produced by the motors in the current
+	 * configuration, at the current simulation time, allowing listeners to override
+	 * TODO: HIGH:  This method does not take into account any moments generated by off-center motors.
+	 *  
+	 * @param status					the current simulation status.
+	 * @param store                     the simulation calculation DataStore (contains acceleration, atmosphere)
+	 * @return							the average thrust during the time step.
+	 */
+	protected double calculateThrust(SimulationStatus status,
+									 DataStore store) throws SimulationException {
+		double thrust;
+
+		// Pre-listeners
+		thrust = SimulationListenerHelper.firePreThrustCalculation(status);
+		if (!Double.isNaN(thrust)) {
+			return thrust;
+		}
+
+		thrust = 0;
+		Collection<MotorClusterState> activeMotorList = status.getActiveMotors();
+		for (MotorClusterState currentMotorState : activeMotorList ) {
+			thrust += currentMotorState.getThrust( status.getSimulationTime() );
+		}
+
+		// Post-listeners
+		thrust = SimulationListenerHelper.firePostThrustCalculation(status, thrust);
+
+		checkNaN(thrust, "thrust");
+
+		return thrust;
+	}
+
 	/**
 	 * Check that the provided value is not NaN.
 	 * 
@@ -354,6 +515,9 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 		
 		public Rotation2D thetaRotation;
 
+		// reused by newFlightConditions:
+		private FlightConditions stepFlightConditions;
+
 		void storeData(SimulationStatus status) {
 		
 			FlightDataBranch dataBranch = status.getFlightDataBranch();
@@ -0,0 +1,366 @@
+package info.openrocket.core.simulation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.l10n.Translator;
+import info.openrocket.core.simulation.exception.SimulationCalculationException;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.MathUtil;
+import info.openrocket.core.util.Quaternion;
+import info.openrocket.core.util.WorldCoordinate;
+
+/**
+ * A stepper using the Dormand-Prince embedded Runge-Kutta 5(4) method with adaptive step
+ * size control.
+ * <p>
+ * Each step computes a fifth order and a fourth order solution from the same seven derivative
+ * evaluations, and their difference estimates the local error of the step.  If the error
+ * exceeds the tolerances, the step is retried with a shorter time step.  The length of the
+ * next step is chosen from the error of the current one, so the stepper takes long steps while
+ * coasting and short steps where the flight changes quickly.  The error control replaces the
+ * heuristic step limits of {@link RK4SimulationStepper}; the time to the next event still
+ * applies, and a step is at most {@link #MAX_TIME_STEP_FACTOR} times the user-specified time
+ * step so that the flight data remains reasonably dense.  On the launch rod the steps are
+ * limited as in {@link RK4SimulationStepper}, so the RK4 step is used there.
+ */
+public class AdaptiveRK45SimulationStepper extends RK4SimulationStepper {
+
+	private static final Logger log = LoggerFactory.getLogger(AdaptiveRK45SimulationStepper.class);
+	private static final Translator trans = Application.getTranslator();
+
+	/**
+	 * Maximum step length as a multiple of the user-specified time step.
+	 */
+	public static final double MAX_TIME_STEP_FACTOR = 10;
+
+	// Absolute error tolerances of the state variables per step
+	private static final double POSITION_TOLERANCE = 1.0e-3;			// m
+	private static final double VELOCITY_TOLERANCE = 1.0e-3;			// m/s
+	private static final double ORIENTATION_TOLERANCE = 1.0e-3;			// rad
+	private static final double ROTATION_VELOCITY_TOLERANCE = 1.0e-2;	// rad/s
+
+	/** Error tolerance relative to the magnitude of each state variable */
+	private static final double RELATIVE_TOLERANCE = 1.0e-6;
+
+	// Step size controller parameters
+	private static final double SAFETY = 0.9;
+	private static final double MIN_FACTOR = 0.2;
+	private static final double MAX_FACTOR = 5.0;
+
+	private static final int STAGES = 7;
+
+	/** Dormand-Prince coefficients; the last row also holds the weights of the fifth order solution */
+	private static final double[][] COEFFICIENTS = {
+			{},
+			{ 1.0 / 5 },
+			{ 3.0 / 40, 9.0 / 40 },
+			{ 44.0 / 45, -56.0 / 15, 32.0 / 9 },
+			{ 19372.0 / 6561, -25360.0 / 2187, 64448.0 / 6561, -212.0 / 729 },
+			{ 9017.0 / 3168, -355.0 / 33, 46732.0 / 5247, 49.0 / 176, -5103.0 / 18656 },
+			{ 35.0 / 384, 0, 500.0 / 1113, 125.0 / 192, -2187.0 / 6784, 11.0 / 84 }
+	};
+
+	/** Time of each stage as a fraction of the step */
+	private static final double[] NODES = { 0, 1.0 / 5, 3.0 / 10, 4.0 / 5, 8.0 / 9, 1, 1 };
+
+	/** Difference between the weights of the fifth and fourth order solutions */
+	private static final double[] ERROR_WEIGHTS = {
+			71.0 / 57600, 0, -71.0 / 16695, 71.0 / 1920, -17253.0 / 339200, 22.0 / 525, -1.0 / 40
+	};
+
+	// Offsets of the vector state variables and their derivatives within a row of k
+	private static final int POSITION = 0;
+	private static final int VELOCITY = 3;
+	private static final int ORIENTATION = 6;
+	private static final int ROTATION_VELOCITY = 9;
+	private static final int SIZE = 12;
+
+	/** Derivatives of the state at each stage */
+	private final double[][] k = new double[STAGES][SIZE];
+
+	/**
+	 * State at the start of the step.  The orientation is stored as a rotation vector relative
+	 * to {@link #orientation}, so it is always zero here.
+	 */
+	private final double[] state = new double[SIZE];
+
+	/** State of the current stage */
+	private final double[] stage = new double[SIZE];
+
+	/** Orientation at the start of the step as w, x, y, z */
+	private final double[] orientation = new double[4];
+
+	/** Scratch quaternion used when rotating the orientation */
+	private final double[] rotation = new double[4];
+
+	/** Step length proposed by the error control for the next step */
+	private double nextTimeStep = Double.NaN;
+
+	@Override
+	public SimulationStatus initialize(SimulationStatus original) {
+		if (Double.isNaN(nextTimeStep)) {
+			nextTimeStep = original.getSimulationConditions().getTimeStep();
+		}
+		return super.initialize(original);
+	}
+
+	@Override
+	public void step(SimulationStatus status, double maxTimeStep) throws SimulationException {
+
+		// On the launch rod the step length is set by the rod limits rather than by the error,
+		// so the cheaper RK4 step is used
+		if (!status.isLaunchRodCleared()) {
+			super.step(status, maxTimeStep);
+			return;
+		}
+
+		status.storeData();
+
+		calculateFlightConditions(status, store);
+
+		loadState(status);
+
+		//// First stage, k1 = f(t, y)
+		computeDerivatives(status, k[0]);
+
+		// If maxTimeStep is NaN we'll just record sim params and leave
+		if (Double.isNaN(maxTimeStep)) {
+			store.timeStep = maxTimeStep;
+			store.storeData(status);
+
+			landedValues(status, store);
+			return;
+		}
+
+		final double proposed = limitTimeStep(status, nextTimeStep);
+		double h = alignTimeStep(status, proposed, maxTimeStep);
+
+		store.timeStep = h;
+		store.storeData(status);
+		checkNaN(store.timeStep, "store.timeStep");
+
+		// All stages overwrite the same fields of a single copy of the status
+		final SimulationStatus status2 = status.clone();
+		final double t0 = status.getSimulationTime();
+		final double minTimeStep = MathUtil.max(status.getSimulationConditions().getTimeStep() / 20, MIN_TIME_STEP);
+
+		boolean rejected = false;
+		double error;
+		while (true) {
+			for (int s = 1; s < STAGES; s++) {
+				setStageState(status2, t0, s, h);
+				computeDerivatives(status2, k[s]);
+			}
+
+			error = errorNorm(h);
+			if (error <= 1 || h <= minTimeStep) {
+				break;
+			}
+
+			// Retry the step with a shorter time step, the derivatives at the start remain valid
+			double shorter = MathUtil.max(minTimeStep, h * MathUtil.max(MIN_FACTOR, SAFETY * Math.pow(error, -0.2)));
+			if (log.isTraceEnabled()) {
+				log.trace("Rejected time step " + h + " (error " + error + "), retrying with " + shorter);
+			}
+			h = shorter;
+			rejected = true;
+		}
+
+		// Propose the next step, not growing it right after a rejection.  If the step was
+		// shortened to reach an event, the proposal made for this step remains valid.
+		double factor = (error == 0) ? MAX_FACTOR : SAFETY * Math.pow(error, -0.2);
+		factor = MathUtil.clamp(factor, MIN_FACTOR, rejected ? 1 : MAX_FACTOR);
+		nextTimeStep = h * factor;
+		if (!rejected && h < proposed) {
+			nextTimeStep = MathUtil.max(nextTimeStep, proposed);
+		}
+
+		if (h != store.timeStep) {
+			store.timeStep = h;
+			status.getFlightDataBranch().setValue(FlightDataType.TYPE_TIME_STEP, h);
+		}
+
+		//// The state of the last stage is the fifth order solution
+		status.setRocketPosition(status2.getRocketPosition());
+		status.setRocketVelocity(status2.getRocketVelocity());
+		status.setRocketRotationVelocity(status2.getRocketRotationVelocity());
+		status.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion().normalizeIfNecessary());
+
+		WorldCoordinate w = status.getSimulationConditions().getLaunchSite();
+		w = status.getSimulationConditions().getGeodeticComputation().addCoordinate(w, status.getRocketPosition());
+		status.setRocketWorldPosition(w);
+
+		if (!(0 <= h)) {
+			// Also catches NaN
+			throw new IllegalArgumentException("Stepping backwards in time, timestep=" + h);
+		}
+		status.setSimulationTime(t0 + h);
+
+		// Verify that values don't run out of range
+		if (status.getRocketVelocity().length2() > 1.0e18 ||
+				status.getRocketPosition().length2() > 1.0e18 ||
+				status.getRocketRotationVelocity().length2() > 1.0e18) {
+			throw new SimulationCalculationException(trans.get("error.valuesTooLarge"), status.getFlightDataBranch());
+		}
+	}
+
+	/**
+	 * Limit the step length proposed by the error control to the maximum step length.
+	 */
+	private double limitTimeStep(SimulationStatus status, double timeStep) {
+		double userTimeStep = MathUtil.max(status.getSimulationConditions().getTimeStep(), MIN_TIME_STEP);
+		return MathUtil.min(timeStep, MAX_TIME_STEP_FACTOR * userTimeStep);
+	}
+
+	/**
+	 * Shorten the step to end at the next event, as {@link RK4SimulationStepper} does.
+	 */
+	private double alignTimeStep(SimulationStatus status, double timeStep, double maxTimeStep) {
+		double minTimeStep = MathUtil.max(status.getSimulationConditions().getTimeStep() / 20, MIN_TIME_STEP);
+		if (timeStep > maxTimeStep || Math.abs(maxTimeStep - timeStep) < minTimeStep) {
+			timeStep = maxTimeStep;
+		}
+		if (timeStep < minTimeStep) {
+			timeStep = minTimeStep;
+		}
+		return timeStep;
+	}
+
+	/**
+	 * Return the root mean square of the estimated local errors of the state variables,
+	 * relative to their tolerances.  A value of at most one means the step is accurate enough.
+	 */
+	private double errorNorm(double h) {
+		double sum = 0;
+		for (int i = 0; i < SIZE; i++) {
+			double e = 0;
+			for (int s = 0; s < STAGES; s++) {
+				e += ERROR_WEIGHTS[s] * k[s][i];
+			}
+			e *= h;
+
+			// stage holds the fifth order solution after the last stage
+			double magnitude = Math.max(Math.abs(state[i]), Math.abs(stage[i]));
+			double tolerance = absoluteTolerance(i) + RELATIVE_TOLERANCE * magnitude;
+			sum += MathUtil.pow2(e / tolerance);
+		}
+		return MathUtil.safeSqrt(sum / SIZE);
+	}
+
+	private static double absoluteTolerance(int index) {
+		if (index < VELOCITY) {
+			return POSITION_TOLERANCE;
+		} else if (index < ORIENTATION) {
+			return VELOCITY_TOLERANCE;
+		} else if (index < ROTATION_VELOCITY) {
+			return ORIENTATION_TOLERANCE;
+		} else {
+			return ROTATION_VELOCITY_TOLERANCE;
+		}
+	}
+
+	/**
+	 * Copy the kinematic state at the start of the step into the primitive state arrays.
+	 */
+	private void loadState(SimulationStatus status) {
+		copy(status.getRocketPosition(), state, POSITION);
+		copy(status.getRocketVelocity(), state, VELOCITY);
+		state[ORIENTATION] = 0;
+		state[ORIENTATION + 1] = 0;
+		state[ORIENTATION + 2] = 0;
+		copy(status.getRocketRotationVelocity(), state, ROTATION_VELOCITY);
+		Quaternion q = status.getRocketOrientationQuaternion();
+		orientation[0] = q.getW();
+		orientation[1] = q.getX();
+		orientation[2] = q.getY();
+		orientation[3] = q.getZ();
+	}
+
+	/**
+	 * Set the state of stage <code>s</code>, y + h * sum(a[s][j] * k[j]), into the scratch status.
+	 */
+	private void setStageState(SimulationStatus status2, double t0, int s, double h) {
+		final double[] a = COEFFICIENTS[s];
+		for (int i = 0; i < SIZE; i++) {
+			double sum = 0;
+			for (int j = 0; j < a.length; j++) {
+				sum += a[j] * k[j][i];
+			}
+			stage[i] = state[i] + h * sum;
+		}
+
+		status2.setSimulationTime(t0 + NODES[s] * h);
+		status2.setRocketPosition(new Coordinate(stage[POSITION], stage[POSITION + 1], stage[POSITION + 2]));
+		status2.setRocketVelocity(new Coordinate(stage[VELOCITY], stage[VELOCITY + 1], stage[VELOCITY + 2]));
+		rotationFromVector(stage[ORIENTATION], stage[ORIENTATION + 1], stage[ORIENTATION + 2]);
+		status2.setRocketOrientationQuaternion(rotatedOrientation());
+		status2.setRocketRotationVelocity(new Coordinate(stage[ROTATION_VELOCITY], stage[ROTATION_VELOCITY + 1],
+				stage[ROTATION_VELOCITY + 2]));
+	}
+
+	/**
+	 * Compute the derivatives at the given status into the row <code>kn</code>.
+	 */
+	private void computeDerivatives(SimulationStatus status, double[] kn) throws SimulationException {
+		calculateAcceleration(status, store);
+
+		Coordinate a = store.accelerationData.getLinearAccelerationWC();
+		Coordinate ra = store.accelerationData.getRotationalAccelerationWC();
+		Coordinate v = status.getRocketVelocity();
+		Coordinate rv = status.getRocketRotationVelocity();
+
+		checkNaN(a, "params.a");
+		checkNaN(ra, "params.ra");
+		checkNaN(v, "params.v");
+		checkNaN(rv, "params.rv");
+
+		copy(v, kn, POSITION);
+		copy(a, kn, VELOCITY);
+		copy(rv, kn, ORIENTATION);
+		copy(ra, kn, ROTATION_VELOCITY);
+	}
+
+	/**
+	 * Set the scratch rotation to the quaternion corresponding to the rotation vector (x, y, z),
+	 * as in {@link Quaternion#rotation(Coordinate)}.
+	 */
+	private void rotationFromVector(double x, double y, double z) {
+		double length = MathUtil.safeSqrt(x * x + y * y + z * z);
+		if (length < 0.000001) {
+			rotation[0] = 1;
+			rotation[1] = 0;
+			rotation[2] = 0;
+			rotation[3] = 0;
+			return;
+		}
+		double sin = Math.sin(length / 2);
+		double cos = Math.cos(length / 2);
+		rotation[0] = cos;
+		rotation[1] = sin * x / length;
+		rotation[2] = sin * y / length;
+		rotation[3] = sin * z / length;
+	}
+
+	/**
+	 * Return the orientation at the start of the step rotated by the scratch rotation,
+	 * as in {@link Quaternion#multiplyLeft(Quaternion)}.
+	 */
+	private Quaternion rotatedOrientation() {
+		final double ow = rotation[0], ox = rotation[1], oy = rotation[2], oz = rotation[3];
+		final double w = orientation[0], x = orientation[1], y = orientation[2], z = orientation[3];
+		return new Quaternion(
+				ow * w - ox * x - oy * y - oz * z,
+				ow * x + ox * w + oy * z - oz * y,
+				ow * y + oy * w + oz * x - ox * z,
+				ow * z + oz * w + ox * y - oy * x);
+	}
+
+	private static void copy(Coordinate c, double[] array, int offset) {
+		array[offset] = c.x;
+		array[offset + 1] = c.y;
+		array[offset + 2] = c.z;
+	}
+}
@@ -1,7 +1,12 @@
 package info.openrocket.core.simulation;
 
+import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import info.openrocket.core.logging.SimulationAbort;
 import info.openrocket.core.motor.ThrustCurveMotor;
@@ -23,6 +28,7 @@ import info.openrocket.core.rocketcomponent.MotorMount;
 import info.openrocket.core.rocketcomponent.RecoveryDevice;
 import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.rocketcomponent.StageSeparationConfiguration;
+import info.openrocket.core.simulation.datasink.FlightDataSink;
 import info.openrocket.core.simulation.exception.SimulationException;
 import info.openrocket.core.simulation.listeners.SimulationListenerHelper;
 import info.openrocket.core.simulation.listeners.system.OptimumCoastListener;
@@ -36,11 +42,11 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 	private static final Translator trans = Application.getTranslator();
 	private static final Logger log = LoggerFactory.getLogger(BasicEventSimulationEngine.class);
 	
-	// TODO: MEDIUM: Allow selecting steppers
-	private final SimulationStepper flightStepper = new RK4SimulationStepper();
-	private final SimulationStepper landingStepper = new BasicLandingStepper();
-	private final SimulationStepper tumbleStepper = new BasicTumbleStepper();
-	private final SimulationStepper groundStepper = new GroundStepper();
+	// Steppers of each flight phase, see selectSteppers()
+	private SimulationStepper flightStepper;
+	private SimulationStepper landingStepper;
+	private SimulationStepper tumbleStepper;
+	private SimulationStepper groundStepper;
 
 	// The thrust must be below this value for the transition to tumbling.
 	// TODO HIGH: this is an arbitrary value
@@ -56,12 +62,20 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 	Deque<SimulationStatus> toSimulate = new ArrayDeque<>();
 
 	FlightData flightData;
+
+	// Branches handed off to other threads when simulating branches in parallel, in the order
+	// they were created
+	private final List<ForkJoinTask<BasicEventSimulationEngine>> forkedBranches = new ArrayList<>();
+
+	// Exception thrown while simulating a branch handed off to another thread
+	private SimulationException branchException;
 	
 	@Override
 	public void simulate(SimulationConditions simulationConditions) throws SimulationException {
 
 		// Set up flight data
 		flightData = new FlightData();
+		selectSteppers(simulationConditions);
 			
 		try {
 			// Set up rocket configuration
@@ -108,17 +122,101 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 			toSimulate.push(currentStatus);
 		
 			SimulationListenerHelper.fireStartSimulation(currentStatus);
+			simulateBranches(simulationConditions);
+			
+			SimulationListenerHelper.fireEndSimulation(currentStatus, null);
+			
+			if (!flightData.getWarningSet().isEmpty()) {
+				log.info("Warnings at the end of simulation:  " + flightData.getWarningSet());
+			}
+			
+		} catch (SimulationException e) {
+			throw e;
+		} finally {
+			flightData.calculateInterestingValues();
+		}
+	}
+	
+	/**
+	 * Create the steppers requested by the simulation conditions from the stepper registry.
+	 */
+	private void selectSteppers(SimulationConditions simulationConditions) throws SimulationException {
+		SimulationStepperRegistry registry = Application.getInjector().getInstance(SimulationStepperRegistry.class);
+
+		String flightId = simulationConditions.getStepper(SimulationStepperRegistry.Phase.FLIGHT);
+		if (flightId == null && simulationConditions.isAdaptiveStepping()) {
+			flightId = SimulationStepperRegistry.ADAPTIVE_RK45;
+		}
+		flightStepper = newStepper(registry, simulationConditions, SimulationStepperRegistry.Phase.FLIGHT, flightId);
+		tumbleStepper = newStepper(registry, simulationConditions, SimulationStepperRegistry.Phase.TUMBLE,
+				getDescentStepperId(registry, simulationConditions, SimulationStepperRegistry.Phase.TUMBLE, flightId));
+		landingStepper = newStepper(registry, simulationConditions, SimulationStepperRegistry.Phase.LANDING,
+				getDescentStepperId(registry, simulationConditions, SimulationStepperRegistry.Phase.LANDING, flightId));
+		groundStepper = newStepper(registry, simulationConditions, SimulationStepperRegistry.Phase.GROUND, null);
+	}
+
+	/**
+	 * Return the ID of the stepper selected for a descent phase.  If none is selected and the
+	 * selected flight stepper can also simulate the phase, e.g. the point-mass stepper, the
+	 * flight stepper is used, otherwise <code>null</code> for the default stepper.
+	 */
+	private static String getDescentStepperId(SimulationStepperRegistry registry, SimulationConditions conditions,
+			SimulationStepperRegistry.Phase phase, String flightId) {
+		String id = conditions.getStepper(phase);
+		if (id == null && flightId != null && registry.isAvailable(flightId, phase)) {
+			id = flightId;
+		}
+		return id;
+	}
+
+	private static SimulationStepper newStepper(SimulationStepperRegistry registry, SimulationConditions conditions,
+			SimulationStepperRegistry.Phase phase, String id) throws SimulationException {
+		if (id == null) {
+			id = conditions.getStepper(phase);
+		}
+		if (id == null) {
+			id = SimulationStepperRegistry.getDefaultStepperId(phase);
+		}
+		if (!registry.isAvailable(id, phase)) {
+			throw new SimulationException("Simulation stepper '" + id + "' is not available for phase " + phase);
+		}
+		return registry.newStepper(id, phase);
+	}
+
+	/**
+	 * Simulate the branches on the stack until it is empty.  Branches that were handed
+	 * off to other threads are merged into the flight data afterwards, in the order a
+	 * sequential simulation would have produced them.
+	 */
+	private void simulateBranches(SimulationConditions simulationConditions) throws SimulationException {
+		boolean completed = false;
+		boolean firstBranch = true;
+		try {
 			do {
 				if (toSimulate.peek() == null) {
 					break;
 				}
 				currentStatus = toSimulate.pop();
+				if (!firstBranch) {
+					// Steppers keep state between steps, so a branch does not continue with the
+					// steppers of the previous one.  Otherwise its flight would depend on the order
+					// in which the branches are simulated.
+					selectSteppers(currentStatus.getSimulationConditions());
+				}
+				firstBranch = false;
 				currentStatus.setWarnings(flightData.getWarningSet());
 				FlightDataBranch dataBranch = currentStatus.getFlightDataBranch();
 				flightData.addBranch(dataBranch);
 
 				log.info(">>Starting simulation of branch: " + currentStatus.getFlightDataBranch().getName());
-				simulateLoop(simulationConditions);
+				openDataSink(dataBranch, simulationConditions);
+				boolean branchCompleted = false;
+				try {
+					simulateLoop(simulationConditions);
+					branchCompleted = true;
+				} finally {
+					closeDataSink(dataBranch, branchCompleted);
+				}
 				
 				dataBranch.immute();
 				log.info(String.format("<<Finished simulating branch: %s    curTime:%s    finTime:%s",
@@ -132,19 +230,99 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 					flightData.getWarningSet().add(Warning.EMPTY_BRANCH, dataBranch.getName());
 				}
 			} while (!toSimulate.isEmpty());
-			
-			SimulationListenerHelper.fireEndSimulation(currentStatus, null);
-			
-			if (!flightData.getWarningSet().isEmpty()) {
-				log.info("Warnings at the end of simulation:  " + flightData.getWarningSet());
-			}
-			
-		} catch (SimulationException e) {
-			throw e;
+			completed = true;
 		} finally {
-			flightData.calculateInterestingValues();
+			joinForkedBranches(completed);
+		}
+		if (branchException != null) {
+			throw branchException;
 		}
 	}
+
+	/**
+	 * Open the data sink requested by the simulation conditions for a branch.
+	 */
+	private void openDataSink(FlightDataBranch dataBranch, SimulationConditions simulationConditions)
+			throws SimulationException {
+		FlightDataSink.Factory factory = simulationConditions.getDataSinkFactory();
+		if (factory == null) {
+			return;
+		}
+		try {
+			dataBranch.openDataSink(factory.open(dataBranch));
+		} catch (IOException e) {
+			throw new SimulationException("Unable to open flight data sink: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Close the data sink of a branch.  If the branch failed, errors of the sink are only
+	 * logged so that they do not hide the original exception.
+	 */
+	private void closeDataSink(FlightDataBranch dataBranch, boolean branchCompleted) throws SimulationException {
+		try {
+			dataBranch.closeDataSink();
+		} catch (IOException e) {
+			if (branchCompleted) {
+				throw new SimulationException("Unable to store flight data: " + e.getMessage(), e);
+			}
+			log.warn("Unable to store flight data of failed branch " + dataBranch.getName(), e);
+		}
+	}
+
+	/**
+	 * Hand off a newly created booster branch to be simulated on another thread.  The branch
+	 * gets its own engine (and thereby its own steppers) and flight data.
+	 */
+	private void forkBranch(SimulationStatus boosterStatus) throws SimulationException {
+		final BasicEventSimulationEngine branchEngine = new BasicEventSimulationEngine();
+		branchEngine.fcid = this.fcid;
+		branchEngine.selectSteppers(boosterStatus.getSimulationConditions());
+		branchEngine.flightData = new FlightData();
+		branchEngine.toSimulate.push(boosterStatus);
+
+		final SimulationConditions branchConditions = boosterStatus.getSimulationConditions();
+		ForkJoinTask<BasicEventSimulationEngine> task = ForkJoinTask.adapt(() -> {
+			try {
+				branchEngine.simulateBranches(branchConditions);
+			} catch (SimulationException e) {
+				branchEngine.branchException = e;
+			}
+			return branchEngine;
+		});
+		if (ForkJoinTask.inForkJoinPool()) {
+			task.fork();
+		} else {
+			ForkJoinPool.commonPool().execute(task);
+		}
+		forkedBranches.add(task);
+	}
+
+	/**
+	 * Wait for all branches handed off to other threads and merge their results.  Branches
+	 * pushed later would have been simulated first by the sequential engine, so they are
+	 * merged in reverse order.  As in the sequential case, merging stops at the first branch
+	 * that failed, whose exception is retained in {@link #branchException}.
+	 *
+	 * @param merge	whether to merge the results, or only wait for the branches to finish.
+	 */
+	private void joinForkedBranches(boolean merge) {
+		for (int i = forkedBranches.size() - 1; i >= 0; i--) {
+			BasicEventSimulationEngine branchEngine = forkedBranches.get(i).join();
+			if (!merge) {
+				continue;
+			}
+			for (FlightDataBranch branch : branchEngine.flightData.getBranches()) {
+				flightData.addBranch(branch);
+			}
+			flightData.getWarningSet().addAll(branchEngine.flightData.getWarningSet());
+			if (branchEngine.branchException != null) {
+				branchException = branchEngine.branchException;
+				merge = false;
+			}
+		}
+		forkedBranches.clear();
+	}
 	
 	private void simulateLoop(SimulationConditions simulationConditions) throws SimulationException {
 		// Initialize the simulation.
@@ -193,8 +371,7 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 					}
 
 					if (maxStepTime > MathUtil.EPSILON) {
-						log.trace(
-								  "Taking simulation step at t=" + currentStatus.getSimulationTime() + " altitude " + oldAlt);
+						log.trace("Taking simulation step at t={} altitude {}", currentStatus.getSimulationTime(), oldAlt);
 						currentStepper.step(currentStatus, maxStepTime);
 					}
 				}
@@ -323,10 +500,10 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 		boolean ret = true;
 		FlightEvent event;
 
-		log.trace("HandleEvents: current branch = " + currentStatus.getFlightDataBranch().getName());
+		log.trace("HandleEvents: current branch = {}", currentStatus.getFlightDataBranch().getName());
 		for (event = nextEvent(); event != null; event = nextEvent()) {
-			log.trace("Obtained event from queue:  " + event.toString());
-			log.trace("Remaining EventQueue = " + currentStatus.getEventQueue().toString());
+			log.trace("Obtained event from queue:  {}", event);
+			log.trace("Remaining EventQueue = {}", currentStatus.getEventQueue());
 
 			// Check for motor ignition events, add ignition events to queue
 			for (MotorClusterState state : currentStatus.getActiveMotors() ){
@@ -386,7 +563,7 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 			}
 			
 			// Handle event
-			log.trace("Handling event " + event);
+			log.trace("Handling event {}", event);
 			switch (event.getType()) {
 
 				case LAUNCH: {
@@ -524,8 +701,17 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 						// Mark the booster status as having no active stages above
 						boosterStatus.getConfiguration().clearStagesAbove(stageNumber);
 						boosterStatus.removeUnattachedEvents();
+
+						// The booster gets its own conditions and motor states whether or not it is
+						// simulated concurrently, so that both give the same flight
+						boosterStatus.setSimulationConditions(boosterStatus.getSimulationConditions().cloneForBranch());
+						boosterStatus.copyMotorStates();
 						
-						toSimulate.push(boosterStatus);
+						if (simulationConditions.isParallelBranches()) {
+							forkBranch(boosterStatus);
+						} else {
+							toSimulate.push(boosterStatus);
+						}
 
 					// Make sure upper stages can still be simulated
 					checkGeometry(currentStatus);
@@ -582,7 +768,10 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 					// If we haven't already reached apogee, then we need to compute the actual coast time
 					// to determine the optimum altitude.
 					if (!currentStatus.isApogeeReached()) {
-						FlightData coastStatus = computeCoastTime();
+						FlightData coastStatus = currentStepper.estimateCoast(currentStatus);
+						if (coastStatus == null) {
+							coastStatus = computeCoastTime();
+						}
 
 							currentStatus.getFlightDataBranch().setOptimumAltitude(coastStatus.getMaxAltitude());
 							currentStatus.getFlightDataBranch().setTimeToOptimumAltitude(coastStatus.getTimeToApogee());
@@ -760,6 +949,8 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 		try {
 			SimulationConditions conds = currentStatus.getSimulationConditions().clone();
 			conds.getSimulationListenerList().add(OptimumCoastListener.INSTANCE);
+			// The coast flight is not part of the simulation's flight data
+			conds.setDataSinkFactory(null);
 			BasicEventSimulationEngine coastEngine = new BasicEventSimulationEngine();
 		
 			coastEngine.simulate(conds);
@@ -7,6 +7,14 @@ public class BasicLandingStepper extends AbstractEulerStepper {
 
 	@Override
 	protected double computeCD(SimulationStatus status) {
+		return computeRecoveryCD(status);
+	}
+
+	/**
+	 * Return the drag coefficient of the deployed recovery devices, relative to the reference
+	 * area of the rocket.
+	 */
+	static double computeRecoveryCD(SimulationStatus status) {
 		// Accumulate CD for all recovery devices
 		double cd = 0;
 		final InstanceMap imap = status.getConfiguration().getActiveInstances();
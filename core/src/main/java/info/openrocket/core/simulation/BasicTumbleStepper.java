@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Map;
 
 import info.openrocket.core.rocketcomponent.FinSet;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
 import info.openrocket.core.rocketcomponent.InstanceContext;
 import info.openrocket.core.rocketcomponent.InstanceMap;
 import info.openrocket.core.rocketcomponent.RocketComponent;
@@ -12,6 +13,13 @@ import info.openrocket.core.rocketcomponent.SymmetricComponent;
 public class BasicTumbleStepper extends AbstractEulerStepper {
 
 	public double computeCD(SimulationStatus status) {
+		return computeTumbleCD(status.getConfiguration());
+	}
+
+	/**
+	 * Return the drag coefficient of the tumbling rocket, relative to its reference area.
+	 */
+	static double computeTumbleCD(FlightConfiguration configuration) {
 
 		// Computed based on Sampo's experimentation as documented in techdoc.pdf.
 
@@ -27,7 +35,7 @@ public class BasicTumbleStepper extends AbstractEulerStepper {
 		// compute the fin and body tube projected areas
 		double aFins = 0.0;
 		double aBt = 0.0;
-		final InstanceMap imap = status.getConfiguration().getActiveInstances();
+		final InstanceMap imap = configuration.getActiveInstances();
 		for (Map.Entry<RocketComponent, ArrayList<InstanceContext>> entry : imap.entrySet()) {
 			final RocketComponent component = entry.getKey();
 
@@ -57,7 +65,7 @@ public class BasicTumbleStepper extends AbstractEulerStepper {
 			}
 		}
 
-		return (cDFin * aFins + cDBt * aBt) / status.getConfiguration().getReferenceArea();
+		return (cDFin * aFins + cDBt * aBt) / configuration.getReferenceArea();
 	}
 
 }
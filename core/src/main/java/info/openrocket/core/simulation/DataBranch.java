@@ -1,11 +1,13 @@
 package info.openrocket.core.simulation;
 
-import info.openrocket.core.util.ArrayList;
+import info.openrocket.core.util.DoubleArrayList;
 import info.openrocket.core.util.ModID;
 import info.openrocket.core.util.Monitorable;
 import info.openrocket.core.util.Mutable;
 
+import java.io.IOException;
 import java.lang.reflect.Array;
+import java.nio.DoubleBuffer;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -13,19 +15,51 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * A branch of data / collection of data points for a specific type of data.
+ * <p>
+ * The values of each data type are stored as a column of primitive doubles.  The primitive
+ * accessors {@link #getDoubleArray(DataType)} and {@link #get(DataType, int)} read the data
+ * without boxing, {@link #getColumn(DataType)} without copying, and {@link #get(DataType)}
+ * returns a boxed copy for callers working with lists.
+ * <p>
+ * The values of a branch may be loaded lazily, see {@link #setPendingData(int, ColumnLoader)}.
  * @param <T> the type of data in this branch
  */
 public abstract class DataBranch<T extends DataType> implements Monitorable {
+	private static final Logger log = LoggerFactory.getLogger(DataBranch.class);
+
+	/**
+	 * Reads the values of a branch whose data is loaded lazily.
+	 */
+	@FunctionalInterface
+	public interface ColumnLoader {
+		/**
+		 * Read the values of the branch.
+		 *
+		 * @return	one array of values per data type, in the order in which the types were
+		 * 			added to the branch.
+		 * @throws IOException	if the data could not be read.
+		 */
+		double[][] load() throws IOException;
+	}
+
 	protected final String name;
-	protected final Map<T, ArrayList<Double>> values = new LinkedHashMap<>();
+	protected final Map<T, DoubleArrayList> values = new LinkedHashMap<>();
 	protected final Map<T, Double> maxValues = new HashMap<>();
 	protected final Map<T, Double> minValues = new HashMap<>();
 
 	protected final Mutable mutable = new Mutable();
+	/** Created on demand, so that storing the values of a point does not allocate a mod ID for every value */
 	protected ModID modID = ModID.INVALID;
 
+	/** Loader of the values that have not been read yet, or null if the values are available */
+	private volatile ColumnLoader pendingLoader = null;
+	private int pendingLength = 0;
+
 	/**
 	 * Sole constructor.  Defines the name of the DataBranch and at least one variable type.
 	 *
@@ -54,7 +88,7 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 			throw new IllegalArgumentException("Value type " + type + " already exists.");
 		}
 
-		values.put(type, new ArrayList<>());
+		values.put(type, new DoubleArrayList());
 		minValues.put(type, Double.NaN);
 		maxValues.put(type, Double.NaN);
 	}
@@ -66,26 +100,11 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 */
 	public void addPoint() {
 		mutable.check();
-		for (Map.Entry<T, ArrayList<Double>> entry : values.entrySet()) {
-			sanityCheckValues(entry.getKey(), Double.NaN);
-			entry.getValue().add(Double.NaN);
-		}
-		modID = new ModID();
-	}
-
-	private void sanityCheckValues(T type, Double value) {
-		ArrayList<Double> list = values.get(type);
-
-		if (list == null) {
-			list = new info.openrocket.core.util.ArrayList<>();
-			int n = getLength();
-			for (int i = 0; i < n; i++) {
-				list.add(Double.NaN);
-			}
-			values.put(type, list);
-			minValues.put(type, value);
-			maxValues.put(type, value);
+		ensureLoaded();
+		for (DoubleArrayList list : values.values()) {
+			list.add(Double.NaN);
 		}
+		modID = null;
 	}
 
 	/**
@@ -98,19 +117,17 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 */
 	public void setValue(T type, double value) {
 		mutable.check();
+		ensureLoaded();
 
-		ArrayList<Double> list = values.computeIfAbsent(type, k -> {
-			ArrayList<Double> newList = new ArrayList<>();
-			int n = getLength();
-			for (int i = 0; i < n; i++) {
-				newList.add(Double.NaN);
-			}
+		DoubleArrayList list = values.computeIfAbsent(type, k -> {
+			DoubleArrayList newList = new DoubleArrayList();
+			newList.fill(Double.NaN, getLength());
 			minValues.put(k, Double.NaN);
 			maxValues.put(k, Double.NaN);
 			return newList;
 		});
 
-		if (list.size() > 0) {
+		if (!list.isEmpty()) {
 			list.set(list.size() - 1, value);
 		}
 
@@ -123,7 +140,7 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 		if (Double.isNaN(max) || (value > max)) {
 			maxValues.put(type, value);
 		}
-		modID = new ModID();
+		modID = null;
 	}
 
 
@@ -135,10 +152,64 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 * 				the variable type hasn't been added to this branch.
 	 */
 	public List<Double> get(T type) {
-		ArrayList<Double> list = values.get(type);
+		ensureLoaded();
+		DoubleArrayList list = values.get(type);
+		if (list == null)
+			return null;
+		return list.toList();
+	}
+
+	/**
+	 * Return the values of the specified variable type as a primitive array.  The array is a
+	 * copy of the data and may be modified by the caller.
+	 *
+	 * @param type	the variable type.
+	 * @return		an array of the variable values, or <code>null</code> if
+	 * 				the variable type hasn't been added to this branch.
+	 */
+	public double[] getDoubleArray(T type) {
+		ensureLoaded();
+		DoubleArrayList list = values.get(type);
 		if (list == null)
 			return null;
-		return list.clone();
+		return list.toArray();
+	}
+
+	/**
+	 * Return a read-only view of the values of the specified variable type, without copying
+	 * them.  The view must not be used after points are added to the branch.
+	 *
+	 * @param type	the variable type.
+	 * @return		a buffer holding the values of all points, or <code>null</code> if
+	 * 				the variable type hasn't been added to this branch.
+	 */
+	public DoubleBuffer getColumn(T type) {
+		ensureLoaded();
+		DoubleArrayList list = values.get(type);
+		if (list == null)
+			return null;
+		return list.asReadOnlyBuffer();
+	}
+
+	/**
+	 * Return the value of the specified type at the specified index without boxing.
+	 *
+	 * @param type	the variable type.
+	 * @param index	the data index of the value.
+	 * @return		the value at the specified index, or NaN if the variable type hasn't
+	 * 				been added to this branch.
+	 * @throws IllegalArgumentException	if the index is out of bounds.
+	 */
+	public double get(T type, int index) {
+		if (index < 0 || index >= getLength()) {
+			throw new IllegalArgumentException("Index out of bounds");
+		}
+		ensureLoaded();
+		DoubleArrayList list = values.get(type);
+		if (list == null) {
+			return Double.NaN;
+		}
+		return list.get(index);
 	}
 
 	/**
@@ -151,7 +222,8 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 		if (index < 0 || index >= getLength()) {
 			throw new IllegalArgumentException("Index out of bounds");
 		}
-		ArrayList<Double> list = values.get(type);
+		ensureLoaded();
+		DoubleArrayList list = values.get(type);
 		if (list == null) {
 			return null;
 		}
@@ -166,10 +238,11 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 * @return		the last value in this branch, or NaN.
 	 */
 	public double getLast(T type) {
-		ArrayList<Double> list = values.get(type);
-		if (list == null || list.isEmpty())
+		ensureLoaded();
+		DoubleArrayList list = values.get(type);
+		if (list == null)
 			return Double.NaN;
-		return list.get(list.size() - 1);
+		return list.getLast();
 	}
 
 	/**
@@ -180,6 +253,7 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 * @return		the minimum value in this branch, or NaN.
 	 */
 	public double getMinimum(T type) {
+		ensureLoaded();
 		Double v = minValues.get(type);
 		if (v == null)
 			return Double.NaN;
@@ -194,6 +268,7 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 * @return		the maximum value in this branch, or NaN.
 	 */
 	public double getMaximum(T type) {
+		ensureLoaded();
 		Double v = maxValues.get(type);
 		if (v == null)
 			return Double.NaN;
@@ -204,8 +279,11 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 * Return the number of data points in this branch.
 	 */
 	public int getLength() {
-		for (ArrayList<Double> doubles : values.values()) {
-			return doubles.size();
+		if (pendingLoader != null) {
+			return pendingLength;
+		}
+		for (DoubleArrayList column : values.values()) {
+			return column.size();
 		}
 		return 0;
 	}
@@ -223,6 +301,100 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 		return array;
 	}
 
+	/**
+	 * Defer reading the values of this branch until they are first accessed.  The data
+	 * types of the branch must have been defined, and the branch must not contain any
+	 * points.  The length and the types of the branch are available without reading the
+	 * values.
+	 * <p>
+	 * If the loader fails, the error is logged and the values are set to NaN.
+	 *
+	 * @param length	the number of points in the branch.
+	 * @param loader	the loader of the values.
+	 * @throws IllegalStateException	if this object has been made immutable or already contains points.
+	 */
+	public void setPendingData(int length, ColumnLoader loader) {
+		mutable.check();
+		if (getLength() > 0) {
+			throw new IllegalStateException("Branch already contains data");
+		}
+		this.pendingLength = length;
+		this.pendingLoader = loader;
+		modID = new ModID();
+	}
+
+	/**
+	 * Return whether the values of this branch have not been read yet.
+	 */
+	public boolean isDataPending() {
+		return pendingLoader != null;
+	}
+
+	/**
+	 * Read the values of this branch if they are loaded lazily and have not been read yet.
+	 */
+	protected void ensureLoaded() {
+		if (pendingLoader != null) {
+			readPendingData();
+		}
+	}
+
+	/**
+	 * Read the values of this branch now if they are loaded lazily, for example to decode
+	 * the data in a background thread before it is needed.
+	 */
+	public void loadData() {
+		ensureLoaded();
+	}
+
+	private synchronized void readPendingData() {
+		ColumnLoader loader = pendingLoader;
+		if (loader == null) {
+			return;
+		}
+
+		double[][] columns = null;
+		try {
+			columns = loader.load();
+			if (columns.length != values.size()) {
+				throw new IOException("Expected " + values.size() + " columns, found " + columns.length);
+			}
+			for (double[] column : columns) {
+				if (column.length != pendingLength) {
+					throw new IOException("Expected " + pendingLength + " values, found " + column.length);
+				}
+			}
+		} catch (IOException e) {
+			log.warn("Unable to read the data of branch " + name, e);
+			columns = null;
+		}
+
+		int i = 0;
+		for (Map.Entry<T, DoubleArrayList> entry : values.entrySet()) {
+			DoubleArrayList list = new DoubleArrayList(pendingLength);
+			double min = Double.NaN;
+			double max = Double.NaN;
+			if (columns != null) {
+				for (double value : columns[i]) {
+					list.add(value);
+					if (Double.isNaN(min) || value < min) {
+						min = value;
+					}
+					if (Double.isNaN(max) || value > max) {
+						max = value;
+					}
+				}
+			} else {
+				list.fill(Double.NaN, pendingLength);
+			}
+			entry.setValue(list);
+			minValues.put(entry.getKey(), min);
+			maxValues.put(entry.getKey(), max);
+			i++;
+		}
+		pendingLoader = null;
+	}
+
 	/**
 	 * Return the branch name.
 	 */
@@ -246,6 +418,9 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	}
 
 	public ModID getModID() {
+		if (modID == null) {
+			modID = new ModID();
+		}
 		return modID;
 	}
 }
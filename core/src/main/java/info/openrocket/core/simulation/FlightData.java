@@ -207,8 +207,8 @@ public class FlightData {
 		flightTime = branch.getLast(FlightDataType.TYPE_TIME);
 		
 		// Time to apogee
-		List<Double> time = branch.get(FlightDataType.TYPE_TIME);
-		List<Double> altitude = branch.get(FlightDataType.TYPE_ALTITUDE);
+		double[] time = branch.getDoubleArray(FlightDataType.TYPE_TIME);
+		double[] altitude = branch.getDoubleArray(FlightDataType.TYPE_ALTITUDE);
 		
 		if (time == null || altitude == null) {
 			timeToApogee = Double.NaN;
@@ -216,44 +216,36 @@ public class FlightData {
 			return;
 		}
 		int index = 0;
-		for (Double alt : altitude) {
-			if (alt != null) {
-				if (MathUtil.equals(alt, maxAltitude))
-					break;
-			}
+		for (double alt : altitude) {
+			if (MathUtil.equals(alt, maxAltitude))
+				break;
 			
 			index++;
 		}
-		if (index < time.size())
-			timeToApogee = time.get(index);
+		if (index < time.length)
+			timeToApogee = time[index];
 		else
 			timeToApogee = Double.NaN;
 
 		optimumDelay = branch.getOptimumDelay();
 
 		// Launch rod velocity + deployment velocity + ground hit velocity
+		double[] velocity = branch.getDoubleArray(FlightDataType.TYPE_VELOCITY_TOTAL);
 		for (FlightEvent event : branch.getEvents()) {
 			if (event.getType() == FlightEvent.Type.LAUNCHROD) {
 				double t = event.getTime();
-				List<Double> velocity = branch.get(FlightDataType.TYPE_VELOCITY_TOTAL);
 				launchRodVelocity = MathUtil.interpolate( time, velocity, t);
 			} else if ( event.getType() == FlightEvent.Type.RECOVERY_DEVICE_DEPLOYMENT) {
 				double t = event.getTime();
-				List<Double> velocity = branch.get(FlightDataType.TYPE_VELOCITY_TOTAL);
 				deploymentVelocity = MathUtil.interpolate( time, velocity, t);
 			} else if (event.getType() == FlightEvent.Type.GROUND_HIT) {
 				double t = event.getTime();
-				List<Double> velocity = branch.get(FlightDataType.TYPE_VELOCITY_TOTAL);
 				groundHitVelocity = MathUtil.interpolate( time,  velocity, t);
 			}
 		}
 		
 		// Max. acceleration (must be after apogee time)
-		if (branch.get(FlightDataType.TYPE_ACCELERATION_TOTAL) != null) {
-			maxAcceleration = calculateMaxAcceleration();
-		} else {
-			maxAcceleration = Double.NaN;
-		}
+		maxAcceleration = calculateMaxAcceleration(time);
 		
 		log.debug("Computed flight values:" +
 				" maxAltitude=" + maxAltitude +
@@ -302,7 +294,7 @@ public class FlightData {
 	/**
 	 * Find the maximum acceleration before apogee.
 	 */
-	private double calculateMaxAcceleration() {
+	private double calculateMaxAcceleration(double[] time) {
 		
 		// End check at first recovery device deployment
 		double endTime = Double.MAX_VALUE;
@@ -316,8 +308,7 @@ public class FlightData {
 			}
 		}
 		
-		List<Double> time = branch.get(FlightDataType.TYPE_TIME);
-		List<Double> acceleration = branch.get(FlightDataType.TYPE_ACCELERATION_TOTAL);
+		double[] acceleration = branch.getDoubleArray(FlightDataType.TYPE_ACCELERATION_TOTAL);
 		
 		if (time == null || acceleration == null) {
 			return Double.NaN;
@@ -325,11 +316,11 @@ public class FlightData {
 		
 		double max = 0;
 		
-		for (int i = 0; i < time.size(); i++) {
-			if (time.get(i) >= endTime) {
+		for (int i = 0; i < time.length; i++) {
+			if (time[i] >= endTime) {
 				break;
 			}
-			double a = acceleration.get(i);
+			double a = acceleration[i];
 			if (a > max)
 				max = a;
 		}
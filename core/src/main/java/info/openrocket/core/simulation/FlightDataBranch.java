@@ -1,5 +1,7 @@
 package info.openrocket.core.simulation;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -7,7 +9,9 @@ import java.util.UUID;
 import info.openrocket.core.rocketcomponent.AxialStage;
 import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.simulation.datasink.FlightDataSink;
 import info.openrocket.core.util.ArrayList;
+import info.openrocket.core.util.DoubleArrayList;
 import info.openrocket.core.util.ModID;
 
 /**
@@ -21,6 +25,10 @@ import info.openrocket.core.util.ModID;
  * not defined in the constructor can be added using {@link #setValue(FlightDataType, double)}, they
  * will be created and all previous values will be set to NaN.
  * <p>
+ * While a {@link FlightDataSink} is open, only the latest {@link #DATA_SINK_WINDOW} points and the
+ * points retained by the sink, next to flight events or at the maximum of a summary value are
+ * kept in memory.
+ * <p>
  * After populating a FlightDataBranch object it can be made immutable by calling {@link #immute()}.
  * 
  * @author Sampo Niskanen <sampo.niskanen@iki.fi>
@@ -30,6 +38,25 @@ public class FlightDataBranch extends DataBranch<FlightDataType> {
 	private double optimumAltitude = Double.NaN;
 	private double separationTime = Double.NaN;
 	private final ArrayList<FlightEvent> events = new ArrayList<>();
+
+	/** Number of latest data points kept in memory while a data sink is open */
+	public static final int DATA_SINK_WINDOW = 64;
+
+	/** Types whose maximum is used by the flight summary, the points at the maximum are always kept */
+	private static final FlightDataType[] PEAK_TYPES = {
+			FlightDataType.TYPE_ALTITUDE,
+			FlightDataType.TYPE_VELOCITY_TOTAL,
+			FlightDataType.TYPE_ACCELERATION_TOTAL,
+			FlightDataType.TYPE_MACH_NUMBER
+	};
+
+	private FlightDataSink dataSink = null;
+	// Points before this index have been passed to the data sink and are kept
+	private int retainedPoints = 0;
+	// Indices of points in the window that are next to a flight event, in increasing order
+	private final ArrayList<Integer> pinnedPoints = new ArrayList<>();
+	// Whether the next point added follows a flight event
+	private boolean pinNextPoint = false;
 	
 	/**
 	 * Sole constructor.  Defines the name of the FlightDataBranch and at least one variable type.
@@ -78,7 +105,7 @@ public class FlightDataBranch extends DataBranch<FlightDataType> {
 		this.values.clear();
 
 		// Need to have at least one type to set up values
-		values.put(FlightDataType.TYPE_TIME, new ArrayList<>());
+		values.put(FlightDataType.TYPE_TIME, new DoubleArrayList());
 		minValues.put(FlightDataType.TYPE_TIME, Double.NaN);
 		maxValues.put(FlightDataType.TYPE_TIME, Double.NaN);
 
@@ -90,7 +117,7 @@ public class FlightDataBranch extends DataBranch<FlightDataType> {
 		for (int i = 0; i < srcBranch.getLength(); i++) {
 			this.addPoint();
 			for (FlightDataType type : srcBranch.getTypes()) {
-				this.setValue(type, srcBranch.getByIndex(type, i));
+				this.setValue(type, srcBranch.get(type, i));
 			}
 		}
 
@@ -176,6 +203,119 @@ public class FlightDataBranch extends DataBranch<FlightDataType> {
 		return Double.NaN;
 	}
 	
+	@Override
+	public void addPoint() {
+		super.addPoint();
+		if (dataSink != null) {
+			if (pinNextPoint) {
+				pinPoint(getLength() - 1);
+				pinNextPoint = false;
+			}
+			while (getLength() - retainedPoints > DATA_SINK_WINDOW) {
+				releasePoint();
+			}
+		}
+	}
+
+	/**
+	 * Start passing the data points of this branch to a data sink.  From now on, points that
+	 * leave the window of latest points are kept in memory only when needed.
+	 *
+	 * @param sink	the data sink, or <code>null</code> to keep all points in memory.
+	 * @throws IllegalStateException	if this branch has been made immutable.
+	 */
+	public void openDataSink(FlightDataSink sink) {
+		mutable.check();
+		this.dataSink = sink;
+		this.retainedPoints = 0;
+		this.pinnedPoints.clear();
+		this.pinNextPoint = false;
+	}
+
+	/**
+	 * Pass the remaining points to the data sink and close it.  The points in the window are
+	 * kept in memory.  Does nothing if no data sink is open.
+	 *
+	 * @throws IOException	if the data sink failed to store the data.
+	 */
+	public void closeDataSink() throws IOException {
+		if (dataSink == null) {
+			return;
+		}
+		FlightDataSink sink = dataSink;
+		dataSink = null;
+		for (int i = retainedPoints; i < getLength(); i++) {
+			sink.storePoint(this, i);
+		}
+		retainedPoints = 0;
+		pinnedPoints.clear();
+		pinNextPoint = false;
+		sink.close(this);
+	}
+
+	/**
+	 * Pass the oldest point of the window to the data sink, and remove it from memory unless
+	 * the sink retains it or it is needed for the flight summary.
+	 */
+	private void releasePoint() {
+		final int index = retainedPoints;
+		boolean retain = dataSink.storePoint(this, index);
+		if (!pinnedPoints.isEmpty() && pinnedPoints.get(0) == index) {
+			pinnedPoints.remove(0);
+			retain = true;
+		}
+		if (!retain) {
+			retain = isPeak(index);
+		}
+
+		if (retain) {
+			retainedPoints++;
+			return;
+		}
+		for (DoubleArrayList column : values.values()) {
+			column.remove(index);
+		}
+		for (int i = 0; i < pinnedPoints.size(); i++) {
+			pinnedPoints.set(i, pinnedPoints.get(i) - 1);
+		}
+	}
+
+	private boolean isPeak(int index) {
+		for (FlightDataType type : PEAK_TYPES) {
+			DoubleArrayList column = values.get(type);
+			if (column != null && column.get(index) == getMaximum(type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Keep the points bracketing a flight event, and the points in the window at the maximum of
+	 * a summary value.  The latter keeps e.g. the maximum acceleration before recovery device
+	 * deployment even if a larger one follows it.  Events are added before the point at the
+	 * event time has been stored, so the event is bracketed by the current and the next point;
+	 * the previous point is kept as well for events at the time of the current point.
+	 */
+	private void pinPoints() {
+		for (int index = Math.max(retainedPoints, getLength() - 2); index < getLength(); index++) {
+			pinPoint(index);
+		}
+		pinNextPoint = true;
+		for (int index = retainedPoints; index < getLength(); index++) {
+			if (isPeak(index)) {
+				pinPoint(index);
+			}
+		}
+	}
+
+	private void pinPoint(int index) {
+		int position = Collections.binarySearch(pinnedPoints, index);
+		if (position < 0) {
+			pinnedPoints.add(-position - 1, index);
+		}
+	}
+
 	/**
 	 * Add a flight event to this branch.
 	 * 
@@ -185,6 +325,9 @@ public class FlightDataBranch extends DataBranch<FlightDataType> {
 	public void addEvent(FlightEvent event) {
 		mutable.check();
 		events.add(event);
+		if (dataSink != null) {
+			pinPoints();
+		}
 		if (event.getType() == FlightEvent.Type.STAGE_SEPARATION) {
 			separationTime = event.getTime();
 		}
@@ -262,7 +405,8 @@ public class FlightDataBranch extends DataBranch<FlightDataType> {
 		if (Double.isNaN(time)) {
 			return -1;
 		}
-		List<Double> times = get(FlightDataType.TYPE_TIME);
+		ensureLoaded();
+		DoubleArrayList times = values.get(FlightDataType.TYPE_TIME);
 		if (times == null) {
 			return -1;
 		}
@@ -275,9 +419,10 @@ public class FlightDataBranch extends DataBranch<FlightDataType> {
 	}
 
 	public FlightDataBranch clone() {
+		ensureLoaded();
 		FlightDataType[] types = getTypes();
 		FlightDataBranch clone = new FlightDataBranch(name, types);
-		for (Map.Entry<FlightDataType, ArrayList<Double>> entry : values.entrySet()) {
+		for (Map.Entry<FlightDataType, DoubleArrayList> entry : values.entrySet()) {
 			clone.values.put(entry.getKey(), entry.getValue().clone());
 		}
 		clone.minValues.putAll(minValues);
@@ -285,7 +430,7 @@ public class FlightDataBranch extends DataBranch<FlightDataType> {
 		clone.events.addAll(events);
 		clone.timeToOptimumAltitude = timeToOptimumAltitude;
 		clone.optimumAltitude = optimumAltitude;
-		clone.modID = modID;
+		clone.modID = getModID();
 		return clone;
 	}
 	
@@ -112,7 +112,8 @@ public class FlightEvent implements Comparable<FlightEvent> {
 		}
 	}
 
-	private final UUID id;
+	/** Created on demand, as most events, e.g. the altitude events of every step, are never saved */
+	private UUID id;
 	private final Type type;
 	private final double time;
 	private final RocketComponent source;
@@ -139,7 +140,7 @@ public class FlightEvent implements Comparable<FlightEvent> {
 		this.time = time;
 		this.source = source;
 		this.data = data;
-		this.id = (null != id) ? id : UUID.randomUUID();
+		this.id = id;
 		
 		validate();
 	}
@@ -160,7 +161,10 @@ public class FlightEvent implements Comparable<FlightEvent> {
 		return data;
 	}
 
-	public UUID getID() {
+	public synchronized UUID getID() {
+		if (id == null) {
+			id = UUID.randomUUID();
+		}
 		return id;
 	}
 	
@@ -4,6 +4,7 @@ import info.openrocket.core.motor.IgnitionEvent;
 import info.openrocket.core.motor.Motor;
 import info.openrocket.core.motor.MotorConfiguration;
 import info.openrocket.core.motor.MotorConfigurationId;
+import info.openrocket.core.motor.ThrustCurveMotor;
 import info.openrocket.core.rocketcomponent.FlightConfiguration;
 import info.openrocket.core.rocketcomponent.MotorMount;
 import info.openrocket.core.rocketcomponent.RocketComponent;
@@ -15,6 +16,8 @@ public class MotorClusterState {
 	final protected MotorConfiguration config;
 	final protected int motorCount;
 	final protected double thrustDuration;
+	// lookup position in the thrust curve, or null if the motor has none
+	final private ThrustCurveMotor.Cursor cursor;
 
 	// for state:
 	protected double ignitionTime = Double.NaN;
@@ -28,10 +31,39 @@ public class MotorClusterState {
 		this.motor = this.config.getMotor();
 		this.motorCount = this.config.getMount().getComponentLocations().length;
 		this.thrustDuration = this.motor.getBurnTimeEstimate();
+		if (this.motor instanceof ThrustCurveMotor) {
+			this.cursor = ((ThrustCurveMotor) this.motor).newCursor();
+		} else {
+			this.cursor = null;
+		}
 
 		this.reset();
 	}
 
+	/**
+	 * Copy constructor.  The copy starts in the state of the original, but has its own
+	 * thrust curve lookup position, so that it can be used by a simulation branch running
+	 * concurrently with the one using the original.
+	 *
+	 * @param orig	the motor state to copy
+	 */
+	public MotorClusterState(final MotorClusterState orig) {
+		this.config = orig.config;
+		this.motor = orig.motor;
+		this.motorCount = orig.motorCount;
+		this.thrustDuration = orig.thrustDuration;
+		if (this.motor instanceof ThrustCurveMotor) {
+			this.cursor = ((ThrustCurveMotor) this.motor).newCursor();
+		} else {
+			this.cursor = null;
+		}
+
+		this.ignitionTime = orig.ignitionTime;
+		this.cutoffTime = orig.cutoffTime;
+		this.ejectionTime = orig.ejectionTime;
+		this.currentState = orig.currentState;
+	}
+
 	public double getIgnitionTime() {
 		return ignitionTime;
 	}
@@ -75,6 +107,13 @@ public class MotorClusterState {
 		}
 	}
 
+	/**
+	 * Return the number of motors in the cluster, including the instances of the mount.
+	 */
+	public int getMotorCount() {
+		return motorCount;
+	}
+
 	public double getBurnTime() {
 		return motor.getBurnTime();
 	}
@@ -131,6 +170,9 @@ public class MotorClusterState {
 	public double getThrust(final double simulationTime) {
 		if (this.currentState.isThrusting()) {
 			double motorTime = this.getMotorTime(simulationTime);
+			if (cursor != null) {
+				return this.motorCount * cursor.getThrust(motorTime);
+			}
 			return this.motorCount * motor.getThrust(motorTime);
 
 		} else {
@@ -138,6 +180,35 @@ public class MotorClusterState {
 		}
 	}
 
+	/**
+	 * Return the total mass of a single motor of the cluster.  Equivalent to
+	 * {@link Motor#getTotalMass(double)}, but faster when called at increasing times.
+	 *
+	 * @param motorTime	time since ignition
+	 * @return	the mass of one motor (kg)
+	 */
+	public double getTotalMass(final double motorTime) {
+		if (cursor != null) {
+			return cursor.getTotalMass(motorTime);
+		}
+		return motor.getTotalMass(motorTime);
+	}
+
+	/**
+	 * Return the center of mass of a single motor of the cluster, from the front of the
+	 * motor.  Equivalent to {@link Motor#getCMx(double)}, but faster when called at
+	 * increasing times.
+	 *
+	 * @param motorTime	time since ignition
+	 * @return	the CM position (m)
+	 */
+	public double getCMx(final double motorTime) {
+		if (cursor != null) {
+			return cursor.getCMx(motorTime);
+		}
+		return motor.getCMx(motorTime);
+	}
+
 	public boolean isPlugged() {
 		return (this.config.getEjectionDelay() == Motor.PLUGGED_DELAY);
 	}
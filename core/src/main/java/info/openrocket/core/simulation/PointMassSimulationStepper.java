@@ -0,0 +1,840 @@
+package info.openrocket.core.simulation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import info.openrocket.core.aerodynamics.AerodynamicCalculator;
+import info.openrocket.core.aerodynamics.AerodynamicForces;
+import info.openrocket.core.aerodynamics.BarrowmanCalculator;
+import info.openrocket.core.aerodynamics.FlightConditions;
+import info.openrocket.core.l10n.Translator;
+import info.openrocket.core.logging.SimulationAbort;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.masscalc.RigidBody;
+import info.openrocket.core.models.atmosphere.AtmosphericConditions;
+import info.openrocket.core.rocketcomponent.AxialStage;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.exception.SimulationCalculationException;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.listeners.SimulationListenerHelper;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.MathUtil;
+import info.openrocket.core.util.ModID;
+import info.openrocket.core.util.Quaternion;
+import info.openrocket.core.util.Rotation2D;
+import info.openrocket.core.util.WorldCoordinate;
+
+/**
+ * A three degree of freedom stepper for quick estimates, which integrates only the position
+ * and velocity of the rocket as a point mass.
+ * <p>
+ * The rocket is assumed to fly at zero angle of attack: the thrust acts along the launch rod
+ * until the rod is cleared and along the relative wind afterwards, and the only aerodynamic
+ * force is the zero angle of attack drag.  The drag coefficient is calculated by
+ * {@link AerodynamicCalculator#getZeroAOADragCoefficient} on a grid of Mach and Reynolds numbers
+ * when the flight first reaches a grid cell, and interpolated in between, so a flight needs only
+ * a few dozen drag calculations instead of four full aerodynamic calculations per step.  The grids
+ * are shared by later simulations of the same rocket and stages.  The thrust and mass are
+ * calculated as in {@link RK4SimulationStepper}.
+ * <p>
+ * The position and velocity are integrated with RK4.  On the launch rod the user-selected time
+ * step is used, afterwards the step grows as long as the velocity changes by less than
+ * {@link #MAX_VELOCITY_CHANGE} per step.  The stepper also simulates the tumble and descent
+ * phases, with the drag of the tumbling rocket or the deployed recovery devices as in
+ * {@link BasicTumbleStepper} and {@link BasicLandingStepper}, and with a step that is limited by
+ * the change of altitude.  The coast to apogee after an early recovery device deployment is
+ * estimated with the same steps, see {@link #estimateCoast(SimulationStatus)}.
+ * <p>
+ * Weathercocking dynamics, coning, roll and the normal force are not modeled, so the results
+ * deviate from the full simulation especially in wind and for marginally stable rockets.
+ * Aerodynamic listeners receive forces that only contain the drag coefficient.
+ */
+public class PointMassSimulationStepper extends AbstractSimulationStepper {
+
+	private static final Translator trans = Application.getTranslator();
+
+	/** Mach number spacing of the drag coefficient grid */
+	static final double MACH_STEP = 0.02;
+
+	/** Spacing of the base-10 logarithm of the Reynolds number in the drag coefficient grid */
+	static final double LOG_REYNOLDS_STEP = 0.25;
+
+	/** Lower bound of the logarithm of the Reynolds number, the drag is negligible below it */
+	private static final double MIN_LOG_REYNOLDS = 3;
+
+	/** Drag is sampled at least at this Mach number, as it is undefined at zero velocity */
+	private static final double MIN_SAMPLE_MACH = 0.01;
+
+	/** Below this air speed (m/s) the rocket keeps its previous direction */
+	private static final double MIN_DIRECTION_AIRSPEED = 0.1;
+
+	/** Largest change of the velocity per step after the launch rod is cleared, relative to the speed */
+	static final double MAX_VELOCITY_CHANGE = 0.15;
+
+	/** Largest change of the velocity per step during descent, relative to the speed */
+	static final double MAX_DESCENT_VELOCITY_CHANGE = 0.2;
+
+	/** Largest change of the altitude per step during descent (m), which limits how far an altitude event is missed */
+	static final double MAX_DESCENT_ALTITUDE_CHANGE = 10;
+
+	/** Largest step during descent (s) */
+	static final double MAX_DESCENT_TIME_STEP = 5.0;
+
+	// Offsets of the vector derivatives within a row of k
+	private static final int V = 0;
+	private static final int A = 3;
+
+	DataStore store = new DataStore();
+
+	/** Derivatives k1..k4, each holding velocity and acceleration */
+	private final double[][] k = new double[4][6];
+
+	/** State at the start of the step */
+	private final double[] position = new double[3];
+	private final double[] velocity = new double[3];
+
+	/** Direction of the rocket axis, along which the thrust acts */
+	private Coordinate axis = Coordinate.Z_UNIT;
+
+	/** Number of drag coefficient grids kept for reuse by later simulations */
+	private static final int SHARED_GRIDS = 8;
+
+	private static final Map<DragGridKey, DragGrid> sharedGrids =
+			new LinkedHashMap<>(SHARED_GRIDS, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<DragGridKey, DragGrid> eldest) {
+					return size() > SHARED_GRIDS;
+				}
+			};
+
+	/** Drag coefficient grid, valid for the configuration identified by the mod IDs */
+	private DragGrid dragGrid;
+	private ModID dragConfigurationModID = ModID.INVALID;
+	private ModID dragAerodynamicModID = ModID.INVALID;
+	private ModID dragTreeModID = ModID.INVALID;
+
+	/** Drag coefficient of the descent, valid for the configuration and number of deployed recovery devices */
+	private double descentDragCoefficient;
+	private ModID descentConfigurationModID = ModID.INVALID;
+	private ModID descentAerodynamicModID = ModID.INVALID;
+	private int descentRecoveryDevices;
+
+	/** Motor mass data at the start of the step and the total mass of the ignited motors at that time */
+	private RigidBody stepMotorMass;
+	private double stepIgnitedMotorMass;
+
+	/** Whether the derivatives are computed at an intermediate position of the step */
+	private boolean intermediate = false;
+
+	/** Whether the deployed recovery devices are ignored while estimating the optimum coast */
+	private boolean coastEstimate = false;
+
+
+	@Override
+	public SimulationStatus initialize(SimulationStatus original) {
+
+		SimulationStatus status = new SimulationStatus(original);
+		// Copy the existing warnings
+		status.setWarnings(original.getWarnings());
+
+		SimulationConditions sim = original.getSimulationConditions();
+
+		store.launchRodDirection = new Coordinate(
+				Math.sin(sim.getLaunchRodAngle()) * Math.cos(Math.PI / 2.0 - sim.getLaunchRodDirection()),
+				Math.sin(sim.getLaunchRodAngle()) * Math.sin(Math.PI / 2.0 - sim.getLaunchRodDirection()),
+				Math.cos(sim.getLaunchRodAngle()));
+
+		if (status.isLaunchRodCleared()) {
+			axis = status.getRocketOrientationQuaternion().rotateZ().normalize();
+		} else {
+			axis = store.launchRodDirection;
+		}
+		status.setRocketRotationVelocity(Coordinate.NUL);
+
+		return status;
+	}
+
+	@Override
+	public void step(SimulationStatus status, double maxTimeStep) throws SimulationException {
+
+		status.storeData();
+
+		setState(status);
+
+		//// First position, k1 = f(t, y)
+		computeDerivatives(status, k[0]);
+
+		// If maxTimeStep is NaN we'll just record sim params and leave
+		if (Double.isNaN(maxTimeStep)) {
+			store.timeStep = maxTimeStep;
+			store.storeData(status);
+
+			landedValues(status, store);
+			return;
+		}
+
+		final double t0 = status.getSimulationTime();
+		final boolean descent = isDescent(status);
+		selectTimeStep(status, maxTimeStep, descent);
+		checkNaN(store.timeStep, "store.timeStep");
+
+		if (descent) {
+			descend(status, store.timeStep);
+			if (isBelowGround(status)) {
+				// Shorten the step to end on the ground
+				store.timeStep = getGroundHitTimeStep(status);
+				descend(status, store.timeStep);
+				landOnGround(status);
+			}
+			store.storeData(status);
+		} else {
+			store.storeData(status);
+
+			// All intermediate positions overwrite the same fields of a single copy of the status
+			final SimulationStatus status2 = status.clone();
+			integrate(status, status2, t0, store.timeStep);
+			if (isBelowGround(status)) {
+				// Shorten the step to end on the ground
+				store.timeStep = getGroundHitTimeStep(status);
+				integrate(status, status2, t0, store.timeStep);
+				landOnGround(status);
+				status.getFlightDataBranch().setValue(FlightDataType.TYPE_TIME_STEP, store.timeStep);
+			}
+
+			// The rocket points along the relative wind at the end of the step
+			axis = getDirection(status, status.getRocketVelocity().add(store.windVelocity));
+			status.setRocketOrientationQuaternion(orientationAlong(axis));
+		}
+		status.setRocketRotationVelocity(Coordinate.NUL);
+
+		WorldCoordinate w = status.getSimulationConditions().getLaunchSite();
+		w = status.getSimulationConditions().getGeodeticComputation().addCoordinate(w, status.getRocketPosition());
+		status.setRocketWorldPosition(w);
+
+		final double h = store.timeStep;
+		if (!(0 <= h)) {
+			// Also catches NaN
+			throw new IllegalArgumentException("Stepping backwards in time, timestep=" + h);
+		}
+		status.setSimulationTime(t0 + h);
+
+		// Verify that values don't run out of range
+		if (status.getRocketVelocity().length2() > 1.0e18 ||
+				status.getRocketPosition().length2() > 1.0e18) {
+			throw new SimulationCalculationException(trans.get("error.valuesTooLarge"), status.getFlightDataBranch());
+		}
+	}
+
+	/**
+	 * Estimate the optimum coast by integrating a copy of the status to apogee with the flight
+	 * steps, ignoring the deployed recovery devices.  Events during the coast, such as the
+	 * ignition of further stages, are not simulated.
+	 */
+	@Override
+	public FlightData estimateCoast(SimulationStatus original) throws SimulationException {
+		if (!original.isLiftoff()) {
+			return null;
+		}
+
+		final SimulationStatus status = original.clone();
+		final SimulationStatus status2 = status.clone();
+		final Coordinate originalAxis = axis;
+		final double originalTimeStep = store.timeStep;
+		// The steps of the estimate don't grow from a step shortened to the deployment event
+		store.timeStep = Double.NaN;
+		coastEstimate = true;
+		try {
+			while (status.getRocketVelocity().z > 0) {
+				final double t0 = status.getSimulationTime();
+				final double z0 = status.getRocketPosition().z;
+				final double vz0 = status.getRocketVelocity().z;
+				setState(status);
+				computeDerivatives(status, k[0]);
+
+				final boolean descent = isDescent(status);
+				selectTimeStep(status, Double.MAX_VALUE, descent);
+				final double h = store.timeStep;
+				if (descent) {
+					descend(status, h);
+				} else {
+					integrate(status, status2, t0, h);
+					axis = getDirection(status, status.getRocketVelocity().add(store.windVelocity));
+				}
+				status.setSimulationTime(t0 + h);
+
+				final double vz1 = status.getRocketVelocity().z;
+				if (vz1 <= 0) {
+					// Apogee within the step, with the vertical velocity changing linearly
+					final double dt = h * vz0 / (vz0 - vz1);
+					return new FlightData(z0 + vz0 * dt / 2, Double.NaN, Double.NaN, Double.NaN, t0 + dt,
+							Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+				}
+				if (status.getRocketPosition().length2() > 1.0e18) {
+					throw new SimulationCalculationException(trans.get("error.valuesTooLarge"),
+							original.getFlightDataBranch());
+				}
+			}
+			return new FlightData(status.getRocketPosition().z, Double.NaN, Double.NaN, Double.NaN,
+					status.getSimulationTime(), Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+		} finally {
+			coastEstimate = false;
+			axis = originalAxis;
+			store.timeStep = originalTimeStep;
+		}
+	}
+
+	/**
+	 * Select the length of the next time step into <code>store.timeStep</code>, based on the
+	 * derivatives k1 at the start of the step.
+	 * <p>
+	 * The user-selected time step is used under thrust.  During coast and descent the step
+	 * grows so that the velocity changes by at most {@link #MAX_VELOCITY_CHANGE} of the speed
+	 * per step, which keeps the step at the user-selected time step around apogee.  At the
+	 * terminal velocity of the descent the step grows to {@link #MAX_DESCENT_TIME_STEP}.  The
+	 * steps are further limited by the launch rod and the next event.
+	 *
+	 * @param status		the current simulation status.
+	 * @param maxTimeStep	the maximum time step to take (time to the next event).
+	 * @param descent		whether the rocket is tumbling or descending under recovery devices.
+	 */
+	private void selectTimeStep(SimulationStatus status, double maxTimeStep, boolean descent) {
+		final SimulationConditions conditions = status.getSimulationConditions();
+
+		// If the user selected a really small timestep, use MIN_TIME_STEP instead.
+		double timeStep = MathUtil.max(conditions.getTimeStep(), MIN_TIME_STEP);
+		final double[] k1 = k[0];
+		final double speed = MathUtil.safeSqrt(k1[V] * k1[V] + k1[V + 1] * k1[V + 1] + k1[V + 2] * k1[V + 2]);
+		final double acceleration = MathUtil.safeSqrt(k1[A] * k1[A] + k1[A + 1] * k1[A + 1] + k1[A + 2] * k1[A + 2]);
+		if (descent) {
+			// The implicit drag is stable with any step, the step is limited for accuracy only
+			timeStep = MathUtil.min(MAX_DESCENT_TIME_STEP,
+					MathUtil.max(timeStep, MAX_DESCENT_VELOCITY_CHANGE * speed / acceleration),
+					MAX_DESCENT_ALTITUDE_CHANGE / Math.abs(k1[V + 2]));
+		} else if (!status.isLaunchRodCleared()) {
+			// The rod limit is NaN for a zero rod length before liftoff, MathUtil.min ignores it
+			timeStep = MathUtil.min(timeStep, conditions.getLaunchRodLength() / speed / 5);
+		} else {
+			// The drag acceleration limits the explicit step also when it balances gravity
+			final double dragAcceleration = store.dragForce / store.rocketMass.getMass();
+			timeStep = MathUtil.max(timeStep, MAX_VELOCITY_CHANGE * speed / Math.max(acceleration, dragAcceleration));
+		}
+		if (store.timeStep > 0) {
+			timeStep = Math.min(timeStep, 1.5 * store.timeStep);
+		}
+		timeStep = Math.min(timeStep, maxTimeStep);
+
+		// Snap to the next event if close to it, but don't let the step get too small
+		final double minTimeStep = MathUtil.max(conditions.getTimeStep() / 20, MIN_TIME_STEP);
+		if (Math.abs(maxTimeStep - timeStep) < minTimeStep) {
+			timeStep = maxTimeStep;
+		}
+		store.timeStep = Math.max(timeStep, minTimeStep);
+	}
+
+	/**
+	 * Integrate the position and velocity over the time step h with RK4 into the status, using
+	 * the derivatives k1 at the start of the step and the scratch status for the intermediate
+	 * positions.
+	 */
+	private void integrate(SimulationStatus status, SimulationStatus status2, double t0, double h)
+			throws SimulationException {
+
+		intermediate = true;
+		try {
+			//// Second position, k2 = f(t + h/2, y + k1*h/2)
+			setIntermediateState(status2, t0, k[0], h / 2);
+			computeDerivatives(status2, k[1]);
+
+			//// Third position, k3 = f(t + h/2, y + k2*h/2)
+			setIntermediateState(status2, t0, k[1], h / 2);
+			computeDerivatives(status2, k[2]);
+
+			//// Fourth position, k4 = f(t + h, y + k3*h)
+			setIntermediateState(status2, t0, k[2], h);
+			computeDerivatives(status2, k[3]);
+		} finally {
+			intermediate = false;
+		}
+
+		//// Sum all together,  y(n+1) = y(n) + h*(k1 + 2*k2 + 2*k3 + k4)/6
+		status.setRocketVelocity(new Coordinate(
+				velocity[0] + weightedSum(A, 0, h), velocity[1] + weightedSum(A, 1, h), velocity[2] + weightedSum(A, 2, h)));
+		status.setRocketPosition(new Coordinate(
+				position[0] + weightedSum(V, 0, h), position[1] + weightedSum(V, 1, h), position[2] + weightedSum(V, 2, h)));
+	}
+
+	/**
+	 * Take a descent step of length h from the start of the step into the status, using the
+	 * derivatives k1 at the start of the step.
+	 * <p>
+	 * The drag is integrated implicitly, linearized at the start of the step: with the drag
+	 * acceleration c * airspeed, the new velocity is v + h * a / (1 + h * c).  The velocity
+	 * relaxes to the terminal velocity also with steps much longer than the relaxation time,
+	 * where the explicit RK4 steps would oscillate, so the long descents take few steps.
+	 */
+	private void descend(SimulationStatus status, double h) {
+		final double airSpeed = store.flightConditions.getVelocity();
+		double c = 0;
+		if (airSpeed > MathUtil.EPSILON) {
+			c = store.dragForce / (store.rocketMass.getMass() * airSpeed);
+		}
+		final double f = h / (1 + h * c);
+		final double[] k1 = k[0];
+		final double vx = velocity[0] + k1[A] * f;
+		final double vy = velocity[1] + k1[A + 1] * f;
+		final double vz = velocity[2] + k1[A + 2] * f;
+		status.setRocketVelocity(new Coordinate(vx, vy, vz));
+		status.setRocketPosition(new Coordinate(
+				position[0] + (velocity[0] + vx) * h / 2, position[1] + (velocity[1] + vy) * h / 2,
+				position[2] + (velocity[2] + vz) * h / 2));
+	}
+
+	/**
+	 * Return whether the step from above the ground ended below it.
+	 */
+	private boolean isBelowGround(SimulationStatus status) {
+		return status.isLiftoff() && position[2] > 0 && status.getRocketPosition().z < 0;
+	}
+
+	/**
+	 * Return the time step to the ground hit, interpolated linearly in the altitude over the step.
+	 */
+	private double getGroundHitTimeStep(SimulationStatus status) {
+		return Math.max(store.timeStep * position[2] / (position[2] - status.getRocketPosition().z), MIN_TIME_STEP);
+	}
+
+	/**
+	 * Remove the remaining interpolation error of a step shortened to the ground hit.
+	 */
+	private static void landOnGround(SimulationStatus status) {
+		status.setRocketPosition(status.getRocketPosition().setZ(0));
+	}
+
+	/**
+	 * Save the position and velocity at the start of the step.
+	 */
+	private void setState(SimulationStatus status) {
+		position[0] = status.getRocketPosition().x;
+		position[1] = status.getRocketPosition().y;
+		position[2] = status.getRocketPosition().z;
+		velocity[0] = status.getRocketVelocity().x;
+		velocity[1] = status.getRocketVelocity().y;
+		velocity[2] = status.getRocketVelocity().z;
+	}
+
+	/**
+	 * Set the intermediate state y + kn*dt at time t0 + dt into the scratch status.
+	 */
+	private void setIntermediateState(SimulationStatus status2, double t0, double[] kn, double dt) {
+		status2.setSimulationTime(t0 + dt);
+		status2.setRocketPosition(new Coordinate(
+				position[0] + kn[V] * dt, position[1] + kn[V + 1] * dt, position[2] + kn[V + 2] * dt));
+		status2.setRocketVelocity(new Coordinate(
+				velocity[0] + kn[A] * dt, velocity[1] + kn[A + 1] * dt, velocity[2] + kn[A + 2] * dt));
+	}
+
+	/**
+	 * Compute the derivatives at the given status into the row <code>kn</code>.
+	 */
+	private void computeDerivatives(SimulationStatus status, double[] kn) throws SimulationException {
+		calculateFlightConditions(status, store);
+		calculateAcceleration(status, store);
+
+		Coordinate a = store.accelerationData.getLinearAccelerationWC();
+		Coordinate v = status.getRocketVelocity();
+
+		checkNaN(a, "params.a");
+		checkNaN(v, "params.v");
+
+		kn[V] = v.x;
+		kn[V + 1] = v.y;
+		kn[V + 2] = v.z;
+		kn[A] = a.x;
+		kn[A + 1] = a.y;
+		kn[A + 2] = a.z;
+	}
+
+	/**
+	 * Return the summed component <code>i</code> of h*(k1 + 2*k2 + 2*k3 + k4)/6 for the vector at
+	 * <code>offset</code>.
+	 */
+	private double weightedSum(int offset, int i, double h) {
+		final int n = offset + i;
+		return (((k[1][n] + k[2][n]) * 2 + k[0][n]) + k[3][n]) * (h / 6);
+	}
+
+	/**
+	 * Calculate the flight conditions at zero angle of attack, allowing listeners to override.
+	 */
+	@Override
+	protected void calculateFlightConditions(SimulationStatus status, DataStore store)
+			throws SimulationException {
+
+		// Call pre listeners, allow complete override
+		store.flightConditions = SimulationListenerHelper.firePreFlightConditions(status);
+		if (store.flightConditions != null) {
+			store.thetaRotation = new Rotation2D(store.flightConditions.getTheta());
+			store.lateralPitchRate = Math.hypot(store.flightConditions.getPitchRate(), store.flightConditions.getYawRate());
+			return;
+		}
+
+		store.flightConditions = newFlightConditions(status, store);
+		modelAtmosphericConditions(status, store.flightConditions);
+
+		store.windVelocity = modelWindVelocity(status);
+		store.flightConditions.setVelocity(status.getRocketVelocity().add(store.windVelocity).length());
+		if (isDescent(status)) {
+			// The orientation is not modeled during descent
+			store.flightConditions.setAOA(Double.NaN);
+			store.flightConditions.setRollRate(Double.NaN);
+			store.flightConditions.setPitchRate(Double.NaN);
+			store.flightConditions.setYawRate(Double.NaN);
+		} else {
+			store.flightConditions.setAOA(0);
+		}
+		store.thetaRotation = Rotation2D.ID;
+		store.lateralPitchRate = 0;
+
+		// Call post listeners
+		FlightConditions c = SimulationListenerHelper.firePostFlightConditions(status, store.flightConditions);
+		if (c != store.flightConditions) {
+			store.flightConditions = c;
+			store.thetaRotation = new Rotation2D(store.flightConditions.getTheta());
+			store.lateralPitchRate = Math.hypot(store.flightConditions.getPitchRate(), store.flightConditions.getYawRate());
+		}
+	}
+
+	@Override
+	void calculateAcceleration(SimulationStatus status, DataStore store) throws SimulationException {
+
+		// Call pre-listeners
+		store.accelerationData = SimulationListenerHelper.firePreAccelerationCalculation(status);
+
+		// Calculate acceleration (if not overridden by pre-listeners)
+		if (store.accelerationData == null) {
+			store.accelerationData = computeAcceleration(status, store);
+		}
+
+		// Call post-listeners
+		store.accelerationData = SimulationListenerHelper.firePostAccelerationCalculation(status, store.accelerationData);
+	}
+
+	/**
+	 * Calculate the linear acceleration of the point mass at the given status.
+	 */
+	private AccelerationData computeAcceleration(SimulationStatus status, DataStore store) throws SimulationException {
+
+		// Calculate mass data
+		RigidBody structureMassData = calculateStructureMass(status);
+		if (intermediate) {
+			store.motorMass = calculateIntermediateMotorMass(status);
+		} else {
+			store.motorMass = calculateMotorMass(status);
+			stepMotorMass = store.motorMass;
+			stepIgnitedMotorMass = getIgnitedMotorMass(status);
+		}
+		store.rocketMass = structureMassData.add(store.motorMass);
+
+		final double mass = store.rocketMass.getMass();
+		if (mass < MathUtil.EPSILON) {
+			status.abortSimulation(SimulationAbort.Cause.ACTIVE_MASS_ZERO);
+		}
+
+		// Compute the drag and thrust
+		calculateForces(status, store);
+
+		final double dynP = (0.5 * store.flightConditions.getAtmosphericConditions().getDensity() *
+				MathUtil.pow2(store.flightConditions.getVelocity()));
+		store.dragForce = store.forces.getCDaxial() * dynP * store.flightConditions.getRefArea();
+		final boolean descent = isDescent(status);
+		store.thrustForce = descent ? 0 : calculateThrust(status, store);
+
+		// Thrust along the rocket axis, drag against the relative wind
+		final Coordinate airSpeed = status.getRocketVelocity().add(store.windVelocity);
+		final double airSpeedLength = airSpeed.length();
+		final Coordinate direction = getDirection(status, airSpeed);
+		Coordinate linearAcceleration = direction.multiply(store.thrustForce / mass);
+		if (airSpeedLength > MathUtil.EPSILON) {
+			linearAcceleration = linearAcceleration.sub(airSpeed.multiply(store.dragForce / (mass * airSpeedLength)));
+		}
+
+		// add effect of gravity
+		store.gravity = modelGravity(status);
+		linearAcceleration = linearAcceleration.sub(0, 0, store.gravity);
+
+		// add effect of Coriolis acceleration
+		store.coriolisAcceleration = status.getSimulationConditions().getGeodeticComputation()
+				.getCoriolisAcceleration(status.getRocketWorldPosition(), status.getRocketVelocity());
+		linearAcceleration = linearAcceleration.add(store.coriolisAcceleration);
+
+		if (!status.isLiftoff()) {
+			// If we haven't taken off yet, don't sink into the ground
+			if (linearAcceleration.z < 0) {
+				linearAcceleration = Coordinate.ZERO;
+			}
+		} else if (!status.isLaunchRodCleared()) {
+			// If still on the launch rod, project acceleration onto launch rod direction
+			linearAcceleration = store.launchRodDirection.multiply(linearAcceleration.dot(store.launchRodDirection));
+		}
+
+		final Quaternion orientation = descent ? status.getRocketOrientationQuaternion() : orientationAlong(direction);
+		return new AccelerationData(null, null, linearAcceleration, Coordinate.NUL, orientation);
+	}
+
+	/**
+	 * Calculate the motor mass at an intermediate position of the step, allowing listeners to
+	 * override.  Only the mass matters for a point mass, so instead of calculating the mass data
+	 * of the motors again, the mass at the start of the step is adjusted by the mass change of
+	 * the ignited motors.
+	 */
+	private RigidBody calculateIntermediateMotorMass(SimulationStatus status) throws SimulationException {
+
+		// Call pre-listener
+		RigidBody motorMass = SimulationListenerHelper.firePreMassCalculation(status);
+		if (motorMass != null) {
+			return motorMass;
+		}
+
+		motorMass = stepMotorMass;
+		final double change = getIgnitedMotorMass(status) - stepIgnitedMotorMass;
+		if (change != 0) {
+			final Coordinate cm = motorMass.getCenterOfMass();
+			motorMass = new RigidBody(cm.setWeight(cm.weight + change), motorMass.Ixx, motorMass.Iyy, motorMass.Izz);
+		}
+
+		// Call post-listener
+		return SimulationListenerHelper.firePostMassCalculation(status, motorMass);
+	}
+
+	/**
+	 * Return the total mass of the ignited motors at the time of the status.
+	 */
+	private static double getIgnitedMotorMass(SimulationStatus status) {
+		final double time = status.getSimulationTime();
+		double mass = 0;
+		for (MotorClusterState state : status.getActiveMotors()) {
+			if (!Double.isNaN(state.getIgnitionTime())) {
+				mass += state.getMotorCount() * state.getTotalMass(state.getMotorTime(time));
+			}
+		}
+		return mass;
+	}
+
+	/**
+	 * Calculate the aerodynamic forces, which only contain the drag coefficient, into the
+	 * data store, allowing listeners to override.  During descent the drag coefficient is that
+	 * of {@link BasicTumbleStepper} or {@link BasicLandingStepper}.
+	 */
+	private void calculateForces(SimulationStatus status, DataStore store) throws SimulationException {
+
+		// Call pre-listeners
+		store.forces = SimulationListenerHelper.firePreAerodynamicCalculation(status);
+		if (store.forces != null) {
+			return;
+		}
+
+		AerodynamicForces forces = new AerodynamicForces();
+		if (isDescent(status)) {
+			final double cd = getDescentDragCoefficient(status);
+			forces.setCD(cd);
+			forces.setCDaxial(cd);
+			forces.setFrictionCD(0);
+			forces.setPressureCD(cd);
+			forces.setBaseCD(0);
+		} else {
+			final double cd = getDragCoefficient(status, store.flightConditions);
+			forces.setCD(cd);
+			forces.setCDaxial(cd);
+			forces.setCP(Coordinate.NaN);
+		}
+
+		// Call post-listeners
+		store.forces = SimulationListenerHelper.firePostAerodynamicCalculation(status, forces);
+	}
+
+	/**
+	 * Return the drag coefficient of the tumbling rocket or of the deployed recovery devices.
+	 */
+	private double getDescentDragCoefficient(SimulationStatus status) {
+		final FlightConfiguration configuration = status.getConfiguration();
+		final int deployedRecoveryDevices = status.getDeployedRecoveryDevices().size();
+		if (configuration.getModID() != descentConfigurationModID ||
+				configuration.getRocket().getAerodynamicModID() != descentAerodynamicModID ||
+				deployedRecoveryDevices != descentRecoveryDevices) {
+			descentConfigurationModID = configuration.getModID();
+			descentAerodynamicModID = configuration.getRocket().getAerodynamicModID();
+			descentRecoveryDevices = deployedRecoveryDevices;
+			if (deployedRecoveryDevices > 0) {
+				descentDragCoefficient = BasicLandingStepper.computeRecoveryCD(status);
+			} else {
+				descentDragCoefficient = BasicTumbleStepper.computeTumbleCD(configuration);
+			}
+		}
+		return descentDragCoefficient;
+	}
+
+	/**
+	 * Return the zero angle of attack drag coefficient at the given flight conditions,
+	 * interpolated from the drag coefficient grid.
+	 */
+	private double getDragCoefficient(SimulationStatus status, FlightConditions conditions) {
+		final FlightConfiguration configuration = status.getConfiguration();
+		final Rocket rocket = configuration.getRocket();
+		if (configuration.getModID() != dragConfigurationModID ||
+				rocket.getAerodynamicModID() != dragAerodynamicModID ||
+				rocket.getTreeModID() != dragTreeModID) {
+			// Stage separation or a modified rocket
+			dragGrid = getDragGrid(status);
+			dragConfigurationModID = configuration.getModID();
+			dragAerodynamicModID = rocket.getAerodynamicModID();
+			dragTreeModID = rocket.getTreeModID();
+		}
+
+		final double reynolds = conditions.getVelocity() * dragGrid.lengthAerodynamic /
+				conditions.getAtmosphericConditions().getKinematicViscosity();
+		final double logReynolds = Math.max(Math.log10(Math.max(reynolds, 1)), MIN_LOG_REYNOLDS);
+
+		final double m = Math.max(conditions.getMach(), 0) / MACH_STEP;
+		final double r = logReynolds / LOG_REYNOLDS_STEP;
+		final int i = (int) m;
+		final int j = (int) r;
+		final double fm = m - i;
+		final double fr = r - j;
+
+		final double cd00 = getSample(status, i, j);
+		final double cd01 = getSample(status, i, j + 1);
+		final double cd10 = getSample(status, i + 1, j);
+		final double cd11 = getSample(status, i + 1, j + 1);
+		final double cd0 = cd00 + (cd01 - cd00) * fr;
+		final double cd1 = cd10 + (cd11 - cd10) * fr;
+		return cd0 + (cd1 - cd0) * fm;
+	}
+
+	/**
+	 * Return the drag coefficient grid of the configuration of the status.  A grid built earlier
+	 * for the same rocket design, active stages and aerodynamic calculator is reused.
+	 */
+	private static DragGrid getDragGrid(SimulationStatus status) {
+		final FlightConfiguration configuration = status.getConfiguration();
+		final Rocket rocket = configuration.getRocket();
+		final List<Integer> stages = new ArrayList<>();
+		for (AxialStage stage : configuration.getActiveStages()) {
+			stages.add(stage.getStageNumber());
+		}
+		final DragGridKey key = new DragGridKey(rocket.getAerodynamicModID(), rocket.getTreeModID(), stages,
+				status.getSimulationConditions().getAerodynamicCalculator().getClass());
+		synchronized (sharedGrids) {
+			return sharedGrids.computeIfAbsent(key, k -> new DragGrid(configuration.getLengthAerodynamic()));
+		}
+	}
+
+	/**
+	 * Return the drag coefficient at the grid point (i * MACH_STEP, j * LOG_REYNOLDS_STEP),
+	 * calculating it if necessary.  The warnings of the calculation are added to the status
+	 * whenever the point is used.
+	 */
+	private double getSample(SimulationStatus status, int i, int j) {
+		final long key = ((long) i << 32) | j;
+		DragSample sample = dragGrid.samples.get(key);
+		if (sample == null) {
+			sample = sampleDragCoefficient(status, i * MACH_STEP, j * LOG_REYNOLDS_STEP);
+			dragGrid.samples.putIfAbsent(key, sample);
+		}
+		if (sample.warnings != null && status.recordWarnings()) {
+			status.addWarnings(sample.warnings);
+		}
+		return sample.cd;
+	}
+
+	/**
+	 * Calculate the drag coefficient at the given Mach and Reynolds numbers, adjusting the air
+	 * pressure of a standard atmosphere to give the Reynolds number.
+	 */
+	private DragSample sampleDragCoefficient(SimulationStatus status, double mach, double logReynolds) {
+		final FlightConfiguration configuration = status.getConfiguration();
+		final double sampleMach = Math.max(mach, MIN_SAMPLE_MACH);
+		final AtmosphericConditions standard = new AtmosphericConditions();
+		final double sampleVelocity = sampleMach * standard.getMachSpeed();
+		final double kinematicViscosity = sampleVelocity * dragGrid.lengthAerodynamic / Math.pow(10, logReynolds);
+
+		FlightConditions conditions = new FlightConditions(configuration);
+		conditions.setAtmosphericConditions(new AtmosphericConditions(standard.getTemperature(),
+				standard.getPressure() * standard.getKinematicViscosity() / kinematicViscosity));
+		conditions.setMach(sampleMach);
+
+		WarningSet warnings = new WarningSet();
+		final double cd = status.getSimulationConditions().getAerodynamicCalculator()
+				.getZeroAOADragCoefficient(configuration, conditions, warnings);
+		return new DragSample(cd, warnings.isEmpty() ? null : warnings);
+	}
+
+	/**
+	 * Return whether the rocket is tumbling or descending under recovery devices.
+	 */
+	private boolean isDescent(SimulationStatus status) {
+		return status.isTumbling() || (!coastEstimate && !status.getDeployedRecoveryDevices().isEmpty());
+	}
+
+	/**
+	 * Return the direction of the rocket axis: the launch rod until it is cleared, and the
+	 * relative wind afterwards.
+	 */
+	private Coordinate getDirection(SimulationStatus status, Coordinate airSpeed) {
+		if (!status.isLaunchRodCleared()) {
+			return store.launchRodDirection;
+		}
+		final double length = airSpeed.length();
+		if (length < MIN_DIRECTION_AIRSPEED) {
+			return axis;
+		}
+		return airSpeed.multiply(1 / length);
+	}
+
+	/**
+	 * Return the orientation which rotates the rocket axis (0,0,1) to the given unit direction.
+	 */
+	private static Quaternion orientationAlong(Coordinate direction) {
+		// Rotation axis (0,0,1) x direction, with the rotation angle as length
+		final double x = -direction.y;
+		final double y = direction.x;
+		final double sin = MathUtil.hypot(x, y);
+		if (sin < MathUtil.EPSILON) {
+			return direction.z > 0 ? new Quaternion() : Quaternion.rotation(new Coordinate(Math.PI, 0, 0));
+		}
+		final double angle = Math.atan2(sin, direction.z);
+		return Quaternion.rotation(new Coordinate(x * angle / sin, y * angle / sin, 0));
+	}
+
+	/**
+	 * Identifies the drag of a rocket configuration: the rocket design, the active stages and
+	 * the aerodynamic calculator.  Motors do not affect the drag.
+	 */
+	private record DragGridKey(ModID aerodynamicModID, ModID treeModID, List<Integer> activeStages,
+			Class<?> calculator) {
+	}
+
+	/**
+	 * Drag coefficients sampled on the grid, shared between the simulations of the same
+	 * rocket design, like the coefficient tables of {@link BarrowmanCalculator}.
+	 */
+	private static final class DragGrid {
+		/** Samples by grid index */
+		final Map<Long, DragSample> samples = new ConcurrentHashMap<>();
+		final double lengthAerodynamic;
+
+		DragGrid(double lengthAerodynamic) {
+			this.lengthAerodynamic = lengthAerodynamic;
+		}
+	}
+
+	/**
+	 * A drag coefficient and the warnings of its calculation, or <code>null</code> if there were none.
+	 */
+	private record DragSample(double cd, WarningSet warnings) {
+	}
+}
@@ -1,7 +1,6 @@
 package info.openrocket.core.simulation;
 
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Random;
 
 import info.openrocket.core.logging.SimulationAbort;
@@ -66,6 +65,9 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 	
 	private Random random;
 	DataStore store = new DataStore();
+
+	// Time step limits, reused between steps
+	private final double[] dt = new double[8];
 	
 	@Override
 	public SimulationStatus initialize(SimulationStatus original) {
@@ -121,67 +123,7 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 			return;
 		}
 		
-		/*
-		 * Select the actual time step to use.  It is the minimum of the following:
-		 *  dt[0]:  the user-specified time step (or 1/5th of it if still on the launch rod)
-		 *  dt[1]:  the value of maxTimeStep
-		 *  dt[2]:  the maximum pitch step angle limit
-		 *  dt[3]:  the maximum roll step angle limit
-		 *  dt[4]:  the maximum roll rate change limit
-		 *  dt[5]:  the maximum pitch change limit
-		 *  dt[6]:  1/10th of the launch rod length if still on the launch rod
-		 *  dt[7]:  1.50 times the previous time step
-		 * 
-		 * The limits #5 and #6 are required since near the steady-state roll rate the roll rate
-		 * may oscillate significantly even between the sub-steps of the RK4 integration.
-		 * 
-		 * The step is still at least 1/20th of the user-selected time step.
-		 */
-		double[] dt = new double[8];
-		Arrays.fill(dt, Double.MAX_VALUE);
-
-		// If the user selected a really small timestep, use MIN_TIME_STEP instead.
-		dt[0] = MathUtil.max(status.getSimulationConditions().getTimeStep(), MIN_TIME_STEP);
-		dt[1] = maxTimeStep;
-		dt[2] = status.getSimulationConditions().getMaximumAngleStep() / store.lateralPitchRate;
-		dt[3] = Math.abs(MAX_ROLL_STEP_ANGLE / store.flightConditions.getRollRate());
-		dt[4] = Math.abs(MAX_ROLL_RATE_CHANGE / store.accelerationData.getRotationalAccelerationRC().z);
-		dt[5] = Math.abs(MAX_PITCH_YAW_CHANGE /
-						 MathUtil.max(Math.abs(store.accelerationData.getRotationalAccelerationRC().x),
-									  Math.abs(store.accelerationData.getRotationalAccelerationRC().y)));
-		if (!status.isLaunchRodCleared()) {
-			dt[0] /= 5.0;
-			dt[6] = status.getSimulationConditions().getLaunchRodLength() / k1.v.length() / 10;
-		}
-		dt[7] = 1.5 * store.timeStep;
-		
-		store.timeStep = Double.MAX_VALUE;
-		int limitingValue = -1;
-		for (int i = 0; i < dt.length; i++) {
-			if (dt[i] < store.timeStep) {
-				store.timeStep = dt[i];
-				limitingValue = i;
-			}
-		}
-
-		log.trace("Selected time step " + store.timeStep + " (limiting factor " + limitingValue + ")");
-
-		// If our selected time step is too close to our next scheduled event,
-		// (passed in as maxTimeStep) adjust
-		double minTimeStep = status.getSimulationConditions().getTimeStep() / 20;
-
-		if (Math.abs(maxTimeStep - store.timeStep) < minTimeStep) {
-			store.timeStep = maxTimeStep;
-			log.trace("selected time step too close to maxTimeStep; adjusted to " + store.timeStep);
-		}
-
-		// If we've wound up with a too-small timestep, increase it avoid numerical instability even at the
-		// cost of not being *quite* on an event
-		if (store.timeStep < minTimeStep) {
-			log.trace("Too small time step " + store.timeStep + " (limiting factor " + limitingValue + "), using " +
-					minTimeStep + " instead.");
-			store.timeStep = minTimeStep;
-		}
+		selectTimeStep(status, maxTimeStep, k1.v.length());
 
 		// TODO: MEDIUM: Store acceleration etc of entire RK4 step, store should be cloned or something...
 		store.storeData(status);
@@ -254,6 +196,80 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 		}
 	}
 
+	/**
+	 * Select the length of the next time step into <code>store.timeStep</code>, based on the
+	 * derivatives computed for the start of the step.
+	 *
+	 * @param status		the current simulation status.
+	 * @param maxTimeStep	the maximum time step to take (time to the next event).
+	 * @param speed			the current speed of the rocket.
+	 */
+	void selectTimeStep(SimulationStatus status, double maxTimeStep, double speed) {
+		/*
+		 * Select the actual time step to use.  It is the minimum of the following:
+		 *  dt[0]:  the user-specified time step (or 1/5th of it if still on the launch rod)
+		 *  dt[1]:  the value of maxTimeStep
+		 *  dt[2]:  the maximum pitch step angle limit
+		 *  dt[3]:  the maximum roll step angle limit
+		 *  dt[4]:  the maximum roll rate change limit
+		 *  dt[5]:  the maximum pitch change limit
+		 *  dt[6]:  1/10th of the launch rod length if still on the launch rod
+		 *  dt[7]:  1.50 times the previous time step
+		 * 
+		 * The limits #5 and #6 are required since near the steady-state roll rate the roll rate
+		 * may oscillate significantly even between the sub-steps of the RK4 integration.
+		 * 
+		 * The step is still at least 1/20th of the user-selected time step.
+		 */
+		Arrays.fill(dt, Double.MAX_VALUE);
+
+		// If the user selected a really small timestep, use MIN_TIME_STEP instead.
+		dt[0] = MathUtil.max(status.getSimulationConditions().getTimeStep(), MIN_TIME_STEP);
+		dt[1] = maxTimeStep;
+		dt[2] = status.getSimulationConditions().getMaximumAngleStep() / store.lateralPitchRate;
+		dt[3] = Math.abs(MAX_ROLL_STEP_ANGLE / store.flightConditions.getRollRate());
+		dt[4] = Math.abs(MAX_ROLL_RATE_CHANGE / store.accelerationData.getRotationalAccelerationRC().z);
+		dt[5] = Math.abs(MAX_PITCH_YAW_CHANGE /
+						 MathUtil.max(Math.abs(store.accelerationData.getRotationalAccelerationRC().x),
+									  Math.abs(store.accelerationData.getRotationalAccelerationRC().y)));
+		if (!status.isLaunchRodCleared()) {
+			dt[0] /= 5.0;
+			dt[6] = status.getSimulationConditions().getLaunchRodLength() / speed / 10;
+		}
+		dt[7] = 1.5 * store.timeStep;
+		
+		store.timeStep = Double.MAX_VALUE;
+		int limitingValue = -1;
+		for (int i = 0; i < dt.length; i++) {
+			if (dt[i] < store.timeStep) {
+				store.timeStep = dt[i];
+				limitingValue = i;
+			}
+		}
+
+		// Avoid building the message on every step when tracing is disabled
+		if (log.isTraceEnabled()) {
+			log.trace("Selected time step " + store.timeStep + " (limiting factor " + limitingValue + ")");
+		}
+
+		// If our selected time step is too close to our next scheduled event,
+		// (passed in as maxTimeStep) adjust
+		double minTimeStep = status.getSimulationConditions().getTimeStep() / 20;
+
+		if (Math.abs(maxTimeStep - store.timeStep) < minTimeStep) {
+			store.timeStep = maxTimeStep;
+			log.trace("selected time step too close to maxTimeStep; adjusted to " + store.timeStep);
+		}
+
+		// If we've wound up with a too-small timestep, increase it avoid numerical instability even at the
+		// cost of not being *quite* on an event
+		if (store.timeStep < minTimeStep) {
+			log.trace("Too small time step " + store.timeStep + " (limiting factor " + limitingValue + "), using " +
+					minTimeStep + " instead.");
+			store.timeStep = minTimeStep;
+		}
+	}
+
 	private RK4Parameters computeParameters(SimulationStatus status, DataStore store)
 			throws SimulationException {
 		RK4Parameters params = new RK4Parameters();
@@ -289,39 +305,6 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 
 	}
 
-	/**
-	 * Calculate the thrust produced by the motors in the current
-	 * configuration, at the current simulation time, allowing listeners to override
-	 * TODO: HIGH:  This method does not take into account any moments generated by off-center motors.
-	 *  
-	 * @param status					the current simulation status.
-	 * @param store                     the simulation calculation DataStore (contains acceleration, atmosphere)
-	 * @return							the average thrust during the time step.
-	 */
-	protected double calculateThrust(SimulationStatus status,
-									 DataStore store) throws SimulationException {
-		double thrust;
-
-		// Pre-listeners
-		thrust = SimulationListenerHelper.firePreThrustCalculation(status);
-		if (!Double.isNaN(thrust)) {
-			return thrust;
-		}
-
-		thrust = 0;
-		Collection<MotorClusterState> activeMotorList = status.getActiveMotors();
-		for (MotorClusterState currentMotorState : activeMotorList ) {
-			thrust += currentMotorState.getThrust( status.getSimulationTime() );
-		}
-
-		// Post-listeners
-		thrust = SimulationListenerHelper.firePostThrustCalculation(status, thrust);
-
-		checkNaN(thrust, "thrust");
-
-		return thrust;
-	}
-
 	/**
 	 * Calculate the linear and angular acceleration at the given status.  The results
 	 * are stored in the fields {@link #linearAcceleration} and {@link #angularAcceleration}.
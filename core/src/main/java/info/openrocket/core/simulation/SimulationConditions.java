@@ -1,7 +1,9 @@
 package info.openrocket.core.simulation;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import info.openrocket.core.aerodynamics.AerodynamicCalculator;
 import info.openrocket.core.document.Simulation;
@@ -11,6 +13,7 @@ import info.openrocket.core.models.gravity.GravityModel;
 import info.openrocket.core.models.wind.WindModel;
 import info.openrocket.core.rocketcomponent.FlightConfigurationId;
 import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.datasink.FlightDataSink;
 import info.openrocket.core.simulation.listeners.SimulationListener;
 import info.openrocket.core.util.BugException;
 import info.openrocket.core.util.Coordinate;
@@ -64,6 +67,14 @@ public class SimulationConditions implements Monitorable, Cloneable {
 
 	private int randomSeed = 0;
 
+	private boolean parallelBranches = false;
+
+	private boolean adaptiveStepping = false;
+
+	private Map<SimulationStepperRegistry.Phase, String> steppers = new EnumMap<>(SimulationStepperRegistry.Phase.class);
+
+	private FlightDataSink.Factory dataSinkFactory = null;
+
 	private ModID modID = ModID.INVALID;
 	private ModID modIDadd = ModID.INVALID;
 
@@ -238,6 +249,82 @@ public class SimulationConditions implements Monitorable, Cloneable {
 		this.modID = new ModID();
 	}
 
+	/**
+	 * Return whether the branches created at stage separation are simulated concurrently.
+	 */
+	public boolean isParallelBranches() {
+		return parallelBranches;
+	}
+
+	/**
+	 * Set whether the branches created at stage separation are simulated concurrently.  The
+	 * resulting flight data contains the same branches in the same order as a sequential run.
+	 *
+	 * @param parallelBranches	<code>true</code> to simulate separated stages in parallel.
+	 */
+	public void setParallelBranches(boolean parallelBranches) {
+		this.parallelBranches = parallelBranches;
+		this.modID = new ModID();
+	}
+
+	/**
+	 * Return whether the flight is integrated using {@link AdaptiveRK45SimulationStepper}.
+	 */
+	public boolean isAdaptiveStepping() {
+		return adaptiveStepping;
+	}
+
+	public void setAdaptiveStepping(boolean adaptiveStepping) {
+		this.adaptiveStepping = adaptiveStepping;
+		this.modID = new ModID();
+	}
+
+	/**
+	 * Return the ID of the stepper selected for a phase of the flight, or <code>null</code>
+	 * if the default stepper is used.  For the flight phase, a selected stepper takes
+	 * precedence over {@link #isAdaptiveStepping()}.
+	 *
+	 * @see SimulationStepperRegistry
+	 */
+	public String getStepper(SimulationStepperRegistry.Phase phase) {
+		return steppers.get(phase);
+	}
+
+	/**
+	 * Select the stepper used for a phase of the flight.
+	 *
+	 * @param phase	the phase of the flight.
+	 * @param id	the ID of the stepper in the {@link SimulationStepperRegistry}, or
+	 * 				<code>null</code> to use the default stepper.
+	 */
+	public void setStepper(SimulationStepperRegistry.Phase phase, String id) {
+		if (id == null) {
+			steppers.remove(phase);
+		} else {
+			steppers.put(phase, id);
+		}
+		this.modID = new ModID();
+	}
+
+	/**
+	 * Return the factory of the data sinks the flight data is passed to, or <code>null</code>
+	 * if all flight data is kept in memory.
+	 */
+	public FlightDataSink.Factory getDataSinkFactory() {
+		return dataSinkFactory;
+	}
+
+	/**
+	 * Set how the flight data of each branch is stored, see {@link FlightDataSink}.
+	 *
+	 * @param dataSinkFactory	the data sink factory, or <code>null</code> to keep all flight
+	 * 							data in memory.
+	 */
+	public void setDataSinkFactory(FlightDataSink.Factory dataSinkFactory) {
+		this.dataSinkFactory = dataSinkFactory;
+		this.modID = new ModID();
+	}
+
 	public void setSimulation(Simulation sim) {
 		this.simulation = sim;
 	}
@@ -262,6 +349,7 @@ public class SimulationConditions implements Monitorable, Cloneable {
 			// TODO: HIGH: Deep clone models
 			SimulationConditions clone = (SimulationConditions) super.clone();
 			clone.simulationListeners = new ArrayList<>(this.simulationListeners.size());
+			clone.steppers = new EnumMap<>(this.steppers);
 			for (SimulationListener listener : this.simulationListeners) {
 				clone.simulationListeners.add(listener.clone());
 			}
@@ -272,4 +360,22 @@ public class SimulationConditions implements Monitorable, Cloneable {
 		}
 	}
 
+	/**
+	 * Return a copy of these conditions that can be used by a simulation branch running
+	 * concurrently with the branch using these conditions.  In addition to {@link #clone()},
+	 * the wind model and the (caching) aerodynamic calculator are not shared.  The wind of the
+	 * built-in wind models depends only on their seed, the time and the altitude, so the
+	 * cloned wind model gives the same wind as the original.
+	 */
+	public SimulationConditions cloneForBranch() {
+		SimulationConditions clone = clone();
+		if (windModel != null) {
+			clone.windModel = windModel.clone();
+		}
+		if (aerodynamicCalculator != null) {
+			clone.aerodynamicCalculator = aerodynamicCalculator.newInstance();
+		}
+		return clone;
+	}
+
 }
@@ -1,9 +1,12 @@
 package info.openrocket.core.simulation;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.EventListener;
 import java.util.EventObject;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Random;
 
 import info.openrocket.core.models.wind.MultiLevelPinkNoiseWindModel;
@@ -79,6 +82,15 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 	
 	private int randomSeed = new Random().nextInt();
 
+	private boolean parallelBranches = false;
+	private boolean adaptiveStepping = false;
+	private Map<SimulationStepperRegistry.Phase, String> steppers = new EnumMap<>(SimulationStepperRegistry.Phase.class);
+	private boolean tabulatedAerodynamics = false;
+
+	// Not an option: shared by the simulations run with these options, so that the structure mass cache
+	// of the calculator is reused from one run to the next
+	private final MassCalculator massCalculator = new MassCalculator();
+
 	private List<EventListener> listeners = new ArrayList<>();
 
 	private WindModelType windModelType = WindModelType.AVERAGE;
@@ -387,6 +399,80 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 		// fireChangeEvent();
 	}
 
+	public boolean isParallelBranches() {
+		return parallelBranches;
+	}
+
+	/**
+	 * Set whether separated stages are simulated concurrently.  This does not change the
+	 * simulation results, so it does not fire a change event.
+	 */
+	public void setParallelBranches(boolean parallelBranches) {
+		this.parallelBranches = parallelBranches;
+	}
+
+	public boolean isAdaptiveStepping() {
+		return adaptiveStepping;
+	}
+
+	/**
+	 * Set whether the flight is integrated with the adaptive
+	 * {@link AdaptiveRK45SimulationStepper} instead of the RK4 stepper.  The step size control
+	 * changes the results, so this fires a change event.
+	 */
+	public void setAdaptiveStepping(boolean adaptiveStepping) {
+		if (this.adaptiveStepping == adaptiveStepping)
+			return;
+		this.adaptiveStepping = adaptiveStepping;
+		fireChangeEvent();
+	}
+
+	/**
+	 * Return the ID of the stepper selected for a phase of the flight, or <code>null</code>
+	 * if the default stepper is used.
+	 *
+	 * @see SimulationStepperRegistry
+	 */
+	public String getStepper(SimulationStepperRegistry.Phase phase) {
+		return steppers.get(phase);
+	}
+
+	/**
+	 * Select the stepper used for a phase of the flight.  For the flight phase, a selected
+	 * stepper takes precedence over adaptive stepping, and is also used for the descent phases
+	 * without a selected stepper if it can simulate them.  Other steppers generally change the
+	 * results, so this fires a change event.
+	 *
+	 * @param phase	the phase of the flight.
+	 * @param id	the ID of the stepper in the {@link SimulationStepperRegistry}, or
+	 * 				<code>null</code> to use the default stepper.
+	 */
+	public void setStepper(SimulationStepperRegistry.Phase phase, String id) {
+		if (Objects.equals(steppers.get(phase), id))
+			return;
+		if (id == null) {
+			steppers.remove(phase);
+		} else {
+			steppers.put(phase, id);
+		}
+		fireChangeEvent();
+	}
+
+	public boolean isTabulatedAerodynamics() {
+		return tabulatedAerodynamics;
+	}
+
+	/**
+	 * Set whether the aerodynamic coefficients are interpolated from a precomputed table instead
+	 * of being calculated exactly at each step.  The interpolation slightly changes the results.
+	 */
+	public void setTabulatedAerodynamics(boolean tabulatedAerodynamics) {
+		if (this.tabulatedAerodynamics == tabulatedAerodynamics)
+			return;
+		this.tabulatedAerodynamics = tabulatedAerodynamics;
+		fireChangeEvent();
+	}
+
 	/**
 	 * Randomize the random seed value.
 	 */
@@ -405,6 +491,7 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 			copy.multiLevelPinkNoiseWindModel = this.multiLevelPinkNoiseWindModel.clone();
 
 			copy.windModelType = this.windModelType;
+			copy.steppers = new EnumMap<>(this.steppers);
 
 			// Create a new list for listeners
 			copy.listeners = new ArrayList<>();
@@ -491,6 +578,21 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 			isChanged = true;
 			this.geodeticComputation = src.geodeticComputation;
 		}
+		if (this.tabulatedAerodynamics != src.tabulatedAerodynamics) {
+			isChanged = true;
+			this.tabulatedAerodynamics = src.tabulatedAerodynamics;
+		}
+		if (this.adaptiveStepping != src.adaptiveStepping) {
+			isChanged = true;
+			this.adaptiveStepping = src.adaptiveStepping;
+		}
+		if (!this.steppers.equals(src.steppers)) {
+			isChanged = true;
+			this.steppers.clear();
+			this.steppers.putAll(src.steppers);
+		}
+
+		this.parallelBranches = src.parallelBranches;
 
 		if (isChanged) {
 			// Only copy the randomSeed if something else has changed.
@@ -521,6 +623,9 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 				MathUtil.equals(this.maximumAngle, o.maximumAngle) &&
 				MathUtil.equals(this.timeStep, o.timeStep) &&
 				MathUtil.equals(this.maxSimulationTime, o.maxSimulationTime)) &&
+				this.tabulatedAerodynamics == o.tabulatedAerodynamics &&
+				this.adaptiveStepping == o.adaptiveStepping &&
+				this.steppers.equals(o.steppers) &&
 				this.windModelType == o.windModelType &&
 				this.averageWindModel.equals(o.averageWindModel) &&
 				this.multiLevelPinkNoiseWindModel.equals(o.multiLevelPinkNoiseWindModel);
@@ -578,12 +683,17 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 		GravityModel gravityModel = new WGSGravityModel();
 		conditions.setGravityModel(gravityModel);
 
-		conditions.setAerodynamicCalculator(new BarrowmanCalculator());
-		conditions.setMassCalculator(new MassCalculator());
+		conditions.setAerodynamicCalculator(new BarrowmanCalculator(isTabulatedAerodynamics()));
+		conditions.setMassCalculator(massCalculator);
 
 		conditions.setTimeStep(getTimeStep());
 		conditions.setMaxSimulationTime(getMaxSimulationTime());
 		conditions.setMaximumAngleStep(getMaximumStepAngle());
+		conditions.setParallelBranches(isParallelBranches());
+		conditions.setAdaptiveStepping(isAdaptiveStepping());
+		for (Map.Entry<SimulationStepperRegistry.Phase, String> entry : steppers.entrySet()) {
+			conditions.setStepper(entry.getKey(), entry.getValue());
+		}
 
 		return conditions;
 	}
@@ -608,6 +718,9 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 				.concat(String.format("    timeStep:  %f\n", timeStep))
 				.concat(String.format("    maxTime:  %f\n", maxSimulationTime))
 				.concat(String.format("    maximumAngle:  %f\n", maximumAngle))
+				.concat(String.format("    tabulatedAerodynamics:  %b\n", tabulatedAerodynamics))
+				.concat(String.format("    adaptiveStepping:  %b\n", adaptiveStepping))
+				.concat(String.format("    steppers:  %s\n", steppers))
 				.concat("]\n");
 	}
 
@@ -3,8 +3,10 @@ package info.openrocket.core.simulation;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 
@@ -476,6 +478,31 @@ public class SimulationStatus implements Cloneable, Monitorable {
 		return eventQueue;
 	}
 
+	/**
+	 * Replace the motor states by copies, so that they are no longer shared with the
+	 * status this one was copied from.  Queued events referring to a motor state are
+	 * replaced by events referring to its copy.
+	 */
+	public void copyMotorStates() {
+		Map<MotorClusterState, MotorClusterState> copies = new IdentityHashMap<>();
+		for (ListIterator<MotorClusterState> i = motorStateList.listIterator(); i.hasNext();) {
+			MotorClusterState state = i.next();
+			MotorClusterState copy = new MotorClusterState(state);
+			copies.put(state, copy);
+			i.set(copy);
+		}
+
+		List<FlightEvent> events = new ArrayList<>(eventQueue);
+		eventQueue.clear();
+		for (FlightEvent event : events) {
+			MotorClusterState copy = copies.get(event.getData());
+			if (copy != null) {
+				event = new FlightEvent(event.getType(), event.getTime(), event.getSource(), copy, event.getID());
+			}
+			eventQueue.add(event);
+		}
+	}
+
 	/**
 	 * Remove all events that came from components which are no longer
 	 * attached from the event queue.
@@ -702,7 +729,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 		if (SimulationListenerHelper.fireAddFlightEvent(this, event)) {
 			
 			if (event.getType() != FlightEvent.Type.ALTITUDE) {
-				log.trace("Adding event to queue:  " + event);
+				log.trace("Adding event to queue:  {}", event);
 			}
 			getEventQueue().add(event);
 		}
@@ -38,4 +38,17 @@ public interface SimulationStepper {
 	 */
 	public void step(SimulationStatus status, double maxTimeStep) throws SimulationException;
 
+	/**
+	 * Estimate the flight from the current status to apogee as if no recovery devices had been
+	 * deployed, which gives the optimum coast of a flight that deploys them before apogee.
+	 * 
+	 * @param status the current simulation status, of a type returned by
+	 *               {@link #initialize(SimulationStatus)}.
+	 * @return the flight data containing the altitude and time of the apogee, or
+	 *         <code>null</code> if the stepper gives no estimate and the flight is simulated again.
+	 */
+	public default FlightData estimateCoast(SimulationStatus status) throws SimulationException {
+		return null;
+	}
+
 }
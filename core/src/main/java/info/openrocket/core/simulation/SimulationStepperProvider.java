@@ -0,0 +1,40 @@
+package info.openrocket.core.simulation;
+
+import java.util.List;
+import java.util.Set;
+
+import info.openrocket.core.plugin.Plugin;
+
+/**
+ * A plugin providing simulation steppers, which are added to the
+ * {@link SimulationStepperRegistry}.
+ */
+@Plugin
+public interface SimulationStepperProvider {
+
+	/**
+	 * Return the IDs of the steppers this provider supports.  The ID is used to select the
+	 * stepper and to store the selection in files, so it should be unique, for example the
+	 * canonical name of the stepper class.
+	 *
+	 * @return a list of ID strings
+	 */
+	public List<String> getIds();
+
+	/**
+	 * Return the phases of the flight a stepper can simulate.
+	 *
+	 * @param id the stepper ID
+	 * @return the phases of the flight
+	 */
+	public Set<SimulationStepperRegistry.Phase> getPhases(String id);
+
+	/**
+	 * Return a new instance of a stepper.  A new instance is used for each simulation.
+	 *
+	 * @param id the stepper ID
+	 * @return a new simulation stepper instance
+	 */
+	public SimulationStepper getInstance(String id);
+
+}
@@ -0,0 +1,157 @@
+package info.openrocket.core.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Registry of the simulation steppers available to {@link BasicEventSimulationEngine} for
+ * each phase of the flight.
+ * <p>
+ * The built-in steppers are always registered.  Additional steppers are registered by
+ * {@link SimulationStepperProvider} plugins or by calling {@link #register(String, Set, Supplier)},
+ * and are selected per phase with {@link SimulationOptions#setStepper(Phase, String)}.  This
+ * allows e.g. batch jobs to use cheaper steppers and trade fidelity for throughput.  A flight
+ * stepper that is also registered for the tumble and landing phases, like the point-mass
+ * stepper, simulates them as well unless another stepper is selected for them.
+ * <p>
+ * The registry is obtained from the injector.  It is thread safe.
+ */
+@Singleton
+public class SimulationStepperRegistry {
+	private static final Logger log = LoggerFactory.getLogger(SimulationStepperRegistry.class);
+
+	/**
+	 * The phases of a flight, each simulated with its own stepper.
+	 */
+	public enum Phase {
+		/** Powered and coasting flight with full 6-DOF dynamics */
+		FLIGHT,
+		/** Tumbling descent without deployed recovery devices */
+		TUMBLE,
+		/** Descent under deployed recovery devices */
+		LANDING,
+		/** At rest on the ground after landing */
+		GROUND
+	}
+
+	/** ID of {@link RK4SimulationStepper} */
+	public static final String RK4 = "RK4";
+	/** ID of {@link AdaptiveRK45SimulationStepper} */
+	public static final String ADAPTIVE_RK45 = "AdaptiveRK45";
+	/** ID of {@link PointMassSimulationStepper} */
+	public static final String POINT_MASS = "PointMass";
+	/** ID of {@link BasicTumbleStepper} */
+	public static final String BASIC_TUMBLE = "BasicTumble";
+	/** ID of {@link BasicLandingStepper} */
+	public static final String BASIC_LANDING = "BasicLanding";
+	/** ID of {@link GroundStepper} */
+	public static final String GROUND = "Ground";
+
+	private record Registration(Set<Phase> phases, Supplier<? extends SimulationStepper> factory) {
+	}
+
+	private final Map<String, Registration> registrations = new LinkedHashMap<>();
+
+
+	public SimulationStepperRegistry() {
+		register(RK4, EnumSet.of(Phase.FLIGHT), RK4SimulationStepper::new);
+		register(ADAPTIVE_RK45, EnumSet.of(Phase.FLIGHT), AdaptiveRK45SimulationStepper::new);
+		register(POINT_MASS, EnumSet.of(Phase.FLIGHT, Phase.TUMBLE, Phase.LANDING), PointMassSimulationStepper::new);
+		register(BASIC_TUMBLE, EnumSet.of(Phase.TUMBLE), BasicTumbleStepper::new);
+		register(BASIC_LANDING, EnumSet.of(Phase.LANDING), BasicLandingStepper::new);
+		register(GROUND, EnumSet.of(Phase.GROUND), GroundStepper::new);
+	}
+
+	/**
+	 * Register the steppers of the stepper plugins.
+	 */
+	@Inject(optional = true)
+	void setProviders(Set<SimulationStepperProvider> providers) {
+		for (SimulationStepperProvider provider : providers) {
+			for (String id : provider.getIds()) {
+				register(id, provider.getPhases(id), () -> provider.getInstance(id));
+			}
+		}
+	}
+
+	/**
+	 * Register a stepper, replacing any stepper registered with the same ID.
+	 *
+	 * @param id		the ID of the stepper, used to select it and to store the selection in files.
+	 * @param phases	the phases of the flight the stepper can simulate.
+	 * @param factory	the factory creating a new instance of the stepper for each simulation.
+	 */
+	public synchronized void register(String id, Set<Phase> phases, Supplier<? extends SimulationStepper> factory) {
+		if (phases.isEmpty()) {
+			throw new IllegalArgumentException("Stepper " + id + " registered for no phase");
+		}
+		Registration previous = registrations.put(id, new Registration(EnumSet.copyOf(phases), factory));
+		if (previous != null) {
+			log.info("Replaced simulation stepper " + id);
+		}
+	}
+
+	/**
+	 * Return the IDs of the steppers that can simulate a phase, in order of registration.
+	 */
+	public synchronized List<String> getStepperIds(Phase phase) {
+		List<String> ids = new ArrayList<>();
+		for (Map.Entry<String, Registration> entry : registrations.entrySet()) {
+			if (entry.getValue().phases().contains(phase)) {
+				ids.add(entry.getKey());
+			}
+		}
+		return Collections.unmodifiableList(ids);
+	}
+
+	/**
+	 * Return whether a stepper that can simulate the phase is registered with the ID.
+	 */
+	public synchronized boolean isAvailable(String id, Phase phase) {
+		Registration registration = registrations.get(id);
+		return registration != null && registration.phases().contains(phase);
+	}
+
+	/**
+	 * Return the ID of the stepper used for a phase when none has been selected.
+	 */
+	public static String getDefaultStepperId(Phase phase) {
+		return switch (phase) {
+			case FLIGHT -> RK4;
+			case TUMBLE -> BASIC_TUMBLE;
+			case LANDING -> BASIC_LANDING;
+			case GROUND -> GROUND;
+		};
+	}
+
+	/**
+	 * Create a new instance of a stepper.
+	 *
+	 * @param id		the ID of the stepper.
+	 * @param phase		the phase of the flight the stepper is used for.
+	 * @return			a new stepper instance.
+	 * @throws IllegalArgumentException	if no stepper that can simulate the phase is registered with the ID.
+	 */
+	public SimulationStepper newStepper(String id, Phase phase) {
+		Registration registration;
+		synchronized (this) {
+			registration = registrations.get(id);
+		}
+		if (registration == null || !registration.phases().contains(phase)) {
+			throw new IllegalArgumentException("No simulation stepper '" + id + "' for phase " + phase);
+		}
+		return registration.factory().get();
+	}
+}
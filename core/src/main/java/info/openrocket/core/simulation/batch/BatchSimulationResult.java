@@ -0,0 +1,161 @@
+package info.openrocket.core.simulation.batch;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.simulation.FlightData;
+
+/**
+ * The outcome of a single simulation run by a {@link BatchSimulationRunner}.  Only the
+ * summary values of the flight are retained, so that a batch of thousands of simulations
+ * does not need to keep every flight data branch in memory.
+ */
+public class BatchSimulationResult {
+
+	/**
+	 * The completion state of a batch simulation.
+	 */
+	public enum State {
+		/** The simulation ran to completion */
+		OK,
+		/** The simulation ran, but was aborted (see the simulation status description) */
+		ABORTED,
+		/** The simulation could not be run, e.g. it has no motors */
+		SKIPPED,
+		/** The simulation or document load threw an exception */
+		FAILED
+	}
+
+	private final String source;
+	private final String simulationName;
+	private final State state;
+	private final String message;
+	private final long elapsedNanos;
+
+	private final double maxAltitude;
+	private final double maxVelocity;
+	private final double maxAcceleration;
+	private final double maxMachNumber;
+	private final double timeToApogee;
+	private final double flightTime;
+	private final double groundHitVelocity;
+	private final double launchRodVelocity;
+	private final double deploymentVelocity;
+
+	BatchSimulationResult(String source, String simulationName, State state, String message,
+			long elapsedNanos, FlightData data) {
+		this.source = source;
+		this.simulationName = simulationName;
+		this.state = state;
+		this.message = message;
+		this.elapsedNanos = elapsedNanos;
+
+		if (data == null) {
+			data = FlightData.NaN_DATA;
+		}
+		this.maxAltitude = data.getMaxAltitude();
+		this.maxVelocity = data.getMaxVelocity();
+		this.maxAcceleration = data.getMaxAcceleration();
+		this.maxMachNumber = data.getMaxMachNumber();
+		this.timeToApogee = data.getTimeToApogee();
+		this.flightTime = data.getFlightTime();
+		this.groundHitVelocity = data.getGroundHitVelocity();
+		this.launchRodVelocity = data.getLaunchRodVelocity();
+		this.deploymentVelocity = data.getDeploymentVelocity();
+	}
+
+	static BatchSimulationResult failed(String source, String simulationName, Throwable cause, long elapsedNanos) {
+		String msg = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+		return new BatchSimulationResult(source, simulationName, State.FAILED, msg, elapsedNanos, null);
+	}
+
+	static BatchSimulationResult of(String source, Simulation simulation, long elapsedNanos) {
+		Simulation.Status status = simulation.getStatus();
+		final State state;
+		final String message;
+		switch (status) {
+			case ABORTED:
+				state = State.ABORTED;
+				message = status.toString();
+				break;
+			case CANT_RUN:
+				state = State.SKIPPED;
+				message = status.toString();
+				break;
+			default:
+				state = State.OK;
+				message = "";
+		}
+		return new BatchSimulationResult(source, simulation.getName(), state, message, elapsedNanos,
+				simulation.getSimulatedData());
+	}
+
+	/**
+	 * @return the name of the document (usually the file name) the simulation was loaded from.
+	 */
+	public String getSource() {
+		return source;
+	}
+
+	public String getSimulationName() {
+		return simulationName;
+	}
+
+	public State getState() {
+		return state;
+	}
+
+	/**
+	 * @return a short description of the failure or abort, or an empty string if the simulation succeeded.
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * @return the wall-clock time spent simulating, in nanoseconds.
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	public double getMaxAltitude() {
+		return maxAltitude;
+	}
+
+	public double getMaxVelocity() {
+		return maxVelocity;
+	}
+
+	public double getMaxAcceleration() {
+		return maxAcceleration;
+	}
+
+	public double getMaxMachNumber() {
+		return maxMachNumber;
+	}
+
+	public double getTimeToApogee() {
+		return timeToApogee;
+	}
+
+	public double getFlightTime() {
+		return flightTime;
+	}
+
+	public double getGroundHitVelocity() {
+		return groundHitVelocity;
+	}
+
+	public double getLaunchRodVelocity() {
+		return launchRodVelocity;
+	}
+
+	public double getDeploymentVelocity() {
+		return deploymentVelocity;
+	}
+
+	@Override
+	public String toString() {
+		return "BatchSimulationResult[source=" + source + ", simulation=" + simulationName + ", state=" + state +
+				", maxAltitude=" + maxAltitude + ", elapsed=" + (elapsedNanos / 1000000) + "ms]";
+	}
+}
@@ -0,0 +1,303 @@
+package info.openrocket.core.simulation.batch;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.file.GeneralRocketLoader;
+import info.openrocket.core.file.RocketLoadException;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.startup.OpenRocketCore;
+
+/**
+ * Headless runner that simulates every simulation of one or more OpenRocket documents.
+ * <p>
+ * Documents are loaded and their simulations scheduled on a work-stealing
+ * {@link ForkJoinPool}, so a batch of files with an uneven number of simulations per
+ * document still keeps all worker threads busy.  Only the summary values of each flight
+ * are retained in the returned {@link BatchSimulationResult}s.
+ * <p>
+ * The class can also be run from the command line:
+ * <pre>
+ * java info.openrocket.core.simulation.batch.BatchSimulationRunner [-t threads] [-o summary.csv] file-or-directory...
+ * </pre>
+ * Directories are searched recursively for <code>.ork</code> files.
+ */
+public class BatchSimulationRunner {
+	private static final Logger log = LoggerFactory.getLogger(BatchSimulationRunner.class);
+
+	private static final String CSV_SEPARATOR = ",";
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Create a runner that uses one worker thread per available processor.
+	 */
+	public BatchSimulationRunner() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Create a runner with the specified number of worker threads.
+	 *
+	 * @param parallelism	the number of worker threads, must be positive.
+	 */
+	public BatchSimulationRunner(int parallelism) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("parallelism must be positive, was " + parallelism);
+		}
+		this.pool = new ForkJoinPool(parallelism);
+	}
+
+	/**
+	 * @return the number of worker threads used by this runner.
+	 */
+	public int getParallelism() {
+		return pool.getParallelism();
+	}
+
+	/**
+	 * Load the specified files and run all of their simulations.  Files that cannot be loaded
+	 * yield a single {@link BatchSimulationResult.State#FAILED} result.
+	 *
+	 * @param files	the document files to simulate.
+	 * @return		the results, ordered by file and by simulation within each document.
+	 */
+	public List<BatchSimulationResult> simulateFiles(Collection<File> files) {
+		return pool.invoke(new FilesTask(files));
+	}
+
+	/**
+	 * Run all simulations of an already loaded document.
+	 *
+	 * @param source	the name used to identify the document in the results.
+	 * @param document	the document to simulate.
+	 * @return			the results, in the order of the document's simulations.
+	 */
+	public List<BatchSimulationResult> simulateDocument(String source, OpenRocketDocument document) {
+		return pool.invoke(new DocumentTask(source, document));
+	}
+
+	/**
+	 * Shut down the worker threads of this runner.  The runner cannot be used afterwards.
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+
+	/**
+	 * Write the results as CSV, one line per simulation, preceded by a header line.
+	 *
+	 * @param stream	the stream to write to.
+	 * @param results	the results to write.
+	 */
+	public static void writeSummary(OutputStream stream, List<BatchSimulationResult> results) {
+		PrintWriter writer = new PrintWriter(stream, false, StandardCharsets.UTF_8);
+		writer.println(String.join(CSV_SEPARATOR, "Source", "Simulation", "State", "Message",
+				"Max altitude (m)", "Max velocity (m/s)", "Max acceleration (m/s^2)", "Max Mach number",
+				"Time to apogee (s)", "Flight time (s)", "Ground hit velocity (m/s)",
+				"Launch rod velocity (m/s)", "Deployment velocity (m/s)", "Run time (ms)"));
+		for (BatchSimulationResult r : results) {
+			writer.println(String.join(CSV_SEPARATOR,
+					quote(r.getSource()), quote(r.getSimulationName()), r.getState().name(), quote(r.getMessage()),
+					Double.toString(r.getMaxAltitude()), Double.toString(r.getMaxVelocity()),
+					Double.toString(r.getMaxAcceleration()), Double.toString(r.getMaxMachNumber()),
+					Double.toString(r.getTimeToApogee()), Double.toString(r.getFlightTime()),
+					Double.toString(r.getGroundHitVelocity()), Double.toString(r.getLaunchRodVelocity()),
+					Double.toString(r.getDeploymentVelocity()),
+					Long.toString(r.getElapsedNanos() / 1000000)));
+		}
+		writer.flush();
+	}
+
+	private static String quote(String s) {
+		if (s == null) {
+			return "";
+		}
+		return "\"" + s.replace("\"", "\"\"") + "\"";
+	}
+
+
+	private class FilesTask extends RecursiveTask<List<BatchSimulationResult>> {
+		private static final long serialVersionUID = 1L;
+
+		private final Collection<File> files;
+
+		FilesTask(Collection<File> files) {
+			this.files = files;
+		}
+
+		@Override
+		protected List<BatchSimulationResult> compute() {
+			List<FileTask> tasks = new ArrayList<>();
+			for (File f : files) {
+				tasks.add(new FileTask(f));
+			}
+			ForkJoinTask.invokeAll(tasks);
+
+			List<BatchSimulationResult> results = new ArrayList<>();
+			for (FileTask t : tasks) {
+				results.addAll(t.join());
+			}
+			return results;
+		}
+	}
+
+	private class FileTask extends RecursiveTask<List<BatchSimulationResult>> {
+		private static final long serialVersionUID = 1L;
+
+		private final File file;
+
+		FileTask(File file) {
+			this.file = file;
+		}
+
+		@Override
+		protected List<BatchSimulationResult> compute() {
+			final long t0 = System.nanoTime();
+			OpenRocketDocument document;
+			try {
+				document = new GeneralRocketLoader(file).load();
+			} catch (RocketLoadException | RuntimeException e) {
+				log.warn("Unable to load " + file, e);
+				List<BatchSimulationResult> failed = new ArrayList<>();
+				failed.add(BatchSimulationResult.failed(file.getPath(), "", e, System.nanoTime() - t0));
+				return failed;
+			}
+			return new DocumentTask(file.getPath(), document).compute();
+		}
+	}
+
+	private class DocumentTask extends RecursiveTask<List<BatchSimulationResult>> {
+		private static final long serialVersionUID = 1L;
+
+		private final String source;
+		private final OpenRocketDocument document;
+
+		DocumentTask(String source, OpenRocketDocument document) {
+			this.source = source;
+			this.document = document;
+		}
+
+		@Override
+		protected List<BatchSimulationResult> compute() {
+			List<SimulationTask> tasks = new ArrayList<>();
+			for (Simulation s : document.getSimulations()) {
+				tasks.add(new SimulationTask(source, s));
+			}
+			ForkJoinTask.invokeAll(tasks);
+
+			List<BatchSimulationResult> results = new ArrayList<>();
+			for (SimulationTask t : tasks) {
+				results.add(t.join());
+			}
+			return results;
+		}
+	}
+
+	private static class SimulationTask extends RecursiveTask<BatchSimulationResult> {
+		private static final long serialVersionUID = 1L;
+
+		private final String source;
+		private final Simulation simulation;
+
+		SimulationTask(String source, Simulation simulation) {
+			this.source = source;
+			this.simulation = simulation;
+		}
+
+		@Override
+		protected BatchSimulationResult compute() {
+			final long t0 = System.nanoTime();
+			try {
+				if (simulation.getStatus() != Simulation.Status.CANT_RUN) {
+					simulation.simulate();
+				}
+				return BatchSimulationResult.of(source, simulation, System.nanoTime() - t0);
+			} catch (SimulationException | RuntimeException e) {
+				log.warn("Simulation '" + simulation.getName() + "' of " + source + " failed", e);
+				return BatchSimulationResult.failed(source, simulation.getName(), e, System.nanoTime() - t0);
+			}
+		}
+	}
+
+
+	private static List<File> collectFiles(String path) throws IOException {
+		File f = new File(path);
+		if (!f.isDirectory()) {
+			return List.of(f);
+		}
+		try (Stream<Path> paths = Files.walk(f.toPath())) {
+			return paths.filter(Files::isRegularFile)
+					.filter(p -> p.getFileName().toString().toLowerCase().endsWith(".ork"))
+					.sorted()
+					.map(Path::toFile)
+					.collect(Collectors.toList());
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		int threads = Runtime.getRuntime().availableProcessors();
+		String output = null;
+		List<File> files = new ArrayList<>();
+
+		for (int i = 0; i < args.length; i++) {
+			if ("-t".equals(args[i]) && i + 1 < args.length) {
+				threads = Integer.parseInt(args[++i]);
+			} else if ("-o".equals(args[i]) && i + 1 < args.length) {
+				output = args[++i];
+			} else {
+				files.addAll(collectFiles(args[i]));
+			}
+		}
+
+		if (files.isEmpty()) {
+			System.err.println("Usage: BatchSimulationRunner [-t threads] [-o summary.csv] file-or-directory...");
+			System.exit(1);
+		}
+
+		OpenRocketCore.initialize();
+
+		BatchSimulationRunner runner = new BatchSimulationRunner(threads);
+		final long t0 = System.nanoTime();
+		List<BatchSimulationResult> results;
+		try {
+			results = runner.simulateFiles(files);
+		} finally {
+			runner.shutdown();
+		}
+		final double seconds = (System.nanoTime() - t0) / 1.0e9;
+
+		if (output != null) {
+			try (OutputStream os = new FileOutputStream(output)) {
+				writeSummary(os, results);
+			}
+		} else {
+			writeSummary(System.out, results);
+		}
+
+		long failed = results.stream().filter(r -> r.getState() == BatchSimulationResult.State.FAILED).count();
+		System.err.printf("%d simulations from %d files in %.2f s using %d threads: %.2f sims/second (%d failed)%n",
+				results.size(), files.size(), seconds, threads, results.size() / seconds, failed);
+		System.exit(failed > 0 ? 2 : 0);
+	}
+}
@@ -0,0 +1,38 @@
+package info.openrocket.core.simulation.datasink;
+
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+
+/**
+ * A data sink that retains at most one data point per interval of simulated time.
+ */
+public class DecimatingDataSink implements FlightDataSink {
+
+	private final double interval;
+	private double lastTime = Double.NaN;
+
+	/**
+	 * @param interval	the minimum simulated time between retained points (s).  An infinite
+	 * 					interval retains only the first point.
+	 */
+	public DecimatingDataSink(double interval) {
+		if (!(interval > 0)) {
+			throw new IllegalArgumentException("Interval must be positive: " + interval);
+		}
+		this.interval = interval;
+	}
+
+	public double getInterval() {
+		return interval;
+	}
+
+	@Override
+	public boolean storePoint(FlightDataBranch branch, int index) {
+		double time = branch.get(FlightDataType.TYPE_TIME, index);
+		if (Double.isNaN(lastTime) || time >= lastTime + interval) {
+			lastTime = time;
+			return true;
+		}
+		return false;
+	}
+}
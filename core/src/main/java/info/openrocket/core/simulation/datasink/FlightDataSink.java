@@ -0,0 +1,87 @@
+package info.openrocket.core.simulation.datasink;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import info.openrocket.core.simulation.FlightDataBranch;
+
+/**
+ * Receives the data points of a flight data branch as the simulation produces them, and
+ * decides which of them the branch keeps in memory.
+ * <p>
+ * A branch with a data sink keeps only a bounded window of the latest points.  When a point
+ * leaves the window it is passed to {@link #storePoint(FlightDataBranch, int)}, and removed from
+ * the branch unless the sink asks to retain it.  Independent of the sink, the branch always
+ * retains the points next to flight events and the points at which the altitude, velocity,
+ * acceleration or Mach number reached their maximum, so that the summary values of
+ * {@link info.openrocket.core.simulation.FlightData} remain exact.
+ * <p>
+ * A sink is used by a single branch and is not required to be thread-safe.
+ */
+public interface FlightDataSink {
+
+	/**
+	 * Called with each data point of the branch, in order.
+	 *
+	 * @param branch	the branch containing the point.
+	 * @param index		the index of the point in the branch.
+	 * @return			whether the point should be kept in memory.
+	 */
+	boolean storePoint(FlightDataBranch branch, int index);
+
+	/**
+	 * Called after the last data point of the branch has been stored.  Any error that occurred
+	 * while storing the points must be reported here.
+	 *
+	 * @param branch	the completed branch.
+	 * @throws IOException	if storing the data failed.
+	 */
+	default void close(FlightDataBranch branch) throws IOException {
+	}
+
+
+	/**
+	 * Creates the data sink of each simulated branch.
+	 */
+	@FunctionalInterface
+	interface Factory {
+
+		/**
+		 * Create the data sink of a branch.
+		 *
+		 * @param branch	the branch about to be simulated.
+		 * @return			the data sink, or <code>null</code> to keep all points in memory.
+		 * @throws IOException	if the sink could not be created.
+		 */
+		FlightDataSink open(FlightDataBranch branch) throws IOException;
+	}
+
+
+	/**
+	 * Return a factory that keeps all data points in memory.  This is the default.
+	 */
+	static Factory inMemory() {
+		return branch -> null;
+	}
+
+	/**
+	 * Return a factory that keeps at most one data point per time interval in memory.  An
+	 * infinite interval keeps only the points needed for the summary values.
+	 *
+	 * @param interval	the minimum simulated time between retained points (s).
+	 */
+	static Factory decimating(double interval) {
+		return branch -> new DecimatingDataSink(interval);
+	}
+
+	/**
+	 * Return a factory that writes all data points of each branch to a CSV file in the given
+	 * directory, and keeps only the points needed for the summary values in memory.
+	 *
+	 * @param directory	the directory in which to create the files.
+	 * @param prefix	the file name prefix.
+	 */
+	static Factory streaming(Path directory, String prefix) {
+		return new StreamingDataSink.StreamingFactory(directory, prefix);
+	}
+}
@@ -0,0 +1,131 @@
+package info.openrocket.core.simulation.datasink;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+
+/**
+ * A data sink that writes every data point of a branch to a CSV file and retains none of
+ * them in memory.
+ * <p>
+ * The columns are the data types defined when the first point is written, in SI units.  Types
+ * that are added to the branch later are not written.  Write errors are reported when the
+ * branch is closed.
+ */
+public class StreamingDataSink implements FlightDataSink {
+	private static final Logger log = LoggerFactory.getLogger(StreamingDataSink.class);
+
+	private final Path file;
+	private final Writer writer;
+	private FlightDataType[] types = null;
+	private IOException error = null;
+
+	/**
+	 * Open a sink writing to the given file.  An existing file is overwritten.
+	 *
+	 * @param file	the CSV file to write.
+	 * @throws IOException	if the file could not be opened.
+	 */
+	public StreamingDataSink(Path file) throws IOException {
+		this.file = file;
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		this.writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	@Override
+	public boolean storePoint(FlightDataBranch branch, int index) {
+		if (error != null) {
+			return false;
+		}
+		try {
+			if (types == null) {
+				types = branch.getTypes();
+				writeHeader(branch);
+			}
+			for (int i = 0; i < types.length; i++) {
+				if (i > 0) {
+					writer.write(',');
+				}
+				double value = branch.get(types[i], index);
+				if (!Double.isNaN(value)) {
+					writer.write(Double.toString(value));
+				}
+			}
+			writer.write('\n');
+		} catch (IOException e) {
+			log.warn("Unable to write flight data to " + file, e);
+			error = e;
+		}
+		return false;
+	}
+
+	private void writeHeader(FlightDataBranch branch) throws IOException {
+		writer.write("# ");
+		writer.write(branch.getName());
+		writer.write('\n');
+		for (int i = 0; i < types.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writer.write(types[i].getName());
+			String unit = types[i].getUnitGroup().getSIUnit().getUnit();
+			if (!unit.isEmpty()) {
+				writer.write(" (" + unit + ")");
+			}
+		}
+		writer.write('\n');
+	}
+
+	@Override
+	public void close(FlightDataBranch branch) throws IOException {
+		try {
+			writer.close();
+		} catch (IOException e) {
+			if (error == null) {
+				error = e;
+			}
+		}
+		if (error != null) {
+			throw error;
+		}
+	}
+
+
+	/**
+	 * Creates a numbered file per branch, as several branches may have the same name.
+	 */
+	static class StreamingFactory implements Factory {
+		private final Path directory;
+		private final String prefix;
+		private final AtomicInteger count = new AtomicInteger();
+
+		StreamingFactory(Path directory, String prefix) {
+			this.directory = directory;
+			this.prefix = prefix;
+		}
+
+		@Override
+		public FlightDataSink open(FlightDataBranch branch) throws IOException {
+			String name = String.format("%s-%d-%s.csv", prefix, count.incrementAndGet(),
+					branch.getName().replaceAll("[^A-Za-z0-9_.-]", "_"));
+			return new StreamingDataSink(directory.resolve(name));
+		}
+	}
+}
@@ -16,6 +16,7 @@ import info.openrocket.core.simulation.FlightEvent;
 import info.openrocket.core.simulation.MotorClusterState;
 import info.openrocket.core.simulation.SimulationStatus;
 import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.util.BugException;
 import info.openrocket.core.util.Coordinate;
 import info.openrocket.core.util.MathUtil;
 import info.openrocket.core.util.ModID;
@@ -29,6 +30,70 @@ public class SimulationListenerHelper {
 
 	private static final Logger log = LoggerFactory.getLogger(SimulationListenerHelper.class);
 
+	/** Whether listeners of a class implement the atmospheric model hooks */
+	private static final ClassValue<Boolean> ATMOSPHERIC_MODEL_HOOKS = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			return SimulationComputationListener.class.isAssignableFrom(type) &&
+					(overrides(type, "preAtmosphericModel", SimulationStatus.class) ||
+					overrides(type, "postAtmosphericModel", SimulationStatus.class, AtmosphericConditions.class));
+		}
+	};
+
+	/** Whether listeners of a class implement the flight conditions hooks */
+	private static final ClassValue<Boolean> FLIGHT_CONDITIONS_HOOKS = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			return SimulationComputationListener.class.isAssignableFrom(type) &&
+					(overrides(type, "preFlightConditions", SimulationStatus.class) ||
+					overrides(type, "postFlightConditions", SimulationStatus.class, FlightConditions.class));
+		}
+	};
+
+
+	//////// Hook queries ////////
+
+	/**
+	 * Return whether any listener of the simulation implements the preAtmosphericModel or
+	 * postAtmosphericModel hook.  Listeners extending {@link AbstractSimulationListener}
+	 * without overriding the hooks do not count, since they never change the conditions.
+	 */
+	public static boolean hasAtmosphericModelListeners(SimulationStatus status) {
+		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
+			if (ATMOSPHERIC_MODEL_HOOKS.get(l.getClass())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return whether any listener of the simulation implements the preFlightConditions or
+	 * postFlightConditions hook.  Listeners extending {@link AbstractSimulationListener}
+	 * without overriding the hooks do not count, since they never change the conditions.
+	 */
+	public static boolean hasFlightConditionsListeners(SimulationStatus status) {
+		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
+			if (FLIGHT_CONDITIONS_HOOKS.get(l.getClass())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return whether a listener class implements a hook itself, instead of inheriting the
+	 * implementation of {@link AbstractSimulationListener}, which has no effect.
+	 */
+	private static boolean overrides(Class<?> type, String name, Class<?>... parameterTypes) {
+		try {
+			return type.getMethod(name, parameterTypes).getDeclaringClass() != AbstractSimulationListener.class;
+		} catch (NoSuchMethodException e) {
+			throw new BugException("Listener " + type.getName() + " does not have method " + name, e);
+		}
+	}
+
+
 	//////// SimulationListener methods ////////
 
 	/**
@@ -220,6 +285,9 @@ public class SimulationListenerHelper {
 	 */
 	public static AtmosphericConditions firePreAtmosphericModel(SimulationStatus status)
 			throws SimulationException {
+		if (!hasAtmosphericModelListeners(status)) {
+			return null;
+		}
 		AtmosphericConditions conditions;
 		ModID modID = status.getModID();
 
@@ -247,6 +315,9 @@ public class SimulationListenerHelper {
 	public static AtmosphericConditions firePostAtmosphericModel(SimulationStatus status,
 			AtmosphericConditions conditions)
 			throws SimulationException {
+		if (!hasAtmosphericModelListeners(status)) {
+			return conditions;
+		}
 		AtmosphericConditions c;
 		AtmosphericConditions clone = conditions.clone();
 		ModID modID = status.getModID();
@@ -377,6 +448,9 @@ public class SimulationListenerHelper {
 	 */
 	public static FlightConditions firePreFlightConditions(SimulationStatus status)
 			throws SimulationException {
+		if (!hasFlightConditionsListeners(status)) {
+			return null;
+		}
 		FlightConditions conditions;
 		ModID modID = status.getModID();
 
@@ -405,6 +479,9 @@ public class SimulationListenerHelper {
 	 */
 	public static FlightConditions firePostFlightConditions(SimulationStatus status, FlightConditions conditions)
 			throws SimulationException {
+		if (!hasFlightConditionsListeners(status)) {
+			return conditions;
+		}
 		FlightConditions c;
 		FlightConditions clone = conditions.clone();
 		ModID modID = status.getModID();
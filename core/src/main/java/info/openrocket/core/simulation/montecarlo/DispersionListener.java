@@ -0,0 +1,53 @@
+package info.openrocket.core.simulation.montecarlo;
+
+import info.openrocket.core.masscalc.RigidBody;
+import info.openrocket.core.simulation.SimulationStatus;
+import info.openrocket.core.simulation.listeners.AbstractSimulationListener;
+
+/**
+ * A system listener that scales the motor thrust and the rocket mass of a single
+ * Monte Carlo run by constant factors.
+ */
+public class DispersionListener extends AbstractSimulationListener {
+
+	private final double thrustFactor;
+	private final double massFactor;
+
+	public DispersionListener(double thrustFactor, double massFactor) {
+		if (!(thrustFactor >= 0) || !(massFactor > 0)) {
+			throw new IllegalArgumentException("invalid factors thrust=" + thrustFactor + " mass=" + massFactor);
+		}
+		this.thrustFactor = thrustFactor;
+		this.massFactor = massFactor;
+	}
+
+	public double getThrustFactor() {
+		return thrustFactor;
+	}
+
+	public double getMassFactor() {
+		return massFactor;
+	}
+
+	@Override
+	public double postSimpleThrustCalculation(SimulationStatus status, double thrust) {
+		return thrust * thrustFactor;
+	}
+
+	/**
+	 * Scales both the structure and the motor mass, keeping the CG location unchanged.
+	 */
+	@Override
+	public RigidBody postMassCalculation(SimulationStatus status, RigidBody body) {
+		if (massFactor == 1.0) {
+			return null;
+		}
+		return new RigidBody(body.getCM().setWeight(body.getMass() * massFactor),
+				body.getIxx() * massFactor, body.getIyy() * massFactor, body.getIzz() * massFactor);
+	}
+
+	@Override
+	public boolean isSystemListener() {
+		return true;
+	}
+}
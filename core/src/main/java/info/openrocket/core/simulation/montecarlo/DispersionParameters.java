@@ -0,0 +1,104 @@
+package info.openrocket.core.simulation.montecarlo;
+
+import info.openrocket.core.util.BugException;
+
+/**
+ * The standard deviations of the random perturbations applied to each Monte Carlo run.
+ * All perturbations are normally distributed around the nominal value of the simulation
+ * options; a standard deviation of zero disables the corresponding perturbation.
+ */
+public class DispersionParameters implements Cloneable {
+
+	/** Standard deviation of the launch rod angle, in radians */
+	private double launchRodAngleDeviation = 0;
+
+	/** Standard deviation of the launch rod direction, in radians */
+	private double launchRodDirectionDeviation = 0;
+
+	/** Relative standard deviation of the average wind speed (of each wind level) */
+	private double windSpeedDeviation = 0;
+
+	/** Standard deviation of the wind direction (of each wind level), in radians */
+	private double windDirectionDeviation = 0;
+
+	/** Relative standard deviation of the motor thrust */
+	private double thrustDeviation = 0;
+
+	/** Relative standard deviation of the rocket mass */
+	private double massDeviation = 0;
+
+
+	public double getLaunchRodAngleDeviation() {
+		return launchRodAngleDeviation;
+	}
+
+	public void setLaunchRodAngleDeviation(double launchRodAngleDeviation) {
+		this.launchRodAngleDeviation = checkDeviation(launchRodAngleDeviation);
+	}
+
+	public double getLaunchRodDirectionDeviation() {
+		return launchRodDirectionDeviation;
+	}
+
+	public void setLaunchRodDirectionDeviation(double launchRodDirectionDeviation) {
+		this.launchRodDirectionDeviation = checkDeviation(launchRodDirectionDeviation);
+	}
+
+	public double getWindSpeedDeviation() {
+		return windSpeedDeviation;
+	}
+
+	public void setWindSpeedDeviation(double windSpeedDeviation) {
+		this.windSpeedDeviation = checkDeviation(windSpeedDeviation);
+	}
+
+	public double getWindDirectionDeviation() {
+		return windDirectionDeviation;
+	}
+
+	public void setWindDirectionDeviation(double windDirectionDeviation) {
+		this.windDirectionDeviation = checkDeviation(windDirectionDeviation);
+	}
+
+	public double getThrustDeviation() {
+		return thrustDeviation;
+	}
+
+	public void setThrustDeviation(double thrustDeviation) {
+		this.thrustDeviation = checkDeviation(thrustDeviation);
+	}
+
+	public double getMassDeviation() {
+		return massDeviation;
+	}
+
+	public void setMassDeviation(double massDeviation) {
+		this.massDeviation = checkDeviation(massDeviation);
+	}
+
+	private static double checkDeviation(double d) {
+		if (!(d >= 0)) {
+			throw new IllegalArgumentException("standard deviation must be non-negative, was " + d);
+		}
+		return d;
+	}
+
+	@Override
+	public DispersionParameters clone() {
+		try {
+			return (DispersionParameters) super.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new BugException(e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "DispersionParameters[launchRodAngle=" + launchRodAngleDeviation +
+				", launchRodDirection=" + launchRodDirectionDeviation +
+				", windSpeed=" + windSpeedDeviation +
+				", windDirection=" + windDirectionDeviation +
+				", thrust=" + thrustDeviation +
+				", mass=" + massDeviation + "]";
+	}
+}
@@ -0,0 +1,118 @@
+package info.openrocket.core.simulation.montecarlo;
+
+/**
+ * Aggregate statistics of a Monte Carlo analysis.  Runs are added one at a time as they
+ * complete and only running statistics are retained, so the memory use does not depend
+ * on the number of runs.
+ * <p>
+ * Runs may be added concurrently from several threads.  The statistics objects returned by
+ * the getters are live views and should be read once the analysis has finished.
+ */
+public class MonteCarloResults {
+
+	private final RunningStatistics apogee = new RunningStatistics();
+	private final RunningStatistics timeToApogee = new RunningStatistics();
+	private final RunningStatistics maxVelocity = new RunningStatistics();
+	private final RunningStatistics flightTime = new RunningStatistics();
+	private final RunningStatistics groundHitVelocity = new RunningStatistics();
+	private final RunningStatistics landingX = new RunningStatistics();
+	private final RunningStatistics landingY = new RunningStatistics();
+	private final RunningStatistics landingDistance = new RunningStatistics();
+
+	// Co-moment of the landing x and y coordinates
+	private double landingCoMoment = 0;
+
+	private int completedRuns = 0;
+	private int abortedRuns = 0;
+
+	/**
+	 * Add the outcome of a run.  Aborted runs are counted but not included in the statistics.
+	 *
+	 * @param run	the run to add.
+	 */
+	public synchronized void add(MonteCarloRun run) {
+		completedRuns++;
+		if (run.isAborted()) {
+			abortedRuns++;
+			return;
+		}
+
+		apogee.add(run.getApogee());
+		timeToApogee.add(run.getTimeToApogee());
+		maxVelocity.add(run.getMaxVelocity());
+		flightTime.add(run.getFlightTime());
+		groundHitVelocity.add(run.getGroundHitVelocity());
+		landingDistance.add(run.getLandingDistance());
+
+		if (!Double.isNaN(run.getLandingX()) && !Double.isNaN(run.getLandingY())) {
+			double dx = run.getLandingX() - landingX.getMean();
+			if (landingX.getCount() == 0) {
+				dx = run.getLandingX();
+			}
+			landingX.add(run.getLandingX());
+			landingY.add(run.getLandingY());
+			landingCoMoment += dx * (run.getLandingY() - landingY.getMean());
+		}
+	}
+
+	/**
+	 * @return the number of runs added, including aborted ones.
+	 */
+	public synchronized int getCompletedRuns() {
+		return completedRuns;
+	}
+
+	public synchronized int getAbortedRuns() {
+		return abortedRuns;
+	}
+
+	public synchronized RunningStatistics getApogee() {
+		return apogee;
+	}
+
+	public synchronized RunningStatistics getTimeToApogee() {
+		return timeToApogee;
+	}
+
+	public synchronized RunningStatistics getMaxVelocity() {
+		return maxVelocity;
+	}
+
+	public synchronized RunningStatistics getFlightTime() {
+		return flightTime;
+	}
+
+	public synchronized RunningStatistics getGroundHitVelocity() {
+		return groundHitVelocity;
+	}
+
+	public synchronized RunningStatistics getLandingX() {
+		return landingX;
+	}
+
+	public synchronized RunningStatistics getLandingY() {
+		return landingY;
+	}
+
+	public synchronized RunningStatistics getLandingDistance() {
+		return landingDistance;
+	}
+
+	/**
+	 * @return the sample covariance of the landing x and y coordinates, or NaN if there
+	 * 			are fewer than two landing points.
+	 */
+	public synchronized double getLandingCovariance() {
+		long n = landingX.getCount();
+		return n > 1 ? landingCoMoment / (n - 1) : Double.NaN;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "MonteCarloResults[runs=" + completedRuns + ", aborted=" + abortedRuns +
+				"\n  apogee: " + apogee +
+				"\n  landingX: " + landingX +
+				"\n  landingY: " + landingY +
+				"\n  landingDistance: " + landingDistance + "]";
+	}
+}
@@ -0,0 +1,134 @@
+package info.openrocket.core.simulation.montecarlo;
+
+/**
+ * The perturbations and the summary outcome of a single Monte Carlo run.
+ */
+public class MonteCarloRun {
+
+	private final int index;
+	private final long seed;
+	private final double launchRodAngle;
+	private final double launchRodDirection;
+	private final double thrustFactor;
+	private final double massFactor;
+
+	private final boolean aborted;
+	private final String errorMessage;
+
+	private final double apogee;
+	private final double timeToApogee;
+	private final double maxVelocity;
+	private final double flightTime;
+	private final double groundHitVelocity;
+	private final double landingX;
+	private final double landingY;
+
+	MonteCarloRun(int index, long seed, double launchRodAngle, double launchRodDirection,
+			double thrustFactor, double massFactor, boolean aborted, String errorMessage,
+			double apogee, double timeToApogee, double maxVelocity, double flightTime,
+			double groundHitVelocity, double landingX, double landingY) {
+		this.index = index;
+		this.seed = seed;
+		this.launchRodAngle = launchRodAngle;
+		this.launchRodDirection = launchRodDirection;
+		this.thrustFactor = thrustFactor;
+		this.massFactor = massFactor;
+		this.aborted = aborted;
+		this.errorMessage = errorMessage;
+		this.apogee = apogee;
+		this.timeToApogee = timeToApogee;
+		this.maxVelocity = maxVelocity;
+		this.flightTime = flightTime;
+		this.groundHitVelocity = groundHitVelocity;
+		this.landingX = landingX;
+		this.landingY = landingY;
+	}
+
+	/**
+	 * @return the index of this run, 0 ... runs-1.
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * @return the random seed from which all perturbations of this run were drawn.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	public double getLaunchRodAngle() {
+		return launchRodAngle;
+	}
+
+	public double getLaunchRodDirection() {
+		return launchRodDirection;
+	}
+
+	public double getThrustFactor() {
+		return thrustFactor;
+	}
+
+	public double getMassFactor() {
+		return massFactor;
+	}
+
+	/**
+	 * @return whether the simulation was aborted or failed with an exception.
+	 */
+	public boolean isAborted() {
+		return aborted;
+	}
+
+	/**
+	 * @return the exception message if the simulation failed, otherwise null.
+	 */
+	public String getErrorMessage() {
+		return errorMessage;
+	}
+
+	public double getApogee() {
+		return apogee;
+	}
+
+	public double getTimeToApogee() {
+		return timeToApogee;
+	}
+
+	public double getMaxVelocity() {
+		return maxVelocity;
+	}
+
+	public double getFlightTime() {
+		return flightTime;
+	}
+
+	public double getGroundHitVelocity() {
+		return groundHitVelocity;
+	}
+
+	/**
+	 * @return the landing position east of the launch site, in meters.
+	 */
+	public double getLandingX() {
+		return landingX;
+	}
+
+	/**
+	 * @return the landing position north of the launch site, in meters.
+	 */
+	public double getLandingY() {
+		return landingY;
+	}
+
+	public double getLandingDistance() {
+		return Math.hypot(landingX, landingY);
+	}
+
+	@Override
+	public String toString() {
+		return "MonteCarloRun[index=" + index + ", seed=" + seed + ", aborted=" + aborted +
+				", apogee=" + apogee + ", landing=(" + landingX + "," + landingY + ")]";
+	}
+}
@@ -0,0 +1,197 @@
+package info.openrocket.core.simulation.montecarlo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.models.wind.MultiLevelPinkNoiseWindModel;
+import info.openrocket.core.models.wind.PinkNoiseWindModel;
+import info.openrocket.core.models.wind.WindModel;
+import info.openrocket.core.models.wind.WindModelType;
+import info.openrocket.core.simulation.BasicEventSimulationEngine;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.FlightEvent;
+import info.openrocket.core.simulation.SimulationConditions;
+import info.openrocket.core.simulation.SimulationOptions;
+import info.openrocket.core.simulation.datasink.FlightDataSink;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.extension.SimulationExtension;
+import info.openrocket.core.util.BugException;
+import info.openrocket.core.util.MathUtil;
+
+/**
+ * Runs a Monte Carlo dispersion analysis of a simulation.
+ * <p>
+ * Each run perturbs the launch rod angle and direction, the wind speed and direction (of
+ * every level of a multi-level wind model), the motor thrust and the rocket mass according
+ * to the {@link DispersionParameters}.  Every run draws its perturbations and the random
+ * seed of its simulation from a per-run seed derived from the base seed and the run index,
+ * so an analysis is reproducible regardless of the number of threads used.
+ * <p>
+ * Runs are simulated in parallel directly through a {@link BasicEventSimulationEngine}.  The
+ * flight data of each run is reduced to a {@link MonteCarloRun} as soon as the run finishes,
+ * so the simulation itself is never modified and the memory use does not grow with the
+ * number of runs.
+ */
+public class MonteCarloSimulator {
+	private static final Logger log = LoggerFactory.getLogger(MonteCarloSimulator.class);
+
+	private final Simulation simulation;
+	private final DispersionParameters dispersion;
+
+	/**
+	 * @param simulation	the simulation whose options define the nominal flight.
+	 * @param dispersion	the perturbations to apply; a copy is taken.
+	 */
+	public MonteCarloSimulator(Simulation simulation, DispersionParameters dispersion) {
+		this.simulation = simulation;
+		this.dispersion = dispersion.clone();
+	}
+
+	/**
+	 * Run the analysis.
+	 *
+	 * @param runs			the number of runs.
+	 * @param seed			the base random seed.
+	 * @param parallelism	the number of threads to use.
+	 * @param runListener	called (from the worker threads) with each run as it completes, may be null.
+	 * @return				the aggregated results.
+	 * @throws InterruptedException	if interrupted while waiting for the runs to finish.
+	 */
+	public MonteCarloResults run(int runs, long seed, int parallelism, Consumer<MonteCarloRun> runListener)
+			throws InterruptedException {
+		final MonteCarloResults results = new MonteCarloResults();
+
+		List<Callable<Void>> tasks = new ArrayList<>(runs);
+		for (int i = 0; i < runs; i++) {
+			final int index = i;
+			tasks.add(() -> {
+				MonteCarloRun run = simulateRun(index, runSeed(seed, index));
+				results.add(run);
+				if (runListener != null) {
+					runListener.accept(run);
+				}
+				return null;
+			});
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			for (Future<Void> f : pool.invokeAll(tasks)) {
+				f.get();
+			}
+		} catch (ExecutionException e) {
+			throw new BugException("Monte Carlo run failed", e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+
+		return results;
+	}
+
+	/**
+	 * Simulate a single run with the perturbations drawn from the specified seed.
+	 *
+	 * @param index	the run index.
+	 * @param seed	the seed of this run.
+	 * @return		the outcome of the run.
+	 */
+	public MonteCarloRun simulateRun(int index, long seed) {
+		final Random random = new Random(seed);
+		final SimulationOptions options = simulation.getOptions();
+
+		final double rodAngle = MathUtil.clamp(
+				options.getLaunchRodAngle() + random.nextGaussian() * dispersion.getLaunchRodAngleDeviation(),
+				0, SimulationOptions.MAX_LAUNCH_ROD_ANGLE);
+		final double rodDirection = MathUtil.reduce2Pi(
+				options.getLaunchRodDirection() + random.nextGaussian() * dispersion.getLaunchRodDirectionDeviation());
+		final double thrustFactor = Math.max(0, 1 + random.nextGaussian() * dispersion.getThrustDeviation());
+		final double massFactor = Math.max(0.01, 1 + random.nextGaussian() * dispersion.getMassDeviation());
+
+		SimulationConditions conditions = options.toSimulationConditions();
+		conditions.setSimulation(simulation);
+		conditions.setRandomSeed((int) seed);
+		conditions.setLaunchRodAngle(rodAngle);
+		conditions.setLaunchRodDirection(rodDirection);
+		conditions.setWindModel(perturbWindModel(options, random, (int) seed));
+		// Only the summary values of each run are used
+		conditions.setDataSinkFactory(FlightDataSink.decimating(Double.POSITIVE_INFINITY));
+
+		BasicEventSimulationEngine engine = new BasicEventSimulationEngine();
+		String error = null;
+		try {
+			for (SimulationExtension extension : simulation.getSimulationExtensions()) {
+				extension.clone().initialize(conditions);
+			}
+			conditions.getSimulationListenerList().add(new DispersionListener(thrustFactor, massFactor));
+			engine.simulate(conditions);
+		} catch (SimulationException e) {
+			log.debug("Monte Carlo run " + index + " failed", e);
+			error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+		}
+
+		FlightData data = engine.getFlightData();
+		boolean aborted = error != null || data == null || data.getBranchCount() == 0;
+		double landingX = Double.NaN;
+		double landingY = Double.NaN;
+		if (!aborted) {
+			FlightDataBranch branch = data.getBranch(0);
+			aborted = branch.getFirstEvent(FlightEvent.Type.SIM_ABORT) != null;
+			landingX = branch.getLast(FlightDataType.TYPE_POSITION_X);
+			landingY = branch.getLast(FlightDataType.TYPE_POSITION_Y);
+		} else {
+			data = FlightData.NaN_DATA;
+		}
+
+		return new MonteCarloRun(index, seed, rodAngle, rodDirection, thrustFactor, massFactor, aborted, error,
+				data.getMaxAltitude(), data.getTimeToApogee(), data.getMaxVelocity(), data.getFlightTime(),
+				data.getGroundHitVelocity(), landingX, landingY);
+	}
+
+	private WindModel perturbWindModel(SimulationOptions options, Random random, int seed) {
+		if (options.getWindModelType() == WindModelType.MULTI_LEVEL) {
+			MultiLevelPinkNoiseWindModel source = options.getMultiLevelWindModel();
+			MultiLevelPinkNoiseWindModel model = new MultiLevelPinkNoiseWindModel();
+			model.clearLevels();
+			model.setAltitudeReference(source.getAltitudeReference());
+			int levelSeed = seed;
+			for (MultiLevelPinkNoiseWindModel.LevelWindModel level : source.getLevels()) {
+				double factor = Math.max(0, 1 + random.nextGaussian() * dispersion.getWindSpeedDeviation());
+				double direction = level.getDirection() + random.nextGaussian() * dispersion.getWindDirectionDeviation();
+				levelSeed = 31 * levelSeed + 17;
+				model.addWindLevel(level.getAltitude(), level.getSpeed() * factor, direction,
+						level.getStandardDeviation() * factor, levelSeed);
+			}
+			return model;
+		} else {
+			PinkNoiseWindModel source = options.getAverageWindModel();
+			PinkNoiseWindModel model = new PinkNoiseWindModel(seed);
+			double factor = Math.max(0, 1 + random.nextGaussian() * dispersion.getWindSpeedDeviation());
+			model.setDirection(source.getDirection() + random.nextGaussian() * dispersion.getWindDirectionDeviation());
+			model.setAverage(source.getAverage() * factor);
+			model.setStandardDeviation(source.getStandardDeviation() * factor);
+			return model;
+		}
+	}
+
+	/**
+	 * Derive a well-mixed, per-run seed from the base seed (SplitMix64 finalizer).
+	 */
+	static long runSeed(long seed, int index) {
+		long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
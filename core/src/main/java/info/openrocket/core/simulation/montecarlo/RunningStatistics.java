@@ -0,0 +1,78 @@
+package info.openrocket.core.simulation.montecarlo;
+
+/**
+ * Incrementally computed count, mean, standard deviation, minimum and maximum of a
+ * stream of values (Welford's algorithm).  Values are not retained, so memory use is
+ * constant regardless of the number of samples.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class RunningStatistics {
+
+	private long count = 0;
+	private double mean = 0;
+	private double m2 = 0;
+	private double min = Double.NaN;
+	private double max = Double.NaN;
+
+	/**
+	 * Add a sample.  NaN values are ignored.
+	 *
+	 * @param value	the value to add.
+	 */
+	public void add(double value) {
+		if (Double.isNaN(value)) {
+			return;
+		}
+		count++;
+		double delta = value - mean;
+		mean += delta / count;
+		m2 += delta * (value - mean);
+		if (count == 1) {
+			min = value;
+			max = value;
+		} else {
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+		}
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return the mean of the samples, or NaN if there are none.
+	 */
+	public double getMean() {
+		return count > 0 ? mean : Double.NaN;
+	}
+
+	/**
+	 * @return the sample variance, or NaN if there are fewer than two samples.
+	 */
+	public double getVariance() {
+		return count > 1 ? m2 / (count - 1) : Double.NaN;
+	}
+
+	/**
+	 * @return the sample standard deviation, or NaN if there are fewer than two samples.
+	 */
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("n=%d mean=%g stddev=%g min=%g max=%g",
+				count, getMean(), getStandardDeviation(), min, max);
+	}
+}
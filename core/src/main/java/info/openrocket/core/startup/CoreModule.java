@@ -7,6 +7,7 @@ import info.openrocket.core.formatting.RocketDescriptor;
 import info.openrocket.core.formatting.RocketDescriptorImpl;
 import info.openrocket.core.l10n.Translator;
 import info.openrocket.core.preferences.ApplicationPreferences;
+import info.openrocket.core.simulation.SimulationStepperRegistry;
 import info.openrocket.core.database.ComponentPresetDatabaseLoader;
 import info.openrocket.core.database.MotorDatabaseLoader;
 import info.openrocket.core.startup.providers.TranslatorProvider;
@@ -45,6 +46,7 @@ public class CoreModule extends AbstractModule {
 		bind(ApplicationPreferences.class).toProvider(CoreApplicationPreferencesProvider.class).in(Scopes.SINGLETON);
 		bind(Translator.class).toProvider(TranslatorProvider.class).in(Scopes.SINGLETON);
 		bind(RocketDescriptor.class).to(RocketDescriptorImpl.class).in(Scopes.SINGLETON);
+		bind(SimulationStepperRegistry.class).in(Scopes.SINGLETON);
 		
 		CoreComponentPresetDatabaseProvider componentDatabaseProvider = new CoreComponentPresetDatabaseProvider(presetLoader);
 		bind(ComponentPresetDatabase.class).toProvider(componentDatabaseProvider).in(Scopes.SINGLETON);
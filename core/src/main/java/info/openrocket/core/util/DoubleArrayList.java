@@ -0,0 +1,147 @@
+package info.openrocket.core.util;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive doubles.  Values are stored in a single <code>double[]</code>
+ * without boxing, which keeps long series of data points (e.g. simulated flight data) compact.
+ */
+public class DoubleArrayList implements Cloneable {
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private double[] data;
+	private int size;
+
+	public DoubleArrayList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public DoubleArrayList(int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Negative capacity: " + initialCapacity);
+		}
+		this.data = new double[initialCapacity];
+	}
+
+	/**
+	 * Append a value to the end of the list.
+	 */
+	public void add(double value) {
+		if (size == data.length) {
+			data = Arrays.copyOf(data, Math.max(DEFAULT_CAPACITY, data.length + (data.length >> 1)));
+		}
+		data[size++] = value;
+	}
+
+	/**
+	 * Append <code>count</code> copies of a value to the end of the list.
+	 */
+	public void fill(double value, int count) {
+		if (size + count > data.length) {
+			data = Arrays.copyOf(data, Math.max(size + count, data.length + (data.length >> 1)));
+		}
+		Arrays.fill(data, size, size + count, value);
+		size += count;
+	}
+
+	/**
+	 * Return the value at the specified index.
+	 *
+	 * @throws IndexOutOfBoundsException	if the index is out of range.
+	 */
+	public double get(int index) {
+		checkIndex(index);
+		return data[index];
+	}
+
+	/**
+	 * Set the value at the specified index.
+	 *
+	 * @throws IndexOutOfBoundsException	if the index is out of range.
+	 */
+	public void set(int index, double value) {
+		checkIndex(index);
+		data[index] = value;
+	}
+
+	/**
+	 * Remove the value at the specified index, shifting any subsequent values to the left.
+	 *
+	 * @return	the removed value.
+	 * @throws IndexOutOfBoundsException	if the index is out of range.
+	 */
+	public double remove(int index) {
+		checkIndex(index);
+		double value = data[index];
+		System.arraycopy(data, index + 1, data, index, size - index - 1);
+		size--;
+		return value;
+	}
+
+	/**
+	 * Return the last value of the list, or NaN if the list is empty.
+	 */
+	public double getLast() {
+		if (size == 0) {
+			return Double.NaN;
+		}
+		return data[size - 1];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Return a copy of the values as an array of length {@link #size()}.
+	 */
+	public double[] toArray() {
+		return Arrays.copyOf(data, size);
+	}
+
+	/**
+	 * Return a read-only view of the values, without copying them.  The view shares the
+	 * values with this list, so it must not be used after values are added to the list.
+	 */
+	public DoubleBuffer asReadOnlyBuffer() {
+		return DoubleBuffer.wrap(data, 0, size).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Return a copy of the values as a list of boxed doubles.
+	 */
+	public ArrayList<Double> toList() {
+		ArrayList<Double> list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(data[i]);
+		}
+		return list;
+	}
+
+	@Override
+	public DoubleArrayList clone() {
+		try {
+			DoubleArrayList clone = (DoubleArrayList) super.clone();
+			clone.data = Arrays.copyOf(data, size);
+			return clone;
+		} catch (CloneNotSupportedException e) {
+			throw new BugException("CloneNotSupportedException encountered", e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+}
@@ -369,6 +369,51 @@ public class MathUtil {
 		return range.get(left) + (t - domain.get(left)) * deltay / deltax;
 	}
 
+	/**
+	 * Use interpolation to determine the value of the function at point t.
+	 * This is the primitive array variant of {@link #interpolate(List, List, double)}
+	 * and behaves identically.
+	 *
+	 * @param domain array containing domain samples
+	 * @param range  array of corresponding range samples
+	 * @param t      domain value at which to interpolate
+	 * @return returns Double.NaN if either array is null or empty or different size,
+	 *         or if t is outsize the domain.
+	 */
+	public static double interpolate(double[] domain, double[] range, double t) {
+		if (domain == null || range == null || domain.length != range.length) {
+			return Double.NaN;
+		}
+
+		int length = domain.length;
+		if (length <= 1 || t < domain[0] || t > domain[length - 1] + EPSILON) {
+			return Double.NaN;
+		}
+
+		// Look for the index of the right end point.
+		int right = 1;
+		while (t > domain[right] + EPSILON) {
+			right++;
+		}
+		int left = right - 1;
+
+		double deltax = domain[right] - domain[left];
+		double deltay = range[right] - range[left];
+
+		// For numerical stability, if deltax is small,
+		if (Math.abs(deltax) < EPSILON) {
+			if (deltay < -1.0 * EPSILON) {
+				return Double.NEGATIVE_INFINITY;
+			} else if (deltay > EPSILON) {
+				return Double.POSITIVE_INFINITY;
+			} else {
+				return 0.0d;
+			}
+		}
+
+		return range[left] + (t - domain[left]) * deltay / deltax;
+	}
+
 	/**
 	 * Use interpolation to determine the value of the function at point t.
 	 * @param a the lower bound
@@ -7,6 +7,7 @@ import info.openrocket.core.optimization.general.OptimizationException;
 import info.openrocket.core.optimization.general.ParallelExecutorCache;
 import info.openrocket.core.optimization.general.ParallelFunctionCache;
 import info.openrocket.core.optimization.general.Point;
+import info.openrocket.core.optimization.general.multidim.DifferentialEvolutionOptimizer;
 import info.openrocket.core.optimization.general.multidim.MultidirectionalSearchOptimizer;
 
 public class TestFunctionOptimizer {
@@ -99,6 +100,20 @@ public class TestFunctionOptimizer {
 					" function evaluations, " + test.aborted + " aborted evaluations");
 			System.err.println("Statistics: " + optimizer.getStatistics());
 
+			executor.getExecutor().shutdownNow();
+
+			test = new TestFunctionOptimizer();
+			executor = new ParallelExecutorCache(threadCount);
+			DifferentialEvolutionOptimizer evolution = new DifferentialEvolutionOptimizer();
+			t0 = System.currentTimeMillis();
+			test.go(executor, evolution, new Point(0.2, 0.3, 0.85), 30);
+			t1 = System.currentTimeMillis();
+
+			System.err.println("Differential evolution took " + (t1 - t0) + "ms");
+			System.err.println("" + test.stepCount + " steps, " + test.evaluations +
+					" function evaluations, " + test.aborted + " aborted evaluations");
+			System.err.println("Statistics: " + evolution.getStatistics());
+
 			executor.getExecutor().shutdownNow();
 			Thread.sleep(1000);
 
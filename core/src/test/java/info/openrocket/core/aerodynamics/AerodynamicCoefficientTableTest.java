@@ -0,0 +1,135 @@
+package info.openrocket.core.aerodynamics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.rocketcomponent.BodyTube;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.MathUtil;
+import info.openrocket.core.util.TestRockets;
+
+public class AerodynamicCoefficientTableTest extends BaseTestCase {
+	private static final double EPSILON = 1.0e-6;
+	private static final double TOLERANCE = 0.02;
+
+	private static FlightConditions makeConditions(FlightConfiguration configuration, double mach, double aoa,
+			double theta, double rollRate) {
+		FlightConditions conditions = new FlightConditions(configuration);
+		conditions.setMach(mach);
+		conditions.setAOA(aoa);
+		conditions.setTheta(theta);
+		conditions.setRollRate(rollRate);
+		return conditions;
+	}
+
+	/**
+	 * The normal force, pitch moment and CP are exact at the Mach number and angle of attack
+	 * nodes of the grid, for any wind direction.
+	 */
+	@Test
+	public void testGridNodes() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfiguration configuration = rocket.getSelectedConfiguration();
+		BarrowmanCalculator exact = new BarrowmanCalculator();
+		BarrowmanCalculator tabulated = new BarrowmanCalculator(true);
+
+		for (double theta : new double[] { 0, 0.3, 1.1, 2.5 }) {
+			FlightConditions conditions = makeConditions(configuration, 0.3, MathUtil.deg2rad(5), theta, 0);
+			AerodynamicForces expected = exact.getAerodynamicForces(configuration, conditions, new WarningSet());
+			AerodynamicForces actual = tabulated.getAerodynamicForces(configuration, conditions, new WarningSet());
+
+			assertEquals(expected.getCN(), actual.getCN(), EPSILON);
+			assertEquals(expected.getCm(), actual.getCm(), EPSILON);
+			assertEquals(expected.getCP().x, actual.getCP().x, EPSILON);
+			assertEquals(expected.getCP().weight, actual.getCP().weight, EPSILON);
+			assertEquals(expected.getCD(), actual.getCD(), expected.getCD() * TOLERANCE);
+		}
+	}
+
+	/**
+	 * Between the nodes, the interpolated coefficients are close to the exact ones.
+	 */
+	@Test
+	public void testInterpolation() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfiguration configuration = rocket.getSelectedConfiguration();
+		BarrowmanCalculator exact = new BarrowmanCalculator();
+		BarrowmanCalculator tabulated = new BarrowmanCalculator(true);
+
+		for (double mach : new double[] { 0.012, 0.137, 0.437, 0.81 }) {
+			FlightConditions conditions = makeConditions(configuration, mach, MathUtil.deg2rad(3.3), 0.7, 25);
+			AerodynamicForces expected = exact.getAerodynamicForces(configuration, conditions, new WarningSet());
+			AerodynamicForces actual = tabulated.getAerodynamicForces(configuration, conditions, new WarningSet());
+
+			assertEquals(expected.getCN(), actual.getCN(), Math.abs(expected.getCN()) * TOLERANCE);
+			assertEquals(expected.getCP().x, actual.getCP().x, expected.getCP().x * TOLERANCE);
+			assertEquals(expected.getCD(), actual.getCD(), expected.getCD() * TOLERANCE);
+			assertEquals(expected.getCDaxial(), actual.getCDaxial(), expected.getCDaxial() * TOLERANCE);
+		}
+	}
+
+	/**
+	 * Conditions beyond the tabulated Mach numbers are calculated exactly.
+	 */
+	@Test
+	public void testOutsideTable() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfiguration configuration = rocket.getSelectedConfiguration();
+		FlightConditions conditions = makeConditions(configuration, 6, MathUtil.deg2rad(2), 0, 0);
+
+		assertNull(AerodynamicCoefficientTable.getTable(configuration).getAerodynamicForces(conditions, new WarningSet()));
+
+		AerodynamicForces expected = new BarrowmanCalculator().getAerodynamicForces(configuration, conditions, null);
+		AerodynamicForces actual = new BarrowmanCalculator(true).getAerodynamicForces(configuration, conditions, null);
+		assertEquals(expected.getCN(), actual.getCN(), EPSILON);
+		assertEquals(expected.getCD(), actual.getCD(), EPSILON);
+	}
+
+	/**
+	 * Copies of the same rocket share a table, a modified rocket gets a new one.
+	 */
+	@Test
+	public void testSharedTable() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		AerodynamicCoefficientTable table = AerodynamicCoefficientTable.getTable(rocket.getSelectedConfiguration());
+
+		Rocket copy = rocket.copyWithOriginalID();
+		assertSame(table, AerodynamicCoefficientTable.getTable(copy.getSelectedConfiguration()));
+		assertSame(table, AerodynamicCoefficientTable.getTable(rocket.getSelectedConfiguration().clone()));
+
+		BodyTube bodyTube = (BodyTube) rocket.getChild(0).getChild(1);
+		bodyTube.setLength(bodyTube.getLength() * 1.1);
+		assertNotSame(table, AerodynamicCoefficientTable.getTable(rocket.getSelectedConfiguration()));
+	}
+
+	@Test
+	public void testSimulation() throws SimulationException {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		Simulation sim = new Simulation(rocket);
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.getOptions().setRandomSeed(1234);
+
+		sim.simulate();
+		FlightData expected = sim.getSimulatedData();
+
+		sim.getOptions().setTabulatedAerodynamics(true);
+		sim.simulate();
+		FlightData actual = sim.getSimulatedData();
+
+		assertEquals(expected.getMaxAltitude(), actual.getMaxAltitude(), expected.getMaxAltitude() * TOLERANCE);
+		assertEquals(expected.getMaxVelocity(), actual.getMaxVelocity(), expected.getMaxVelocity() * TOLERANCE);
+		assertEquals(expected.getTimeToApogee(), actual.getTimeToApogee(), expected.getTimeToApogee() * TOLERANCE);
+	}
+}
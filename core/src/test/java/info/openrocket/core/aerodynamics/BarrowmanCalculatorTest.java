@@ -766,4 +766,27 @@ public class BarrowmanCalculatorTest {
 		}
 		assertEquals(11, boosterOnlyForceMap.size(), "Force map should contain 10 components");
 	}
+
+	/**
+	 * The zero angle of attack drag must equal the drag of the full calculation at zero angle of attack.
+	 */
+	@Test
+	public void testZeroAOADragCoefficient() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		BarrowmanCalculator calc = new BarrowmanCalculator();
+		FlightConditions conditions = new FlightConditions(config);
+
+		for (double mach : new double[] { 0.1, 0.5, 0.9, 1.5 }) {
+			conditions.setMach(mach);
+			conditions.setAOA(0);
+			double expected = calc.getAerodynamicForces(config, conditions, null).getCD();
+
+			// The angle of attack is ignored
+			conditions.setAOA(0.1);
+			assertEquals(expected, calc.getZeroAOADragCoefficient(config, conditions, new WarningSet()), 1.0e-12,
+					"Drag coefficient at Mach " + mach);
+		}
+		assertTrue(calc.getStallMargin() > 0);
+	}
 }
@@ -0,0 +1,90 @@
+package info.openrocket.core.aerodynamics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.rocketcomponent.BodyTube;
+import info.openrocket.core.rocketcomponent.FinSet;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.MathUtil;
+import info.openrocket.core.util.TestRockets;
+
+public class ComponentCalcSnapshotTest extends BaseTestCase {
+	private static final double EPSILON = 1.0e-12;
+
+	@Test
+	public void testSharedBetweenCopies() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		ComponentCalcSnapshot snapshot = ComponentCalcSnapshot.of(rocket);
+		assertTrue(snapshot.isValidFor(rocket));
+
+		Rocket copy = rocket.copyWithOriginalID();
+		assertSame(snapshot, ComponentCalcSnapshot.of(copy));
+
+		// Components of the copy are found by their ID
+		FinSet fins = (FinSet) copy.getChild(0).getChild(1).getChild(0);
+		assertNotNull(snapshot.get(fins));
+
+		BodyTube bodyTube = (BodyTube) rocket.getChild(0).getChild(1);
+		bodyTube.setLength(bodyTube.getLength() * 1.1);
+		assertFalse(snapshot.isValidFor(rocket));
+		assertNotSame(snapshot, ComponentCalcSnapshot.of(rocket));
+	}
+
+	/**
+	 * Calculators running concurrently on copies of the same rocket give the same results
+	 * as a calculator running alone.
+	 */
+	@Test
+	public void testConcurrentCalculators() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		final double[] expected = calculate(rocket.getSelectedConfiguration());
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<double[]>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				final Rocket copy = rocket.copyWithOriginalID();
+				results.add(executor.submit(() -> calculate(copy.getSelectedConfiguration())));
+			}
+			for (Future<double[]> result : results) {
+				double[] actual = result.get();
+				for (int i = 0; i < expected.length; i++) {
+					assertEquals(expected[i], actual[i], EPSILON);
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static double[] calculate(FlightConfiguration configuration) {
+		BarrowmanCalculator calculator = new BarrowmanCalculator();
+		double[] values = new double[3 * 20];
+		for (int i = 0; i < 20; i++) {
+			FlightConditions conditions = new FlightConditions(configuration);
+			conditions.setMach(0.1 * i);
+			conditions.setAOA(MathUtil.deg2rad(i));
+			AerodynamicForces forces = calculator.getAerodynamicForces(configuration, conditions, new WarningSet());
+			values[3 * i] = forces.getCN();
+			values[3 * i + 1] = forces.getCP().x;
+			values[3 * i + 2] = forces.getCD();
+		}
+		return values;
+	}
+}
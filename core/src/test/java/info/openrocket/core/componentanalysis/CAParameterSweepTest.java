@@ -0,0 +1,96 @@
+package info.openrocket.core.componentanalysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.aerodynamics.AerodynamicForces;
+import info.openrocket.core.aerodynamics.BarrowmanCalculator;
+import info.openrocket.core.aerodynamics.FlightConditions;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class CAParameterSweepTest extends BaseTestCase {
+	private static final double EPSILON = 1.0e-12;
+
+	/**
+	 * Compute the force analysis of the whole rocket sequentially.
+	 */
+	private static AerodynamicForces computeForces(Rocket rocket, double mach, double aoa) {
+		FlightConfiguration configuration = rocket.getSelectedConfiguration();
+		FlightConditions conditions = new FlightConditions(configuration);
+		conditions.setMach(mach);
+		conditions.setAOA(aoa);
+		conditions.setTheta(0);
+		conditions.setRollRate(0);
+		Map<RocketComponent, AerodynamicForces> forces = new BarrowmanCalculator().getForceAnalysis(configuration,
+				conditions, new WarningSet());
+		return forces.get(rocket);
+	}
+
+	@Test
+	public void testMachSweep() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		CAParameters parameters = new CAParameters(rocket, 0);
+		CAParameterSweep sweep = new CAParameterSweep(parameters, new BarrowmanCalculator(), rocket);
+
+		List<Integer> lengths = new ArrayList<>();
+		CADataBranch branch = sweep.sweep(CADomainDataType.MACH, 0.1, 0.9, 0.1, b -> lengths.add(b.getLength()));
+
+		assertEquals(9, branch.getLength());
+		assertEquals(9, lengths.size());
+		for (int i = 0; i < branch.getLength(); i++) {
+			assertEquals(i + 1, (int) lengths.get(i));
+			double mach = branch.getByIndex(CADomainDataType.MACH, rocket, i);
+			assertEquals((i + 1) / 10.0, mach, EPSILON);
+
+			AerodynamicForces expected = computeForces(rocket, mach, parameters.getAOA());
+			assertEquals(expected.getCP().x, branch.getByIndex(CADataType.CP_X, rocket, i), EPSILON);
+			assertEquals(expected.getCDTotal(), branch.getByIndex(CADataType.TOTAL_CD, rocket, i), EPSILON);
+		}
+
+		// The results refer to the components of the original rocket
+		RocketComponent bodyTube = rocket.getChild(0).getChild(1);
+		assertEquals(9, branch.getDoubleArray(CADataType.TOTAL_CD, bodyTube).length);
+	}
+
+	@Test
+	public void testMachAOAGrid() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		CAParameterSweep sweep = new CAParameterSweep(new CAParameters(rocket, 0), new BarrowmanCalculator(), rocket);
+
+		CADataBranch branch = sweep.sweep(CADomainDataType.MACH, 0.2, 0.7, 0.2,
+				CADomainDataType.AOA, 0, 0.12, 0.05, null);
+
+		assertEquals(9, branch.getLength());
+		for (int i = 0; i < 3; i++) {
+			for (int j = 0; j < 3; j++) {
+				int index = 3 * i + j;
+				double mach = branch.getByIndex(CADomainDataType.MACH, rocket, index);
+				double aoa = branch.getByIndex(CADomainDataType.AOA, rocket, index);
+				assertEquals(0.2 * (i + 1), mach, EPSILON);
+				assertEquals(0.05 * j, aoa, EPSILON);
+
+				AerodynamicForces expected = computeForces(rocket, mach, aoa);
+				assertEquals(expected.getCDTotal(), branch.getByIndex(CADataType.TOTAL_CD, rocket, index), EPSILON);
+			}
+		}
+	}
+
+	@Test
+	public void testInvalidGrid() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		CAParameterSweep sweep = new CAParameterSweep(new CAParameters(rocket, 0), new BarrowmanCalculator(), rocket);
+		assertThrows(IllegalArgumentException.class, () -> sweep.sweep(CADomainDataType.MACH, 0.1, 0.5, 0.1,
+				CADomainDataType.MACH, 0.1, 0.5, 0.1, null));
+	}
+}
@@ -0,0 +1,113 @@
+package info.openrocket.core.file;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Module;
+import com.google.inject.util.Modules;
+
+import info.openrocket.core.ServicesForTesting;
+import info.openrocket.core.database.ComponentPresetDao;
+import info.openrocket.core.database.motor.MotorDatabase;
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.file.openrocket.OpenRocketSaverTest;
+import info.openrocket.core.l10n.DebugTranslator;
+import info.openrocket.core.l10n.Translator;
+import info.openrocket.core.plugin.PluginModule;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.TestRockets;
+
+public class AutoSaverTest {
+
+	@TempDir
+	File tempDir;
+
+	@BeforeAll
+	public static void setup() {
+		Module applicationModule = new ServicesForTesting();
+		Module dbOverrides = new AbstractModule() {
+			@Override
+			protected void configure() {
+				bind(ComponentPresetDao.class).toProvider(new OpenRocketSaverTest.EmptyComponentDbProvider());
+				bind(MotorDatabase.class).toProvider(new OpenRocketSaverTest.MotorDbProvider());
+				bind(Translator.class).toInstance(new DebugTranslator(null));
+			}
+		};
+		Application.setInjector(Guice.createInjector(Modules.override(applicationModule).with(dbOverrides),
+				new PluginModule()));
+	}
+
+	private static OpenRocketDocument makeDocument() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		Simulation simulation = new Simulation(document, rocket);
+		simulation.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		simulation.getOptions().setISAAtmosphere(true);
+		simulation.getOptions().setTimeStep(0.05);
+		simulation.simulate();
+		document.addSimulation(simulation);
+		return document;
+	}
+
+	@Test
+	public void testAutosave() throws Exception {
+		OpenRocketDocument document = makeDocument();
+		Simulation simulation = document.getSimulation(0);
+		File recoveryFile = new File(tempDir, "recovery.ork");
+		AutoSaver autoSaver = new AutoSaver(document, recoveryFile, Runnable::run);
+
+		assertTrue(autoSaver.autosave().get());
+		assertTrue(recoveryFile.isFile());
+
+		// Nothing is written if the document is unchanged
+		assertFalse(autoSaver.autosave().get());
+
+		document.getRocket().getChild(0).getChild(1).setName("Autosaved");
+		simulation.setName("Autosaved simulation");
+		assertTrue(autoSaver.autosave().get());
+		assertFalse(autoSaver.autosave().get());
+
+		// Only the recovery file remains
+		assertEquals(1, tempDir.list().length);
+
+		OpenRocketDocument recovered = new GeneralRocketLoader(recoveryFile).load();
+		assertEquals("Autosaved", recovered.getRocket().getChild(0).getChild(1).getName());
+		assertEquals(1, recovered.getSimulationCount());
+		Simulation recoveredSimulation = recovered.getSimulation(0);
+		assertEquals("Autosaved simulation", recoveredSimulation.getName());
+		assertEquals(simulation.getFlightConfigurationId(), recoveredSimulation.getFlightConfigurationId());
+
+		FlightDataBranch branch = simulation.getSimulatedData().getBranch(0);
+		FlightDataBranch recoveredBranch = recoveredSimulation.getSimulatedData().getBranch(0);
+		assertEquals(branch.getLength(), recoveredBranch.getLength());
+		for (FlightDataType type : branch.getTypes()) {
+			assertArrayEquals(branch.getDoubleArray(type), recoveredBranch.getDoubleArray(type), 0);
+		}
+	}
+
+	@Test
+	public void testDeleteRecoveryFile() throws Exception {
+		OpenRocketDocument document = makeDocument();
+		File recoveryFile = new File(tempDir, "recovery.ork");
+		AutoSaver autoSaver = new AutoSaver(document, recoveryFile, Runnable::run);
+
+		autoSaver.autosave();
+		autoSaver.deleteRecoveryFile().get();
+		assertFalse(recoveryFile.exists());
+	}
+}
@@ -1,5 +1,6 @@
 package info.openrocket.core.file.openrocket;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -25,6 +26,7 @@ import info.openrocket.core.document.OpenRocketDocumentFactory;
 import info.openrocket.core.document.Simulation;
 import info.openrocket.core.document.StorageOptions;
 import info.openrocket.core.file.GeneralRocketLoader;
+import info.openrocket.core.file.GeneralRocketSaver;
 import info.openrocket.core.file.RocketLoadException;
 import info.openrocket.core.file.motor.GeneralMotorLoader;
 import info.openrocket.core.l10n.DebugTranslator;
@@ -38,6 +40,9 @@ import info.openrocket.core.plugin.PluginModule;
 import info.openrocket.core.rocketcomponent.BodyTube;
 import info.openrocket.core.rocketcomponent.FlightConfiguration;
 import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
 import info.openrocket.core.simulation.extension.impl.ScriptingExtension;
 import info.openrocket.core.simulation.extension.impl.ScriptingUtil;
 import info.openrocket.core.startup.Application;
@@ -253,20 +258,71 @@ public class OpenRocketSaverTest {
 	
 	/*
 	 * Test how accurate estimatedFileSize is.
-	 * 
-	 * Actual file is 5822 Bytes
-	 * Estimated file is 440 Bytes (yeah....)
 	 */
 	@Test
-	public void testEstimateFileSize() {
-		OpenRocketDocument rocketDoc = TestRockets.makeTestRocket_v104_withSimulationData();
+	public void testEstimateFileSize() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument rocketDoc = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		for (int i = 0; i < 3; i++) {
+			Simulation sim = new Simulation(rocket);
+			sim.getOptions().setISAAtmosphere(true);
+			sim.getOptions().setTimeStep(0.01 * (i + 1));
+			sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+			sim.simulate();
+			rocketDoc.addSimulation(sim);
+		}
 		
+		for (boolean binary : new boolean[] { false, true }) {
+			StorageOptions options = new StorageOptions();
+			options.setSaveSimulationData(true);
+			options.setBinarySimulationData(binary);
+			
+			long estimatedSize = saver.estimateFileSize(rocketDoc, options);
+			
+			File file = File.createTempFile(TMP_DIR.getName(), ".ork");
+			file.deleteOnExit();
+			new GeneralRocketSaver().save(file, rocketDoc, options);
+			long actualSize = file.length();
+			
+			assertEquals(actualSize, estimatedSize, 0.3 * actualSize,
+					"binary=" + binary + " estimated " + estimatedSize + " actual " + actualSize);
+		}
+	}
+
+	/**
+	 * Test that the size of simulation data that has not been read yet is estimated without
+	 * reading it.
+	 */
+	@Test
+	public void testEstimateFileSizeOfPendingData() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument rocketDoc = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		for (int i = 0; i < 3; i++) {
+			Simulation sim = new Simulation(rocket);
+			sim.getOptions().setISAAtmosphere(true);
+			sim.getOptions().setTimeStep(0.01 * (i + 1));
+			sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+			sim.simulate();
+			rocketDoc.addSimulation(sim);
+		}
+
 		StorageOptions options = new StorageOptions();
 		options.setSaveSimulationData(true);
-		
-		long estimatedSize = saver.estimateFileSize(rocketDoc, options);
-		
-		// TODO: fix estimateFileSize so that it's a lot more accurate
+		options.setBinarySimulationData(true);
+		File file = File.createTempFile(TMP_DIR.getName(), ".ork");
+		file.deleteOnExit();
+		new GeneralRocketSaver().save(file, rocketDoc, options);
+		OpenRocketDocument rocketDocLoaded = loadRocket(file.getPath());
+
+		long estimatedSize = saver.estimateFileSize(rocketDocLoaded, options);
+
+		for (Simulation sim : rocketDocLoaded.getSimulations()) {
+			for (FlightDataBranch branch : sim.getSimulatedData().getBranches()) {
+				assertTrue(branch.isDataPending());
+			}
+		}
+		assertEquals(file.length(), estimatedSize, 0.3 * file.length(),
+				"estimated " + estimatedSize + " actual " + file.length());
 	}
 
 	/**
@@ -327,6 +383,94 @@ public class OpenRocketSaverTest {
 		assertEquals(Simulation.Status.OUTDATED, rocketDocLoaded.getSimulations().get(3).getStatus());
 	}
 	
+	/**
+	 * Test that simulation data stored in binary archive entries is read lazily and unchanged.
+	 */
+	@Test
+	public void testBinarySimulationData() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument rocketDoc = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		Simulation sim = new Simulation(rocket);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		sim.simulate();
+		rocketDoc.addSimulation(sim);
+
+		StorageOptions options = new StorageOptions();
+		options.setSaveSimulationData(true);
+		options.setBinarySimulationData(true);
+
+		File file = File.createTempFile(TMP_DIR.getName(), ".ork");
+		file.deleteOnExit();
+		new GeneralRocketSaver().save(file, rocketDoc, options);
+		OpenRocketDocument rocketDocLoaded = loadRocket(file.getPath());
+
+		FlightData expected = sim.getSimulatedData();
+		FlightData loaded = rocketDocLoaded.getSimulations().get(0).getSimulatedData();
+		assertEquals(expected.getBranchCount(), loaded.getBranchCount());
+		// The flight summary is stored in the XML with three decimals, the data columns exactly
+		assertEquals(expected.getMaxAltitude(), loaded.getMaxAltitude(), 0.001);
+		assertEquals(expected.getFlightTime(), loaded.getFlightTime(), 0.001);
+
+		for (int i = 0; i < expected.getBranchCount(); i++) {
+			FlightDataBranch expectedBranch = expected.getBranch(i);
+			FlightDataBranch loadedBranch = loaded.getBranch(i);
+			assertTrue(loadedBranch.isDataPending());
+			assertEquals(expectedBranch.getLength(), loadedBranch.getLength());
+			assertEquals(expectedBranch.getEvents().size(), loadedBranch.getEvents().size());
+
+			for (FlightDataType type : expectedBranch.getTypes()) {
+				assertArrayEquals(expectedBranch.getDoubleArray(type), loadedBranch.getDoubleArray(type), 0);
+				assertEquals(expectedBranch.getMaximum(type), loadedBranch.getMaximum(type), 0);
+			}
+			assertFalse(loadedBranch.isDataPending());
+		}
+	}
+	
+	/**
+	 * Test that simulation data parsed in the background equals the data parsed while loading.
+	 */
+	@Test
+	public void testDeferredSimulationData() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument rocketDoc = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		for (int i = 0; i < 3; i++) {
+			Simulation sim = new Simulation(rocket);
+			sim.getOptions().setISAAtmosphere(true);
+			sim.getOptions().setTimeStep(0.05 + 0.01 * i);
+			sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+			sim.simulate();
+			rocketDoc.addSimulation(sim);
+		}
+
+		StorageOptions options = new StorageOptions();
+		options.setSaveSimulationData(true);
+		File file = saveRocket(rocketDoc, options);
+
+		OpenRocketDocument expectedDoc = loadRocket(file.getPath());
+		GeneralRocketLoader loader = new GeneralRocketLoader(file);
+		loader.setDeferSimulationData(true);
+		OpenRocketDocument deferredDoc = loader.load();
+		loader.getSimulationDataFuture().get();
+
+		for (int i = 0; i < 3; i++) {
+			FlightData expected = expectedDoc.getSimulations().get(i).getSimulatedData();
+			FlightData deferred = deferredDoc.getSimulations().get(i).getSimulatedData();
+			assertEquals(expected.getMaxAltitude(), deferred.getMaxAltitude(), 1.0e-9);
+			assertEquals(expected.getBranchCount(), deferred.getBranchCount());
+			for (int b = 0; b < expected.getBranchCount(); b++) {
+				FlightDataBranch expectedBranch = expected.getBranch(b);
+				FlightDataBranch deferredBranch = deferred.getBranch(b);
+				assertFalse(deferredBranch.isDataPending());
+				assertEquals(expectedBranch.getLength(), deferredBranch.getLength());
+				for (FlightDataType type : expectedBranch.getTypes()) {
+					assertArrayEquals(expectedBranch.getDoubleArray(type), deferredBranch.getDoubleArray(type), 0);
+				}
+			}
+		}
+	}
+	
 	////////////////////////////////
 	// Tests for File Version 1.10 //
 	////////////////////////////////
@@ -1,9 +1,14 @@
 package info.openrocket.core.masscalc;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
+import info.openrocket.core.rocketcomponent.BodyTube;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
 import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.util.TestRockets;
 import info.openrocket.core.util.BaseTestCase;
@@ -19,6 +24,41 @@ public class MassCacheTest extends BaseTestCase {
 		// .... soooo we have this waste of space. -DMW
 		assertTrue(true);
 	}
+
+	@Test
+	public void testStructureCache() {
+		Rocket rocket = TestRockets.makeFalcon9Heavy();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		MassCalculator calculator = new MassCalculator();
+
+		RigidBody full = calculator.getStructure(config);
+		assertEquals(MassCalculator.calculateStructure(config), full);
+		assertSame(full, calculator.getStructure(config));
+		assertEquals(1, calculator.getStructureCacheMisses());
+		assertEquals(1, calculator.getStructureCacheHits());
+
+		// A copy of the rocket has the same structure
+		Rocket copy = rocket.copyWithOriginalID();
+		assertSame(full, calculator.getStructure(copy.getSelectedConfiguration()));
+		assertEquals(2, calculator.getStructureCacheHits());
+
+		// Separating a stage changes the structure
+		config.setOnlyStage(TestRockets.FALCON_9H_BOOSTER_STAGE_NUMBER);
+		RigidBody booster = calculator.getStructure(config);
+		assertEquals(MassCalculator.calculateStructure(config), booster);
+		assertNotEquals(full.getMass(), booster.getMass());
+		assertEquals(2, calculator.getStructureCacheMisses());
+
+		config.setAllStages();
+		assertSame(full, calculator.getStructure(config));
+
+		// Modifying the rocket invalidates the cached structure
+		BodyTube body = (BodyTube) rocket.getChild(0).getChild(1);
+		body.setThickness(body.getThickness() * 2);
+		RigidBody modified = calculator.getStructure(config);
+		assertEquals(MassCalculator.calculateStructure(config), modified);
+		assertEquals(3, calculator.getStructureCacheMisses());
+	}
 	//
 	// FlightConfiguration config = rocket.getEmptyConfiguration();
 	// MassCalculator mc = new MassCalculator();
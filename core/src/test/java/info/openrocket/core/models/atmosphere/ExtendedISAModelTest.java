@@ -244,4 +244,23 @@ public class ExtendedISAModelTest {
 		assertTrue(pressureRatio < 1.0, "Pressure should decrease with altitude");
 		assertTrue(pressureRatio > 0.9, "Pressure shouldn't decrease too rapidly over 500m");
 	}
+
+	@Test
+	@DisplayName("Models with the same launch conditions should share their table")
+	void testSharedTable() {
+		ExtendedISAModel other = new ExtendedISAModel(1000.0, 281.15, 89876.0);
+		assertSame(altitudeModel.getTable(), other.getTable());
+		assertSame(new ExtendedISAModel().getTable(), standardModel.getTable());
+		assertNotSame(standardModel.getTable(), customModel.getTable());
+	}
+
+	@ParameterizedTest
+	@ValueSource(doubles = {-100.0, 0.0, 1234.5, 11000.0, 25250.0, 100000.0})
+	@DisplayName("Table accessors should match the interpolated conditions")
+	void testTableAccessors(double altitude) {
+		AtmosphereTable table = altitudeModel.getTable();
+		AtmosphericConditions conditions = altitudeModel.getConditions(altitude);
+		assertEquals(conditions.getTemperature(), table.getTemperature(altitude), 0);
+		assertEquals(conditions.getPressure(), table.getPressure(altitude), 0);
+	}
 }
@@ -188,6 +188,21 @@ public class ThrustCurveMotorTest {
 		assertEquals(3.0, motorX6.getThrust(3), 0.001);
 	}
 
+	@Test
+	public void testCursorMatchesMotor() {
+		final ThrustCurveMotor mtr = motorEstesA8_3;
+		final ThrustCurveMotor.Cursor cursor = mtr.newCursor();
+
+		// Increasing times with small steps back, as in a simulation, and then large jumps
+		final double[] timeList = { 0, 0.01, 0.005, 0.041, 0.1, 0.09, 0.2, 0.35, 0.7, 0.73, 0.8, 0.3, 0.0, 2.0, 0.15 };
+		for (double t : timeList) {
+			assertEquals(mtr.getThrust(t), cursor.getThrust(t), 0, "thrust at " + t);
+			assertEquals(mtr.getTotalMass(t), cursor.getTotalMass(t), 0, "mass at " + t);
+			assertEquals(mtr.getCMx(t), cursor.getCMx(t), 0, "CG at " + t);
+		}
+		assertTrue(Double.isNaN(cursor.getThrust(-1)));
+	}
+
 	@Test
 	public void testSimplifyDesignation() {
 		assertEquals(ThrustCurveMotor.Builder.simplifyDesignation("J115"), "J115");
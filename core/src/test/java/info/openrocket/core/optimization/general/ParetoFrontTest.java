@@ -0,0 +1,78 @@
+package info.openrocket.core.optimization.general;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ParetoFrontTest {
+
+	@Test
+	public void testDominance() {
+		assertTrue(ParetoFront.dominates(new double[] { 1, 2 }, new double[] { 1, 3 }));
+		assertFalse(ParetoFront.dominates(new double[] { 1, 2 }, new double[] { 1, 2 }));
+		assertFalse(ParetoFront.dominates(new double[] { 0, 3 }, new double[] { 1, 2 }));
+		assertTrue(ParetoFront.weaklyDominates(new double[] { 1, 2 }, new double[] { 1, 2 }));
+		assertFalse(ParetoFront.weaklyDominates(new double[] { 0, 3 }, new double[] { 1, 2 }));
+	}
+
+	@Test
+	public void testArchive() {
+		ParetoFront front = new ParetoFront();
+		assertTrue(front.add(new Point(0.1), new double[] { 3, 3 }));
+		assertTrue(front.add(new Point(0.2), new double[] { 1, 4 }));
+		// Dominated or equal to an archived solution
+		assertFalse(front.add(new Point(0.3), new double[] { 3, 5 }));
+		assertFalse(front.add(new Point(0.4), new double[] { 3, 3 }));
+		assertFalse(front.add(new Point(0.5), new double[] { Double.NaN, 0 }));
+		// Dominates the first solution
+		assertTrue(front.add(new Point(0.6), new double[] { 2, 2 }));
+		assertTrue(front.add(new Point(0.7), new double[] { 4, 1 }));
+
+		List<ParetoFront.Solution> solutions = front.getSolutions();
+		assertEquals(3, solutions.size());
+		assertEquals(new Point(0.2), solutions.get(0).getPoint());
+		assertEquals(new Point(0.6), solutions.get(1).getPoint());
+		assertEquals(new Point(0.7), solutions.get(2).getPoint());
+		assertEquals(2, solutions.get(1).getObjective(1), 0);
+	}
+
+	@Test
+	public void testMaxSize() {
+		ParetoFront front = new ParetoFront(3);
+		front.add(new Point(0.0), new double[] { 0, 10 });
+		front.add(new Point(1.0), new double[] { 10, 0 });
+		front.add(new Point(0.5), new double[] { 5, 5 });
+		// The most crowded solution is removed
+		assertFalse(front.add(new Point(0.4), new double[] { 4, 6 }));
+		assertEquals(3, front.size());
+		// A new extreme solution makes its neighbor the most crowded one
+		assertTrue(front.add(new Point(0.2), new double[] { -1, 12 }));
+		assertEquals(3, front.size());
+		List<ParetoFront.Solution> solutions = front.getSolutions();
+		assertEquals(new Point(0.2), solutions.get(0).getPoint());
+		assertEquals(new Point(0.5), solutions.get(1).getPoint());
+	}
+
+	@Test
+	public void testSortNondominated() {
+		List<double[]> objectives = List.of(
+				new double[] { 3, 3 },
+				new double[] { 1, 2 },
+				new double[] { 2, 1 },
+				new double[] { 4, 4 },
+				new double[] { 2, 4 });
+		List<List<Integer>> fronts = ParetoFront.sortNondominated(objectives);
+		assertEquals(List.of(List.of(1, 2), List.of(0, 4), List.of(3)), fronts);
+
+		double[] distances = ParetoFront.getCrowdingDistances(List.of(
+				new double[] { 0, 4 }, new double[] { 1, 2 }, new double[] { 2, 1 }, new double[] { 4, 0 }));
+		assertEquals(Double.POSITIVE_INFINITY, distances[0], 0);
+		assertEquals(Double.POSITIVE_INFINITY, distances[3], 0);
+		assertEquals(2.0 / 4 + 3.0 / 4, distances[1], 1e-10);
+		assertEquals(3.0 / 4 + 2.0 / 4, distances[2], 1e-10);
+	}
+}
@@ -0,0 +1,72 @@
+package info.openrocket.core.optimization.general;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PersistentEvaluationCacheTest {
+
+	@TempDir
+	File tempDir;
+
+	@Test
+	public void testStoreAndReload() throws Exception {
+		File file = new File(tempDir, "cache.bin");
+		PersistentEvaluationCache cache = new PersistentEvaluationCache(file, 10);
+		cache.put("a", new Point(0.25, 0.5), 1.5);
+		cache.put("b", new Point(0.25, 0.5), 2.5);
+		cache.put("a", new Point(0.75), Double.NaN);
+		assertEquals(1.5, cache.get("a", new Point(0.25, 0.5)), 0);
+		assertNull(cache.get("a", new Point(0.5, 0.5)));
+		assertNull(cache.get("c", new Point(0.25, 0.5)));
+		cache.save();
+
+		PersistentEvaluationCache reloaded = new PersistentEvaluationCache(file, 10);
+		assertEquals(3, reloaded.size());
+		assertEquals(1.5, reloaded.get("a", new Point(0.25, 0.5)), 0);
+		assertEquals(2.5, reloaded.get("b", new Point(0.25, 0.5)), 0);
+		assertEquals(Double.NaN, reloaded.get("a", new Point(0.75)), 0);
+	}
+
+	@Test
+	public void testEviction() throws Exception {
+		File file = new File(tempDir, "cache.bin");
+		PersistentEvaluationCache cache = new PersistentEvaluationCache(file, 3);
+		for (int i = 0; i < 3; i++) {
+			cache.put("f", new Point(i / 10.0), i);
+		}
+		// Access the first value so the second one is the least recently used
+		cache.get("f", new Point(0.0));
+		cache.put("f", new Point(0.3), 3);
+		assertEquals(3, cache.size());
+		assertNull(cache.get("f", new Point(0.1)));
+		cache.save();
+
+		// The access order is retained in the file
+		PersistentEvaluationCache reloaded = new PersistentEvaluationCache(file, 3);
+		reloaded.put("f", new Point(0.4), 4);
+		assertNull(reloaded.get("f", new Point(0.2)));
+		assertEquals(0, reloaded.get("f", new Point(0.0)), 0);
+		assertEquals(3, reloaded.get("f", new Point(0.3)), 0);
+	}
+
+	@Test
+	public void testInvalidFile() throws Exception {
+		File file = new File(tempDir, "cache.bin");
+		Files.write(file.toPath(), new byte[] { 1, 2, 3 });
+		PersistentEvaluationCache cache = new PersistentEvaluationCache(file, 10);
+		assertEquals(0, cache.size());
+
+		cache.put("f", new Point(0.5), 1);
+		cache.save();
+		assertEquals(1, new PersistentEvaluationCache(file, 10).size());
+		assertFalse(new File(tempDir, "missing").exists());
+		assertEquals(0, new PersistentEvaluationCache(new File(tempDir, "missing"), 10).size());
+	}
+}
@@ -0,0 +1,97 @@
+package info.openrocket.core.optimization.general.multidim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.optimization.general.OptimizationController;
+import info.openrocket.core.optimization.general.OptimizationException;
+import info.openrocket.core.optimization.general.ParallelExecutorCache;
+import info.openrocket.core.optimization.general.Point;
+
+public class DifferentialEvolutionOptimizerTest {
+
+	private static final int POPULATION_SIZE = 20;
+
+	private ParallelExecutorCache cache;
+	private final AtomicInteger evaluations = new AtomicInteger();
+	private final AtomicInteger outsideBounds = new AtomicInteger();
+	private int generations;
+
+	@BeforeEach
+	public void setup() {
+		// Points outside the bounds are not passed to the function, so check them when scheduled
+		cache = new ParallelExecutorCache(4) {
+			@Override
+			public void compute(Point point) {
+				for (int i = 0; i < point.dim(); i++) {
+					if (!(point.get(i) >= 0 && point.get(i) <= 1)) {
+						outsideBounds.incrementAndGet();
+					}
+				}
+				super.compute(point);
+			}
+		};
+	}
+
+	@AfterEach
+	public void tearDown() {
+		cache.getExecutor().shutdownNow();
+	}
+
+	/**
+	 * Minimize the squared distance to the target with a limited number of generations.
+	 */
+	private DifferentialEvolutionOptimizer optimize(Point target, final int maxGenerations) throws OptimizationException {
+		cache.setFunction(p -> {
+			evaluations.incrementAndGet();
+			return p.sub(target).length2();
+		});
+
+		OptimizationController control = new OptimizationController() {
+			@Override
+			public boolean stepTaken(Point oldPoint, double oldValue, Point newPoint, double newValue,
+					double stepSize) {
+				generations++;
+				assertTrue(newValue <= oldValue);
+				return generations < maxGenerations && stepSize > 1.0e-6;
+			}
+		};
+
+		DifferentialEvolutionOptimizer optimizer = new DifferentialEvolutionOptimizer(cache, POPULATION_SIZE,
+				DifferentialEvolutionOptimizer.DEFAULT_WEIGHT, DifferentialEvolutionOptimizer.DEFAULT_CROSSOVER,
+				new Random(1234));
+		optimizer.optimize(new Point(target.dim(), 0.5), control);
+		return optimizer;
+	}
+
+	@Test
+	public void testInteriorOptimum() throws OptimizationException {
+		Point target = new Point(0.2, 0.3, 0.85);
+		DifferentialEvolutionOptimizer optimizer = optimize(target, 200);
+
+		assertEquals(0, optimizer.getOptimumPoint().sub(target).length(), 0.001);
+		assertEquals(optimizer.getOptimumValue(), cache.getValue(optimizer.getOptimumPoint()), 0);
+		assertEquals(0, outsideBounds.get());
+		// Each generation evaluates one trial point per population member
+		assertTrue(evaluations.get() <= POPULATION_SIZE * (generations + 1));
+		assertTrue(evaluations.get() > POPULATION_SIZE * generations / 2);
+	}
+
+	@Test
+	public void testBoundedOptimum() throws OptimizationException {
+		Point target = new Point(1.3, 0.4);
+		DifferentialEvolutionOptimizer optimizer = optimize(target, 200);
+
+		Point optimum = optimizer.getOptimumPoint();
+		assertEquals(1.0, optimum.get(0), 0.001);
+		assertEquals(0.4, optimum.get(1), 0.001);
+		assertEquals(0, outsideBounds.get());
+	}
+}
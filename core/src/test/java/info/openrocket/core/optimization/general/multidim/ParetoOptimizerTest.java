@@ -0,0 +1,120 @@
+package info.openrocket.core.optimization.general.multidim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.optimization.general.MultiObjectiveFunction;
+import info.openrocket.core.optimization.general.OptimizationException;
+import info.openrocket.core.optimization.general.ParetoFront;
+import info.openrocket.core.optimization.general.Point;
+
+public class ParetoOptimizerTest {
+
+	private static final int POPULATION_SIZE = 20;
+
+	private ParetoOptimizer optimizer;
+
+	@AfterEach
+	public void tearDown() {
+		optimizer.getExecutor().shutdownNow();
+	}
+
+	@Test
+	public void testParetoFront() throws OptimizationException {
+		final AtomicInteger evaluations = new AtomicInteger();
+		final AtomicInteger outsideBounds = new AtomicInteger();
+
+		// The Pareto optimal points are on the line y=0.5 between x=0.2 and x=0.8
+		MultiObjectiveFunction function = new MultiObjectiveFunction() {
+			@Override
+			public int getObjectiveCount() {
+				return 2;
+			}
+
+			@Override
+			public double[] evaluate(Point p) {
+				evaluations.incrementAndGet();
+				for (int i = 0; i < p.dim(); i++) {
+					if (!(p.get(i) >= 0 && p.get(i) <= 1)) {
+						outsideBounds.incrementAndGet();
+					}
+				}
+				double x = p.get(0);
+				double y = p.get(1);
+				return new double[] {
+						(x - 0.2) * (x - 0.2) + (y - 0.5) * (y - 0.5),
+						(x - 0.8) * (x - 0.8) + (y - 0.5) * (y - 0.5)
+				};
+			}
+		};
+
+		optimizer = new ParetoOptimizer(function, ParetoOptimizer.createExecutor(4), POPULATION_SIZE,
+				DifferentialEvolutionOptimizer.DEFAULT_WEIGHT, DifferentialEvolutionOptimizer.DEFAULT_CROSSOVER,
+				new Random(1234), new ParetoFront(50));
+		optimizer.optimize(new Point(0.5, 0.9), 100);
+
+		assertEquals(POPULATION_SIZE * 101, evaluations.get());
+		assertEquals(0, outsideBounds.get());
+
+		List<ParetoFront.Solution> solutions = optimizer.getParetoFront().getSolutions();
+		assertEquals(50, solutions.size());
+		double minX = 1;
+		double maxX = 0;
+		for (ParetoFront.Solution s : solutions) {
+			Point p = s.getPoint();
+			assertEquals(0.5, p.get(1), 0.05);
+			assertTrue(p.get(0) > 0.19 && p.get(0) < 0.81, "Point outside Pareto set: " + p);
+			minX = Math.min(minX, p.get(0));
+			maxX = Math.max(maxX, p.get(0));
+		}
+		// The front covers the whole Pareto set
+		assertTrue(minX < 0.25, "Minimum x " + minX);
+		assertTrue(maxX > 0.75, "Maximum x " + maxX);
+		assertEquals(POPULATION_SIZE, optimizer.getPopulation().size());
+	}
+
+	@Test
+	public void testInfeasiblePoints() throws OptimizationException {
+		// Points with x < 0.5 have finite objective values but are not feasible
+		MultiObjectiveFunction function = new MultiObjectiveFunction() {
+			@Override
+			public int getObjectiveCount() {
+				return 2;
+			}
+
+			@Override
+			public double[] evaluate(Point p) {
+				double x = p.get(0);
+				double y = p.get(1);
+				return new double[] {
+						(x - 0.2) * (x - 0.2) + (y - 0.5) * (y - 0.5),
+						(x - 0.8) * (x - 0.8) + (y - 0.5) * (y - 0.5)
+				};
+			}
+
+			@Override
+			public boolean isFeasible(Point p) {
+				return p.get(0) >= 0.5;
+			}
+		};
+
+		optimizer = new ParetoOptimizer(function, ParetoOptimizer.createExecutor(2), POPULATION_SIZE,
+				DifferentialEvolutionOptimizer.DEFAULT_WEIGHT, DifferentialEvolutionOptimizer.DEFAULT_CROSSOVER,
+				new Random(1234), new ParetoFront(50));
+		optimizer.optimize(new Point(0.5, 0.9), 20);
+
+		List<ParetoFront.Solution> solutions = optimizer.getParetoFront().getSolutions();
+		assertFalse(solutions.isEmpty());
+		for (ParetoFront.Solution s : solutions) {
+			assertTrue(s.getPoint().get(0) >= 0.5, "Infeasible point in Pareto front: " + s.getPoint());
+		}
+	}
+}
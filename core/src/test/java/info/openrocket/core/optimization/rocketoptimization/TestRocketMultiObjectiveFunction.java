@@ -0,0 +1,138 @@
+package info.openrocket.core.optimization.rocketoptimization;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.file.CSVExport;
+import info.openrocket.core.optimization.general.ParetoFront;
+import info.openrocket.core.optimization.general.Point;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.unit.Unit;
+import info.openrocket.core.unit.UnitGroup;
+import info.openrocket.core.unit.Value;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.Pair;
+
+@ExtendWith(MockitoExtension.class)
+public class TestRocketMultiObjectiveFunction extends BaseTestCase {
+
+	@Mock
+	OptimizableParameter parameter1;
+	@Mock
+	OptimizableParameter parameter2;
+	@Mock
+	OptimizationGoal goal1;
+	@Mock
+	OptimizationGoal goal2;
+	@Mock
+	SimulationDomain domain;
+	@Mock
+	SimulationModifier modifier;
+
+	private RocketMultiObjectiveFunction newFunction(Simulation simulation) {
+		return new RocketMultiObjectiveFunction(simulation,
+				new OptimizableParameter[] { parameter1, parameter2 },
+				new OptimizationGoal[] { goal1, goal2 }, domain, modifier) {
+			@Override
+			Simulation newSimulationInstance(Simulation sim) {
+				return sim;
+			}
+		};
+	}
+
+	@Test
+	public void testEvaluation() throws Exception {
+		final Simulation simulation = new Simulation(new Rocket());
+		final Point point = new Point(0.4);
+
+		when(domain.getDistanceToDomain(simulation)).thenReturn(new Pair<>(-1.0, new Value(-1.0, Unit.NOUNIT)));
+		when(modifier.getCurrentSIValue(simulation)).thenReturn(0.25);
+		when(parameter1.computeValue(simulation)).thenReturn(120.0);
+		when(parameter2.computeValue(simulation)).thenReturn(35.0);
+		when(goal1.getMinimizationParameter(120.0)).thenReturn(-120.0);
+		when(goal2.getMinimizationParameter(35.0)).thenReturn(Double.NaN);
+
+		RocketMultiObjectiveFunction function = newFunction(simulation);
+		assertEquals(2, function.getObjectiveCount());
+		assertArrayEquals(new double[] { -120.0, Double.MAX_VALUE }, function.evaluate(point), 0);
+
+		verify(modifier, times(1)).modify(simulation, 0.4);
+		RocketMultiObjectiveFunction.Evaluation evaluation = function.getEvaluation(point);
+		assertEquals(0.25, evaluation.getModifierValue(0), 0);
+		assertEquals(120.0, evaluation.getParameterValue(0), 0);
+		assertEquals(35.0, evaluation.getParameterValue(1), 0);
+		assertTrue(function.isFeasible(point));
+	}
+
+	@Test
+	public void testOutsideDomain() throws Exception {
+		final Simulation simulation = new Simulation(new Rocket());
+		final Point point = new Point(0.9);
+
+		when(domain.getDistanceToDomain(simulation)).thenReturn(new Pair<>(0.5, new Value(0.5, Unit.NOUNIT)));
+
+		RocketMultiObjectiveFunction function = newFunction(simulation);
+		double[] objectives = function.evaluate(point);
+		assertTrue(objectives[0] > 1.0e100);
+		assertEquals(objectives[0], objectives[1], 0);
+		assertTrue(Double.isNaN(function.getEvaluation(point).getParameterValue(0)));
+		assertFalse(function.isFeasible(point));
+		assertFalse(function.isFeasible(new Point(0.1)));
+		verify(parameter1, never()).computeValue(simulation);
+		verify(parameter2, never()).computeValue(simulation);
+	}
+
+	@Test
+	public void testExportCSV() throws Exception {
+		final Simulation simulation = new Simulation(new Rocket());
+
+		when(domain.getDistanceToDomain(simulation)).thenReturn(new Pair<>(-1.0, new Value(-1.0, Unit.NOUNIT)));
+		when(modifier.getName()).thenReturn("Length");
+		when(modifier.getUnitGroup()).thenReturn(UnitGroup.UNITS_NONE);
+		when(modifier.getCurrentSIValue(simulation)).thenReturn(0.5, 0.75);
+		when(parameter1.getName()).thenReturn("Altitude");
+		when(parameter1.getUnitGroup()).thenReturn(UnitGroup.UNITS_NONE);
+		when(parameter1.computeValue(simulation)).thenReturn(100.0, 150.0);
+		when(parameter2.getName()).thenReturn("Distance");
+		when(parameter2.getUnitGroup()).thenReturn(UnitGroup.UNITS_NONE);
+		when(parameter2.computeValue(simulation)).thenReturn(10.0, 20.0);
+		when(goal1.getMinimizationParameter(100.0)).thenReturn(-100.0);
+		when(goal1.getMinimizationParameter(150.0)).thenReturn(-150.0);
+		when(goal2.getMinimizationParameter(10.0)).thenReturn(10.0);
+		when(goal2.getMinimizationParameter(20.0)).thenReturn(20.0);
+
+		RocketMultiObjectiveFunction function = newFunction(simulation);
+		ParetoFront front = new ParetoFront();
+		Point p1 = new Point(0.5);
+		Point p2 = new Point(0.75);
+		front.add(p1, function.evaluate(p1));
+		front.add(p2, function.evaluate(p2));
+		assertEquals(2, front.size());
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CSVExport.exportCSV(out, function, front, ",", 3, false, true, "#");
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\\R");
+		assertEquals(4, lines.length);
+		assertEquals("# 2 non-dominated solutions", lines[0]);
+		String unit = " (" + Unit.NOUNIT.getUnit() + ")";
+		assertEquals("# Length" + unit + ",Altitude" + unit + ",Distance" + unit, lines[1]);
+		// Sorted by the first objective
+		assertEquals("0.75,150,20", lines[2]);
+		assertEquals("0.5,100,10", lines[3]);
+	}
+}
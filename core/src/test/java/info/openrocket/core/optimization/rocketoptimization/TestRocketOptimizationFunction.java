@@ -2,6 +2,7 @@ package info.openrocket.core.optimization.rocketoptimization;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
@@ -9,18 +10,26 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 
 import info.openrocket.core.document.Simulation;
 import info.openrocket.core.optimization.general.OptimizationException;
+import info.openrocket.core.optimization.general.PersistentEvaluationCache;
 import info.openrocket.core.optimization.general.Point;
+import info.openrocket.core.optimization.rocketoptimization.goals.MaximizationGoal;
+import info.openrocket.core.optimization.rocketoptimization.goals.MinimizationGoal;
+import info.openrocket.core.rocketcomponent.BodyTube;
 import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.unit.Unit;
 import info.openrocket.core.unit.UnitGroup;
 import info.openrocket.core.unit.Value;
 import info.openrocket.core.util.Pair;
 import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
 import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -41,6 +50,9 @@ public class TestRocketOptimizationFunction extends BaseTestCase {
 	@Mock
 	RocketOptimizationListener listener;
 
+	@TempDir
+	File tempDir;
+
 	@Test
 	public void testNormalEvaluation() throws InterruptedException, OptimizationException {
 		final Rocket rocket = new Rocket();
@@ -234,4 +246,89 @@ public class TestRocketOptimizationFunction extends BaseTestCase {
 		assertEquals(sim.getRocket().getName(), "Foobar");
 	}
 
+	@Test
+	public void testSimulationInstanceReset() {
+		final Rocket rocket = TestRockets.makeEstesAlphaIII();
+		final Simulation simulation = new Simulation(rocket);
+		final double length = rocket.getChild(0).getChild(1).getLength();
+
+		RocketOptimizationFunction function = new RocketOptimizationFunction(simulation,
+				parameter, goal, domain, modifier1);
+
+		Simulation first = function.newSimulationInstance(simulation);
+		BodyTube bodyTube = (BodyTube) first.getRocket().getChild(0).getChild(1);
+		bodyTube.setLength(length * 2);
+
+		// The rocket copy is reused and reset for the next evaluation
+		Simulation second = function.newSimulationInstance(simulation);
+		assertFalse(first == second);
+		assertTrue(first.getRocket() == second.getRocket());
+		assertEquals(length, second.getRocket().getChild(0).getChild(1).getLength(), 0);
+		assertEquals(length, rocket.getChild(0).getChild(1).getLength(), 0);
+	}
+
+	@Test
+	public void testCacheKey() {
+		final Rocket rocket = TestRockets.makeEstesAlphaIII();
+		final Simulation simulation = new Simulation(rocket);
+		simulation.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+
+		String key = new RocketOptimizationFunction(simulation, parameter, new MaximizationGoal(), domain,
+				modifier1).getCacheKey();
+		assertEquals(64, key.length());
+
+		// The goal is applied to the stored values and does not affect the key
+		assertEquals(key, new RocketOptimizationFunction(simulation, parameter, new MinimizationGoal(), domain,
+				modifier1).getCacheKey());
+
+		assertNotEquals(key, new RocketOptimizationFunction(simulation, parameter, goal, domain,
+				modifier1, modifier2).getCacheKey());
+
+		BodyTube bodyTube = (BodyTube) rocket.getChild(0).getChild(1);
+		bodyTube.setLength(bodyTube.getLength() + 0.01);
+		assertNotEquals(key, new RocketOptimizationFunction(simulation, parameter, goal, domain,
+				modifier1).getCacheKey());
+	}
+
+	@Test
+	public void testEvaluationCache() throws Exception {
+		final Rocket rocket = new Rocket();
+		final Simulation simulation = new Simulation(rocket);
+
+		final double pvalue = 9.81;
+		final double gvalue = 8.81;
+		final Point point = new Point(0.4, 0.7);
+
+		when(domain.getDistanceToDomain(simulation)).thenReturn(new Pair<>(-1.0, null));
+		when(parameter.computeValue(simulation)).thenReturn(pvalue);
+		when(goal.getMinimizationParameter(pvalue)).thenReturn(gvalue);
+		when(parameter.getUnitGroup()).thenReturn(UnitGroup.UNITS_NONE);
+
+		File file = new File(tempDir, "cache.bin");
+		PersistentEvaluationCache cache = new PersistentEvaluationCache(file, 10);
+		RocketOptimizationFunction function = newFunction(simulation);
+		function.setEvaluationCache(cache);
+		assertEquals(gvalue, function.evaluate(point), 0);
+		assertEquals(1, cache.size());
+		cache.save();
+
+		// A new function reuses the stored value of the same design, also after reloading
+		RocketOptimizationFunction second = newFunction(simulation);
+		second.setEvaluationCache(new PersistentEvaluationCache(file, 10));
+		assertEquals(gvalue, second.evaluate(point), 0);
+
+		verify(parameter, times(1)).computeValue(simulation);
+		verify(goal, times(2)).getMinimizationParameter(pvalue);
+		verify(modifier1, times(2)).modify(simulation, 0.4);
+		verify(domain, times(2)).getDistanceToDomain(simulation);
+	}
+
+	private RocketOptimizationFunction newFunction(Simulation simulation) {
+		return new RocketOptimizationFunction(simulation, parameter, goal, domain, modifier1, modifier2) {
+			@Override
+			Simulation newSimulationInstance(Simulation sim) {
+				return sim;
+			}
+		};
+	}
 }
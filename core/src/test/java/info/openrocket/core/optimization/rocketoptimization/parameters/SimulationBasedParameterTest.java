@@ -0,0 +1,46 @@
+package info.openrocket.core.optimization.rocketoptimization.parameters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.optimization.rocketoptimization.OptimizableParameter;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class SimulationBasedParameterTest extends BaseTestCase {
+
+	private static Simulation createSimulation() {
+		Simulation simulation = new Simulation(TestRockets.makeEstesAlphaIII());
+		simulation.getOptions().setISAAtmosphere(true);
+		simulation.getOptions().setTimeStep(0.05);
+		simulation.getOptions().setRandomSeed(1234);
+		simulation.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		return simulation;
+	}
+
+	private static void assertSameValues(OptimizableParameter... parameters) throws Exception {
+		Simulation simulation = createSimulation();
+		double[] values = SimulationBasedParameter.computeValues(simulation, parameters);
+		assertEquals(parameters.length, values.length);
+		for (int i = 0; i < parameters.length; i++) {
+			double expected = parameters[i].computeValue(simulation);
+			assertFalse(Double.isNaN(expected));
+			assertEquals(expected, values[i], Math.abs(expected) * 1.0e-9, parameters[i].getClass().getSimpleName());
+		}
+	}
+
+	@Test
+	public void testSameListeners() throws Exception {
+		assertSameValues(new MaximumAltitudeParameter(), new MaximumVelocityParameter(),
+				new MaximumAccelerationParameter());
+	}
+
+	@Test
+	public void testDifferentListeners() throws Exception {
+		assertSameValues(new MaximumAltitudeParameter(), new LandingDistanceParameter(),
+				new GroundHitVelocityParameter(), new StabilityParameter(true));
+	}
+}
@@ -0,0 +1,107 @@
+package info.openrocket.core.rocketcomponent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.MathUtil;
+import info.openrocket.core.util.TestRockets;
+
+public class RocketSnapshotTest extends BaseTestCase {
+	private static final double EPSILON = MathUtil.EPSILON;
+
+	private static int countComponents(Rocket rocket) {
+		int count = 0;
+		for (RocketComponent c : rocket) {
+			if (c != rocket) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Test
+	public void testOnlyModifiedComponentsCopied() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		int count = countComponents(rocket);
+
+		RocketSnapshot first = RocketSnapshot.of(rocket);
+		assertEquals(count, first.getComponentCount());
+		assertEquals(count, first.getCopiedCount());
+
+		rocket.getChild(0).getChild(1).setName("Modified");
+		RocketSnapshot second = RocketSnapshot.of(rocket, first);
+		assertEquals(count, second.getComponentCount());
+		assertEquals(1, second.getCopiedCount());
+
+		// Events fired by the rocket itself may concern any component
+		rocket.fireComponentChangeEvent(ComponentChangeEvent.NONFUNCTIONAL_CHANGE);
+		RocketSnapshot third = RocketSnapshot.of(rocket, second);
+		assertEquals(count, third.getCopiedCount());
+	}
+
+	@Test
+	public void testRestore() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfigurationId selectedId = rocket.getSelectedConfiguration().getId();
+		String configName = rocket.getSelectedConfiguration().getNameRaw();
+		BodyTube bodyTube = (BodyTube) rocket.getChild(0).getChild(1);
+		double length = bodyTube.getLength();
+
+		RocketSnapshot first = RocketSnapshot.of(rocket);
+		bodyTube.setLength(length * 1.1);
+		bodyTube.setName("Modified");
+		RocketSnapshot second = RocketSnapshot.of(rocket, first);
+
+		Rocket restored = first.toRocket();
+		assertSame(first.getModID(), restored.getModID());
+		assertEquals(countComponents(rocket), countComponents(restored));
+		BodyTube restoredTube = (BodyTube) restored.getChild(0).getChild(1);
+		assertNotSame(bodyTube, restoredTube);
+		assertEquals(bodyTube.getID(), restoredTube.getID());
+		assertEquals(length, restoredTube.getLength(), EPSILON);
+		assertFalse("Modified".equals(restoredTube.getName()));
+		assertEquals(selectedId, restored.getSelectedConfiguration().getId());
+		assertEquals(configName, restored.getSelectedConfiguration().getNameRaw());
+		assertEquals(rocket.getConfigurationCount(), restored.getConfigurationCount());
+
+		// Restoring does not modify the snapshot
+		restored.getChild(0).getChild(1).setName("Again");
+		restoredTube = (BodyTube) second.toRocket().getChild(0).getChild(1);
+		assertEquals("Modified", restoredTube.getName());
+		assertEquals(length * 1.1, restoredTube.getLength(), EPSILON);
+	}
+
+	@Test
+	public void testDocumentUndoRedo() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		rocket = document.getRocket();
+		double length = ((BodyTube) rocket.getChild(0).getChild(1)).getLength();
+
+		document.addUndoPosition("Modify body tube");
+		((BodyTube) rocket.getChild(0).getChild(1)).setLength(2 * length);
+		document.addUndoPosition("Modify nose cone");
+		((NoseCone) rocket.getChild(0).getChild(0)).setLength(0.2);
+
+		assertTrue(document.isUndoAvailable());
+		document.undo();
+		assertEquals(2 * length, ((BodyTube) rocket.getChild(0).getChild(1)).getLength(), EPSILON);
+		document.undo();
+		assertEquals(length, ((BodyTube) rocket.getChild(0).getChild(1)).getLength(), EPSILON);
+
+		assertTrue(document.isRedoAvailable());
+		document.redo();
+		document.redo();
+		assertEquals(2 * length, ((BodyTube) rocket.getChild(0).getChild(1)).getLength(), EPSILON);
+		assertEquals(0.2, ((NoseCone) rocket.getChild(0).getChild(0)).getLength(), EPSILON);
+		assertFalse(document.isRedoAvailable());
+	}
+}
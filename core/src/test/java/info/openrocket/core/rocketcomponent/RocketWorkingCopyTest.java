@@ -0,0 +1,121 @@
+package info.openrocket.core.rocketcomponent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.motor.MotorConfiguration;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.MathUtil;
+import info.openrocket.core.util.TestRockets;
+
+public class RocketWorkingCopyTest extends BaseTestCase {
+	private static final double EPSILON = MathUtil.EPSILON;
+
+	private static int countComponents(Rocket rocket) {
+		int count = 0;
+		for (RocketComponent c : rocket) {
+			if (c != rocket) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static InnerTube findMotorMount(Rocket rocket) {
+		for (RocketComponent c : rocket) {
+			if (c instanceof InnerTube) {
+				return (InnerTube) c;
+			}
+		}
+		throw new IllegalStateException("No inner tube in " + rocket);
+	}
+
+	@Test
+	public void testOnlyModifiedComponentsCopied() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		int count = countComponents(rocket);
+		BodyTube bodyTube = (BodyTube) rocket.getChild(0).getChild(1);
+		double length = bodyTube.getLength();
+		double rocketLength = rocket.getSelectedConfiguration().getLength();
+
+		RocketWorkingCopy workingCopy = new RocketWorkingCopy(rocket);
+		Rocket copy = workingCopy.reset();
+		assertNotSame(rocket, copy);
+		assertEquals(count, countComponents(copy));
+		assertEquals(count, workingCopy.getCopiedCount());
+
+		// Unmodified copy is returned as is
+		assertSame(copy, workingCopy.reset());
+		assertEquals(count, workingCopy.getCopiedCount());
+
+		// The motor mount tube is positioned from the top of the body tube and extends past its
+		// aft end, so the rocket length is compared to a separate copy with the same modification
+		Rocket modified = rocket.copyWithOriginalID();
+		((BodyTube) modified.getChild(0).getChild(1)).setLength(length * 2);
+		double modifiedLength = modified.getSelectedConfiguration().getLength();
+
+		BodyTube copiedTube = (BodyTube) copy.getChild(0).getChild(1);
+		copiedTube.setLength(length * 2);
+		assertEquals(modifiedLength, copy.getSelectedConfiguration().getLength(), EPSILON);
+
+		assertSame(copy, workingCopy.reset());
+		assertEquals(count + 1, workingCopy.getCopiedCount());
+		BodyTube restoredTube = (BodyTube) copy.getChild(0).getChild(1);
+		assertNotSame(copiedTube, restoredTube);
+		assertEquals(bodyTube.getID(), restoredTube.getID());
+		assertEquals(length, restoredTube.getLength(), EPSILON);
+		assertEquals(bodyTube.getChildCount(), restoredTube.getChildCount());
+		for (RocketComponent child : restoredTube.getChildren()) {
+			assertSame(restoredTube, child.getParent());
+		}
+		assertEquals(rocketLength, copy.getSelectedConfiguration().getLength(), EPSILON);
+
+		// The original rocket is never modified
+		assertEquals(length, bodyTube.getLength(), EPSILON);
+	}
+
+	@Test
+	public void testOriginalModified() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		int count = countComponents(rocket);
+		RocketWorkingCopy workingCopy = new RocketWorkingCopy(rocket);
+		Rocket copy = workingCopy.reset();
+
+		BodyTube bodyTube = (BodyTube) rocket.getChild(0).getChild(1);
+		bodyTube.setLength(bodyTube.getLength() * 2);
+
+		Rocket newCopy = workingCopy.reset();
+		assertNotSame(copy, newCopy);
+		assertEquals(2 * count, workingCopy.getCopiedCount());
+		assertEquals(bodyTube.getLength(), newCopy.getChild(0).getChild(1).getLength(), EPSILON);
+	}
+
+	@Test
+	public void testTouchedComponents() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfigurationId fcid = TestRockets.TEST_FCID_0;
+		InnerTube mount = findMotorMount(rocket);
+		double delay = mount.getMotorConfig(fcid).getEjectionDelay();
+
+		RocketWorkingCopy workingCopy = new RocketWorkingCopy(rocket);
+		Rocket copy = workingCopy.reset();
+
+		// Motor configurations are modified without events
+		findMotorMount(copy).getMotorConfig(fcid).setEjectionDelay(delay + 2);
+		workingCopy.reset();
+		assertEquals(delay + 2, findMotorMount(copy).getMotorConfig(fcid).getEjectionDelay(), EPSILON);
+
+		assertSame(copy, workingCopy.reset(Set.of(mount.getID())));
+		assertEquals(delay, findMotorMount(copy).getMotorConfig(fcid).getEjectionDelay(), EPSILON);
+		// The flight configuration refers to the motors of the new mount
+		for (MotorConfiguration motor : copy.getFlightConfiguration(fcid).getAllMotors()) {
+			assertSame(findMotorMount(copy), motor.getMount());
+			assertEquals(delay, motor.getEjectionDelay(), EPSILON);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.aerodynamics.AerodynamicForces;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.listeners.AbstractSimulationListener;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class AdaptiveRK45SimulationStepperTest extends BaseTestCase {
+	private static final Logger log = LoggerFactory.getLogger(AdaptiveRK45SimulationStepperTest.class);
+
+	/** Time step of the reference flight */
+	private static final double REFERENCE_TIME_STEP = 0.002;
+
+	/** Time step of the compared flights, chosen for an accurate flight */
+	private static final double ACCURATE_TIME_STEP = 0.01;
+
+	/**
+	 * Counts the aerodynamic force calculations of a simulation.  The simulation runs with clones
+	 * of the listener, which share the counter.
+	 */
+	private static class EvaluationCounter extends AbstractSimulationListener {
+		final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public AerodynamicForces postAerodynamicCalculation(SimulationStatus status, AerodynamicForces forces) {
+			count.incrementAndGet();
+			return null;
+		}
+	}
+
+	private static Simulation makeSimulation(double timeStep, boolean adaptive) {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		Simulation sim = new Simulation(rocket);
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(timeStep);
+		sim.getOptions().setRandomSeed(1234);
+		sim.getOptions().getAverageWindModel().setAverage(0);
+		sim.getOptions().getAverageWindModel().setTurbulenceIntensity(0);
+		sim.getOptions().setAdaptiveStepping(adaptive);
+		return sim;
+	}
+
+	/**
+	 * At a time step chosen for an accurate flight the adaptive stepper must reach the accuracy
+	 * of the RK4 stepper with fewer aerodynamic calculations, since it lengthens the steps while
+	 * coasting.  At the recommended time step of RK4 the steps of both are limited by the launch
+	 * rod, the burn and the events rather than by the error, so there is no saving there.
+	 */
+	@Test
+	public void testAccuracyAndEvaluations() throws SimulationException {
+		// Reference flight with a small time step.  Time steps at MIN_TIME_STEP and below give a
+		// wrong flight of this rocket, so the reference uses twice that.
+		Simulation reference = makeSimulation(REFERENCE_TIME_STEP, false);
+		reference.simulate();
+		double apogee = reference.getSimulatedData().getMaxAltitude();
+
+		Simulation rk4 = makeSimulation(ACCURATE_TIME_STEP, false);
+		EvaluationCounter rk4Counter = new EvaluationCounter();
+		rk4.simulate(rk4Counter);
+
+		Simulation adaptive = makeSimulation(ACCURATE_TIME_STEP, true);
+		EvaluationCounter adaptiveCounter = new EvaluationCounter();
+		adaptive.simulate(adaptiveCounter);
+
+		double rk4Error = Math.abs(rk4.getSimulatedData().getMaxAltitude() - apogee);
+		double adaptiveError = Math.abs(adaptive.getSimulatedData().getMaxAltitude() - apogee);
+		log.info(String.format("Apogee error: RK4 %.4f m with %d evaluations, RK45 %.4f m with %d evaluations",
+				rk4Error, rk4Counter.count.get(), adaptiveError, adaptiveCounter.count.get()));
+
+		assertEquals(apogee, adaptive.getSimulatedData().getMaxAltitude(), 0.001 * apogee);
+		assertEquals(reference.getSimulatedData().getTimeToApogee(), adaptive.getSimulatedData().getTimeToApogee(), 0.1);
+		assertTrue(adaptiveCounter.count.get() > 0, "No evaluations counted");
+		assertTrue(adaptiveCounter.count.get() < rk4Counter.count.get(),
+				"RK45 used " + adaptiveCounter.count + " evaluations, RK4 " + rk4Counter.count);
+	}
+
+	/**
+	 * The time steps must respect the maximum step length and be recorded in the flight data.
+	 */
+	@Test
+	public void testTimeSteps() throws SimulationException {
+		Simulation sim = makeSimulation(RK4SimulationStepper.RECOMMENDED_TIME_STEP, true);
+		sim.simulate();
+		FlightDataBranch branch = sim.getSimulatedData().getBranch(0);
+
+		double[] time = branch.getDoubleArray(FlightDataType.TYPE_TIME);
+		double[] timeStep = branch.getDoubleArray(FlightDataType.TYPE_TIME_STEP);
+		double maxTimeStep = AdaptiveRK45SimulationStepper.MAX_TIME_STEP_FACTOR * RK4SimulationStepper.RECOMMENDED_TIME_STEP;
+		boolean longerThanUserStep = false;
+		for (int i = 0; i < time.length - 1; i++) {
+			if (Double.isNaN(timeStep[i])) {
+				continue;
+			}
+			assertTrue(timeStep[i] <= maxTimeStep + 1.0e-9, "Time step " + timeStep[i] + " too long");
+			longerThanUserStep |= timeStep[i] > RK4SimulationStepper.RECOMMENDED_TIME_STEP;
+		}
+		assertTrue(longerThanUserStep, "No step longer than the user time step");
+		assertFalse(sim.hasErrors());
+	}
+}
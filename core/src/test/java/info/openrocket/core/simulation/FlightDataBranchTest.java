@@ -0,0 +1,140 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.DoubleBuffer;
+import java.util.List;
+
+import info.openrocket.core.simulation.datasink.DecimatingDataSink;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the primitive column storage of FlightDataBranch.
+ */
+public class FlightDataBranchTest {
+
+	private static final int POINTS = 1000;
+
+	private static FlightDataBranch createBranch() {
+		FlightDataBranch branch = new FlightDataBranch("Test", FlightDataType.TYPE_TIME, FlightDataType.TYPE_ALTITUDE);
+		for (int i = 0; i < POINTS; i++) {
+			branch.addPoint();
+			branch.setValue(FlightDataType.TYPE_TIME, i * 0.01);
+			branch.setValue(FlightDataType.TYPE_ALTITUDE, i * (POINTS - i));
+		}
+		return branch;
+	}
+
+	@Test
+	public void testPrimitiveAccessors() {
+		FlightDataBranch branch = createBranch();
+
+		assertEquals(POINTS, branch.getLength());
+		double[] time = branch.getDoubleArray(FlightDataType.TYPE_TIME);
+		assertEquals(POINTS, time.length);
+		for (int i = 0; i < POINTS; i++) {
+			assertEquals(i * 0.01, time[i], 0);
+			assertEquals(i * (POINTS - i), branch.get(FlightDataType.TYPE_ALTITUDE, i), 0);
+		}
+
+		assertEquals((POINTS - 1) * 0.01, branch.getLast(FlightDataType.TYPE_TIME), 0);
+		assertEquals(0, branch.getMinimum(FlightDataType.TYPE_ALTITUDE), 0);
+		assertEquals((POINTS / 2) * (POINTS / 2), branch.getMaximum(FlightDataType.TYPE_ALTITUDE), 0);
+
+		assertNull(branch.getDoubleArray(FlightDataType.TYPE_VELOCITY_TOTAL));
+		assertEquals(Double.NaN, branch.get(FlightDataType.TYPE_VELOCITY_TOTAL, 0), 0);
+		assertThrows(IllegalArgumentException.class, () -> branch.get(FlightDataType.TYPE_TIME, POINTS));
+	}
+
+	@Test
+	public void testBoxedListMatchesArray() {
+		FlightDataBranch branch = createBranch();
+
+		List<Double> list = branch.get(FlightDataType.TYPE_ALTITUDE);
+		double[] array = branch.getDoubleArray(FlightDataType.TYPE_ALTITUDE);
+		assertEquals(array.length, list.size());
+		for (int i = 0; i < array.length; i++) {
+			assertEquals(array[i], list.get(i), 0);
+			assertEquals(array[i], branch.getByIndex(FlightDataType.TYPE_ALTITUDE, i), 0);
+		}
+	}
+
+	@Test
+	public void testColumnView() {
+		FlightDataBranch branch = createBranch();
+
+		DoubleBuffer column = branch.getColumn(FlightDataType.TYPE_ALTITUDE);
+		assertEquals(POINTS, column.limit());
+		assertTrue(column.isReadOnly());
+		for (int i = 0; i < POINTS; i++) {
+			assertEquals(branch.get(FlightDataType.TYPE_ALTITUDE, i), column.get(i), 0);
+		}
+		assertThrows(IndexOutOfBoundsException.class, () -> column.get(POINTS));
+		assertNull(branch.getColumn(FlightDataType.TYPE_VELOCITY_TOTAL));
+	}
+
+	@Test
+	public void testNewTypeIsPaddedWithNaN() {
+		FlightDataBranch branch = createBranch();
+		branch.setValue(FlightDataType.TYPE_VELOCITY_TOTAL, 12.5);
+
+		double[] velocity = branch.getDoubleArray(FlightDataType.TYPE_VELOCITY_TOTAL);
+		assertEquals(POINTS, velocity.length);
+		for (int i = 0; i < POINTS - 1; i++) {
+			assertEquals(Double.NaN, velocity[i], 0);
+		}
+		assertEquals(12.5, velocity[POINTS - 1], 0);
+	}
+
+	@Test
+	public void testCopiesAreIndependent() {
+		FlightDataBranch branch = createBranch();
+		double[] expected = branch.getDoubleArray(FlightDataType.TYPE_TIME);
+
+		branch.getDoubleArray(FlightDataType.TYPE_TIME)[0] = 42;
+		assertArrayEquals(expected, branch.getDoubleArray(FlightDataType.TYPE_TIME), 0);
+
+		FlightDataBranch clone = branch.clone();
+		branch.addPoint();
+		branch.setValue(FlightDataType.TYPE_TIME, 100);
+		assertEquals(POINTS, clone.getLength());
+		assertArrayEquals(expected, clone.getDoubleArray(FlightDataType.TYPE_TIME), 0);
+	}
+
+	@Test
+	public void testDataSinkWindow() throws Exception {
+		FlightDataBranch branch = new FlightDataBranch("Test", FlightDataType.TYPE_TIME, FlightDataType.TYPE_ALTITUDE);
+		branch.openDataSink(new DecimatingDataSink(1.0));
+		for (int i = 0; i < POINTS; i++) {
+			branch.addPoint();
+			branch.setValue(FlightDataType.TYPE_TIME, i * 0.01);
+			branch.setValue(FlightDataType.TYPE_ALTITUDE, i * (POINTS - i));
+			if (i == 250) {
+				branch.addEvent(new FlightEvent(FlightEvent.Type.APOGEE, i * 0.01));
+			}
+			assertTrue(branch.getLength() <= POINTS / 100 + 4 + FlightDataBranch.DATA_SINK_WINDOW);
+			assertEquals(i * 0.01, branch.getLast(FlightDataType.TYPE_TIME), 0);
+		}
+		branch.closeDataSink();
+
+		double[] time = branch.getDoubleArray(FlightDataType.TYPE_TIME);
+		List<Double> times = branch.get(FlightDataType.TYPE_TIME);
+		// One point per second, the points bracketing the event, the maximum and the window
+		assertTrue(times.contains(100 * 0.01));
+		assertTrue(times.contains(249 * 0.01));
+		assertTrue(times.contains(250 * 0.01));
+		assertTrue(times.contains((POINTS / 2) * 0.01));
+		for (int i = POINTS - FlightDataBranch.DATA_SINK_WINDOW; i < POINTS; i++) {
+			assertTrue(times.contains(i * 0.01));
+		}
+		for (int i = 1; i < time.length; i++) {
+			assertTrue(time[i] > time[i - 1]);
+		}
+		assertEquals((POINTS / 2) * (POINTS / 2), branch.getMaximum(FlightDataType.TYPE_ALTITUDE), 0);
+	}
+}
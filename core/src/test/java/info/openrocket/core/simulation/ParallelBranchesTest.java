@@ -0,0 +1,97 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.FlightConfigurationId;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+/**
+ * Tests that simulating the stage separation branches in parallel gives the same flight
+ * data as simulating them one after another.
+ */
+public class ParallelBranchesTest extends BaseTestCase {
+
+	private static final double EPSILON = 1.0e-6;
+
+	@Test
+	public void testMultiStage() throws SimulationException {
+		final Rocket rocket = TestRockets.makeMultiStageEventTestRocket();
+
+		final Simulation sim = new Simulation(rocket);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.getOptions().setRandomSeed(1234);
+		// The default turbulence is kept, the wind of every branch must be the same in both modes
+		sim.getOptions().getAverageWindModel().setAverage(0.1);
+		rocket.getSelectedConfiguration().setAllStages();
+		FlightConfigurationId fcid = rocket.getSelectedConfiguration().getFlightConfigurationID();
+		sim.setFlightConfigurationId(fcid);
+
+		sim.simulate();
+		final FlightData sequential = sim.getSimulatedData();
+
+		sim.getOptions().setParallelBranches(true);
+		sim.simulate();
+		final FlightData parallel = sim.getSimulatedData();
+
+		assertEquals(3, sequential.getBranchCount());
+		assertEquals(sequential.getBranchCount(), parallel.getBranchCount(), "Branch count differs");
+		for (int b = 0; b < sequential.getBranchCount(); b++) {
+			FlightDataBranch expected = sequential.getBranch(b);
+			FlightDataBranch actual = parallel.getBranch(b);
+
+			assertEquals(expected.getName(), actual.getName(), "Branch order differs");
+			assertEquals(expected.getEvents().size(), actual.getEvents().size(),
+					"Event count differs in branch " + expected.getName());
+			for (int e = 0; e < expected.getEvents().size(); e++) {
+				assertEquals(expected.getEvents().get(e).getType(), actual.getEvents().get(e).getType(),
+						"Event differs in branch " + expected.getName());
+			}
+
+			final double expectedAltitude = expected.getMaximum(FlightDataType.TYPE_ALTITUDE);
+			assertEquals(expectedAltitude, actual.getMaximum(FlightDataType.TYPE_ALTITUDE), expectedAltitude * EPSILON,
+					"Apogee differs in branch " + expected.getName());
+		}
+
+		assertEquals(sequential.getMaxAltitude(), parallel.getMaxAltitude(), sequential.getMaxAltitude() * EPSILON);
+	}
+
+	/**
+	 * A booster branch must not share the motor states, which hold the thrust curve position,
+	 * with the branch it separated from.
+	 */
+	@Test
+	public void testCopyMotorStates() throws SimulationException {
+		final Rocket rocket = TestRockets.makeEstesAlphaIII();
+		final FlightConfiguration config = rocket.getFlightConfiguration(TestRockets.TEST_FCID_0);
+		final Simulation sim = new Simulation(rocket);
+		final SimulationStatus status = new SimulationStatus(config, sim.getOptions().toSimulationConditions());
+		final MotorClusterState motor = status.getMotors().iterator().next();
+		motor.ignite(0);
+		final FlightEvent burnout = new FlightEvent(FlightEvent.Type.BURNOUT, 2, null, motor);
+		status.addEvent(burnout);
+
+		final SimulationStatus copy = new SimulationStatus(status);
+		copy.copyMotorStates();
+
+		final MotorClusterState copiedMotor = copy.getMotors().iterator().next();
+		assertNotSame(motor, copiedMotor);
+		assertEquals(motor.getIgnitionTime(), copiedMotor.getIgnitionTime(), 0);
+		assertEquals(motor.getThrust(0.5), copiedMotor.getThrust(0.5), 0);
+		assertSame(motor, status.getMotors().iterator().next());
+
+		final FlightEvent copiedBurnout = copy.getEventQueue().peek();
+		assertSame(copiedMotor, copiedBurnout.getData());
+		assertEquals(burnout.getID(), copiedBurnout.getID());
+		assertSame(motor, status.getEventQueue().peek().getData());
+	}
+}
@@ -0,0 +1,125 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.FlightConfigurationId;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class PointMassSimulationStepperTest extends BaseTestCase {
+	private static final Logger log = LoggerFactory.getLogger(PointMassSimulationStepperTest.class);
+
+	/** Allowed relative deviation of the point-mass flight from the full simulation */
+	private static final double TOLERANCE = 0.05;
+
+	private static Simulation makeSimulation(Supplier<Rocket> design, FlightConfigurationId fcid, String flightStepper) {
+		Simulation sim = new Simulation(design.get());
+		sim.setFlightConfigurationId(fcid);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(RK4SimulationStepper.RECOMMENDED_TIME_STEP);
+		sim.getOptions().setRandomSeed(1234);
+		sim.getOptions().getAverageWindModel().setAverage(0);
+		sim.getOptions().getAverageWindModel().setTurbulenceIntensity(0);
+		sim.getOptions().setStepper(SimulationStepperRegistry.Phase.FLIGHT, flightStepper);
+		return sim;
+	}
+
+	/**
+	 * Simulate the design with the full 6-DOF and the point-mass stepper, which also simulates the
+	 * descent as it is selected only for the flight phase, report the
+	 * differences of the flight summary values and the run times, and check the differences.
+	 */
+	private static void compare(String name, Supplier<Rocket> design, FlightConfigurationId fcid) throws SimulationException {
+		Simulation full = makeSimulation(design, fcid, SimulationStepperRegistry.RK4);
+		Simulation pointMass = makeSimulation(design, fcid, SimulationStepperRegistry.POINT_MASS);
+
+		// Warm up before timing
+		full.simulate();
+		pointMass.simulate();
+
+		long start = System.nanoTime();
+		full.simulate();
+		long fullTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		pointMass.simulate();
+		long pointMassTime = System.nanoTime() - start;
+
+		FlightData expected = full.getSimulatedData();
+		FlightData actual = pointMass.getSimulatedData();
+		double expectedOptimum = expected.getBranch(0).getOptimumAltitude();
+		double actualOptimum = actual.getBranch(0).getOptimumAltitude();
+		log.info(String.format("%s: apogee %.2f m vs %.2f m (%+.2f%%), max velocity %.2f m/s vs %.2f m/s (%+.2f%%), " +
+						"time to apogee %.2f s vs %.2f s (%+.2f%%), flight time %.2f s vs %.2f s (%+.2f%%), " +
+						"optimum altitude %.2f m vs %.2f m (%+.2f%%), run time %.2f ms vs %.2f ms (%.1fx)",
+				name,
+				expected.getMaxAltitude(), actual.getMaxAltitude(), error(expected.getMaxAltitude(), actual.getMaxAltitude()),
+				expected.getMaxVelocity(), actual.getMaxVelocity(), error(expected.getMaxVelocity(), actual.getMaxVelocity()),
+				expected.getTimeToApogee(), actual.getTimeToApogee(), error(expected.getTimeToApogee(), actual.getTimeToApogee()),
+				expected.getFlightTime(), actual.getFlightTime(), error(expected.getFlightTime(), actual.getFlightTime()),
+				expectedOptimum, actualOptimum, error(expectedOptimum, actualOptimum),
+				fullTime / 1.0e6, pointMassTime / 1.0e6, (double) fullTime / pointMassTime));
+
+		assertEquals(expected.getMaxAltitude(), actual.getMaxAltitude(), TOLERANCE * expected.getMaxAltitude(), name + " apogee");
+		assertEquals(expected.getMaxVelocity(), actual.getMaxVelocity(), TOLERANCE * expected.getMaxVelocity(), name + " max velocity");
+		assertEquals(expected.getTimeToApogee(), actual.getTimeToApogee(), TOLERANCE * expected.getTimeToApogee(),
+				name + " time to apogee");
+		assertEquals(expected.getFlightTime(), actual.getFlightTime(), TOLERANCE * expected.getFlightTime(), name + " flight time");
+		assertEquals(expectedOptimum, actualOptimum, TOLERANCE * expectedOptimum, name + " optimum altitude");
+		assertEquals(full.getSimulatedData().getBranchCount(), pointMass.getSimulatedData().getBranchCount(), name + " branches");
+		assertFalse(pointMass.hasErrors(), name + " errors");
+	}
+
+	private static double error(double expected, double actual) {
+		return 100 * (actual - expected) / expected;
+	}
+
+	@Test
+	public void testEstesAlphaIII() throws SimulationException {
+		compare("Estes Alpha III", TestRockets::makeEstesAlphaIII, TestRockets.TEST_FCID_0);
+	}
+
+	@Test
+	public void testBeta() throws SimulationException {
+		compare("Beta", TestRockets::makeBeta, TestRockets.TEST_FCID_1);
+	}
+
+	/**
+	 * The rocket must point along its flight path and not rotate.
+	 */
+	@Test
+	public void testOrientation() throws SimulationException {
+		Simulation sim = makeSimulation(TestRockets::makeEstesAlphaIII, TestRockets.TEST_FCID_0,
+				SimulationStepperRegistry.POINT_MASS);
+		sim.getOptions().setLaunchRodAngle(Math.toRadians(10));
+		sim.simulate();
+
+		FlightDataBranch branch = sim.getSimulatedData().getBranch(0);
+		double[] velocityZ = branch.getDoubleArray(FlightDataType.TYPE_VELOCITY_Z);
+		double[] velocityXY = branch.getDoubleArray(FlightDataType.TYPE_VELOCITY_XY);
+		double[] velocityTotal = branch.getDoubleArray(FlightDataType.TYPE_VELOCITY_TOTAL);
+		double[] elevation = branch.getDoubleArray(FlightDataType.TYPE_ORIENTATION_THETA);
+		double[] time = branch.getDoubleArray(FlightDataType.TYPE_TIME);
+		double apogeeTime = sim.getSimulatedData().getTimeToApogee();
+		int checked = 0;
+		for (int i = 0; i < time.length; i++) {
+			if (time[i] < 1 || time[i] > apogeeTime - 0.5 || velocityTotal[i] < 10) {
+				continue;
+			}
+			double flightPathElevation = Math.atan2(velocityZ[i], velocityXY[i]);
+			assertEquals(flightPathElevation, elevation[i], 0.01, "Orientation at " + time[i] + " s");
+			checked++;
+		}
+		assertTrue(checked > 0);
+	}
+}
@@ -0,0 +1,86 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class SimulationStepperRegistryTest extends BaseTestCase {
+
+	/**
+	 * Landing stepper counting its steps.
+	 */
+	private static class CountingLandingStepper extends BasicLandingStepper {
+		static int steps = 0;
+
+		@Override
+		public void step(SimulationStatus status, double maxTimeStep) throws SimulationException {
+			steps++;
+			super.step(status, maxTimeStep);
+		}
+	}
+
+	private static Simulation makeSimulation() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		Simulation sim = new Simulation(rocket);
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(RK4SimulationStepper.RECOMMENDED_TIME_STEP);
+		sim.getOptions().setRandomSeed(1234);
+		return sim;
+	}
+
+	@Test
+	public void testBuiltInSteppers() {
+		SimulationStepperRegistry registry = Application.getInjector().getInstance(SimulationStepperRegistry.class);
+
+		assertTrue(registry.getStepperIds(SimulationStepperRegistry.Phase.FLIGHT).contains(SimulationStepperRegistry.RK4));
+		assertTrue(registry.isAvailable(SimulationStepperRegistry.ADAPTIVE_RK45, SimulationStepperRegistry.Phase.FLIGHT));
+		assertFalse(registry.isAvailable(SimulationStepperRegistry.RK4, SimulationStepperRegistry.Phase.LANDING));
+		for (SimulationStepperRegistry.Phase phase : SimulationStepperRegistry.Phase.values()) {
+			assertTrue(registry.isAvailable(SimulationStepperRegistry.getDefaultStepperId(phase), phase));
+		}
+		assertTrue(registry.newStepper(SimulationStepperRegistry.ADAPTIVE_RK45, SimulationStepperRegistry.Phase.FLIGHT)
+				instanceof AdaptiveRK45SimulationStepper);
+		assertThrows(IllegalArgumentException.class,
+				() -> registry.newStepper(SimulationStepperRegistry.RK4, SimulationStepperRegistry.Phase.GROUND));
+	}
+
+	@Test
+	public void testSelectedStepper() throws SimulationException {
+		SimulationStepperRegistry registry = Application.getInjector().getInstance(SimulationStepperRegistry.class);
+		registry.register("CountingLanding", EnumSet.of(SimulationStepperRegistry.Phase.LANDING), CountingLandingStepper::new);
+
+		Simulation reference = makeSimulation();
+		reference.simulate();
+
+		CountingLandingStepper.steps = 0;
+		Simulation sim = makeSimulation();
+		sim.getOptions().setStepper(SimulationStepperRegistry.Phase.LANDING, "CountingLanding");
+		sim.simulate();
+
+		assertTrue(CountingLandingStepper.steps > 0);
+		// Repeated simulations in the same JVM may differ in the last digits (and then take one
+		// step more or less), so the flights are compared with a small tolerance
+		assertEquals(reference.getSimulatedData().getMaxAltitude(), sim.getSimulatedData().getMaxAltitude(), 1.0e-6);
+		assertEquals(reference.getSimulatedData().getFlightTime(), sim.getSimulatedData().getFlightTime(), 1.0e-3);
+	}
+
+	@Test
+	public void testUnknownStepper() {
+		Simulation sim = makeSimulation();
+		sim.getOptions().setStepper(SimulationStepperRegistry.Phase.FLIGHT, "NoSuchStepper");
+		assertThrows(SimulationException.class, sim::simulate);
+	}
+}
@@ -0,0 +1,93 @@
+package info.openrocket.core.simulation.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class BatchSimulationRunnerTest extends BaseTestCase {
+
+	private static OpenRocketDocument makeDocument(int simulationCount) {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument doc = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		for (int i = 0; i < simulationCount; i++) {
+			Simulation sim = new Simulation(doc, rocket);
+			sim.setName("sim" + i);
+			sim.getOptions().setISAAtmosphere(true);
+			sim.getOptions().setTimeStep(0.05);
+			// Identical simulations must also share the random seed of the wind model
+			sim.getOptions().setRandomSeed(1234);
+			sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+			doc.addSimulation(sim);
+		}
+		return doc;
+	}
+
+	@Test
+	public void testSimulateDocument() throws Exception {
+		OpenRocketDocument doc = makeDocument(4);
+		BatchSimulationRunner runner = new BatchSimulationRunner(2);
+		List<BatchSimulationResult> results;
+		try {
+			results = runner.simulateDocument("alpha", doc);
+		} finally {
+			runner.shutdown();
+		}
+
+		assertEquals(4, results.size());
+		for (int i = 0; i < results.size(); i++) {
+			BatchSimulationResult r = results.get(i);
+			assertEquals("alpha", r.getSource());
+			assertEquals("sim" + i, r.getSimulationName());
+			assertEquals(BatchSimulationResult.State.OK, r.getState());
+			assertTrue(r.getMaxAltitude() > 0);
+			assertEquals(doc.getSimulation(i).getSimulatedData().getMaxAltitude(), r.getMaxAltitude(), 0);
+		}
+
+		// Identical simulations run in parallel must give identical results
+		assertEquals(results.get(0).getMaxAltitude(), results.get(3).getMaxAltitude(), 0);
+	}
+
+	@Test
+	public void testMissingFile() {
+		BatchSimulationRunner runner = new BatchSimulationRunner(1);
+		List<BatchSimulationResult> results;
+		try {
+			results = runner.simulateFiles(List.of(new File("does-not-exist.ork")));
+		} finally {
+			runner.shutdown();
+		}
+		assertEquals(1, results.size());
+		assertEquals(BatchSimulationResult.State.FAILED, results.get(0).getState());
+	}
+
+	@Test
+	public void testWriteSummary() {
+		OpenRocketDocument doc = makeDocument(1);
+		BatchSimulationRunner runner = new BatchSimulationRunner(1);
+		List<BatchSimulationResult> results;
+		try {
+			results = runner.simulateDocument("a,b", doc);
+		} finally {
+			runner.shutdown();
+		}
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BatchSimulationRunner.writeSummary(out, results);
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\\R");
+		assertEquals(2, lines.length);
+		assertTrue(lines[1].startsWith("\"a,b\",\"sim0\",OK,"));
+	}
+}
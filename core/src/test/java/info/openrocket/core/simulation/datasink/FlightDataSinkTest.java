@@ -0,0 +1,95 @@
+package info.openrocket.core.simulation.datasink;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.BasicEventSimulationEngine;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.SimulationConditions;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+/**
+ * Tests that the flight summary does not depend on how the flight data is stored.
+ */
+public class FlightDataSinkTest extends BaseTestCase {
+
+	private static FlightData simulate(FlightDataSink.Factory factory) throws SimulationException {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		Simulation sim = new Simulation(rocket);
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.01);
+		sim.getOptions().setRandomSeed(1234);
+
+		SimulationConditions conditions = sim.getOptions().toSimulationConditions();
+		conditions.setSimulation(sim);
+		conditions.setDataSinkFactory(factory);
+
+		BasicEventSimulationEngine engine = new BasicEventSimulationEngine();
+		engine.simulate(conditions);
+		return engine.getFlightData();
+	}
+
+	private static void assertSameSummary(FlightData expected, FlightData actual) {
+		assertEquals(expected.getMaxAltitude(), actual.getMaxAltitude(), 0);
+		assertEquals(expected.getMaxVelocity(), actual.getMaxVelocity(), 0);
+		assertEquals(expected.getMaxAcceleration(), actual.getMaxAcceleration(), 0);
+		assertEquals(expected.getMaxMachNumber(), actual.getMaxMachNumber(), 0);
+		assertEquals(expected.getTimeToApogee(), actual.getTimeToApogee(), 0);
+		assertEquals(expected.getFlightTime(), actual.getFlightTime(), 0);
+		assertEquals(expected.getLaunchRodVelocity(), actual.getLaunchRodVelocity(), 1.0e-9);
+		assertEquals(expected.getDeploymentVelocity(), actual.getDeploymentVelocity(), 1.0e-9);
+		assertEquals(expected.getGroundHitVelocity(), actual.getGroundHitVelocity(), 1.0e-9);
+	}
+
+	@Test
+	public void testDecimating() throws SimulationException {
+		FlightData expected = simulate(null);
+		FlightData actual = simulate(FlightDataSink.decimating(0.5));
+
+		assertSameSummary(expected, actual);
+		int length = actual.getBranch(0).getLength();
+		assertTrue(length < expected.getBranch(0).getLength() / 4, "Data was not decimated: " + length);
+	}
+
+	@Test
+	public void testSummaryOnly() throws SimulationException {
+		FlightData expected = simulate(FlightDataSink.inMemory());
+		FlightData actual = simulate(FlightDataSink.decimating(Double.POSITIVE_INFINITY));
+
+		assertSameSummary(expected, actual);
+		int events = actual.getBranch(0).getEvents().size();
+		assertTrue(actual.getBranch(0).getLength() <= FlightDataBranch.DATA_SINK_WINDOW + 6 * events + 8);
+	}
+
+	@Test
+	public void testStreaming(@TempDir Path directory) throws Exception {
+		FlightData expected = simulate(null);
+		FlightData actual = simulate(FlightDataSink.streaming(directory, "flight"));
+
+		assertSameSummary(expected, actual);
+
+		List<Path> files;
+		try (Stream<Path> stream = Files.list(directory)) {
+			files = stream.toList();
+		}
+		assertEquals(1, files.size());
+		List<String> lines = Files.readAllLines(files.get(0));
+		// Branch name, header and one line per data point
+		assertEquals(expected.getBranch(0).getLength() + 2, lines.size());
+		assertTrue(lines.get(0).startsWith("# "));
+	}
+}
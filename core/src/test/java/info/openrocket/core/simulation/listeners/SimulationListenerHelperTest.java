@@ -0,0 +1,112 @@
+package info.openrocket.core.simulation.listeners;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.aerodynamics.FlightConditions;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.models.atmosphere.AtmosphericConditions;
+import info.openrocket.core.simulation.SimulationStatus;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class SimulationListenerHelperTest extends BaseTestCase {
+
+	/**
+	 * Records which hooks the helper reports at the start of the simulation.  The simulation
+	 * runs with clones of the listeners, which share the results.
+	 */
+	private static class HookProbe extends AbstractSimulationListener {
+		final AtomicBoolean atmosphericModel = new AtomicBoolean();
+		final AtomicBoolean flightConditions = new AtomicBoolean();
+
+		@Override
+		public void startSimulation(SimulationStatus status) {
+			atmosphericModel.set(SimulationListenerHelper.hasAtmosphericModelListeners(status));
+			flightConditions.set(SimulationListenerHelper.hasFlightConditionsListeners(status));
+		}
+	}
+
+	/**
+	 * Raises the temperature of the atmosphere by 30 K.
+	 */
+	private static class WarmAtmosphere extends AbstractSimulationListener {
+		final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public AtmosphericConditions postAtmosphericModel(SimulationStatus status, AtmosphericConditions conditions) {
+			count.incrementAndGet();
+			return new AtmosphericConditions(conditions.getTemperature() + 30, conditions.getPressure());
+		}
+	}
+
+	private static class ConditionsCounter extends AbstractSimulationListener {
+		final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public FlightConditions postFlightConditions(SimulationStatus status, FlightConditions conditions) {
+			count.incrementAndGet();
+			return null;
+		}
+	}
+
+	private static double simulateApogee(SimulationListener... listeners) throws SimulationException {
+		Simulation sim = new Simulation(TestRockets.makeEstesAlphaIII());
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.01);
+		sim.getOptions().setLaunchRodLength(1);
+		sim.getOptions().setRandomSeed(1234);
+		sim.getOptions().getAverageWindModel().setAverage(0);
+		sim.getOptions().getAverageWindModel().setTurbulenceIntensity(0);
+		sim.simulate(listeners);
+		return sim.getSimulatedData().getMaxAltitude();
+	}
+
+	/**
+	 * Listeners which do not override the hooks of AbstractSimulationListener do not count as
+	 * hook listeners, and do not change the flight.
+	 */
+	@Test
+	public void testListenersWithoutHooks() throws SimulationException {
+		double apogee = simulateApogee();
+
+		HookProbe probe = new HookProbe();
+		assertEquals(apogee, simulateApogee(probe), 1e-9);
+		assertFalse(probe.atmosphericModel.get());
+		assertFalse(probe.flightConditions.get());
+	}
+
+	@Test
+	public void testAtmosphericModelHooks() throws SimulationException {
+		double apogee = simulateApogee();
+
+		HookProbe probe = new HookProbe();
+		WarmAtmosphere warm = new WarmAtmosphere();
+		double warmApogee = simulateApogee(probe, warm);
+		assertTrue(probe.atmosphericModel.get());
+		assertFalse(probe.flightConditions.get());
+		assertTrue(warm.count.get() > 0);
+		// Warmer air is thinner
+		assertTrue(warmApogee > apogee);
+	}
+
+	@Test
+	public void testFlightConditionsHooks() throws SimulationException {
+		double apogee = simulateApogee();
+
+		HookProbe probe = new HookProbe();
+		ConditionsCounter counter = new ConditionsCounter();
+		assertEquals(apogee, simulateApogee(probe, counter), 1e-9);
+		assertFalse(probe.atmosphericModel.get());
+		assertTrue(probe.flightConditions.get());
+		assertTrue(counter.count.get() > 0);
+	}
+}
@@ -0,0 +1,81 @@
+package info.openrocket.core.simulation.montecarlo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class MonteCarloSimulatorTest extends BaseTestCase {
+
+	private static Simulation makeSimulation() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		Simulation sim = new Simulation(rocket);
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.getOptions().getAverageWindModel().setAverage(3);
+		// Without a launch rod the rocket weathercocks into the wind and tumbles under thrust
+		sim.getOptions().setLaunchRodLength(1);
+		return sim;
+	}
+
+	private static DispersionParameters makeDispersion() {
+		DispersionParameters d = new DispersionParameters();
+		d.setLaunchRodAngleDeviation(Math.toRadians(2));
+		d.setWindSpeedDeviation(0.2);
+		d.setWindDirectionDeviation(Math.toRadians(20));
+		d.setThrustDeviation(0.05);
+		d.setMassDeviation(0.03);
+		return d;
+	}
+
+	@Test
+	public void testParallelRunsAreReproducible() throws Exception {
+		MonteCarloSimulator simulator = new MonteCarloSimulator(makeSimulation(), makeDispersion());
+
+		Map<Integer, MonteCarloRun> runs = new ConcurrentHashMap<>();
+		MonteCarloResults parallel = simulator.run(12, 1234L, 4, r -> runs.put(r.getIndex(), r));
+		MonteCarloResults serial = simulator.run(12, 1234L, 1, null);
+
+		assertEquals(12, parallel.getCompletedRuns());
+		assertEquals(12, runs.size());
+		assertEquals(0, parallel.getAbortedRuns());
+		assertEquals(serial.getApogee().getMean(), parallel.getApogee().getMean(), 1e-9);
+		assertEquals(serial.getLandingDistance().getMax(), parallel.getLandingDistance().getMax(), 1e-9);
+
+		// A single run is reproducible from its seed
+		MonteCarloRun first = runs.get(0);
+		MonteCarloRun again = simulator.simulateRun(0, first.getSeed());
+		assertEquals(first.getApogee(), again.getApogee(), 1e-9);
+		assertEquals(first.getLandingX(), again.getLandingX(), 1e-9);
+
+		// Perturbations actually vary between runs
+		assertTrue(parallel.getApogee().getStandardDeviation() > 0);
+		assertNotEquals(runs.get(0).getThrustFactor(), runs.get(1).getThrustFactor());
+		assertFalse(Double.isNaN(parallel.getLandingCovariance()));
+	}
+
+	@Test
+	public void testRunningStatistics() {
+		RunningStatistics stats = new RunningStatistics();
+		assertTrue(Double.isNaN(stats.getMean()));
+		for (double d : new double[] { 2, 4, 4, 4, 5, 5, 7, 9, Double.NaN }) {
+			stats.add(d);
+		}
+		assertEquals(8, stats.getCount());
+		assertEquals(5.0, stats.getMean(), 1e-12);
+		assertEquals(32.0 / 7, stats.getVariance(), 1e-12);
+		assertEquals(2.0, stats.getMin(), 0);
+		assertEquals(9.0, stats.getMax(), 0);
+	}
+}
@@ -5,6 +5,7 @@ import java.awt.event.ActionListener;
 
 import javax.swing.BorderFactory;
 import javax.swing.ButtonGroup;
+import javax.swing.JCheckBox;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
@@ -33,6 +34,7 @@ public class StorageOptionChooser extends JPanel implements OptionChooser {
 	private JRadioButton allButton;
 	private JRadioButton someButton;
 	private JRadioButton noneButton;
+	private JCheckBox binaryCheckBox;
 	
 	private JSpinner timeSpinner;
 
@@ -71,6 +73,12 @@ public class StorageOptionChooser extends JPanel implements OptionChooser {
 		buttonGroup.add(allButton);
 		allButton.addActionListener(actionUpdater);
 		this.add(allButton, "spanx, wrap rel");
+
+		//// Store data in compact binary form
+		binaryCheckBox = new JCheckBox(trans.get("StorageOptChooser.checkbox.Binarydata"));
+		binaryCheckBox.setToolTipText(trans.get("StorageOptChooser.checkbox.Binarydata.ttip"));
+		this.add(binaryCheckBox, "gapleft para, spanx, wrap rel");
+		allButton.addActionListener(e -> binaryCheckBox.setEnabled(allButton.isSelected()));
 				
 		//// Only summary data
 		noneButton = new JRadioButton(trans.get("StorageOptChooser.rdbut.Onlysummarydata"));
@@ -80,6 +88,7 @@ public class StorageOptionChooser extends JPanel implements OptionChooser {
 				trans.get("StorageOptChooser.lbl.longC2"));
 		buttonGroup.add(noneButton);
 		noneButton.addActionListener(actionUpdater);
+		noneButton.addActionListener(e -> binaryCheckBox.setEnabled(allButton.isSelected()));
 		this.add(noneButton, "spanx, wrap 20lp");
 		
 		// File size info label
@@ -105,6 +114,8 @@ public class StorageOptionChooser extends JPanel implements OptionChooser {
 		} else {
 			noneButton.setSelected(true);
 		}
+		binaryCheckBox.setSelected(opts.getBinarySimulationData());
+		binaryCheckBox.setEnabled(allButton.isSelected());
 		
 		updateInfoLabel();
 	}
@@ -112,6 +123,7 @@ public class StorageOptionChooser extends JPanel implements OptionChooser {
 	
 	public void storeOptions(StorageOptions opts) {
 		opts.setSaveSimulationData(allButton.isSelected());
+		opts.setBinarySimulationData(binaryCheckBox.isSelected());
 		opts.setExplicitlySet(true);
 	}
 
@@ -49,13 +49,13 @@ public class CAPlot extends Plot<CADataType, CADataBranch, CAPlotConfiguration>
 		series.setBaseName(newBaseName);
 		series.updateDescription();
 
-		List<Double> plotx = branch.get(filledConfig.getDomainAxisType());
-		List<Double> ploty = branch.get(type, component);
+		double[] plotx = branch.getDoubleArray(filledConfig.getDomainAxisType());
+		double[] ploty = branch.getDoubleArray(type, component);
 
-		int pointCount = plotx.size();
+		int pointCount = plotx.length;
 		for (int j = 0; j < pointCount; j++) {
-			double x = filledConfig.getDomainAxisUnit().toUnit(plotx.get(j));
-			double y = unit.toUnit(ploty.get(j));
+			double x = filledConfig.getDomainAxisUnit().toUnit(plotx[j]);
+			double y = unit.toUnit(ploty[j]);
 			series.add(x, y);
 		}
 
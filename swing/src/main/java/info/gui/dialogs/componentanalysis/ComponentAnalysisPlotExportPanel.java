@@ -303,7 +303,7 @@ public class ComponentAnalysisPlotExportPanel extends JPanel implements PlotPane
 		double delta = deltaModel.getValue();
 
 		CADomainDataType domainType = getSelectedParameter();
-		CADataBranch dataBranch = parameterSweep.sweep(domainType, min, max, delta, getParameterValue(domainType));
+		CADataBranch dataBranch = parameterSweep.sweep(domainType, min, max, delta);
 		log.info("Parameter sweep completed. Data stored in dataBranch.");
 		return dataBranch;
 	}
@@ -316,22 +316,6 @@ public class ComponentAnalysisPlotExportPanel extends JPanel implements PlotPane
 		return okButton;
 	}
 
-	private double getParameterValue(CADomainDataType parameterType) {
-		if (parameterType.equals(CADomainDataType.MACH)) {
-			return parameters.getMach();
-		} else if (parameterType.equals(CADomainDataType.AOA)) {
-			return parameters.getAOA();
-		} else if (parameterType.equals(CADomainDataType.ROLL_RATE)) {
-			return parameters.getRollRate();
-		} else if (parameterType.equals(CADomainDataType.WIND_DIRECTION)) {
-			return parameters.getTheta();
-		}
-		// Add more cases here as more parameter types are implemented
-		else {
-			throw new IllegalArgumentException("Unsupported parameter type: " + parameterType);
-		}
-	}
-
 	@Override
 	public void onPlotConfigurationChanged(CAPlotConfiguration newConfiguration) {
 		CADomainDataType type = (CADomainDataType) newConfiguration.getDomainAxisType();
@@ -1,5 +1,6 @@
 package info.openrocket.swing.gui.dialogs.optimization;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -15,8 +16,10 @@ import info.openrocket.core.optimization.general.OptimizationController;
 import info.openrocket.core.optimization.general.OptimizationException;
 import info.openrocket.core.optimization.general.ParallelExecutorCache;
 import info.openrocket.core.optimization.general.ParallelFunctionCache;
+import info.openrocket.core.optimization.general.PersistentEvaluationCache;
 import info.openrocket.core.optimization.general.Point;
-import info.openrocket.core.optimization.general.multidim.MultidirectionalSearchOptimizer;
+import info.openrocket.core.optimization.general.multidim.DifferentialEvolutionOptimizer;
+import info.openrocket.core.optimization.general.multidim.ParetoOptimizer;
 import info.openrocket.core.optimization.general.onedim.GoldenSectionSearchOptimizer;
 import info.openrocket.core.optimization.rocketoptimization.OptimizableParameter;
 import info.openrocket.core.optimization.rocketoptimization.OptimizationGoal;
@@ -85,14 +88,17 @@ public abstract class OptimizationWorker extends Thread implements OptimizationC
 		
 		function = new RocketOptimizationFunction(simulation, parameter, goal, domain, modifiers);
 		function.addRocketOptimizationListener(this);
+		function.setEvaluationCache(PersistentEvaluationCache.getDefault());
 		
-		cache = new ParallelExecutorCache(1);
+		// Evaluate the function on all processors; the idle threads end by themselves
+		cache = new ParallelExecutorCache(ParetoOptimizer.createExecutor(Runtime.getRuntime().availableProcessors()));
 		cache.setFunction(function);
 		
 		if (modifiers.length == 1) {
 			optimizer = new GoldenSectionSearchOptimizer(cache);
 		} else {
-			optimizer = new MultidirectionalSearchOptimizer(cache);
+			// Evaluates a whole generation of points in parallel
+			optimizer = new DifferentialEvolutionOptimizer(cache);
 		}
 	}
 	
@@ -112,6 +118,11 @@ public abstract class OptimizationWorker extends Thread implements OptimizationC
 		} catch (OptimizationException e) {
 			this.optimizationException = e;
 		} finally {
+			try {
+				PersistentEvaluationCache.getDefault().save();
+			} catch (IOException e) {
+				log.warn("Unable to store optimization function values", e);
+			}
 			SwingUtilities.invokeLater(() -> {
 				lastPurge = System.currentTimeMillis() + 24L * 3600L * 1000L;
 				processQueue();
@@ -21,7 +21,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import javax.swing.AbstractAction;
 import javax.swing.Action;
 import javax.swing.BorderFactory;
@@ -67,6 +69,7 @@ import info.openrocket.core.document.StorageOptions;
 import info.openrocket.core.document.StorageOptions.FileType;
 import info.openrocket.core.document.events.DocumentChangeEvent;
 import info.openrocket.core.document.events.DocumentChangeListener;
+import info.openrocket.core.file.AutoSaver;
 import info.openrocket.core.file.GeneralRocketSaver;
 import info.openrocket.core.file.RocketLoadException;
 import info.openrocket.core.file.rasaero.RASAeroCommonConstants;
@@ -149,6 +152,11 @@ public class BasicFrame extends JFrame {
 	private static final List<BasicFrame> frames = new ArrayList<>();
 	private static BasicFrame startupFrame = null;	// the frame that was created at startup
 
+	/** Directory containing the recovery files of the open designs. */
+	private static final File AUTOSAVE_DIRECTORY = new File(SystemInfo.getUserApplicationDirectory(), "Autosave");
+	/** Delay between autosaves of an unsaved design, in seconds. */
+	private static final long AUTOSAVE_PERIOD = 60;
+
 
 	/**
 	 * Whether "New" and "Open" should replace this frame.
@@ -159,6 +167,9 @@ public class BasicFrame extends JFrame {
 	private final OpenRocketDocument document;
 	private final Rocket rocket;
 
+	/** Saves the document to a recovery file while it has unsaved changes. */
+	private AutoSaver autoSaver;
+
 	private JTabbedPane tabbedPane;
 	private RocketPanel rocketpanel;
 	private ComponentTree tree = null;
@@ -313,6 +324,8 @@ public class BasicFrame extends JFrame {
 		});
 
 		frames.add(this);
+		startAutoSave(new File(AUTOSAVE_DIRECTORY, "Autosave-" + UUID.randomUUID() + ".ork"));
+
 		if( componentSelectionModel.isSelectionEmpty() ){
 			final Rocket rocket = document.getRocket();
 			if( rocket != null ) {
@@ -1807,6 +1820,7 @@ public class BasicFrame extends JFrame {
 			worker.get();
 			document.setFile(file);
 			document.setSaved(true);
+			autoSaver.deleteRecoveryFile();
 			setTitle();
 			return true;
 		} catch (ExecutionException e) {
@@ -1869,6 +1883,8 @@ public class BasicFrame extends JFrame {
 		}
 
 		// Rocket has been saved or discarded
+		stopAutoSave();
+
 		log.debug("Disposing window");
 		BasicFrame.this.dispose();
 
@@ -1888,6 +1904,100 @@ public class BasicFrame extends JFrame {
 		return true;
 	}
 
+	/**
+	 * Start autosaving the document to the specified recovery file.  Autosaving to any
+	 * previous recovery file is stopped; that file is left in place.
+	 *
+	 * @param recoveryFile	the file to autosave the document to.
+	 */
+	private void startAutoSave(File recoveryFile) {
+		if (autoSaver != null) {
+			autoSaver.stop();
+		}
+		if (!AUTOSAVE_DIRECTORY.isDirectory() && !AUTOSAVE_DIRECTORY.mkdirs()) {
+			log.warn("Unable to create autosave directory " + AUTOSAVE_DIRECTORY + ", not autosaving");
+			autoSaver = null;
+			return;
+		}
+		// Autosaves run on the EDT and are skipped while the document has no unsaved changes
+		autoSaver = new AutoSaver(document, recoveryFile, task -> SwingUtilities.invokeLater(() -> {
+			if (!document.isSaved()) {
+				task.run();
+			}
+		}));
+		autoSaver.start(AUTOSAVE_PERIOD, TimeUnit.SECONDS);
+		log.debug("Autosaving document to " + recoveryFile);
+	}
+
+	/**
+	 * Stop autosaving the document and delete its recovery file.  Waits for the file to be
+	 * deleted, since the application may exit right after the last frame is closed.
+	 */
+	private void stopAutoSave() {
+		if (autoSaver == null) {
+			return;
+		}
+		autoSaver.stop();
+		try {
+			autoSaver.deleteRecoveryFile().get();
+		} catch (ExecutionException e) {
+			log.warn("Unable to delete recovery file " + autoSaver.getRecoveryFile(), e.getCause());
+		} catch (InterruptedException e) {
+			throw new BugException("EDT was interrupted", e);
+		}
+		autoSaver = null;
+	}
+
+	/**
+	 * Offer to open the designs that were autosaved but neither saved nor discarded when the
+	 * application last exited, e.g. because it crashed.  Recovered designs are opened as new,
+	 * unsaved designs and keep autosaving to their recovery file.  The recovery files of the
+	 * designs the user declines to recover are deleted.
+	 *
+	 * @return	whether any design was recovered.
+	 */
+	public static boolean recoverAutosavedDesigns() {
+		File[] recoveryFiles = AUTOSAVE_DIRECTORY.listFiles((dir, name) -> name.endsWith(".ork"));
+		if (recoveryFiles == null || recoveryFiles.length == 0) {
+			return false;
+		}
+		log.info("Found " + recoveryFiles.length + " autosaved designs");
+
+		int result = JOptionPane.showConfirmDialog(null,
+				String.format(trans.get("BasicFrame.dlg.recover.txt"), recoveryFiles.length),
+				trans.get("BasicFrame.dlg.recover.title"), JOptionPane.YES_NO_OPTION,
+				JOptionPane.QUESTION_MESSAGE);
+		if (result != JOptionPane.YES_OPTION) {
+			log.info(Markers.USER_MARKER, "User declined to recover autosaved designs");
+			for (File file : recoveryFiles) {
+				if (!file.delete()) {
+					log.warn("Unable to delete recovery file " + file);
+				}
+			}
+			return false;
+		}
+
+		log.info(Markers.USER_MARKER, "User requested to recover autosaved designs");
+		boolean recovered = false;
+		for (File file : recoveryFiles) {
+			BasicFrame frame = open(new OpenFileWorker(file), file.getName(), null, false);
+			if (frame == null) {
+				// The error has been shown to the user, don't offer the file again
+				if (!file.delete()) {
+					log.warn("Unable to delete recovery file " + file);
+				}
+				continue;
+			}
+			// The design has not been saved by the user
+			frame.document.setFile(null);
+			frame.document.setSaved(false);
+			frame.setTitle();
+			frame.startAutoSave(file);
+			recovered = true;
+		}
+		return recovered;
+	}
+
 	public void exportDecalAction() {
 		new ExportDecalDialog(BasicFrame.this, document).setVisible(true);
 	}
@@ -216,9 +216,9 @@ public abstract class Plot<T extends DataType, B extends DataBranch<T>, C extend
 
 						String nameT = FlightDataType.TYPE_TIME.getName();
 						double dataT = Double.NaN;
-						List<Double> time = allBranches.get(ser.getBranchIdx()).get((T)FlightDataType.TYPE_TIME);
-						if (null != time) {
-							dataT = time.get(item);
+						B seriesBranch = allBranches.get(ser.getBranchIdx());
+						if (item < seriesBranch.getLength()) {
+							dataT = seriesBranch.get((T)FlightDataType.TYPE_TIME, item);
 						}
 						String unitT = FlightDataType.TYPE_TIME.getUnitGroup().getDefaultUnit().toString();
 
@@ -305,13 +305,13 @@ public abstract class Plot<T extends DataType, B extends DataBranch<T>, C extend
 		// Default implementation for regular DataBranch
 		MetadataXYSeries series = new MetadataXYSeries(startIndex, false, true, branchIdx, dataIndex, unit.getUnit(), branchName, baseName);
 
-		List<Double> plotx = branch.get(filledConfig.getDomainAxisType());
-		List<Double> ploty = branch.get(type);
+		double[] plotx = branch.getDoubleArray(filledConfig.getDomainAxisType());
+		double[] ploty = branch.getDoubleArray(type);
 
-		int pointCount = plotx.size();
+		int pointCount = plotx.length;
 		for (int j = 0; j < pointCount; j++) {
-			double x = filledConfig.getDomainAxisUnit().toUnit(plotx.get(j));
-			double y = unit.toUnit(ploty.get(j));
+			double x = filledConfig.getDomainAxisUnit().toUnit(plotx[j]);
+			double y = unit.toUnit(ploty[j]);
 			series.add(x, y);
 		}
 
@@ -36,6 +36,8 @@ public class OpenFileWorker extends SwingWorker<OpenRocketDocument, Void> {
 		this.file = file;
 		this.jarURL = null;
 		loader = new GeneralRocketLoader(file);
+		// Show the rocket before the simulation data has been parsed
+		loader.setDeferSimulationData(true);
 	}
 	
 	
@@ -43,6 +45,7 @@ public class OpenFileWorker extends SwingWorker<OpenRocketDocument, Void> {
 		this.jarURL = fileURL;
 		this.file = null;
 		loader = new GeneralRocketLoader(fileURL);
+		loader.setDeferSimulationData(true);
 	}
 	
 	public GeneralRocketLoader getRocketLoader() {
@@ -232,7 +232,8 @@ public class SwingStartup {
 		
 		// Starting action (load files or open new document)
 		log.info("Opening main application window");
-		if (!handleCommandLine(args)) {
+		boolean recovered = BasicFrame.recoverAutosavedDesigns();
+		if (!handleCommandLine(args) && !recovered) {
 			BasicFrame startupFrame = BasicFrame.reopen();
 			BasicFrame.setStartupFrame(startupFrame);
 			showWelcomeDialog();